@@ -0,0 +1,506 @@
+package com.chengzhang.autosave;
+
+import com.chengzhang.config.AutosaveConfig;
+import com.chengzhang.dto.ArticleDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 文章写缓冲
+ * <p>
+ * 自动保存的更新先合并到内存中的待写入修改，并追加到本地日志后返回；由
+ * {@link ArticleWriteBehindFlusher} 按间隔或空闲时间批量写入数据库。日志记录每次更新和每次写入完成，
+ * 进程崩溃后启动时重放日志即可恢复未写入的修改，全部写入后清空日志。
+ * <p>
+ * 持续有文章待写入时日志不会清空；写入完成后日志超过压缩阈值时，只保留未写入（含正在写入）的修改，
+ * 写入临时文件后原子替换日志，启动重放后同样压缩一次。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticleWriteBehindBuffer {
+
+    private static final String OP_UPDATE = "update";
+    private static final String OP_FLUSHED = "flushed";
+    private static final String OP_DISCARD = "discard";
+
+    private final AutosaveConfig config;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, Pending> entries = new LinkedHashMap<>();
+    private FileChannel journal;
+    private long sequence;
+
+    /**
+     * 上次压缩后的日志大小
+     */
+    private long compactedSize;
+
+    private long bufferedUpdates;
+    private long flushes;
+
+    /**
+     * 打开日志并恢复未写入的修改
+     */
+    @PostConstruct
+    public synchronized void initialize() {
+        if (!isEnabled()) {
+            return;
+        }
+        Path path = Paths.get(config.getFullJournalPath());
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            if (Files.exists(path)) {
+                replay(path);
+            }
+            journal = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+            if (entries.isEmpty()) {
+                journal.truncate(0);
+            } else {
+                log.info("从写缓冲日志恢复待写入的文章 - 数量: {}", entries.size());
+                compact();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("打开写缓冲日志失败: " + path, e);
+        }
+    }
+
+    /**
+     * 关闭日志
+     */
+    @PreDestroy
+    public synchronized void close() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            log.warn("关闭写缓冲日志失败", e);
+        }
+        journal = null;
+    }
+
+    /**
+     * 写缓冲是否启用
+     *
+     * @return 是否启用
+     */
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(config.getEnabled());
+    }
+
+    /**
+     * 文章是否有尚未写入数据库的修改
+     *
+     * @param id 文章ID
+     * @return 是否有待写入的修改
+     */
+    public synchronized boolean isPending(String id) {
+        return entries.containsKey(id);
+    }
+
+    /**
+     * 获取包含缓冲修改的文章视图
+     *
+     * @param id 文章ID
+     * @return 文章副本，没有缓冲修改或视图尚未建立（日志恢复的条目）时返回null
+     */
+    public synchronized ArticleDTO getSnapshot(String id) {
+        Pending entry = entries.get(id);
+        if (entry == null || entry.snapshot == null) {
+            return null;
+        }
+        return copy(entry.snapshot);
+    }
+
+    /**
+     * 缓冲一次更新：先追加日志，再合并到待写入修改
+     *
+     * @param id       文章ID
+     * @param changes  本次修改（非空字段生效）
+     * @param snapshot 合并本次修改后的文章视图
+     */
+    public synchronized void buffer(String id, ArticleDTO changes, ArticleDTO snapshot) {
+        long seq = ++sequence;
+        append(updateRecord(id, seq, changes));
+
+        long now = System.currentTimeMillis();
+        Pending entry = entries.computeIfAbsent(id, key -> new Pending());
+        if (entry.changes == null) {
+            entry.changes = new ArticleDTO();
+            entry.firstBufferedAt = now;
+        }
+        entry.changes.merge(changes);
+        entry.snapshot = copy(snapshot);
+        entry.lastBufferedAt = now;
+        entry.lastSeq = seq;
+        bufferedUpdates++;
+    }
+
+    /**
+     * 获取到期需要写入的文章ID
+     *
+     * @param all 是否忽略间隔，返回全部待写入的文章
+     * @return 文章ID列表
+     */
+    public synchronized List<String> dueIds(boolean all) {
+        long now = System.currentTimeMillis();
+        long interval = config.getFlushIntervalSeconds() * 1000L;
+        long idle = config.getIdleSeconds() * 1000L;
+        List<String> ids = new ArrayList<>();
+        entries.forEach((id, entry) -> {
+            if (entry.changes == null || entry.inFlight) {
+                return;
+            }
+            if (all || now - entry.lastBufferedAt >= idle || now - entry.firstBufferedAt >= interval) {
+                ids.add(id);
+            }
+        });
+        return ids;
+    }
+
+    /**
+     * 取出文章的待写入修改。写入期间文章视图仍然保留，新的更新继续缓冲，需持有 this 锁
+     *
+     * @param id 文章ID
+     * @return 待写入的修改，没有待写入修改或正在写入时返回null
+     */
+    private Batch take(String id) {
+        Pending entry = entries.get(id);
+        if (entry == null || entry.changes == null || entry.inFlight) {
+            return null;
+        }
+        Batch batch = new Batch(id, entry.changes, entry.lastSeq);
+        entry.inFlightChanges = entry.changes;
+        entry.inFlightSeq = entry.lastSeq;
+        entry.changes = null;
+        entry.inFlight = true;
+        return batch;
+    }
+
+    /**
+     * 取出文章的待写入修改；文章正在写入时先等待该次写入完成（或失败放回），避免调用方读到尚未写入的数据库状态
+     *
+     * @param id 文章ID
+     * @return 待写入的修改，没有待写入修改时返回null
+     */
+    public synchronized Batch takeAfterInFlight(String id) {
+        Pending entry = entries.get(id);
+        while (entry != null && entry.inFlight) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("等待文章写入被中断: " + id);
+            }
+            entry = entries.get(id);
+        }
+        return take(id);
+    }
+
+    /**
+     * 标记修改已写入数据库
+     *
+     * @param batch 已写入的修改
+     */
+    public synchronized void complete(Batch batch) {
+        append(newRecord(OP_FLUSHED, batch.id, batch.seq));
+        flushes++;
+        Pending entry = entries.get(batch.id);
+        if (entry != null) {
+            entry.inFlight = false;
+            entry.inFlightChanges = null;
+            if (entry.changes == null) {
+                entries.remove(batch.id);
+            }
+        }
+        truncateOrCompact();
+        notifyAll();
+    }
+
+    /**
+     * 写入失败时放回修改，写入期间的新修改优先
+     *
+     * @param batch 写入失败的修改
+     */
+    public synchronized void restore(Batch batch) {
+        Pending entry = entries.get(batch.id);
+        if (entry == null) {
+            return;
+        }
+        entry.inFlight = false;
+        entry.inFlightChanges = null;
+        ArticleDTO changes = copy(batch.changes);
+        if (entry.changes != null) {
+            changes.merge(entry.changes);
+        } else {
+            entry.firstBufferedAt = System.currentTimeMillis();
+        }
+        entry.changes = changes;
+        notifyAll();
+    }
+
+    /**
+     * 丢弃文章的缓冲修改（文章已删除）
+     *
+     * @param id 文章ID
+     */
+    public synchronized void discard(String id) {
+        if (entries.remove(id) == null) {
+            return;
+        }
+        append(newRecord(OP_DISCARD, id, sequence));
+        truncateOrCompact();
+        notifyAll();
+    }
+
+    /**
+     * 丢弃全部缓冲修改（文章已清空）
+     */
+    public synchronized void discardAll() {
+        new ArrayList<>(entries.keySet()).forEach(this::discard);
+    }
+
+    /**
+     * 获取写缓冲统计信息
+     *
+     * @return 统计信息
+     */
+    public synchronized Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", isEnabled());
+        stats.put("pendingArticles", entries.size());
+        stats.put("bufferedUpdates", bufferedUpdates);
+        stats.put("flushes", flushes);
+        stats.put("coalescedUpdates", Math.max(0, bufferedUpdates - flushes));
+        return stats;
+    }
+
+    private ObjectNode newRecord(String op, String id, long seq) {
+        ObjectNode record = objectMapper.createObjectNode();
+        record.put("op", op);
+        record.put("seq", seq);
+        record.put("id", id);
+        record.put("at", System.currentTimeMillis());
+        return record;
+    }
+
+    private ObjectNode updateRecord(String id, long seq, ArticleDTO changes) {
+        ObjectNode record = newRecord(OP_UPDATE, id, seq);
+        record.set("changes", objectMapper.valueToTree(changes));
+        return record;
+    }
+
+    private void append(ObjectNode record) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            write(journal, record);
+            if (Boolean.TRUE.equals(config.getFsync())) {
+                journal.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("写入写缓冲日志失败", e);
+        }
+    }
+
+    private void write(FileChannel channel, ObjectNode record) throws IOException {
+        byte[] line = (objectMapper.writeValueAsString(record) + "\n").getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.wrap(line);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * 没有待写入的文章时清空日志，否则在日志超过压缩阈值时压缩
+     */
+    private void truncateOrCompact() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            if (entries.isEmpty()) {
+                journal.truncate(0);
+                compactedSize = 0;
+                return;
+            }
+            long size = journal.size();
+            if (size >= config.getCompactThresholdKb() * 1024L && size >= compactedSize * 2) {
+                compact();
+            }
+        } catch (IOException e) {
+            log.warn("清理写缓冲日志失败", e);
+        }
+    }
+
+    /**
+     * 只保留未写入的修改重写日志：正在写入的批次和之后的修改各写一条更新记录（沿用原序号），
+     * 重放时批次的写入完成记录仍能正确覆盖对应的更新
+     */
+    private void compact() throws IOException {
+        Path path = Paths.get(config.getFullJournalPath());
+        Path temp = path.resolveSibling(path.getFileName() + ".compact");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Map.Entry<String, Pending> item : entries.entrySet()) {
+                Pending entry = item.getValue();
+                if (entry.inFlightChanges != null) {
+                    write(out, updateRecord(item.getKey(), entry.inFlightSeq, entry.inFlightChanges));
+                }
+                if (entry.changes != null) {
+                    write(out, updateRecord(item.getKey(), entry.lastSeq, entry.changes));
+                }
+            }
+            out.force(true);
+        }
+        long before = journal.size();
+        journal.close();
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            journal = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        }
+        compactedSize = journal.size();
+        log.debug("写缓冲日志已压缩 - 待写入文章: {}, 大小: {} -> {} bytes", entries.size(), before, compactedSize);
+    }
+
+    /**
+     * 重放日志：保留每篇文章最后一次写入完成之后的更新
+     */
+    private void replay(Path path) throws IOException {
+        Map<String, List<JsonNode>> updates = new LinkedHashMap<>();
+        int lineNumber = 0;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                JsonNode record;
+                try {
+                    record = objectMapper.readTree(line);
+                } catch (IOException e) {
+                    // 崩溃时最后一行可能只写入了一部分
+                    log.warn("跳过无法解析的写缓冲日志 - 行号: {}", lineNumber);
+                    continue;
+                }
+                String op = record.path("op").asText();
+                String id = record.path("id").asText();
+                long seq = record.path("seq").asLong();
+                sequence = Math.max(sequence, seq);
+                if (OP_UPDATE.equals(op)) {
+                    updates.computeIfAbsent(id, key -> new ArrayList<>()).add(record);
+                } else if (OP_FLUSHED.equals(op) || OP_DISCARD.equals(op)) {
+                    List<JsonNode> list = updates.get(id);
+                    if (list != null) {
+                        list.removeIf(update -> update.path("seq").asLong() <= seq);
+                    }
+                }
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        updates.forEach((id, list) -> {
+            if (list.isEmpty()) {
+                return;
+            }
+            Pending entry = new Pending();
+            entry.changes = new ArticleDTO();
+            for (JsonNode update : list) {
+                try {
+                    entry.changes.merge(objectMapper.treeToValue(update.get("changes"), ArticleDTO.class));
+                } catch (IOException e) {
+                    log.warn("跳过无法解析的写缓冲日志 - id: {}, seq: {}", id, update.path("seq").asLong());
+                }
+                entry.lastSeq = update.path("seq").asLong();
+            }
+            entry.firstBufferedAt = 0;
+            entry.lastBufferedAt = now;
+            entries.put(id, entry);
+        });
+    }
+
+    private ArticleDTO copy(ArticleDTO article) {
+        return objectMapper.convertValue(article, ArticleDTO.class);
+    }
+
+    /**
+     * 一篇文章的缓冲状态
+     */
+    private static final class Pending {
+        /**
+         * 尚未写入的修改（合并后），为null表示没有
+         */
+        private ArticleDTO changes;
+        /**
+         * 包含缓冲修改的文章视图，日志恢复的条目为null
+         */
+        private ArticleDTO snapshot;
+        private long firstBufferedAt;
+        private long lastBufferedAt;
+        private long lastSeq;
+        private boolean inFlight;
+        /**
+         * 正在写入的修改及其序号，写入完成或放回后为null
+         */
+        private ArticleDTO inFlightChanges;
+        private long inFlightSeq;
+    }
+
+    /**
+     * 一次待写入的修改
+     */
+    public static final class Batch {
+        private final String id;
+        private final ArticleDTO changes;
+        private final long seq;
+
+        private Batch(String id, ArticleDTO changes, long seq) {
+            this.id = id;
+            this.changes = changes;
+            this.seq = seq;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public ArticleDTO getChanges() {
+            return changes;
+        }
+    }
+}
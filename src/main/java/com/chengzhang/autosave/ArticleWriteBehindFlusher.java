@@ -0,0 +1,80 @@
+package com.chengzhang.autosave;
+
+import com.chengzhang.service.ArticleService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文章写缓冲的后台写入任务
+ * <p>
+ * 启动时写入从日志恢复的修改，运行期间每秒检查到期的缓冲修改，关闭时写入全部剩余修改。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticleWriteBehindFlusher {
+
+    private static final long CHECK_INTERVAL_MILLIS = 1000;
+
+    private final ArticleWriteBehindBuffer buffer;
+    private final ArticleService articleService;
+
+    private ScheduledExecutorService executor;
+
+    /**
+     * 应用启动完成后开始后台写入
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!buffer.isEnabled()) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "article-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(() -> flush(true));
+        executor.scheduleWithFixedDelay(() -> flush(false), CHECK_INTERVAL_MILLIS, CHECK_INTERVAL_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 关闭时写入全部剩余修改
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush(true);
+    }
+
+    private void flush(boolean all) {
+        try {
+            int flushed = articleService.flushBufferedUpdates(all);
+            if (flushed > 0) {
+                log.debug("写缓冲写入数据库 - 文章数量: {}", flushed);
+            }
+        } catch (Exception e) {
+            log.error("写缓冲写入数据库失败", e);
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.chengzhang.batch;
+
+import com.chengzhang.config.BatchConfig;
+import com.chengzhang.dto.BatchRequest;
+import com.chengzhang.dto.BatchResult;
+import com.chengzhang.util.JwtUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 批量请求执行器
+ * <p>
+ * 子请求直接交给 DispatcherServlet 处理，不再经过过滤器链；Authorization 只在批量请求上解析一次，
+ * 解析出的用户ID作为共享请求属性提供给所有子请求。连续的 GET 子请求在有界线程池中并行执行，
+ * 每个子请求从开始执行时计算超时；其他方法的子请求按顺序在请求线程中执行，不设超时，
+ * 避免超时放弃的写操作与后续子请求并发执行。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BatchDispatcher {
+
+    /**
+     * 共享请求属性：批量请求的当前用户ID（Token无效时不设置）
+     */
+    public static final String USER_ID_ATTRIBUTE = "com.chengzhang.batch.userId";
+
+    private static final Set<String> METHODS = new HashSet<>(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE"));
+    // 等待排队中的子请求开始执行的检查间隔
+    private static final long QUEUE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final BatchConfig config;
+    private final DispatcherServlet dispatcherServlet;
+    private final ObjectMapper objectMapper;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(config.getPoolSize(), config.getPoolSize(), 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(config.getQueueCapacity()), runnable -> {
+            Thread thread = new Thread(runnable, "batch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 执行批量请求
+     *
+     * @param request  批量请求
+     * @param response 批量请求的响应（子请求不会写入）
+     * @param items    子请求列表
+     * @return 子请求结果，顺序与子请求一致
+     */
+    public List<BatchResult> execute(HttpServletRequest request, HttpServletResponse response,
+                                     List<BatchRequest.Item> items) {
+        if (items.size() > config.getMaxRequests()) {
+            throw new IllegalArgumentException("子请求数量不能超过" + config.getMaxRequests());
+        }
+        for (BatchRequest.Item item : items) {
+            validate(item);
+        }
+
+        Map<String, Object> sharedAttributes = resolveSharedAttributes(request);
+        BatchResult[] results = new BatchResult[items.size()];
+        List<Integer> parallel = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            if ("GET".equals(methodOf(items.get(i)))) {
+                parallel.add(i);
+                continue;
+            }
+            executeParallel(request, response, items, parallel, sharedAttributes, results);
+            parallel.clear();
+            BatchRequest.Item item = items.get(i);
+            results[i] = dispatch(item, createRequest(request, item, sharedAttributes), new BatchSubResponse(response));
+        }
+        executeParallel(request, response, items, parallel, sharedAttributes, results);
+        return Arrays.asList(results);
+    }
+
+    private void validate(BatchRequest.Item item) {
+        if (!METHODS.contains(methodOf(item))) {
+            throw new IllegalArgumentException("不支持的请求方法: " + item.getMethod());
+        }
+        String path = item.getPath();
+        if (!path.startsWith("/")) {
+            throw new IllegalArgumentException("子请求路径必须以/开头: " + path);
+        }
+        if (path.equals("/batch") || path.startsWith("/batch?") || path.startsWith("/batch/")) {
+            throw new IllegalArgumentException("子请求不能嵌套批量请求");
+        }
+    }
+
+    private static String methodOf(BatchRequest.Item item) {
+        return item.getMethod() == null ? "GET" : item.getMethod().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * 解析批量请求的Token，作为所有子请求共享的当前用户
+     */
+    private Map<String, Object> resolveSharedAttributes(HttpServletRequest request) {
+        Map<String, Object> attributes = new HashMap<>();
+        String token = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (token != null && token.startsWith("Bearer ")) {
+            token = token.substring(7);
+        }
+        if (token != null && !token.isEmpty() && JwtUtil.validateToken(token)) {
+            Long userId = JwtUtil.getUserIdFromToken(token);
+            if (userId != null) {
+                attributes.put(USER_ID_ATTRIBUTE, userId);
+            }
+        }
+        return Collections.unmodifiableMap(attributes);
+    }
+
+    private BatchSubRequest createRequest(HttpServletRequest request, BatchRequest.Item item,
+                                          Map<String, Object> sharedAttributes) {
+        byte[] body = null;
+        if (item.getBody() != null && !item.getBody().isNull()) {
+            try {
+                body = objectMapper.writeValueAsBytes(item.getBody());
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("子请求体无效: " + e.getMessage());
+            }
+        }
+        return new BatchSubRequest(request, methodOf(item), item.getPath(), item.getHeaders(), body, sharedAttributes);
+    }
+
+    /**
+     * 并行执行一组 GET 子请求；请求对象在当前线程创建，只有一个子请求时直接执行
+     */
+    private void executeParallel(HttpServletRequest request, HttpServletResponse response,
+                                 List<BatchRequest.Item> items, List<Integer> indexes,
+                                 Map<String, Object> sharedAttributes, BatchResult[] results) {
+        if (indexes.isEmpty()) {
+            return;
+        }
+        if (indexes.size() == 1) {
+            BatchRequest.Item item = items.get(indexes.get(0));
+            results[indexes.get(0)] = dispatch(item, createRequest(request, item, sharedAttributes),
+                    new BatchSubResponse(response));
+            return;
+        }
+
+        List<SubTask> tasks = new ArrayList<>(indexes.size());
+        List<Future<BatchResult>> futures = new ArrayList<>(indexes.size());
+        long submittedAt = System.nanoTime();
+        for (Integer index : indexes) {
+            BatchRequest.Item item = items.get(index);
+            SubTask task = new SubTask(item, createRequest(request, item, sharedAttributes), new BatchSubResponse(response));
+            tasks.add(task);
+            futures.add(executor.submit(task));
+        }
+
+        long timeout = TimeUnit.SECONDS.toNanos(config.getTimeoutSeconds());
+        // 每个线程依次执行的子请求都用满超时时间时，排队的子请求也应在此之前开始执行
+        long waves = (indexes.size() + config.getPoolSize() - 1) / config.getPoolSize();
+        long queueDeadline = submittedAt + timeout * waves;
+        for (int i = 0; i < indexes.size(); i++) {
+            results[indexes.get(i)] = await(tasks.get(i), futures.get(i), timeout, queueDeadline);
+        }
+    }
+
+    /**
+     * 等待子请求完成：从子请求开始执行时计算超时，尚在排队时最多等待到排队截止时间
+     */
+    private BatchResult await(SubTask task, Future<BatchResult> future, long timeout, long queueDeadline) {
+        BatchRequest.Item item = task.item;
+        try {
+            while (true) {
+                long now = System.nanoTime();
+                long deadline = task.started ? task.startedAt + timeout : Math.min(queueDeadline, now + QUEUE_POLL_NANOS);
+                try {
+                    return future.get(Math.max(0, deadline - now), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    now = System.nanoTime();
+                    if (task.started ? now - task.startedAt >= timeout : now - queueDeadline >= 0) {
+                        future.cancel(true);
+                        log.warn("批量子请求超时: {} {}", methodOf(item), item.getPath());
+                        return error(item, HttpStatus.GATEWAY_TIMEOUT, "子请求超时");
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return error(item, HttpStatus.SERVICE_UNAVAILABLE, "子请求被中断");
+        } catch (ExecutionException e) {
+            return error(item, HttpStatus.INTERNAL_SERVER_ERROR, e.getCause().getMessage());
+        }
+    }
+
+    private BatchResult dispatch(BatchRequest.Item item, BatchSubRequest subRequest, BatchSubResponse subResponse) {
+        try {
+            dispatcherServlet.service(subRequest, subResponse);
+        } catch (Exception e) {
+            log.error("批量子请求失败: {} {}", methodOf(item), item.getPath(), e);
+            return error(item, HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+        return toResult(item, subResponse);
+    }
+
+    private BatchResult toResult(BatchRequest.Item item, BatchSubResponse subResponse) {
+        Map<String, String> headers = subResponse.getHeaderValues();
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        String content = subResponse.getContentAsString();
+
+        JsonNode body = null;
+        if (!content.isEmpty()) {
+            body = TextNode.valueOf(content);
+            String contentType = headers.get(HttpHeaders.CONTENT_TYPE);
+            if (contentType != null && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType))) {
+                try {
+                    body = objectMapper.readTree(content);
+                } catch (JsonProcessingException e) {
+                    log.debug("子请求响应不是有效的JSON: {}", item.getPath());
+                }
+            }
+        } else if (subResponse.getErrorMessage() != null) {
+            body = TextNode.valueOf(subResponse.getErrorMessage());
+        }
+        return new BatchResult(item.getId(), subResponse.getStatus(), headers.isEmpty() ? null : headers, body);
+    }
+
+    private static BatchResult error(BatchRequest.Item item, HttpStatus status, String message) {
+        return new BatchResult(item.getId(), status.value(), null,
+                message == null ? null : TextNode.valueOf(message));
+    }
+
+    /**
+     * 并行执行的子请求，记录开始执行的时间
+     */
+    private final class SubTask implements Callable<BatchResult> {
+        private final BatchRequest.Item item;
+        private final BatchSubRequest subRequest;
+        private final BatchSubResponse subResponse;
+        private volatile long startedAt;
+        private volatile boolean started;
+
+        private SubTask(BatchRequest.Item item, BatchSubRequest subRequest, BatchSubResponse subResponse) {
+            this.item = item;
+            this.subRequest = subRequest;
+            this.subResponse = subResponse;
+        }
+
+        @Override
+        public BatchResult call() {
+            startedAt = System.nanoTime();
+            started = true;
+            return dispatch(item, subRequest, subResponse);
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.chengzhang.batch;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletMapping;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * 批量请求中的子请求
+ * <p>
+ * 请求行、请求头、参数和属性在创建时从批量请求复制或解析，子请求在工作线程执行时不读取原请求的可变状态。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+class BatchSubRequest extends HttpServletRequestWrapper {
+
+    /**
+     * 从批量请求继承的请求头
+     */
+    private static final List<String> INHERITED_HEADERS = Arrays.asList(
+            HttpHeaders.AUTHORIZATION, HttpHeaders.ACCEPT_LANGUAGE, HttpHeaders.USER_AGENT);
+
+    private final String method;
+    private final String contextPath;
+    private final String requestUri;
+    private final String servletPath;
+    private final String queryString;
+    private final byte[] body;
+    private final Map<String, List<String>> headers = new LinkedCaseInsensitiveMap<>();
+    private final Map<String, String[]> parameters = new LinkedHashMap<>();
+    private final Map<String, Object> attributes = new HashMap<>();
+    private final Map<String, Object> sharedAttributes;
+    private final List<Locale> locales;
+    private final String scheme;
+    private final String serverName;
+    private final int serverPort;
+    private final String remoteAddr;
+    private final HttpServletMapping mapping;
+
+    BatchSubRequest(HttpServletRequest parent, String method, String path, Map<String, String> extraHeaders,
+                    byte[] body, Map<String, Object> sharedAttributes) {
+        super(parent);
+        this.method = method;
+        this.contextPath = parent.getContextPath();
+        int queryIndex = path.indexOf('?');
+        this.servletPath = queryIndex >= 0 ? path.substring(0, queryIndex) : path;
+        this.queryString = queryIndex >= 0 ? path.substring(queryIndex + 1) : null;
+        this.requestUri = contextPath + servletPath;
+        this.body = body;
+        this.sharedAttributes = sharedAttributes;
+        this.locales = Collections.list(parent.getLocales());
+        this.scheme = parent.getScheme();
+        this.serverName = parent.getServerName();
+        this.serverPort = parent.getServerPort();
+        this.remoteAddr = parent.getRemoteAddr();
+        this.mapping = parent.getHttpServletMapping();
+
+        for (String name : INHERITED_HEADERS) {
+            List<String> values = Collections.list(parent.getHeaders(name));
+            if (!values.isEmpty()) {
+                headers.put(name, values);
+            }
+        }
+        if (extraHeaders != null) {
+            extraHeaders.forEach((name, value) -> {
+                if (!HttpHeaders.AUTHORIZATION.equalsIgnoreCase(name) && value != null) {
+                    headers.put(name, Collections.singletonList(value));
+                }
+            });
+        }
+        if (body != null) {
+            headers.put(HttpHeaders.CONTENT_TYPE, Collections.singletonList(MediaType.APPLICATION_JSON_VALUE));
+            headers.put(HttpHeaders.CONTENT_LENGTH, Collections.singletonList(String.valueOf(body.length)));
+        }
+        parseQueryString();
+    }
+
+    private void parseQueryString() {
+        if (queryString == null || queryString.isEmpty()) {
+            return;
+        }
+        Map<String, List<String>> values = new LinkedHashMap<>();
+        for (String pair : queryString.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int index = pair.indexOf('=');
+            String name = decode(index >= 0 ? pair.substring(0, index) : pair);
+            String value = index >= 0 ? decode(pair.substring(index + 1)) : "";
+            values.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+        }
+        values.forEach((name, list) -> parameters.put(name, list.toArray(new String[0])));
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public String getMethod() {
+        return method;
+    }
+
+    @Override
+    public String getContextPath() {
+        return contextPath;
+    }
+
+    @Override
+    public String getRequestURI() {
+        return requestUri;
+    }
+
+    @Override
+    public StringBuffer getRequestURL() {
+        StringBuffer url = new StringBuffer(scheme).append("://").append(serverName);
+        if (!("http".equals(scheme) && serverPort == 80) && !("https".equals(scheme) && serverPort == 443)) {
+            url.append(':').append(serverPort);
+        }
+        return url.append(requestUri);
+    }
+
+    @Override
+    public String getServletPath() {
+        return servletPath;
+    }
+
+    @Override
+    public String getPathInfo() {
+        return null;
+    }
+
+    @Override
+    public String getQueryString() {
+        return queryString;
+    }
+
+    @Override
+    public HttpServletMapping getHttpServletMapping() {
+        return mapping;
+    }
+
+    @Override
+    public String getHeader(String name) {
+        List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        List<String> values = headers.get(name);
+        return Collections.enumeration(values == null ? Collections.<String>emptyList() : values);
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+        return Collections.enumeration(headers.keySet());
+    }
+
+    @Override
+    public long getDateHeader(String name) {
+        String value = getHeader(name);
+        if (value == null) {
+            return -1;
+        }
+        HttpHeaders parsed = new HttpHeaders();
+        parsed.set(name, value);
+        return parsed.getFirstDate(name);
+    }
+
+    @Override
+    public int getIntHeader(String name) {
+        String value = getHeader(name);
+        return value == null ? -1 : Integer.parseInt(value);
+    }
+
+    @Override
+    public String getContentType() {
+        return getHeader(HttpHeaders.CONTENT_TYPE);
+    }
+
+    @Override
+    public int getContentLength() {
+        return body == null ? -1 : body.length;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return getContentLength();
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return StandardCharsets.UTF_8.name();
+    }
+
+    @Override
+    public void setCharacterEncoding(String env) {
+        // 子请求固定使用UTF-8
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        ByteArrayInputStream input = new ByteArrayInputStream(body == null ? new byte[0] : body);
+        return new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return input.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public int read() {
+                return input.read();
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public String getParameter(String name) {
+        String[] values = parameters.get(name);
+        return values == null || values.length == 0 ? null : values[0];
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        return Collections.unmodifiableMap(parameters);
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+        return Collections.enumeration(parameters.keySet());
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+        return parameters.get(name);
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        Object value = attributes.get(name);
+        return value != null ? value : sharedAttributes.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        Set<String> names = new LinkedHashSet<>(sharedAttributes.keySet());
+        names.addAll(attributes.keySet());
+        return Collections.enumeration(names);
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (value == null) {
+            attributes.remove(name);
+        } else {
+            attributes.put(name, value);
+        }
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        attributes.remove(name);
+    }
+
+    @Override
+    public Locale getLocale() {
+        return locales.isEmpty() ? Locale.getDefault() : locales.get(0);
+    }
+
+    @Override
+    public Enumeration<Locale> getLocales() {
+        return Collections.enumeration(locales);
+    }
+
+    @Override
+    public String getScheme() {
+        return scheme;
+    }
+
+    @Override
+    public String getServerName() {
+        return serverName;
+    }
+
+    @Override
+    public int getServerPort() {
+        return serverPort;
+    }
+
+    @Override
+    public String getRemoteAddr() {
+        return remoteAddr;
+    }
+
+    @Override
+    public boolean isAsyncSupported() {
+        // 子请求的结果需要同步收集，流式响应等异步处理不可用
+        return false;
+    }
+}
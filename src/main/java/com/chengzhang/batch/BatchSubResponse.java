@@ -0,0 +1,296 @@
+package com.chengzhang.batch;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 批量请求中子请求的响应
+ * <p>
+ * 状态码、响应头和响应体全部保存在内存中，不写入批量请求的响应。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+class BatchSubResponse extends HttpServletResponseWrapper {
+
+    private final Map<String, List<String>> headers = new LinkedCaseInsensitiveMap<>();
+    private final ByteArrayOutputStream content = new ByteArrayOutputStream(1024);
+    private int status = SC_OK;
+    private String errorMessage;
+    private String characterEncoding;
+    private PrintWriter writer;
+    private ServletOutputStream outputStream;
+    private boolean committed;
+
+    BatchSubResponse(HttpServletResponse parent) {
+        super(parent);
+    }
+
+    /**
+     * 获取响应体文本
+     */
+    String getContentAsString() {
+        if (writer != null) {
+            writer.flush();
+        }
+        Charset charset = characterEncoding != null ? Charset.forName(characterEncoding) : StandardCharsets.UTF_8;
+        return new String(content.toByteArray(), charset);
+    }
+
+    /**
+     * 获取 sendError 设置的错误信息
+     */
+    String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * 获取全部响应头（同名取第一个值）
+     */
+    Map<String, String> getHeaderValues() {
+        Map<String, String> values = new LinkedCaseInsensitiveMap<>();
+        headers.forEach((name, list) -> {
+            if (!list.isEmpty()) {
+                values.put(name, list.get(0));
+            }
+        });
+        return values;
+    }
+
+    @Override
+    public int getStatus() {
+        return status;
+    }
+
+    @Override
+    public void setStatus(int sc) {
+        if (!committed) {
+            this.status = sc;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public void setStatus(int sc, String sm) {
+        setStatus(sc);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) {
+        this.status = sc;
+        this.errorMessage = msg;
+        this.committed = true;
+    }
+
+    @Override
+    public void sendError(int sc) {
+        sendError(sc, null);
+    }
+
+    @Override
+    public void sendRedirect(String location) {
+        setHeader(HttpHeaders.LOCATION, location);
+        this.status = SC_FOUND;
+        this.committed = true;
+    }
+
+    @Override
+    public boolean containsHeader(String name) {
+        return headers.containsKey(name);
+    }
+
+    @Override
+    public String getHeader(String name) {
+        List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    @Override
+    public Collection<String> getHeaders(String name) {
+        List<String> values = headers.get(name);
+        return values == null ? Collections.<String>emptyList() : new ArrayList<>(values);
+    }
+
+    @Override
+    public Collection<String> getHeaderNames() {
+        return new ArrayList<>(headers.keySet());
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+            setContentType(value);
+            return;
+        }
+        headers.put(name, new ArrayList<>(Collections.singletonList(value)));
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+            setContentType(value);
+            return;
+        }
+        headers.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        setHeader(name, String.valueOf(value));
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        addHeader(name, String.valueOf(value));
+    }
+
+    @Override
+    public void setDateHeader(String name, long date) {
+        setHeader(name, formatDate(date));
+    }
+
+    @Override
+    public void addDateHeader(String name, long date) {
+        addHeader(name, formatDate(date));
+    }
+
+    private static String formatDate(long date) {
+        HttpHeaders formatted = new HttpHeaders();
+        formatted.setDate(HttpHeaders.DATE, date);
+        return formatted.getFirst(HttpHeaders.DATE);
+    }
+
+    @Override
+    public void setContentType(String type) {
+        if (type == null) {
+            headers.remove(HttpHeaders.CONTENT_TYPE);
+            return;
+        }
+        int index = type.toLowerCase(Locale.ROOT).indexOf("charset=");
+        if (index >= 0) {
+            characterEncoding = type.substring(index + "charset=".length()).trim();
+        }
+        headers.put(HttpHeaders.CONTENT_TYPE, new ArrayList<>(Collections.singletonList(type)));
+    }
+
+    @Override
+    public String getContentType() {
+        return getHeader(HttpHeaders.CONTENT_TYPE);
+    }
+
+    @Override
+    public void setCharacterEncoding(String charset) {
+        this.characterEncoding = charset;
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return characterEncoding != null ? characterEncoding : StandardCharsets.UTF_8.name();
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        setContentLengthLong(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        headers.put(HttpHeaders.CONTENT_LENGTH, new ArrayList<>(Collections.singletonList(String.valueOf(len))));
+    }
+
+    @Override
+    public void setLocale(Locale loc) {
+        // 子请求不设置响应语言
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (outputStream == null) {
+            outputStream = new ServletOutputStream() {
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public void write(int b) {
+                    content.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    content.write(b, off, len);
+                }
+            };
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(content, Charset.forName(getCharacterEncoding())));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() {
+        if (writer != null) {
+            writer.flush();
+        }
+        committed = true;
+    }
+
+    @Override
+    public boolean isCommitted() {
+        return committed;
+    }
+
+    @Override
+    public void reset() {
+        resetBuffer();
+        headers.clear();
+        status = SC_OK;
+        characterEncoding = null;
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (writer != null) {
+            writer.flush();
+        }
+        content.reset();
+    }
+
+    @Override
+    public void setBufferSize(int size) {
+        // 响应体全部缓存在内存中
+    }
+
+    @Override
+    public int getBufferSize() {
+        return content.size();
+    }
+}
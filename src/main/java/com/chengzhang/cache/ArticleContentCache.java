@@ -0,0 +1,386 @@
+package com.chengzhang.cache;
+
+import com.chengzhang.common.ResourceVersion;
+import com.chengzhang.config.ArticleCacheConfig;
+import com.chengzhang.dto.ArticleDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 文章详情缓存
+ * <p>
+ * 文章序列化为UTF-8 JSON后以deflate压缩，存放在启动时一次性分配的堆外内存块中。内存块按固定大小分页，
+ * 空闲页由空闲列表管理，条目淘汰或失效后页立即回收复用，不依赖GC释放直接内存；容量按页数限制，按LRU淘汰。
+ * <p>
+ * 命中时从页中流式解压并反序列化，不复制出完整的压缩数据或JSON；每次命中仍会创建一个短生命周期的文章对象，
+ * 缓存节省的是数据库查询和正文在堆上的常驻占用。读取期间条目被固定，淘汰后等读取结束才回收其页。
+ * 缓存条目携带文章的 updatedAt，旧版本不会覆盖新版本；文章更新、删除后由调用方在事务提交后失效。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticleContentCache {
+
+    private final ArticleCacheConfig config;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 内存块的页大小
+     */
+    private static final int PAGE_SIZE = 4096;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    /**
+     * 堆外内存块及空闲页栈，读写都需要持有 this 锁（读取页内容时使用 duplicate）
+     */
+    private ByteBuffer slab;
+    private int[] freePages;
+    private int freeCount;
+
+    private long usedBytes;
+    private long rawBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * 失效代数：每次失效递增，用于丢弃失效前从数据库读取的旧数据
+     */
+    private long generation;
+
+    /**
+     * 启用时分配堆外内存块
+     */
+    @PostConstruct
+    public synchronized void init() {
+        if (!config.getEnabled()) {
+            return;
+        }
+        int pageCount = (int) Math.min(maxBytes() / PAGE_SIZE, Integer.MAX_VALUE / PAGE_SIZE);
+        slab = ByteBuffer.allocateDirect(pageCount * PAGE_SIZE);
+        freePages = new int[pageCount];
+        for (int i = 0; i < pageCount; i++) {
+            freePages[i] = pageCount - 1 - i;
+        }
+        freeCount = pageCount;
+        log.info("文章缓存已分配堆外内存 - 页数: {}, 大小: {} bytes", pageCount, slab.capacity());
+    }
+
+    /**
+     * 读取缓存的文章
+     *
+     * @param id 文章ID
+     * @return 文章，未命中返回null
+     */
+    public ArticleDTO get(String id) {
+        if (!config.getEnabled()) {
+            return null;
+        }
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(id);
+            if (entry == null) {
+                misses++;
+                return null;
+            }
+            hits++;
+            entry.readers++;
+        }
+        try {
+            return decode(entry);
+        } catch (IOException e) {
+            log.warn("文章缓存解码失败 - id: {}", id, e);
+            invalidate(id);
+            return null;
+        } finally {
+            release(entry);
+        }
+    }
+
+    /**
+     * 读取缓存文章的版本信息，不解压正文
+     *
+     * @param id 文章ID
+     * @return 版本信息，未命中返回null
+     */
+    public ResourceVersion getVersion(String id) {
+        if (!config.getEnabled()) {
+            return null;
+        }
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(id);
+        }
+        return entry != null ? ResourceVersion.of(entry.revision, entry.updatedAt) : null;
+    }
+
+    /**
+     * 获取当前失效代数，从数据库读取前调用，写入缓存时传回
+     *
+     * @return 失效代数
+     */
+    public synchronized long currentGeneration() {
+        return generation;
+    }
+
+    /**
+     * 写入缓存
+     *
+     * @param article    文章
+     * @param generation 读取数据库前获取的失效代数，期间发生过失效则不写入
+     */
+    public void put(ArticleDTO article, long generation) {
+        if (!config.getEnabled() || article == null || article.getId() == null) {
+            return;
+        }
+        byte[] compressed;
+        int rawLength;
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(article);
+            rawLength = json.length;
+            compressed = compress(json);
+        } catch (IOException e) {
+            log.warn("文章缓存编码失败 - id: {}", article.getId(), e);
+            return;
+        }
+        long maxEntryBytes = config.getMaxEntrySizeKb() * 1024L;
+        if (compressed.length > maxEntryBytes) {
+            return;
+        }
+        int pageCount = (compressed.length + PAGE_SIZE - 1) / PAGE_SIZE;
+
+        synchronized (this) {
+            if (generation != this.generation || slab == null) {
+                return;
+            }
+            Entry existing = entries.get(article.getId());
+            if (existing != null && isNewer(existing.updatedAt, article.getUpdatedAt())) {
+                return;
+            }
+            if (existing != null) {
+                remove(article.getId());
+            }
+            int[] pages = allocate(pageCount);
+            if (pages == null) {
+                return;
+            }
+            ByteBuffer target = slab.duplicate();
+            for (int i = 0; i < pages.length; i++) {
+                int offset = i * PAGE_SIZE;
+                target.clear().position(pages[i] * PAGE_SIZE);
+                target.put(compressed, offset, Math.min(PAGE_SIZE, compressed.length - offset));
+            }
+            Entry entry = new Entry(article.getUpdatedAt(), article.getRevision(), pages, compressed.length, rawLength);
+            entries.put(article.getId(), entry);
+            usedBytes += entry.length;
+            rawBytes += entry.rawLength;
+        }
+    }
+
+    /**
+     * 使指定文章的缓存失效
+     *
+     * @param id 文章ID
+     */
+    public synchronized void invalidate(String id) {
+        generation++;
+        remove(id);
+    }
+
+    /**
+     * 清空缓存
+     */
+    public synchronized void clear() {
+        generation++;
+        for (Entry entry : entries.values()) {
+            discard(entry);
+        }
+        entries.clear();
+    }
+
+    /**
+     * 获取缓存统计信息
+     *
+     * @return 统计信息
+     */
+    public synchronized Map<String, Object> getStatistics() {
+        long requests = hits + misses;
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", config.getEnabled());
+        stats.put("entries", entries.size());
+        stats.put("usedBytes", usedBytes);
+        stats.put("rawBytes", rawBytes);
+        stats.put("allocatedBytes", slab == null ? 0 : (long) (freePages.length - freeCount) * PAGE_SIZE);
+        stats.put("maxBytes", slab == null ? 0 : slab.capacity());
+        stats.put("compressionRatio", usedBytes == 0 ? 0 : Math.round(rawBytes * 100.0 / usedBytes) / 100.0);
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("hitRate", requests == 0 ? 0 : Math.round(hits * 10000.0 / requests) / 10000.0);
+        stats.put("evictions", evictions);
+        return stats;
+    }
+
+    private void remove(String id) {
+        Entry removed = entries.remove(id);
+        if (removed != null) {
+            discard(removed);
+        }
+    }
+
+    /**
+     * 从统计中移除条目并回收其页；正在读取的条目等读取结束后回收，需持有 this 锁
+     */
+    private void discard(Entry entry) {
+        usedBytes -= entry.length;
+        rawBytes -= entry.rawLength;
+        entry.removed = true;
+        if (entry.readers == 0) {
+            freePages(entry.pages);
+        }
+    }
+
+    private synchronized void release(Entry entry) {
+        entry.readers--;
+        if (entry.removed && entry.readers == 0) {
+            freePages(entry.pages);
+        }
+    }
+
+    /**
+     * 分配指定数量的页，空闲页不足时按LRU淘汰；仍不足（页被读取中的条目占用）时返回null，需持有 this 锁
+     */
+    private int[] allocate(int count) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (freeCount < count && iterator.hasNext()) {
+            Entry eldest = iterator.next();
+            iterator.remove();
+            discard(eldest);
+            evictions++;
+        }
+        if (freeCount < count) {
+            return null;
+        }
+        int[] pages = new int[count];
+        for (int i = 0; i < count; i++) {
+            pages[i] = freePages[--freeCount];
+        }
+        return pages;
+    }
+
+    private void freePages(int[] pages) {
+        for (int page : pages) {
+            freePages[freeCount++] = page;
+        }
+    }
+
+    private long maxBytes() {
+        return config.getMaxSizeMb() * 1024L * 1024L;
+    }
+
+    private ArticleDTO decode(Entry entry) throws IOException {
+        ByteBuffer source;
+        synchronized (this) {
+            source = slab.duplicate();
+        }
+        try (InputStream in = new InflaterInputStream(new PageInputStream(source, entry.pages, entry.length))) {
+            return objectMapper.readValue(in, ArticleDTO.class);
+        }
+    }
+
+    private static byte[] compress(byte[] data) throws IOException {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(64, data.length / 3));
+            try (DeflaterOutputStream out = new DeflaterOutputStream(bytes, deflater)) {
+                out.write(data);
+            }
+            return bytes.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static boolean isNewer(LocalDateTime current, LocalDateTime candidate) {
+        return current != null && (candidate == null || current.isAfter(candidate));
+    }
+
+    /**
+     * 缓存条目，readers 和 removed 需持有缓存的 this 锁读写
+     */
+    private static final class Entry {
+        private final LocalDateTime updatedAt;
+        private final Long revision;
+        private final int[] pages;
+        private final int length;
+        private final int rawLength;
+        private int readers;
+        private boolean removed;
+
+        private Entry(LocalDateTime updatedAt, Long revision, int[] pages, int length, int rawLength) {
+            this.updatedAt = updatedAt;
+            this.revision = revision;
+            this.pages = pages;
+            this.length = length;
+            this.rawLength = rawLength;
+        }
+    }
+
+    /**
+     * 按页顺序读取内存块中的压缩数据
+     */
+    private static final class PageInputStream extends InputStream {
+        private final ByteBuffer slab;
+        private final int[] pages;
+        private final int length;
+        private int position;
+
+        private PageInputStream(ByteBuffer slab, int[] pages, int length) {
+            this.slab = slab;
+            this.pages = pages;
+            this.length = length;
+        }
+
+        @Override
+        public int read() {
+            if (position >= length) {
+                return -1;
+            }
+            int value = slab.get(pages[position / PAGE_SIZE] * PAGE_SIZE + position % PAGE_SIZE) & 0xFF;
+            position++;
+            return value;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (position >= length) {
+                return -1;
+            }
+            int pageOffset = position % PAGE_SIZE;
+            int count = Math.min(len, Math.min(PAGE_SIZE - pageOffset, length - position));
+            slab.clear().position(pages[position / PAGE_SIZE] * PAGE_SIZE + pageOffset);
+            slab.get(b, off, count);
+            position += count;
+            return count;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.chengzhang.cache;
+
+import com.chengzhang.config.CountCacheConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.LongSupplier;
+
+/**
+ * 列表总数缓存
+ * <p>
+ * 按规范化的筛选条件缓存 COUNT 结果。首次查询同步统计；之后直接返回缓存值（近似总数），
+ * 超过刷新间隔或数据变更后由后台线程重新统计，同一条件同时只有一个刷新任务。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CountCache {
+
+    /**
+     * 数据类型：文章
+     */
+    public static final String ARTICLES = "article";
+
+    /**
+     * 数据类型：图片
+     */
+    public static final String IMAGES = "image";
+
+    private final CountCacheConfig config;
+
+    private final Map<String, CachedCount> entries = new LinkedHashMap<String, CachedCount>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedCount> eldest) {
+            return size() > config.getMaxEntries();
+        }
+    };
+
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "count-cache-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 停止后台刷新
+     */
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    /**
+     * 获取总数
+     *
+     * @param namespace 数据类型：article/image
+     * @param key       规范化的筛选条件
+     * @param counter   统计函数
+     * @return 总数
+     */
+    public Count get(String namespace, String key, LongSupplier counter) {
+        if (!Boolean.TRUE.equals(config.getEnabled())) {
+            return new Count(counter.getAsLong(), false);
+        }
+        String cacheKey = namespace + ":" + key;
+        CachedCount entry;
+        boolean refresh = false;
+        long invalidations = 0;
+        synchronized (entries) {
+            entry = entries.get(cacheKey);
+            if (entry != null && !entry.refreshing && (entry.stale
+                    || System.currentTimeMillis() - entry.computedAt > config.getRefreshAfterSeconds() * 1000L)) {
+                entry.refreshing = true;
+                refresh = true;
+                invalidations = entry.invalidations;
+            }
+        }
+        if (entry == null) {
+            long value = counter.getAsLong();
+            synchronized (entries) {
+                entries.put(cacheKey, new CachedCount(value));
+            }
+            return new Count(value, false);
+        }
+        if (refresh) {
+            submitRefresh(cacheKey, entry, invalidations, counter);
+        }
+        return new Count(entry.value, true);
+    }
+
+    /**
+     * 标记某类数据的全部缓存总数已过期（数据变更后调用），下次读取时在后台重新统计
+     *
+     * @param namespace 数据类型：article/image
+     */
+    public void markStale(String namespace) {
+        String prefix = namespace + ":";
+        synchronized (entries) {
+            entries.forEach((key, entry) -> {
+                if (key.startsWith(prefix)) {
+                    entry.stale = true;
+                    entry.invalidations++;
+                }
+            });
+        }
+    }
+
+    private void submitRefresh(String cacheKey, CachedCount entry, long invalidations, LongSupplier counter) {
+        try {
+            refresher.execute(() -> {
+                try {
+                    long value = counter.getAsLong();
+                    synchronized (entries) {
+                        entry.value = value;
+                        entry.computedAt = System.currentTimeMillis();
+                        // 统计期间又有数据变更时保持过期状态
+                        entry.stale = entry.invalidations != invalidations;
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("后台统计列表总数失败 - key: {}", cacheKey, e);
+                } finally {
+                    synchronized (entries) {
+                        entry.refreshing = false;
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            synchronized (entries) {
+                entry.refreshing = false;
+            }
+        }
+    }
+
+    /**
+     * 一个筛选条件的缓存总数
+     */
+    private static final class CachedCount {
+        private long value;
+        private long computedAt;
+        private boolean stale;
+        private long invalidations;
+        private boolean refreshing;
+
+        private CachedCount(long value) {
+            this.value = value;
+            this.computedAt = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * 总数及其是否为缓存的近似值
+     */
+    public static final class Count {
+        private final long value;
+        private final boolean approximate;
+
+        public Count(long value, boolean approximate) {
+            this.value = value;
+            this.approximate = approximate;
+        }
+
+        public long getValue() {
+            return value;
+        }
+
+        public boolean isApproximate() {
+            return approximate;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.chengzhang.cache;
+
+import com.chengzhang.common.ResourceVersion;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 列表资源版本登记
+ * <p>
+ * 为整体返回的小型列表（合集、AI快捷操作）维护进程内版本号，写入成功后递增。版本标签包含进程启动时间，
+ * 重启后旧的 ETag 不会被误判为未修改。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Component
+public class ResourceVersions {
+
+    /**
+     * 资源：合集
+     */
+    public static final String COLLECTIONS = "collections";
+
+    /**
+     * 资源：AI快捷操作
+     */
+    public static final String AI_SHORTCUTS = "ai-shortcuts";
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final long startedAt = System.currentTimeMillis();
+    private final ConcurrentMap<String, Version> versions = new ConcurrentHashMap<>();
+
+    /**
+     * 获取资源的当前版本
+     *
+     * @param resource 资源名称
+     * @return 当前版本
+     */
+    public ResourceVersion current(String resource) {
+        return versions.computeIfAbsent(resource, key -> new Version(0, startedAt)).toResourceVersion(epoch);
+    }
+
+    /**
+     * 资源发生变更后递增版本
+     *
+     * @param resource 资源名称
+     */
+    public void bump(String resource) {
+        versions.compute(resource, (key, previous) -> previous == null
+                ? new Version(1, Math.max(System.currentTimeMillis(), startedAt + 1000))
+                // Last-Modified 精确到秒，保证每次变更后都晚于上一版本
+                : new Version(previous.counter + 1, Math.max(System.currentTimeMillis(), previous.lastModified + 1000)));
+    }
+
+    private static final class Version {
+        private final long counter;
+        private final long lastModified;
+
+        private Version(long counter, long lastModified) {
+            this.counter = counter;
+            this.lastModified = lastModified;
+        }
+
+        private ResourceVersion toResourceVersion(String epoch) {
+            return new ResourceVersion(epoch + "-" + counter, lastModified);
+        }
+    }
+}
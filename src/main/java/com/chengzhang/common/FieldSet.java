@@ -0,0 +1,165 @@
+package com.chengzhang.common;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 稀疏字段集（fields 参数）
+ * <p>
+ * 由逗号分隔的字段名构成，字段名与响应DTO的属性名一致；id 始终包含。用于同时缩小查询投影列和JSON输出。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+public final class FieldSet {
+
+    /**
+     * 请求参数名
+     */
+    public static final String PARAMETER = "fields";
+
+    /**
+     * DTO上 @JsonFilter 使用的过滤器ID
+     */
+    public static final String FILTER_ID = "fieldSet";
+
+    /**
+     * 全部字段
+     */
+    public static final FieldSet ALL = new FieldSet(null);
+
+    private static final Map<Class<?>, Set<String>> PROPERTIES = new ConcurrentHashMap<>();
+
+    private final Set<String> fields;
+
+    private FieldSet(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * 解析字段参数
+     *
+     * @param fields  逗号分隔的字段名，为空时表示全部字段
+     * @param dtoType 响应DTO类型，字段名必须是其属性
+     * @return 字段集
+     * @throws IllegalArgumentException 包含不支持的字段
+     */
+    public static FieldSet parse(String fields, Class<?> dtoType) {
+        if (StringUtils.isBlank(fields)) {
+            return ALL;
+        }
+        Set<String> supported = PROPERTIES.computeIfAbsent(dtoType, FieldSet::propertiesOf);
+        Set<String> selected = names(fields);
+        for (String name : selected) {
+            if (!supported.contains(name)) {
+                throw new IllegalArgumentException("不支持的字段: " + name);
+            }
+        }
+        return new FieldSet(Collections.unmodifiableSet(selected));
+    }
+
+    /**
+     * 拆分字段参数（不校验字段名）
+     *
+     * @param fields 逗号分隔的字段名
+     * @return 字段名集合（包含 id）
+     */
+    public static Set<String> names(String fields) {
+        Set<String> names = new LinkedHashSet<>();
+        names.add("id");
+        if (fields != null) {
+            for (String field : fields.split(",")) {
+                String name = field.trim();
+                if (!name.isEmpty()) {
+                    names.add(name);
+                }
+            }
+        }
+        return names;
+    }
+
+    /**
+     * 是否为全部字段
+     */
+    public boolean isAll() {
+        return fields == null;
+    }
+
+    /**
+     * 是否包含指定字段
+     *
+     * @param field 字段名
+     * @return 是否包含
+     */
+    public boolean includes(String field) {
+        return fields == null || fields.contains(field);
+    }
+
+    /**
+     * 是否包含任一指定字段
+     *
+     * @param candidates 字段名
+     * @return 是否包含
+     */
+    public boolean includesAny(String... candidates) {
+        for (String candidate : candidates) {
+            if (includes(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 追加查询必需的字段（如游标排序字段），不影响输出
+     *
+     * @param required 字段名
+     * @return 新的字段集
+     */
+    public FieldSet with(String... required) {
+        if (fields == null) {
+            return this;
+        }
+        Set<String> merged = new LinkedHashSet<>(fields);
+        Collections.addAll(merged, required);
+        return new FieldSet(Collections.unmodifiableSet(merged));
+    }
+
+    /**
+     * 规范化表示：按字段名排序后以逗号连接，用于区分同一资源不同字段集的 ETag
+     *
+     * @return 规范化表示，全部字段时返回null
+     */
+    public String canonical() {
+        return fields == null ? null : String.join(",", new TreeSet<>(fields));
+    }
+
+    /**
+     * 获取字段名集合
+     *
+     * @return 字段名集合，全部字段时返回null
+     */
+    public Set<String> getFields() {
+        return fields;
+    }
+
+    private static Set<String> propertiesOf(Class<?> type) {
+        Set<String> properties = new LinkedHashSet<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    properties.add(field.getName());
+                }
+            }
+        }
+        return properties;
+    }
+}
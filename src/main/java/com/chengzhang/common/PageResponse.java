@@ -2,6 +2,7 @@ package com.chengzhang.common;
 
 import lombok.Data;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -50,6 +51,11 @@ public class PageResponse<T> {
          */
         private Integer totalPages;
 
+        /**
+         * 总数是否为缓存的近似值（近似时 hasNext 仍按实际查询结果判断）
+         */
+        private Boolean totalApproximate;
+
         /**
          * 是否有下一页
          */
@@ -69,6 +75,11 @@ public class PageResponse<T> {
          * 是否是最后一页
          */
         private Boolean isLast;
+
+        /**
+         * 下一页游标（仅游标分页模式返回，无下一页时为null）
+         */
+        private String nextCursor;
     }
 
     /**
@@ -102,6 +113,49 @@ public class PageResponse<T> {
         return response;
     }
 
+    /**
+     * 从Spring Data的Slice对象创建PageResponse（不含总数）
+     *
+     * @param slice Spring Data的Slice对象
+     * @param <T>   数据类型
+     * @return PageResponse
+     */
+    public static <T> PageResponse<T> of(Slice<T> slice) {
+        PageResponse<T> response = new PageResponse<>();
+        response.content = slice.getContent();
+
+        Pagination pagination = new Pagination();
+        pagination.page = slice.getNumber() + 1;
+        pagination.size = slice.getSize();
+        pagination.hasNext = slice.hasNext();
+        pagination.hasPrevious = slice.hasPrevious();
+        pagination.isFirst = slice.isFirst();
+        pagination.isLast = slice.isLast();
+
+        response.pagination = pagination;
+        return response;
+    }
+
+    /**
+     * 从Spring Data的Slice对象及单独统计的总数创建PageResponse
+     *
+     * @param slice       Spring Data的Slice对象
+     * @param total       总记录数
+     * @param approximate 总数是否为近似值
+     * @param <T>         数据类型
+     * @return PageResponse
+     */
+    public static <T> PageResponse<T> of(Slice<T> slice, long total, boolean approximate) {
+        PageResponse<T> response = of(slice);
+        Pagination pagination = response.pagination;
+        // 近似总数不小于已经确认存在的记录数
+        long seen = slice.getPageable().getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+        pagination.total = Math.max(total, seen);
+        pagination.totalPages = slice.getSize() > 0 ? (int) Math.ceil((double) pagination.total / slice.getSize()) : 1;
+        pagination.totalApproximate = approximate;
+        return response;
+    }
+
     /**
      * 创建空的分页响应
      *
@@ -155,4 +209,27 @@ public class PageResponse<T> {
         response.pagination = pagination;
         return response;
     }
-}
\ No newline at end of file
+
+    /**
+     * 创建游标分页响应（不统计总数）
+     *
+     * @param content    数据列表
+     * @param size       每页大小
+     * @param nextCursor 下一页游标，无下一页时为null
+     * @param <T>        数据类型
+     * @return PageResponse
+     */
+    public static <T> PageResponse<T> ofCursor(List<T> content, Integer size, String nextCursor) {
+        PageResponse<T> response = new PageResponse<>();
+        response.content = content;
+
+        Pagination pagination = new Pagination();
+        pagination.size = size;
+        pagination.hasNext = nextCursor != null;
+        pagination.isLast = nextCursor == null;
+        pagination.nextCursor = nextCursor;
+
+        response.pagination = pagination;
+        return response;
+    }
+}
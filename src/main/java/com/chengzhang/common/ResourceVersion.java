@@ -0,0 +1,61 @@
+package com.chengzhang.common;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 资源版本，用于生成 ETag 和 Last-Modified 条件请求头
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+public final class ResourceVersion {
+
+    private final String tag;
+    private final long lastModified;
+
+    public ResourceVersion(String tag, long lastModified) {
+        this.tag = tag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * 根据版本号和更新时间创建资源版本，更新时间按毫秒参与 ETag（存储精度需为毫秒）
+     *
+     * @param revision  版本号
+     * @param updatedAt 更新时间
+     * @return 资源版本
+     */
+    public static ResourceVersion of(Long revision, LocalDateTime updatedAt) {
+        long millis = updatedAt != null ? updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0L;
+        return new ResourceVersion((revision != null ? revision : 0L) + "-" + Long.toString(millis, 36), millis);
+    }
+
+    /**
+     * 获取同一版本下某一表示形式（如稀疏字段集、输出格式）的资源版本，不同表示形式的 ETag 互不相同
+     *
+     * @param variant 表示形式，为空表示完整表示
+     * @return 资源版本
+     */
+    public ResourceVersion withVariant(String variant) {
+        return variant == null || variant.isEmpty() ? this : new ResourceVersion(tag + ";" + variant, lastModified);
+    }
+
+    /**
+     * 获取强校验 ETag（带引号）
+     *
+     * @return ETag
+     */
+    public String getETag() {
+        return "\"" + tag + "\"";
+    }
+
+    /**
+     * 获取最后修改时间（毫秒时间戳）
+     *
+     * @return 最后修改时间
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+}
@@ -0,0 +1,32 @@
+package com.chengzhang.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 文章详情缓存配置类
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "chengzhang.cache.article")
+public class ArticleCacheConfig {
+
+    /**
+     * 是否启用文章详情缓存
+     */
+    private Boolean enabled = true;
+
+    /**
+     * 缓存占用的堆外内存（MB，启用时启动即分配，需小于 -XX:MaxDirectMemorySize）
+     */
+    private Integer maxSizeMb = 64;
+
+    /**
+     * 单篇文章压缩后超过该大小（KB）时不缓存
+     */
+    private Integer maxEntrySizeKb = 4096;
+}
@@ -0,0 +1,27 @@
+package com.chengzhang.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 文章历史版本配置类
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "chengzhang.revision")
+public class ArticleRevisionConfig {
+
+    /**
+     * 是否记录文章历史版本
+     */
+    private Boolean enabled = true;
+
+    /**
+     * 每隔多少个版本存储一次完整快照（还原任一版本最多读取该数量的记录）
+     */
+    private Integer snapshotInterval = 20;
+}
@@ -0,0 +1,32 @@
+package com.chengzhang.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 文章章节存储配置类
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "chengzhang.section")
+public class ArticleSectionConfig {
+
+    /**
+     * 是否为长文章存储拆分后的章节（关闭后章节接口每次从正文实时拆分）
+     */
+    private Boolean enabled = true;
+
+    /**
+     * 存储章节的最小正文长度（字符），较短的文章实时拆分
+     */
+    private Integer minContentLength = 65536;
+
+    /**
+     * 参与拆分的最大标题级别（1~6），更深的标题归入上一章节
+     */
+    private Integer maxHeadingLevel = 3;
+}
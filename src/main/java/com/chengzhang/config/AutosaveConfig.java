@@ -0,0 +1,57 @@
+package com.chengzhang.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 文章自动保存写缓冲配置类
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "chengzhang.autosave")
+public class AutosaveConfig {
+
+    /**
+     * 是否启用写缓冲（关闭后每次更新直接写入数据库）
+     */
+    private Boolean enabled = true;
+
+    /**
+     * 持续编辑时同一篇文章写入数据库的最短间隔（秒）
+     */
+    private Integer flushIntervalSeconds = 30;
+
+    /**
+     * 停止编辑超过该时间（秒）后立即写入数据库
+     */
+    private Integer idleSeconds = 5;
+
+    /**
+     * 日志文件路径（相对于项目根目录）
+     */
+    private String journalPath = "data/autosave/articles.journal";
+
+    /**
+     * 每次追加日志后是否强制刷盘
+     */
+    private Boolean fsync = true;
+
+    /**
+     * 日志超过该大小（KB）且达到上次压缩后大小的两倍时，只保留未写入的修改重写日志
+     */
+    private Integer compactThresholdKb = 4096;
+
+    /**
+     * 获取日志文件的完整路径
+     *
+     * @return 完整路径
+     */
+    public String getFullJournalPath() {
+        String projectRoot = System.getProperty("user.dir");
+        return projectRoot + "/" + journalPath;
+    }
+}
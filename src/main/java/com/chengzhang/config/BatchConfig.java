@@ -0,0 +1,37 @@
+package com.chengzhang.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 批量请求配置类
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "chengzhang.batch")
+public class BatchConfig {
+
+    /**
+     * 单次批量请求最多包含的子请求数量
+     */
+    private Integer maxRequests = 20;
+
+    /**
+     * 并行执行子请求的线程数
+     */
+    private Integer poolSize = 4;
+
+    /**
+     * 等待执行的子请求队列长度（队列满时由请求线程直接执行）
+     */
+    private Integer queueCapacity = 64;
+
+    /**
+     * 单个子请求的超时时间（秒）
+     */
+    private Integer timeoutSeconds = 10;
+}
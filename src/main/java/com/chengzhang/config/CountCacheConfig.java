@@ -0,0 +1,32 @@
+package com.chengzhang.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 列表总数缓存配置类
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "chengzhang.cache.count")
+public class CountCacheConfig {
+
+    /**
+     * 是否缓存列表总数（关闭后每次同步统计）
+     */
+    private Boolean enabled = true;
+
+    /**
+     * 缓存的总数超过该时间（秒）后在后台重新统计
+     */
+    private Integer refreshAfterSeconds = 30;
+
+    /**
+     * 最多缓存的筛选条件数量
+     */
+    private Integer maxEntries = 1000;
+}
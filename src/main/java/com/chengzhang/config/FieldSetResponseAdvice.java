@@ -0,0 +1,44 @@
+package com.chengzhang.config;
+
+import com.chengzhang.common.FieldSet;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+/**
+ * 稀疏字段集响应处理
+ * <p>
+ * GET 请求带有 fields 参数时，序列化带 @JsonFilter 的DTO只输出所选字段；外层的 ApiResponse、PageResponse 不受影响。
+ * 字段名由各接口校验，查询投影由服务层按同一参数缩小。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@RestControllerAdvice
+public class FieldSetResponseAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (request.getMethod() != HttpMethod.GET || !(request instanceof ServletServerHttpRequest)) {
+            return;
+        }
+        String fields = ((ServletServerHttpRequest) request).getServletRequest().getParameter(FieldSet.PARAMETER);
+        if (StringUtils.isBlank(fields)) {
+            return;
+        }
+        bodyContainer.setFilters(new SimpleFilterProvider()
+                .setFailOnUnknownId(false)
+                .addFilter(FieldSet.FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(FieldSet.names(fields))));
+    }
+}
@@ -55,6 +55,21 @@ public class ImageConfig {
      */
     private Thumbnail thumbnail = new Thumbnail();
 
+    /**
+     * 变体生成配置
+     */
+    private Variant variant = new Variant();
+
+    /**
+     * 按需缩放配置
+     */
+    private Render render = new Render();
+
+    /**
+     * 批量上传配置
+     */
+    private BatchUpload batchUpload = new BatchUpload();
+
     /**
      * 图片压缩配置
      */
@@ -107,6 +122,99 @@ public class ImageConfig {
         private String suffix = "_thumb";
     }
 
+    /**
+     * 变体（缩略图、压缩图）后台生成配置
+     */
+    @Data
+    public static class Variant {
+        /**
+         * 生成线程数，0表示按CPU核数
+         */
+        private Integer workerThreads = 0;
+
+        /**
+         * 等待生成的任务队列长度（队列满时图片保持待生成状态，由定时扫描补充）
+         */
+        private Integer queueCapacity = 200;
+
+        /**
+         * 扫描待生成图片的间隔（秒）
+         */
+        private Integer sweepIntervalSeconds = 60;
+
+        /**
+         * 压缩图文件名后缀
+         */
+        private String compressedSuffix = "_compressed";
+    }
+
+    /**
+     * 按需缩放配置
+     */
+    @Data
+    public static class Render {
+        /**
+         * 允许的宽度
+         */
+        private List<Integer> widths = Arrays.asList(64, 128, 160, 240, 320, 480, 640, 800, 960, 1280, 1600, 1920);
+
+        /**
+         * 允许的高度
+         */
+        private List<Integer> heights = Arrays.asList(64, 128, 160, 240, 320, 480, 640, 800, 960, 1280, 1600, 1920);
+
+        /**
+         * 允许的压缩质量（1-100）
+         */
+        private List<Integer> qualities = Arrays.asList(50, 60, 70, 80, 90);
+
+        /**
+         * 默认压缩质量
+         */
+        private Integer defaultQuality = 80;
+
+        /**
+         * 缓存目录（相对于项目根目录）
+         */
+        private String cacheDir = "data/image-cache";
+
+        /**
+         * 缓存占用上限（字节），超过后按最近最少使用淘汰
+         */
+        private Long maxCacheBytes = 512L * 1024 * 1024;
+
+        /**
+         * 获取缓存目录的完整路径
+         *
+         * @return 完整路径
+         */
+        public String getFullCacheDir() {
+            String projectRoot = System.getProperty("user.dir");
+            return projectRoot + "/" + cacheDir;
+        }
+    }
+
+    /**
+     * 批量上传配置
+     */
+    @Data
+    public static class BatchUpload {
+        /**
+         * 并行处理文件的线程数
+         */
+        private Integer workerThreads = 4;
+
+        /**
+         * 等待处理的文件队列容量，队列满时由请求线程处理
+         */
+        private Integer queueCapacity = 100;
+
+        /**
+         * 单次最多上传的文件数
+         */
+        private Integer maxFiles = 50;
+    }
+
     /**
      * 获取完整的上传路径
      *
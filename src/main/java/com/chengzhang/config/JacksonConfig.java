@@ -0,0 +1,24 @@
+package com.chengzhang.config;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Jackson配置类
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * 注册默认过滤器提供者：带 @JsonFilter 的DTO在未指定过滤器时输出全部字段（缓存、导出等序列化不受影响）
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer filterProviderCustomizer() {
+        return builder -> builder.filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+    }
+}
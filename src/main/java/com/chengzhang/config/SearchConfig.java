@@ -0,0 +1,47 @@
+package com.chengzhang.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 文章全文检索配置类
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "chengzhang.search")
+public class SearchConfig {
+
+    /**
+     * 是否启用内存倒排索引（关闭后回退到数据库LIKE查询）
+     */
+    private Boolean enabled = true;
+
+    /**
+     * 索引快照文件路径（相对于项目根目录）
+     */
+    private String indexPath = "data/search/articles.idx";
+
+    /**
+     * 重建索引时每批读取的文章数量
+     */
+    private Integer rebuildBatchSize = 200;
+
+    /**
+     * 索引快照落盘间隔（秒）
+     */
+    private Integer flushIntervalSeconds = 60;
+
+    /**
+     * 获取索引快照文件的完整路径
+     *
+     * @return 完整路径
+     */
+    public String getFullIndexPath() {
+        String projectRoot = System.getProperty("user.dir");
+        return projectRoot + "/" + indexPath;
+    }
+}
@@ -1,6 +1,8 @@
 package com.chengzhang.controller;
 
+import com.chengzhang.cache.ResourceVersions;
 import com.chengzhang.common.ApiResponse;
+import com.chengzhang.common.ResourceVersion;
 import com.chengzhang.dto.AIShortcutDTO;
 import com.chengzhang.service.AIShortcutService;
 import org.slf4j.Logger;
@@ -8,6 +10,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import java.util.List;
@@ -24,12 +27,18 @@ public class AIShortcutController {
     
     @Autowired
     private AIShortcutService shortcutService;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
     
     /**
      * 获取所有激活的快捷操作
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<AIShortcutDTO>>> getAllActive() {
+    public ResponseEntity<ApiResponse<List<AIShortcutDTO>>> getAllActive(WebRequest webRequest) {
+        if (notModified(webRequest)) {
+            return null;
+        }
         try {
             List<AIShortcutDTO> shortcuts = shortcutService.getAllActive();
             return ResponseEntity.ok(ApiResponse.success(shortcuts));
@@ -43,7 +52,10 @@ public class AIShortcutController {
      * 根据ID获取快捷操作
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<AIShortcutDTO>> getById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<AIShortcutDTO>> getById(@PathVariable Long id, WebRequest webRequest) {
+        if (notModified(webRequest)) {
+            return null;
+        }
         try {
             AIShortcutDTO shortcut = shortcutService.getById(id);
             return ResponseEntity.ok(ApiResponse.success(shortcut));
@@ -168,4 +180,12 @@ public class AIShortcutController {
             return ResponseEntity.ok(ApiResponse.error("初始化失败: " + e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 按快捷操作版本校验条件请求（If-None-Match / If-Modified-Since），未修改时返回true，响应为304
+     */
+    private boolean notModified(WebRequest webRequest) {
+        ResourceVersion version = resourceVersions.current(ResourceVersions.AI_SHORTCUTS);
+        return webRequest.checkNotModified(version.getETag(), version.getLastModified());
+    }
+}
@@ -1,20 +1,38 @@
 package com.chengzhang.controller;
 
 import com.chengzhang.common.ApiResponse;
+import com.chengzhang.common.FieldSet;
 import com.chengzhang.common.PageResponse;
+import com.chengzhang.common.ResourceVersion;
 import com.chengzhang.dto.ArticleDTO;
+import com.chengzhang.dto.ArticleRevisionDTO;
+import com.chengzhang.dto.ContentPatchRequest;
+import com.chengzhang.dto.ImportProgress;
+import com.chengzhang.dto.SectionUpdateRequest;
+import com.chengzhang.service.ArticleImportService;
+import com.chengzhang.service.ArticleRevisionService;
 import com.chengzhang.service.ArticleService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotEmpty;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -34,6 +52,8 @@ import java.util.Map;
 public class ArticleController {
 
     private final ArticleService articleService;
+    private final ArticleImportService articleImportService;
+    private final ArticleRevisionService articleRevisionService;
 
     /**
      * 获取文章列表
@@ -44,8 +64,13 @@ public class ArticleController {
      * @param category   文章分类
      * @param status     文章状态：draft/published
      * @param collection 合集ID筛选
+     * @param tags       标签筛选
+     * @param tagMode    标签匹配模式：any-任一标签，all-全部标签，默认any
      * @param sortBy     排序字段：createdAt/updatedAt/title
      * @param sortOrder  排序方向：asc/desc
+     * @param cursor     游标（传入该参数即启用游标分页，首页传空值）
+     * @param withTotal  是否返回总数，默认true（总数可能为缓存的近似值）；false时不统计总数
+     * @param fields     返回的字段（逗号分隔，id始终返回），为空返回全部字段
      * @return 文章分页列表
      */
     @GetMapping
@@ -56,22 +81,39 @@ public class ArticleController {
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String collection,
+            @RequestParam(required = false) List<String> tags,
+            @RequestParam(defaultValue = "any") String tagMode,
             @RequestParam(defaultValue = "updatedAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortOrder) {
+            @RequestParam(defaultValue = "desc") String sortOrder,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") Boolean withTotal,
+            @RequestParam(required = false) String fields) {
         
         log.info("获取文章列表 - page: {}, size: {}, keyword: {}, category: {}, status: {}, collection: {}", 
                 page, size, keyword, category, status, collection);
         
         try {
+            FieldSet fieldSet = FieldSet.parse(fields, ArticleDTO.class);
+            // 游标分页模式：按 (排序字段, id) 定位，不统计总数
+            if (cursor != null) {
+                if (StringUtils.isNotBlank(keyword)) {
+                    return ApiResponse.badRequest("游标分页不支持关键词搜索");
+                }
+                return ApiResponse.success(articleService.getArticlesByCursor(cursor, Math.min(size, 100),
+                        category, status, collection, tags, tagMode, sortBy, sortOrder, fieldSet));
+            }
+
             // 页码从1开始，转换为从0开始
             Pageable pageable = PageRequest.of(page - 1, Math.min(size, 100));
             
-            Page<ArticleDTO> articlePage = articleService.getArticles(
-                    pageable, keyword, category, status, collection, sortBy, sortOrder);
-            
-            PageResponse<ArticleDTO> pageResponse = PageResponse.of(articlePage);
+            PageResponse<ArticleDTO> pageResponse = articleService.getArticles(
+                    pageable, keyword, category, status, collection, tags, tagMode, sortBy, sortOrder, withTotal,
+                    fieldSet);
             
             return ApiResponse.success(pageResponse);
+        } catch (IllegalArgumentException e) {
+            log.warn("获取文章列表失败: {}", e.getMessage());
+            return ApiResponse.badRequest(e.getMessage());
         } catch (Exception e) {
             log.error("获取文章列表失败", e);
             return ApiResponse.error("获取文章列表失败: " + e.getMessage());
@@ -81,16 +123,31 @@ public class ArticleController {
     /**
      * 获取文章详情
      *
-     * @param id 文章ID
+     * @param id     文章ID
+     * @param fields 返回的字段（逗号分隔，id始终返回），为空返回全部字段
      * @return 文章详情
      */
     @GetMapping("/{id}")
-    public ApiResponse<ArticleDTO> getArticleById(@PathVariable String id) {
+    public ApiResponse<ArticleDTO> getArticleById(@PathVariable String id,
+                                                  @RequestParam(required = false) String fields,
+                                                  WebRequest webRequest) {
         log.info("获取文章详情 - id: {}", id);
         
         try {
-            ArticleDTO article = articleService.getArticleById(id);
+            FieldSet fieldSet = FieldSet.parse(fields, ArticleDTO.class);
+            // 先比对版本，未修改时直接返回304，不加载文章；字段集参与 ETag，稀疏响应与完整响应互不匹配
+            ResourceVersion version = articleService.getArticleVersion(id);
+            if (version != null) {
+                version = version.withVariant(fieldSet.canonical());
+            }
+            if (version != null && webRequest.checkNotModified(version.getETag(), version.getLastModified())) {
+                return null;
+            }
+            ArticleDTO article = articleService.getArticleById(id, fieldSet);
             return ApiResponse.success(article);
+        } catch (IllegalArgumentException e) {
+            log.warn("获取文章详情失败 - id: {}: {}", id, e.getMessage());
+            return ApiResponse.badRequest(e.getMessage());
         } catch (RuntimeException e) {
             log.error("获取文章详情失败 - id: {}", id, e);
             return ApiResponse.notFound(e.getMessage());
@@ -100,6 +157,45 @@ public class ArticleController {
         }
     }
 
+    /**
+     * 流式获取文章正文
+     * <p>
+     * 正文从数据库分块写入响应，不构造完整的文章对象，适用于很长的文章。
+     *
+     * @param id     文章ID
+     * @param format 输出格式：raw-原始Markdown（默认），json-与详情接口相同的响应结构
+     * @return 正文流
+     */
+    @GetMapping("/{id}/content")
+    public ResponseEntity<StreamingResponseBody> getArticleContent(@PathVariable String id,
+                                                                   @RequestParam(defaultValue = "raw") String format,
+                                                                   WebRequest webRequest) {
+        log.info("流式获取文章正文 - id: {}, format: {}", id, format);
+
+        boolean json = "json".equalsIgnoreCase(format);
+        if (!json && !"raw".equalsIgnoreCase(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+        // 响应开始写出后无法再返回错误状态，先确认文章存在
+        ResourceVersion version = articleService.getArticleVersion(id);
+        if (version == null) {
+            return ResponseEntity.notFound().build();
+        }
+        // JSON 与原始 Markdown 是不同的表示形式
+        if (json) {
+            version = version.withVariant("json");
+        }
+        if (webRequest.checkNotModified(version.getETag(), version.getLastModified())) {
+            return null;
+        }
+
+        StreamingResponseBody body = outputStream -> articleService.writeArticleContent(id, outputStream, json);
+        return ResponseEntity.ok()
+                .contentType(json ? MediaType.APPLICATION_JSON
+                        : MediaType.parseMediaType("text/markdown;charset=UTF-8"))
+                .body(body);
+    }
+
     /**
      * 创建文章
      *
@@ -143,6 +239,195 @@ public class ArticleController {
         }
     }
 
+    /**
+     * 增量修改文章正文（自动保存）
+     *
+     * @param id      文章ID
+     * @param request 基准版本号及编辑操作（insert/delete/replace）
+     * @return 新版本号、字数、阅读时间等信息
+     */
+    @PatchMapping("/{id}/content")
+    public ApiResponse<Map<String, Object>> patchArticleContent(@PathVariable String id,
+                                                                @Valid @RequestBody ContentPatchRequest request) {
+        log.info("增量修改文章正文 - id: {}, baseRevision: {}", id, request.getBaseRevision());
+
+        try {
+            Map<String, Object> result = articleService.patchArticleContent(id, request);
+            return ApiResponse.success("保存成功", result);
+        } catch (IllegalArgumentException e) {
+            log.warn("增量修改文章正文失败 - id: {}: {}", id, e.getMessage());
+            return ApiResponse.badRequest(e.getMessage());
+        } catch (IllegalStateException e) {
+            log.warn("增量修改文章正文冲突 - id: {}: {}", id, e.getMessage());
+            return ApiResponse.error(409, e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("增量修改文章正文失败 - id: {}", id, e);
+            return ApiResponse.notFound(e.getMessage());
+        }
+    }
+
+    /**
+     * 获取文章历史版本列表
+     *
+     * @param id    文章ID
+     * @param limit 最大返回数量，默认50
+     * @return 历史版本列表（按版本号倒序）
+     */
+    @GetMapping("/{id}/revisions")
+    public ApiResponse<List<ArticleRevisionDTO>> getRevisions(@PathVariable String id,
+                                                              @RequestParam(defaultValue = "50") Integer limit) {
+        log.info("获取文章历史版本列表 - id: {}, limit: {}", id, limit);
+
+        if (limit < 1 || limit > 500) {
+            return ApiResponse.badRequest("limit必须在1-500之间");
+        }
+        try {
+            return ApiResponse.success(articleRevisionService.getRevisions(id, limit));
+        } catch (RuntimeException e) {
+            log.error("获取文章历史版本列表失败 - id: {}", id, e);
+            return ApiResponse.notFound(e.getMessage());
+        }
+    }
+
+    /**
+     * 比较文章两个历史版本的正文
+     *
+     * @param id   文章ID
+     * @param from 原版本号
+     * @param to   新版本号，为空时取最新版本
+     * @return 按行差异
+     */
+    @GetMapping("/{id}/revisions/diff")
+    public ApiResponse<Map<String, Object>> diffRevisions(@PathVariable String id,
+                                                          @RequestParam Long from,
+                                                          @RequestParam(required = false) Long to) {
+        log.info("比较文章历史版本 - id: {}, from: {}, to: {}", id, from, to);
+
+        try {
+            return ApiResponse.success(articleRevisionService.diffRevisions(id, from, to));
+        } catch (IllegalStateException e) {
+            log.error("比较文章历史版本失败 - id: {}", id, e);
+            return ApiResponse.error(e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("比较文章历史版本失败 - id: {}", id, e);
+            return ApiResponse.notFound(e.getMessage());
+        }
+    }
+
+    /**
+     * 获取文章指定历史版本
+     *
+     * @param id       文章ID
+     * @param revision 版本号
+     * @return 版本信息及正文
+     */
+    @GetMapping("/{id}/revisions/{revision}")
+    public ApiResponse<Map<String, Object>> getRevision(@PathVariable String id, @PathVariable Long revision) {
+        log.info("获取文章历史版本 - id: {}, revision: {}", id, revision);
+
+        try {
+            return ApiResponse.success(articleRevisionService.getRevision(id, revision));
+        } catch (IllegalStateException e) {
+            log.error("获取文章历史版本失败 - id: {}, revision: {}", id, revision, e);
+            return ApiResponse.error(e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("获取文章历史版本失败 - id: {}, revision: {}", id, revision, e);
+            return ApiResponse.notFound(e.getMessage());
+        }
+    }
+
+    /**
+     * 恢复文章历史版本（正文和标题作为新版本保存）
+     *
+     * @param id       文章ID
+     * @param revision 版本号
+     * @return 恢复后的文章
+     */
+    @PostMapping("/{id}/revisions/{revision}/restore")
+    public ApiResponse<ArticleDTO> restoreRevision(@PathVariable String id, @PathVariable Long revision) {
+        log.info("恢复文章历史版本 - id: {}, revision: {}", id, revision);
+
+        try {
+            return ApiResponse.success("恢复成功", articleService.restoreArticleRevision(id, revision));
+        } catch (IllegalStateException e) {
+            log.error("恢复文章历史版本失败 - id: {}, revision: {}", id, revision, e);
+            return ApiResponse.error(e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("恢复文章历史版本失败 - id: {}, revision: {}", id, revision, e);
+            return ApiResponse.notFound(e.getMessage());
+        }
+    }
+
+    /**
+     * 获取文章章节目录（按Markdown标题拆分）
+     *
+     * @param id 文章ID
+     * @return 正文版本号和章节目录
+     */
+    @GetMapping("/{id}/sections")
+    public ApiResponse<Map<String, Object>> getSections(@PathVariable String id) {
+        log.info("获取文章章节目录 - id: {}", id);
+
+        try {
+            return ApiResponse.success(articleService.getArticleSections(id));
+        } catch (RuntimeException e) {
+            log.error("获取文章章节目录失败 - id: {}", id, e);
+            return ApiResponse.notFound(e.getMessage());
+        }
+    }
+
+    /**
+     * 获取文章章节内容
+     *
+     * @param id   文章ID
+     * @param from 起始章节序号
+     * @param to   截止章节序号（含），默认与起始序号相同
+     * @return 正文版本号和章节列表
+     */
+    @GetMapping("/{id}/sections/{from}")
+    public ApiResponse<Map<String, Object>> getSectionContent(@PathVariable String id, @PathVariable Integer from,
+                                                              @RequestParam(required = false) Integer to) {
+        log.info("获取文章章节内容 - id: {}, from: {}, to: {}", id, from, to);
+
+        try {
+            return ApiResponse.success(articleService.getArticleSectionContent(id, from, to != null ? to : from));
+        } catch (IllegalArgumentException e) {
+            log.warn("获取文章章节内容失败 - id: {}: {}", id, e.getMessage());
+            return ApiResponse.badRequest(e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("获取文章章节内容失败 - id: {}", id, e);
+            return ApiResponse.notFound(e.getMessage());
+        }
+    }
+
+    /**
+     * 替换文章章节
+     *
+     * @param id      文章ID
+     * @param from    起始章节序号
+     * @param request 修改请求
+     * @return 新的正文版本号和章节目录
+     */
+    @PutMapping("/{id}/sections/{from}")
+    public ApiResponse<Map<String, Object>> updateSections(@PathVariable String id, @PathVariable Integer from,
+                                                           @Valid @RequestBody SectionUpdateRequest request) {
+        log.info("修改文章章节 - id: {}, from: {}, to: {}, baseRevision: {}",
+                id, from, request.getTo(), request.getBaseRevision());
+
+        try {
+            return ApiResponse.success("保存成功", articleService.updateArticleSections(id, from, request));
+        } catch (IllegalArgumentException e) {
+            log.warn("修改文章章节失败 - id: {}: {}", id, e.getMessage());
+            return ApiResponse.badRequest(e.getMessage());
+        } catch (IllegalStateException e) {
+            log.warn("修改文章章节冲突 - id: {}: {}", id, e.getMessage());
+            return ApiResponse.error(409, e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("修改文章章节失败 - id: {}", id, e);
+            return ApiResponse.notFound(e.getMessage());
+        }
+    }
+
     /**
      * 删除文章
      *
@@ -185,6 +470,29 @@ public class ArticleController {
         }
     }
 
+    /**
+     * 批量操作文章（删除、移动到合集、修改状态、修改分类）
+     *
+     * @param request 批量操作请求
+     * @return 操作结果及每个ID的结果
+     */
+    @PostMapping("/bulk")
+    public ApiResponse<Map<String, Object>> bulkUpdateArticles(@Valid @RequestBody BulkRequest request) {
+        log.info("批量操作文章 - action: {}, 数量: {}", request.getAction(), request.getIds().size());
+
+        try {
+            Map<String, Object> result = articleService.bulkUpdateArticles(
+                    request.getAction(), request.getIds(), request.getValue());
+            return ApiResponse.success("批量操作成功", result);
+        } catch (IllegalArgumentException e) {
+            log.warn("批量操作文章失败: {}", e.getMessage());
+            return ApiResponse.badRequest(e.getMessage());
+        } catch (Exception e) {
+            log.error("批量操作文章失败", e);
+            return ApiResponse.error("批量操作失败: " + e.getMessage());
+        }
+    }
+
     /**
      * 搜索文章
      *
@@ -194,6 +502,7 @@ public class ArticleController {
      * @param wholeWord     是否全词匹配，默认false
      * @param status        文章状态筛选：draft/published
      * @param tags          标签筛选
+     * @param tagMode       标签匹配模式：any-任一标签，all-全部标签，默认any
      * @param startDate     开始日期
      * @param endDate       结束日期
      * @param page          页码，默认1
@@ -208,6 +517,7 @@ public class ArticleController {
             @RequestParam(defaultValue = "false") Boolean wholeWord,
             @RequestParam(required = false) String status,
             @RequestParam(required = false) List<String> tags,
+            @RequestParam(defaultValue = "any") String tagMode,
             @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime startDate,
             @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime endDate,
             @RequestParam(defaultValue = "1") Integer page,
@@ -219,7 +529,7 @@ public class ArticleController {
             Pageable pageable = PageRequest.of(page - 1, Math.min(size, 100));
             
             Map<String, Object> result = articleService.searchArticles(
-                    keyword, searchIn, caseSensitive, wholeWord, status, tags, 
+                    keyword, searchIn, caseSensitive, wholeWord, status, tags, tagMode,
                     startDate, endDate, pageable);
             
             return ApiResponse.success("搜索成功", result);
@@ -231,20 +541,42 @@ public class ArticleController {
 
     /**
      * 导出所有文章数据
+     * <p>
+     * 响应结构与其他接口相同（{@code data.articles}），文章逐篇从数据库读取并流式写出，不在内存中构造完整结果。
      *
-     * @return 导出数据
+     * @return 导出数据流
      */
     @GetMapping("/export")
-    public ApiResponse<Map<String, Object>> exportAllArticles() {
+    public ResponseEntity<StreamingResponseBody> exportAllArticles() {
         log.info("导出所有文章数据");
-        
-        try {
-            Map<String, Object> exportData = articleService.exportAllArticles();
-            return ApiResponse.success(exportData);
-        } catch (Exception e) {
-            log.error("导出文章数据失败", e);
-            return ApiResponse.error("导出失败: " + e.getMessage());
-        }
+
+        StreamingResponseBody body = articleService::exportAllArticles;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    /**
+     * 以NDJSON格式流式导出文章数据
+     * <p>
+     * 逐行写出：头记录、每篇文章一行、尾记录（数量和SHA-256校验和），内存占用与文章数量无关。
+     *
+     * @param gzip 是否gzip压缩
+     * @return NDJSON文件流
+     */
+    @GetMapping(value = "/export", params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> exportArticlesAsNdjson(
+            @RequestParam(defaultValue = "false") Boolean gzip) {
+        log.info("流式导出文章数据 - gzip: {}", gzip);
+
+        String fileName = "articles-" + LocalDate.now() + (gzip ? ".ndjson.gz" : ".ndjson");
+        StreamingResponseBody body = outputStream -> articleService.exportArticlesAsNdjson(outputStream, gzip);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip")
+                        : MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
     }
 
     /**
@@ -269,6 +601,72 @@ public class ArticleController {
         }
     }
 
+    /**
+     * 流式导入文章数据（请求体为NDJSON，可gzip压缩）
+     *
+     * @param request HTTP请求
+     * @param merge   是否合并模式，默认true
+     * @param taskId  任务ID（可选，用于查询进度）
+     * @return 导入结果
+     */
+    @PostMapping(value = "/import/stream", consumes = {"application/x-ndjson", "application/gzip",
+            MediaType.APPLICATION_OCTET_STREAM_VALUE, MediaType.TEXT_PLAIN_VALUE})
+    public ApiResponse<ImportProgress> importArticlesStream(
+            HttpServletRequest request,
+            @RequestParam(defaultValue = "true") Boolean merge,
+            @RequestParam(required = false) String taskId) {
+        log.info("流式导入文章数据 - 合并模式: {}, taskId: {}", merge, taskId);
+
+        try (InputStream inputStream = request.getInputStream()) {
+            return toImportResponse(articleImportService.importStream(inputStream, merge, taskId));
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.badRequest(e.getMessage());
+        } catch (Exception e) {
+            log.error("流式导入文章数据失败", e);
+            return ApiResponse.error("导入失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 流式导入文章数据（上传NDJSON文件，可gzip压缩）
+     *
+     * @param file   NDJSON文件
+     * @param merge  是否合并模式，默认true
+     * @param taskId 任务ID（可选，用于查询进度）
+     * @return 导入结果
+     */
+    @PostMapping(value = "/import/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ApiResponse<ImportProgress> importArticlesFile(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = "true") Boolean merge,
+            @RequestParam(required = false) String taskId) {
+        log.info("上传文件导入文章数据 - 文件: {}, 大小: {}, 合并模式: {}", file.getOriginalFilename(), file.getSize(), merge);
+
+        try (InputStream inputStream = file.getInputStream()) {
+            return toImportResponse(articleImportService.importStream(inputStream, merge, taskId));
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.badRequest(e.getMessage());
+        } catch (Exception e) {
+            log.error("上传文件导入文章数据失败", e);
+            return ApiResponse.error("导入失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 查询导入进度
+     *
+     * @param taskId 任务ID
+     * @return 导入进度
+     */
+    @GetMapping("/import/progress/{taskId}")
+    public ApiResponse<ImportProgress> getImportProgress(@PathVariable String taskId) {
+        ImportProgress progress = articleImportService.getProgress(taskId);
+        if (progress == null) {
+            return ApiResponse.notFound("导入任务不存在: " + taskId);
+        }
+        return ApiResponse.success(progress);
+    }
+
     /**
      * 清空所有文章数据
      *
@@ -305,6 +703,58 @@ public class ArticleController {
         }
     }
 
+    /**
+     * 从数据库重建文章统计信息（用于修复统计偏差）
+     *
+     * @return 重建后的统计信息
+     */
+    @PostMapping("/statistics/rebuild")
+    public ApiResponse<Map<String, Object>> rebuildArticleStatistics() {
+        log.info("重建文章统计信息");
+        
+        try {
+            Map<String, Object> statistics = articleService.rebuildArticleStatistics();
+            return ApiResponse.success("统计信息重建成功", statistics);
+        } catch (Exception e) {
+            log.error("重建文章统计信息失败", e);
+            return ApiResponse.error("重建统计信息失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 获取文章详情缓存统计信息
+     *
+     * @return 缓存统计信息
+     */
+    @GetMapping("/cache/statistics")
+    public ApiResponse<Map<String, Object>> getCacheStatistics() {
+        log.info("获取文章缓存统计信息");
+
+        try {
+            return ApiResponse.success(articleService.getCacheStatistics());
+        } catch (Exception e) {
+            log.error("获取文章缓存统计信息失败", e);
+            return ApiResponse.error("获取缓存统计信息失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 获取自动保存写缓冲统计信息
+     *
+     * @return 写缓冲统计信息
+     */
+    @GetMapping("/autosave/statistics")
+    public ApiResponse<Map<String, Object>> getAutosaveStatistics() {
+        log.info("获取自动保存写缓冲统计信息");
+
+        try {
+            return ApiResponse.success(articleService.getAutosaveStatistics());
+        } catch (Exception e) {
+            log.error("获取自动保存写缓冲统计信息失败", e);
+            return ApiResponse.error("获取写缓冲统计信息失败: " + e.getMessage());
+        }
+    }
+
     /**
      * 获取所有分类
      *
@@ -323,6 +773,16 @@ public class ArticleController {
         }
     }
 
+    /**
+     * 将导入结果转换为响应
+     */
+    private ApiResponse<ImportProgress> toImportResponse(ImportProgress progress) {
+        if ("failed".equals(progress.getStatus())) {
+            return ApiResponse.error("导入失败: " + progress.getMessage());
+        }
+        return ApiResponse.success("导入完成", progress);
+    }
+
     /**
      * 批量删除请求
      */
@@ -339,6 +799,43 @@ public class ArticleController {
         }
     }
 
+    /**
+     * 批量操作请求
+     */
+    public static class BulkRequest {
+        @NotBlank(message = "操作类型不能为空")
+        private String action;
+
+        @NotEmpty(message = "文章ID列表不能为空")
+        private List<String> ids;
+
+        private String value;
+
+        public String getAction() {
+            return action;
+        }
+
+        public void setAction(String action) {
+            this.action = action;
+        }
+
+        public List<String> getIds() {
+            return ids;
+        }
+
+        public void setIds(List<String> ids) {
+            this.ids = ids;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public void setValue(String value) {
+            this.value = value;
+        }
+    }
+
     /**
      * 导入请求
      */
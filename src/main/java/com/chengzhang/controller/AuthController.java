@@ -1,5 +1,6 @@
 package com.chengzhang.controller;
 
+import com.chengzhang.batch.BatchDispatcher;
 import com.chengzhang.common.ApiResponse;
 import com.chengzhang.dto.LoginRequest;
 import com.chengzhang.dto.RegisterRequest;
@@ -60,10 +61,17 @@ public class AuthController {
 
     /**
      * 获取当前用户信息
+     * <p>
+     * 作为批量请求的子请求执行时，直接使用批量请求已解析的用户ID。
      */
     @GetMapping("/me")
-    public ApiResponse<UserDTO> getCurrentUser(@RequestHeader(value = "Authorization", required = false) String token) {
+    public ApiResponse<UserDTO> getCurrentUser(@RequestHeader(value = "Authorization", required = false) String token,
+                                               @RequestAttribute(value = BatchDispatcher.USER_ID_ATTRIBUTE, required = false) Long batchUserId) {
         try {
+            if (batchUserId != null) {
+                return ApiResponse.success(authService.getCurrentUser(batchUserId));
+            }
+
             if (token == null || token.isEmpty()) {
                 return ApiResponse.error(401, "未登录");
             }
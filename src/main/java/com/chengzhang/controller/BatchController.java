@@ -0,0 +1,61 @@
+package com.chengzhang.controller;
+
+import com.chengzhang.batch.BatchDispatcher;
+import com.chengzhang.common.ApiResponse;
+import com.chengzhang.dto.BatchRequest;
+import com.chengzhang.dto.BatchResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.Valid;
+import java.util.List;
+
+/**
+ * 批量请求控制器
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Slf4j
+@RestController
+@RequestMapping("/batch")
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+public class BatchController {
+
+    private final BatchDispatcher batchDispatcher;
+
+    @Autowired
+    public BatchController(BatchDispatcher batchDispatcher) {
+        this.batchDispatcher = batchDispatcher;
+    }
+
+    /**
+     * 批量执行子请求
+     * <p>
+     * 每个子请求的状态码、响应头和响应体单独返回；单个子请求失败不影响其他子请求。
+     *
+     * @param request 批量请求
+     * @return 子请求结果，顺序与子请求一致
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<List<BatchResult>>> batch(@Valid @RequestBody BatchRequest request,
+                                                               HttpServletRequest servletRequest,
+                                                               HttpServletResponse servletResponse) {
+        try {
+            List<BatchResult> results = batchDispatcher.execute(servletRequest, servletResponse, request.getRequests());
+            return ResponseEntity.ok(ApiResponse.success(results));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("批量请求失败", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("批量请求失败: " + e.getMessage()));
+        }
+    }
+}
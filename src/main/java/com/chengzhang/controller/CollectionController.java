@@ -1,6 +1,9 @@
 package com.chengzhang.controller;
 
+import com.chengzhang.cache.ResourceVersions;
 import com.chengzhang.common.ApiResponse;
+import com.chengzhang.common.FieldSet;
+import com.chengzhang.common.ResourceVersion;
 import com.chengzhang.dto.CollectionDTO;
 import com.chengzhang.service.CollectionService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,6 +11,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
@@ -27,10 +31,12 @@ import java.util.List;
 public class CollectionController {
 
     private final CollectionService collectionService;
+    private final ResourceVersions resourceVersions;
 
     @Autowired
-    public CollectionController(CollectionService collectionService) {
+    public CollectionController(CollectionService collectionService, ResourceVersions resourceVersions) {
         this.collectionService = collectionService;
+        this.resourceVersions = resourceVersions;
     }
 
     /**
@@ -74,7 +80,16 @@ public class CollectionController {
      * 根据ID获取合集
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<CollectionDTO>> getCollectionById(@PathVariable @NotBlank String id) {
+    public ResponseEntity<ApiResponse<CollectionDTO>> getCollectionById(@PathVariable @NotBlank String id,
+                                                                        @RequestParam(required = false) String fields,
+                                                                        WebRequest webRequest) {
+        ResponseEntity<ApiResponse<CollectionDTO>> invalid = invalidFields(fields);
+        if (invalid != null) {
+            return invalid;
+        }
+        if (notModified(webRequest, fields)) {
+            return null;
+        }
         try {
             CollectionDTO collection = collectionService.getCollectionById(id);
             return ResponseEntity.ok(ApiResponse.success("获取合集成功", collection));
@@ -91,7 +106,15 @@ public class CollectionController {
      * 获取所有合集
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<CollectionDTO>>> getAllCollections() {
+    public ResponseEntity<ApiResponse<List<CollectionDTO>>> getAllCollections(
+            @RequestParam(required = false) String fields, WebRequest webRequest) {
+        ResponseEntity<ApiResponse<List<CollectionDTO>>> invalid = invalidFields(fields);
+        if (invalid != null) {
+            return invalid;
+        }
+        if (notModified(webRequest, fields)) {
+            return null;
+        }
         try {
             List<CollectionDTO> collections = collectionService.getAllCollections();
             return ResponseEntity.ok(ApiResponse.success("获取合集列表成功", collections));
@@ -105,7 +128,15 @@ public class CollectionController {
      * 获取启用的合集
      */
     @GetMapping("/enabled")
-    public ResponseEntity<ApiResponse<List<CollectionDTO>>> getEnabledCollections() {
+    public ResponseEntity<ApiResponse<List<CollectionDTO>>> getEnabledCollections(
+            @RequestParam(required = false) String fields, WebRequest webRequest) {
+        ResponseEntity<ApiResponse<List<CollectionDTO>>> invalid = invalidFields(fields);
+        if (invalid != null) {
+            return invalid;
+        }
+        if (notModified(webRequest, fields)) {
+            return null;
+        }
         try {
             List<CollectionDTO> collections = collectionService.getEnabledCollections();
             return ResponseEntity.ok(ApiResponse.success("获取启用合集列表成功", collections));
@@ -119,7 +150,15 @@ public class CollectionController {
      * 获取合集选项（用于下拉选择）
      */
     @GetMapping("/options")
-    public ResponseEntity<ApiResponse<List<CollectionDTO>>> getCollectionOptions() {
+    public ResponseEntity<ApiResponse<List<CollectionDTO>>> getCollectionOptions(
+            @RequestParam(required = false) String fields, WebRequest webRequest) {
+        ResponseEntity<ApiResponse<List<CollectionDTO>>> invalid = invalidFields(fields);
+        if (invalid != null) {
+            return invalid;
+        }
+        if (notModified(webRequest, fields)) {
+            return null;
+        }
         try {
             List<CollectionDTO> options = collectionService.getCollectionOptions();
             return ResponseEntity.ok(ApiResponse.success("获取合集选项成功", options));
@@ -217,4 +256,26 @@ public class CollectionController {
                     .body(ApiResponse.error("检查合集名称失败: " + e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 校验 fields 参数（合集没有大字段，只在输出时过滤），不支持的字段返回400
+     */
+    private <T> ResponseEntity<ApiResponse<T>> invalidFields(String fields) {
+        try {
+            FieldSet.parse(fields, CollectionDTO.class);
+            return null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * 按合集版本校验条件请求（If-None-Match / If-Modified-Since），未修改时返回true，响应为304；
+     * 字段集参与 ETag，稀疏响应与完整响应互不匹配
+     */
+    private boolean notModified(WebRequest webRequest, String fields) {
+        ResourceVersion version = resourceVersions.current(ResourceVersions.COLLECTIONS)
+                .withVariant(FieldSet.parse(fields, CollectionDTO.class).canonical());
+        return webRequest.checkNotModified(version.getETag(), version.getLastModified());
+    }
+}
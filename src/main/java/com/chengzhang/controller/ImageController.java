@@ -1,32 +1,41 @@
 package com.chengzhang.controller;
 
 import com.chengzhang.common.ApiResponse;
+import com.chengzhang.common.FieldSet;
 import com.chengzhang.common.PageResponse;
 import com.chengzhang.dto.Base64UploadRequest;
 import com.chengzhang.dto.ImageDTO;
 import com.chengzhang.entity.Image;
+import com.chengzhang.image.ImageRenderCache;
 import com.chengzhang.service.ImageService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 图片管理控制器
@@ -52,12 +61,16 @@ public class ImageController {
      * @param mimeType  MIME类型筛选
      * @param articleId 关联文章ID
      * @param tags      标签筛选
+     * @param tagMode   标签匹配模式：any-任一标签，all-全部标签，默认any
      * @param startDate 开始日期
      * @param endDate   结束日期
      * @param page      页码，默认1
      * @param size      每页数量，默认20
      * @param sortBy    排序字段：uploadTime/fileName/fileSize，默认uploadTime
      * @param sortDir   排序方向：asc/desc，默认desc
+     * @param cursor    游标（传入该参数即启用游标分页，首页传空值）
+     * @param withTotal 是否返回总数，默认true（总数可能为缓存的近似值）；false时不统计总数
+     * @param fields    返回的字段（逗号分隔，id始终返回），为空返回全部字段
      * @return 图片列表
      */
     @GetMapping
@@ -67,23 +80,39 @@ public class ImageController {
             @RequestParam(required = false) String mimeType,
             @RequestParam(required = false) String articleId,
             @RequestParam(required = false) List<String> tags,
+            @RequestParam(defaultValue = "any") String tagMode,
             @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime startDate,
             @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime endDate,
             @RequestParam(defaultValue = "1") Integer page,
             @RequestParam(defaultValue = "20") Integer size,
             @RequestParam(defaultValue = "uploadTime") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") Boolean withTotal,
+            @RequestParam(required = false) String fields) {
         
         log.info("获取图片列表 - keyword: {}, status: {}, page: {}, size: {}", keyword, status, page, size);
         
         try {
+            FieldSet fieldSet = FieldSet.parse(fields, ImageDTO.class);
+            // 游标分页模式：按 (排序字段, id) 定位，不统计总数
+            if (cursor != null) {
+                if (StringUtils.isNotBlank(keyword)) {
+                    return ApiResponse.badRequest("游标分页不支持关键词搜索");
+                }
+                return ApiResponse.success(imageService.getImagesByCursor(
+                        cursor, Math.min(size, 100), articleId, mimeType, status, tags, tagMode,
+                        startDate, endDate, sortBy, sortDir, fieldSet));
+            }
+
             Sort.Direction direction = "asc".equalsIgnoreCase(sortDir) ? Sort.Direction.ASC : Sort.Direction.DESC;
             Pageable pageable = PageRequest.of(page - 1, Math.min(size, 100), Sort.by(direction, sortBy));
             
-            Page<ImageDTO> imagePage = imageService.getImages(
-                    pageable, keyword, articleId, mimeType, status, sortBy, sortDir);
-            
-            return ApiResponse.success(PageResponse.of(imagePage));
+            return ApiResponse.success(imageService.getImages(pageable, keyword, articleId, mimeType, status,
+                    tags, tagMode, startDate, endDate, sortBy, sortDir, withTotal, fieldSet));
+        } catch (IllegalArgumentException e) {
+            log.warn("获取图片列表失败: {}", e.getMessage());
+            return ApiResponse.badRequest(e.getMessage());
         } catch (Exception e) {
             log.error("获取图片列表失败", e);
             return ApiResponse.error("获取图片列表失败: " + e.getMessage());
@@ -93,19 +122,26 @@ public class ImageController {
     /**
      * 根据ID获取图片详情
      *
-     * @param id 图片ID
+     * @param id     图片ID
+     * @param fields 返回的字段（逗号分隔，id始终返回），为空返回全部字段
      * @return 图片详情
      */
     @GetMapping("/{id}")
-    public ApiResponse<ImageDTO> getImageById(@PathVariable String id) {
+    public ApiResponse<ImageDTO> getImageById(@PathVariable String id,
+                                              @RequestParam(required = false) String fields) {
         log.info("获取图片详情 - id: {}", id);
         
         try {
+            // 图片没有大字段，只校验字段名，输出由响应过滤
+            FieldSet.parse(fields, ImageDTO.class);
             ImageDTO image = imageService.getImageById(id);
             if (image == null) {
                 return ApiResponse.notFound("图片不存在");
             }
             return ApiResponse.success(image);
+        } catch (IllegalArgumentException e) {
+            log.warn("获取图片详情失败 - id: {}: {}", id, e.getMessage());
+            return ApiResponse.badRequest(e.getMessage());
         } catch (Exception e) {
             log.error("获取图片详情失败 - id: {}", id, e);
             return ApiResponse.error("获取图片详情失败: " + e.getMessage());
@@ -145,6 +181,8 @@ public class ImageController {
 
     /**
      * 批量文件上传
+     * <p>
+     * 文件并行处理，单个文件失败不影响其他文件；全部成功返回200，部分成功返回207，全部失败返回400。
      *
      * @param files     上传的文件列表
      * @param articleId 关联文章ID（可选）
@@ -162,7 +200,17 @@ public class ImageController {
         try {
             String uploadIp = getClientIpAddress(request);
             Map<String, Object> result = imageService.batchUploadImages(Arrays.asList(files), articleId, uploadIp);
-            return ApiResponse.success("批量上传完成", result);
+            int successCount = (Integer) result.get("successCount");
+            int failedCount = (Integer) result.get("failedCount");
+            if (failedCount == 0) {
+                return ApiResponse.success("批量上传完成", result);
+            }
+            // 部分成功时返回207，全部失败时返回400，data 中包含每个文件的结果
+            return successCount > 0
+                    ? new ApiResponse<>(207, "部分文件上传失败", result)
+                    : new ApiResponse<>(400, "全部文件上传失败", result);
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.badRequest(e.getMessage());
         } catch (Exception e) {
             log.error("批量上传图片失败", e);
             return ApiResponse.error("批量上传失败: " + e.getMessage());
@@ -361,6 +409,100 @@ public class ImageController {
         }
     }
 
+    /**
+     * 获取图片变体（缩略图、压缩图）生成状态，变体生成完成前路径为原图
+     *
+     * @param id 图片ID
+     * @return 生成状态和路径
+     */
+    @GetMapping("/{id}/variants")
+    public ApiResponse<Map<String, Object>> getImageVariants(@PathVariable String id) {
+        try {
+            return ApiResponse.success(imageService.getImageVariants(id));
+        } catch (RuntimeException e) {
+            log.error("获取图片变体状态失败 - id: {}", id, e);
+            return ApiResponse.notFound(e.getMessage());
+        }
+    }
+
+    /**
+     * 重新生成图片变体（后台执行）
+     *
+     * @param id 图片ID
+     * @return 生成状态和路径
+     */
+    @PostMapping("/{id}/variants")
+    public ApiResponse<Map<String, Object>> regenerateImageVariants(@PathVariable String id) {
+        log.info("重新生成图片变体 - id: {}", id);
+
+        try {
+            return ApiResponse.success("已提交生成", imageService.regenerateImageVariants(id));
+        } catch (IllegalStateException e) {
+            return ApiResponse.error(409, e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("重新生成图片变体失败 - id: {}", id, e);
+            return ApiResponse.notFound(e.getMessage());
+        }
+    }
+
+    /**
+     * 按需缩放图片
+     * <p>
+     * 宽高和质量只能取配置的允许值，每种组合只渲染一次并缓存到磁盘，响应可被浏览器和CDN长期缓存。
+     *
+     * @param id  图片ID
+     * @param w   宽度
+     * @param h   高度
+     * @param fit 缩放方式：contain（默认）/cover
+     * @param q   压缩质量
+     * @return 缩放后的图片
+     */
+    @GetMapping("/{id}/render")
+    public ResponseEntity<Resource> renderImage(@PathVariable String id,
+                                                @RequestParam(required = false) Integer w,
+                                                @RequestParam(required = false) Integer h,
+                                                @RequestParam(required = false) String fit,
+                                                @RequestParam(required = false) Integer q,
+                                                WebRequest webRequest) {
+        ImageRenderCache.Rendered rendered;
+        try {
+            rendered = imageService.renderImage(id, w, h, fit, q);
+        } catch (IllegalArgumentException e) {
+            log.warn("图片缩放参数无效 - id: {}, {}", id, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (UncheckedIOException e) {
+            log.error("图片缩放失败 - id: {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+
+        // 同一组合的缓存文件名不变，内容只取决于原图
+        String name = rendered.getFileName();
+        String eTag = "\"" + name + "\"";
+        if (webRequest.checkNotModified(eTag)) {
+            rendered.close();
+            return null;
+        }
+        // 文件已在缓存锁内打开，写出响应期间被淘汰删除也能读完；流在写出后关闭
+        return ResponseEntity.ok()
+                .contentType(name.endsWith(".png") ? MediaType.IMAGE_PNG : MediaType.IMAGE_JPEG)
+                .contentLength(rendered.getSize())
+                .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic())
+                .eTag(eTag)
+                .body(new InputStreamResource(rendered.getInputStream()));
+    }
+
+    /**
+     * 获取按需缩放缓存统计（命中率、占用空间、淘汰次数等）
+     *
+     * @return 统计信息
+     */
+    @GetMapping("/render/stats")
+    public ApiResponse<Map<String, Object>> getRenderCacheStats() {
+        return ApiResponse.success(imageService.getRenderCacheStats());
+    }
+
     /**
      * 获取客户端IP地址
      *
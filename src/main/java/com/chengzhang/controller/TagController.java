@@ -0,0 +1,66 @@
+package com.chengzhang.controller;
+
+import com.chengzhang.common.ApiResponse;
+import com.chengzhang.entity.TagLink;
+import com.chengzhang.service.TagService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 标签控制器
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Slf4j
+@RestController
+@RequestMapping("/tags")
+@RequiredArgsConstructor
+public class TagController {
+
+    private final TagService tagService;
+
+    /**
+     * 获取标签及使用次数
+     *
+     * @param type 实体类型：article/image，默认article
+     * @return 标签及使用次数（按次数倒序）
+     */
+    @GetMapping
+    public ApiResponse<List<Map<String, Object>>> getTagCounts(
+            @RequestParam(defaultValue = TagLink.ARTICLE) String type) {
+        log.info("获取标签统计 - type: {}", type);
+
+        if (!TagLink.ARTICLE.equals(type) && !TagLink.IMAGE.equals(type)) {
+            return ApiResponse.badRequest("不支持的实体类型: " + type);
+        }
+        try {
+            return ApiResponse.success(tagService.getTagCounts(type));
+        } catch (Exception e) {
+            log.error("获取标签统计失败 - type: {}", type, e);
+            return ApiResponse.error("获取标签统计失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 根据文章和图片的标签列重建标签关联（用于历史数据迁移或修复）
+     *
+     * @return 重建结果
+     */
+    @PostMapping("/rebuild")
+    public ApiResponse<Map<String, Object>> rebuildTags() {
+        log.info("重建标签索引");
+
+        try {
+            Map<String, Object> result = tagService.rebuild();
+            return ApiResponse.success("标签索引重建成功", result);
+        } catch (Exception e) {
+            log.error("重建标签索引失败", e);
+            return ApiResponse.error("重建标签索引失败: " + e.getMessage());
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.chengzhang.dto;
 
+import com.chengzhang.common.FieldSet;
 import com.chengzhang.entity.Article;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.Data;
 
@@ -16,6 +18,7 @@ import java.util.List;
  * @since 1.0.0
  */
 @Data
+@JsonFilter(FieldSet.FILTER_ID)
 public class ArticleDTO {
 
     /**
@@ -76,6 +79,11 @@ public class ArticleDTO {
      */
     private List<String> images;
 
+    /**
+     * 正文版本号
+     */
+    private Long revision;
+
     /**
      * 创建时间
      */
@@ -111,6 +119,7 @@ public class ArticleDTO {
         dto.setWordCount(article.getWordCount());
         dto.setReadTime(article.getReadTime());
         dto.setImages(article.getImageList());
+        dto.setRevision(article.getRevision());
         dto.setCreatedAt(article.getCreatedAt());
         dto.setUpdatedAt(article.getUpdatedAt());
         
@@ -139,6 +148,47 @@ public class ArticleDTO {
         return article;
     }
 
+    /**
+     * 合并另一个DTO中的非空字段（字段范围与 updateEntity 一致，另含版本号）
+     *
+     * @param changes 要合并的修改
+     */
+    public void merge(ArticleDTO changes) {
+        if (changes.title != null) {
+            this.title = changes.title;
+        }
+        if (changes.content != null) {
+            this.content = changes.content;
+        }
+        if (changes.summary != null) {
+            this.summary = changes.summary;
+        }
+        if (changes.status != null) {
+            this.status = changes.status;
+        }
+        if (changes.category != null) {
+            this.category = changes.category;
+        }
+        if (changes.collectionId != null) {
+            this.collectionId = changes.collectionId;
+        }
+        if (changes.tags != null) {
+            this.tags = changes.tags;
+        }
+        if (changes.wordCount != null) {
+            this.wordCount = changes.wordCount;
+        }
+        if (changes.readTime != null) {
+            this.readTime = changes.readTime;
+        }
+        if (changes.images != null) {
+            this.images = changes.images;
+        }
+        if (changes.revision != null) {
+            this.revision = changes.revision;
+        }
+    }
+
     /**
      * 更新实体
      *
@@ -0,0 +1,80 @@
+package com.chengzhang.dto;
+
+import com.chengzhang.util.TagUtil;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 文章列表投影
+ * <p>
+ * 仅包含列表展示所需的列，查询时在SQL层面不选择 content（LONGTEXT）和 images 列。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+public class ArticleListItem {
+
+    private String id;
+    private String title;
+    private String summary;
+    private String status;
+    private String category;
+    private String collectionId;
+    private String tags;
+    private Integer wordCount;
+    private Integer readTime;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    /**
+     * 查询投影构造函数（参数顺序与查询选择列一致）
+     */
+    public ArticleListItem(String id, String title, String summary, String status, String category,
+                           String collectionId, String tags, Integer wordCount, Integer readTime,
+                           LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.summary = summary;
+        this.status = status;
+        this.category = category;
+        this.collectionId = collectionId;
+        this.tags = tags;
+        this.wordCount = wordCount;
+        this.readTime = readTime;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * 获取标签列表
+     */
+    public List<String> getTagList() {
+        return TagUtil.parse(tags);
+    }
+
+    /**
+     * 转换为DTO（不包含正文）
+     *
+     * @return ArticleDTO
+     */
+    public ArticleDTO toDTO() {
+        ArticleDTO dto = new ArticleDTO();
+        dto.setId(id);
+        dto.setTitle(title);
+        dto.setSummary(summary);
+        dto.setStatus(status);
+        dto.setCategory(category);
+        dto.setCollectionId(collectionId);
+        dto.setTags(getTagList());
+        dto.setWordCount(wordCount);
+        dto.setReadTime(readTime);
+        dto.setCreatedAt(createdAt);
+        dto.setUpdatedAt(updatedAt);
+        return dto;
+    }
+}
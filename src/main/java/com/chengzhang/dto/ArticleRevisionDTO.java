@@ -0,0 +1,47 @@
+package com.chengzhang.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文章历史版本信息（不含正文）
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Data
+public class ArticleRevisionDTO {
+
+    private Long revision;
+    private Long baseRevision;
+    private Integer chainLength;
+    private String title;
+    private Integer contentLength;
+    private Integer storedSize;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createdAt;
+
+    /**
+     * 查询投影构造函数（参数顺序与查询选择列一致）
+     */
+    public ArticleRevisionDTO(Long revision, Long baseRevision, Integer chainLength, String title,
+                              Integer contentLength, Integer storedSize, LocalDateTime createdAt) {
+        this.revision = revision;
+        this.baseRevision = baseRevision;
+        this.chainLength = chainLength;
+        this.title = title;
+        this.contentLength = contentLength;
+        this.storedSize = storedSize;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * 是否为完整快照
+     */
+    public boolean isSnapshot() {
+        return chainLength != null && chainLength == 0;
+    }
+}
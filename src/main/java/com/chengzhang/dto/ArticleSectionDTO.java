@@ -0,0 +1,56 @@
+package com.chengzhang.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 文章章节信息
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+public class ArticleSectionDTO {
+
+    /**
+     * 章节序号（从0开始）
+     */
+    private Integer position;
+
+    /**
+     * 标题级别，前言为0
+     */
+    private Integer level;
+
+    /**
+     * 标题文字，前言为null
+     */
+    private String heading;
+
+    /**
+     * 在正文中的起始位置（字符）
+     */
+    private Integer offset;
+
+    /**
+     * 章节长度（字符）
+     */
+    private Integer length;
+
+    /**
+     * 章节内容，目录中不返回
+     */
+    private String content;
+
+    /**
+     * 查询投影构造函数（参数顺序与查询选择列一致）
+     */
+    public ArticleSectionDTO(Integer position, Integer level, String heading, Integer offset, Integer length) {
+        this.position = position;
+        this.level = level;
+        this.heading = heading;
+        this.offset = offset;
+        this.length = length;
+    }
+}
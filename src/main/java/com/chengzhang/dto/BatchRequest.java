@@ -0,0 +1,62 @@
+package com.chengzhang.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Data;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 批量请求
+ * <p>
+ * 连续的 GET 子请求并行执行；其他方法的子请求按顺序单独执行，执行前等待之前的子请求全部完成。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Data
+public class BatchRequest {
+
+    /**
+     * 子请求列表
+     */
+    @Valid
+    @NotEmpty(message = "子请求不能为空")
+    private List<Item> requests;
+
+    /**
+     * 子请求
+     */
+    @Data
+    public static class Item {
+
+        /**
+         * 子请求标识（原样返回，便于客户端对应结果）
+         */
+        private String id;
+
+        /**
+         * 请求方法（默认GET）
+         */
+        private String method = "GET";
+
+        /**
+         * 请求路径（不含上下文路径），可带查询参数，如 /articles?page=1&size=20
+         */
+        @NotBlank(message = "子请求路径不能为空")
+        private String path;
+
+        /**
+         * 额外的请求头（如 If-None-Match），Authorization 使用批量请求的请求头
+         */
+        private Map<String, String> headers;
+
+        /**
+         * JSON 请求体
+         */
+        private JsonNode body;
+    }
+}
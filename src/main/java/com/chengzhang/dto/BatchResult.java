@@ -0,0 +1,42 @@
+package com.chengzhang.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * 批量请求中单个子请求的结果
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchResult {
+
+    /**
+     * 子请求标识
+     */
+    private String id;
+
+    /**
+     * HTTP状态码
+     */
+    private Integer status;
+
+    /**
+     * 响应头（ETag、Last-Modified 等）
+     */
+    private Map<String, String> headers;
+
+    /**
+     * 响应体：JSON 响应为解析后的对象，其他为文本
+     */
+    private JsonNode body;
+}
@@ -1,5 +1,7 @@
 package com.chengzhang.dto;
 
+import com.chengzhang.common.FieldSet;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.Data;
 
@@ -14,6 +16,7 @@ import java.time.LocalDateTime;
  * @since 1.0.0
  */
 @Data
+@JsonFilter(FieldSet.FILTER_ID)
 public class CollectionDTO {
 
     /**
@@ -0,0 +1,66 @@
+package com.chengzhang.dto;
+
+import lombok.Data;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+
+/**
+ * 文章正文增量修改请求
+ * <p>
+ * 操作按顺序应用，每个操作的位置基于前一个操作完成后的正文；位置按UTF-16字符计算（与JavaScript字符串下标一致）。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Data
+public class ContentPatchRequest {
+
+    /**
+     * 基准版本号（客户端当前持有的正文版本）
+     */
+    @NotNull(message = "基准版本号不能为空")
+    private Long baseRevision;
+
+    /**
+     * 编辑操作列表
+     */
+    @Valid
+    @NotEmpty(message = "编辑操作不能为空")
+    private List<Operation> operations;
+
+    /**
+     * 编辑操作
+     */
+    @Data
+    public static class Operation {
+
+        /**
+         * 操作类型：insert-插入，delete-删除，replace-替换
+         */
+        @NotBlank(message = "操作类型不能为空")
+        private String type;
+
+        /**
+         * 操作位置
+         */
+        @NotNull(message = "操作位置不能为空")
+        @Min(value = 0, message = "操作位置不能为负数")
+        private Integer offset;
+
+        /**
+         * 删除或替换的字符数
+         */
+        @Min(value = 0, message = "删除长度不能为负数")
+        private Integer length;
+
+        /**
+         * 插入或替换的文本
+         */
+        private String text;
+    }
+}
@@ -1,13 +1,15 @@
 package com.chengzhang.dto;
 
+import com.chengzhang.common.FieldSet;
 import com.chengzhang.entity.Image;
+import com.chengzhang.util.TagUtil;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.Data;
 
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Size;
 import java.time.LocalDateTime;
-import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -17,6 +19,7 @@ import java.util.List;
  * @since 1.0.0
  */
 @Data
+@JsonFilter(FieldSet.FILTER_ID)
 public class ImageDTO {
 
     /**
@@ -51,6 +54,21 @@ public class ImageDTO {
      */
     private String thumbnailUrl;
 
+    /**
+     * 缩略图路径，缩略图未生成时为原图路径
+     */
+    private String thumbnailPath;
+
+    /**
+     * 压缩图路径，压缩图未生成时为原图路径
+     */
+    private String compressedPath;
+
+    /**
+     * 变体生成状态：pending/ready/failed/skipped
+     */
+    private String variantStatus;
+
     /**
      * 文件大小（字节）
      */
@@ -121,14 +139,17 @@ public class ImageDTO {
         dto.setFileName(image.getFileName());
         dto.setFilePath(image.getFilePath());
         // URL字段需要通过服务层生成
+        dto.setThumbnailPath(image.getThumbnailPath() != null ? image.getThumbnailPath() : image.getFilePath());
+        dto.setCompressedPath(image.getCompressedPath() != null ? image.getCompressedPath() : image.getFilePath());
+        dto.setVariantStatus(image.getVariantStatus());
         dto.setFileSize(image.getFileSize());
         dto.setMimeType(image.getMimeType());
         dto.setWidth(image.getWidth());
         dto.setHeight(image.getHeight());
         dto.setArticleId(image.getArticleId());
-        // 解析tags字符串为List
+        // 解析tags字符串为List（兼容JSON数组和逗号分隔）
         if (image.getTags() != null && !image.getTags().isEmpty()) {
-            dto.setTags(Arrays.asList(image.getTags().split(",")));
+            dto.setTags(TagUtil.parse(image.getTags()));
         }
         dto.setDescription(image.getDescription());
         dto.setStatus(image.getStatus());
@@ -154,9 +175,9 @@ public class ImageDTO {
         image.setWidth(this.width);
         image.setHeight(this.height);
         image.setArticleId(this.articleId);
-        // 将tags List转换为逗号分隔的字符串
+        // tags列为JSON类型，存储为JSON数组
         if (this.tags != null && !this.tags.isEmpty()) {
-            image.setTags(String.join(",", this.tags));
+            image.setTags(TagUtil.toJson(TagUtil.normalize(this.tags)));
         }
         image.setDescription(this.description);
         image.setStatus(this.status != null ? this.status : "active");
@@ -194,8 +215,8 @@ public class ImageDTO {
         if (this.articleId != null) {
             image.setArticleId(this.articleId);
         }
-        if (this.tags != null && !this.tags.isEmpty()) {
-            image.setTags(String.join(",", this.tags));
+        if (this.tags != null) {
+            image.setTags(TagUtil.toJson(TagUtil.normalize(this.tags)));
         }
         if (this.description != null) {
             image.setDescription(this.description);
@@ -0,0 +1,80 @@
+package com.chengzhang.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文章导入进度
+ * <p>
+ * 由导入线程更新，进度查询接口并发读取，字段均为volatile。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Data
+public class ImportProgress {
+
+    /**
+     * 导入任务ID
+     */
+    private volatile String taskId;
+
+    /**
+     * 任务状态：running/completed/failed
+     */
+    private volatile String status;
+
+    /**
+     * 已解析记录数
+     */
+    private volatile long processed;
+
+    /**
+     * 成功导入数
+     */
+    private volatile long imported;
+
+    /**
+     * 跳过数（ID已存在）
+     */
+    private volatile long skipped;
+
+    /**
+     * 失败数（数据非法或写入失败）
+     */
+    private volatile long failed;
+
+    /**
+     * 已提交的批次数
+     */
+    private volatile int chunks;
+
+    /**
+     * 导出文件尾记录声明的文章数（无尾记录时为null）
+     */
+    private volatile Long expected;
+
+    /**
+     * 错误信息
+     */
+    private volatile String message;
+
+    /**
+     * 开始时间
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private volatile LocalDateTime startTime;
+
+    /**
+     * 结束时间
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private volatile LocalDateTime endTime;
+
+    /**
+     * 耗时（毫秒）
+     */
+    private volatile long elapsedMs;
+}
@@ -0,0 +1,34 @@
+package com.chengzhang.dto;
+
+import lombok.Data;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * 文章章节修改请求
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Data
+public class SectionUpdateRequest {
+
+    /**
+     * 基准版本号（章节序号基于该版本的正文）
+     */
+    @NotNull(message = "基准版本号不能为空")
+    private Long baseRevision;
+
+    /**
+     * 替换区间的截止章节序号（含），为空时只替换起始章节
+     */
+    @Min(value = 0, message = "章节序号不能为负数")
+    private Integer to;
+
+    /**
+     * 新的章节内容（可包含新的标题，替换后重新拆分；空字符串表示删除这些章节）
+     */
+    @NotNull(message = "章节内容不能为空")
+    private String content;
+}
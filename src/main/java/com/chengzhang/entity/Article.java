@@ -10,6 +10,7 @@ import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Size;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -22,7 +23,13 @@ import java.util.List;
 @Data
 @EqualsAndHashCode(callSuper = false)
 @Entity
-@Table(name = "articles")
+@Table(name = "articles", indexes = {
+        @Index(name = "idx_status_updated_at", columnList = "status, updated_at"),
+        @Index(name = "idx_category_updated_at", columnList = "category, updated_at"),
+        @Index(name = "idx_collection_updated_at", columnList = "collection_id, updated_at"),
+        @Index(name = "idx_status_category_updated_at", columnList = "status, category, updated_at"),
+        @Index(name = "idx_status_collection_updated_at", columnList = "status, collection_id, updated_at")
+})
 public class Article {
 
     /**
@@ -97,6 +104,12 @@ public class Article {
     @Column(name = "images", columnDefinition = "TEXT")
     private String images;
 
+    /**
+     * 正文版本号（正文每次修改递增，用于增量保存的冲突检测）
+     */
+    @Column(name = "revision", nullable = false, columnDefinition = "bigint NOT NULL DEFAULT 0")
+    private Long revision = 0L;
+
     /**
      * 创建时间
      */
@@ -105,10 +118,10 @@ public class Article {
     private LocalDateTime createdAt;
 
     /**
-     * 更新时间
+     * 更新时间（精确到毫秒，与正文版本号共同构成 ETag，标题、状态等修改不递增版本号）
      */
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
-    @Column(name = "updated_at", nullable = false)
+    @Column(name = "updated_at", nullable = false, columnDefinition = "datetime(3) NOT NULL")
     private LocalDateTime updatedAt;
 
     /**
@@ -116,7 +129,7 @@ public class Article {
      */
     @PrePersist
     protected void onCreate() {
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = currentTime();
         this.createdAt = now;
         this.updatedAt = now;
     }
@@ -126,7 +139,16 @@ public class Article {
      */
     @PreUpdate
     protected void onUpdate() {
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = currentTime();
+    }
+
+    /**
+     * 当前时间（截断到毫秒，与 updated_at 的存储精度一致，避免内存中的值与数据库舍入后的值不同）
+     *
+     * @return 当前时间
+     */
+    public static LocalDateTime currentTime() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
     }
     
     /**
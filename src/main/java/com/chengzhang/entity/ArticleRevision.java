@@ -0,0 +1,86 @@
+package com.chengzhang.entity;
+
+import lombok.Data;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 文章正文历史版本
+ * <p>
+ * 每个版本存储为相对上一个版本的差量，或周期性的完整快照（chainLength 为 0），数据经deflate压缩。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Data
+@Entity
+@Table(name = "article_revisions", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_article_revision", columnNames = {"article_id", "revision"})
+})
+public class ArticleRevision {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 文章ID
+     */
+    @Column(name = "article_id", nullable = false, length = 64)
+    private String articleId;
+
+    /**
+     * 正文版本号（与文章的 revision 对应）
+     */
+    @Column(name = "revision", nullable = false)
+    private Long revision;
+
+    /**
+     * 差量的基准版本号，快照为null
+     */
+    @Column(name = "base_revision")
+    private Long baseRevision;
+
+    /**
+     * 距最近快照的差量层数，快照为0
+     */
+    @Column(name = "chain_length", nullable = false)
+    private Integer chainLength;
+
+    /**
+     * 保存时的文章标题
+     */
+    @Column(name = "title", length = 200)
+    private String title;
+
+    /**
+     * 正文长度（字符数）
+     */
+    @Column(name = "content_length", nullable = false)
+    private Integer contentLength;
+
+    /**
+     * 存储大小（字节，压缩后）
+     */
+    @Column(name = "stored_size", nullable = false)
+    private Integer storedSize;
+
+    /**
+     * 压缩后的快照或差量数据
+     */
+    @Lob
+    @Column(name = "data", nullable = false, columnDefinition = "LONGBLOB")
+    private byte[] data;
+
+    /**
+     * 创建时间
+     */
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,73 @@
+package com.chengzhang.entity;
+
+import lombok.Data;
+
+import javax.persistence.*;
+
+/**
+ * 文章正文章节
+ * <p>
+ * 长文章按Markdown标题拆分后的章节存储，对应文章的某个正文版本；文章正文仍是完整内容，章节可随时由正文重建。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Data
+@Entity
+@Table(name = "article_sections", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_article_section", columnNames = {"article_id", "position"})
+})
+public class ArticleSection {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 文章ID
+     */
+    @Column(name = "article_id", nullable = false, length = 64)
+    private String articleId;
+
+    /**
+     * 章节序号（从0开始）
+     */
+    @Column(name = "position", nullable = false)
+    private Integer position;
+
+    /**
+     * 拆分时的正文版本号
+     */
+    @Column(name = "revision", nullable = false)
+    private Long revision;
+
+    /**
+     * 标题级别，前言为0
+     */
+    @Column(name = "level", nullable = false)
+    private Integer level;
+
+    /**
+     * 标题文字，前言为null
+     */
+    @Column(name = "heading", length = 500)
+    private String heading;
+
+    /**
+     * 在正文中的起始位置（字符）
+     */
+    @Column(name = "start_offset", nullable = false)
+    private Integer startOffset;
+
+    /**
+     * 章节长度（字符）
+     */
+    @Column(name = "content_length", nullable = false)
+    private Integer contentLength;
+
+    /**
+     * 章节内容（含标题行）
+     */
+    @Column(name = "content", columnDefinition = "LONGTEXT")
+    private String content;
+}
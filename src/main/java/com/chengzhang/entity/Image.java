@@ -19,7 +19,13 @@ import java.time.LocalDateTime;
 @Data
 @EqualsAndHashCode(callSuper = false)
 @Entity
-@Table(name = "images")
+@Table(name = "images", indexes = {
+        @Index(name = "idx_status_create_time", columnList = "status, create_time"),
+        @Index(name = "idx_status_article_create_time", columnList = "status, article_id, create_time"),
+        @Index(name = "idx_status_mime_type_create_time", columnList = "status, mime_type, create_time"),
+        @Index(name = "idx_variant_status", columnList = "variant_status"),
+        @Index(name = "idx_content_hash", columnList = "content_hash")
+})
 public class Image {
 
     /**
@@ -61,6 +67,12 @@ public class Image {
     @Column(name = "file_size", nullable = false)
     private Long fileSize;
 
+    /**
+     * 文件内容的 SHA-256（十六进制），内容相同的图片共用同一文件；按内容存储之前上传的图片为null
+     */
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     /**
      * 文件类型（MIME类型）
      */
@@ -80,6 +92,24 @@ public class Image {
     @Column(name = "height")
     private Integer height;
 
+    /**
+     * 变体生成状态：pending-待生成，ready-已生成，failed-生成失败，skipped-格式不支持
+     */
+    @Column(name = "variant_status", length = 20)
+    private String variantStatus;
+
+    /**
+     * 缩略图路径（相对路径），未生成或原图不大于缩略图尺寸时为null
+     */
+    @Column(name = "thumbnail_path", length = 500)
+    private String thumbnailPath;
+
+    /**
+     * 压缩图路径（相对路径），未生成或原图无需压缩时为null
+     */
+    @Column(name = "compressed_path", length = 500)
+    private String compressedPath;
+
     /**
      * 关联的文章ID
      */
@@ -0,0 +1,35 @@
+package com.chengzhang.entity;
+
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 标签字典实体
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Data
+@Entity
+@Table(name = "tags", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_tags_name", columnNames = "name")
+})
+public class Tag {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 标签名称
+     */
+    @Column(nullable = false, length = 50)
+    private String name;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
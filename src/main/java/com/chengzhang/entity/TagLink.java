@@ -0,0 +1,53 @@
+package com.chengzhang.entity;
+
+import lombok.Data;
+
+import javax.persistence.*;
+
+/**
+ * 实体与标签的关联
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Data
+@Entity
+@Table(name = "entity_tags", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_entity_tags", columnNames = {"entity_type", "entity_id", "tag_id"})
+}, indexes = {
+        @Index(name = "idx_entity_tags_tag", columnList = "tag_id, entity_type, entity_id")
+})
+public class TagLink {
+
+    /**
+     * 实体类型：文章
+     */
+    public static final String ARTICLE = "article";
+
+    /**
+     * 实体类型：图片
+     */
+    public static final String IMAGE = "image";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 实体类型：article/image
+     */
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private String entityType;
+
+    /**
+     * 实体ID
+     */
+    @Column(name = "entity_id", nullable = false, length = 64)
+    private String entityId;
+
+    /**
+     * 标签ID
+     */
+    @Column(name = "tag_id", nullable = false)
+    private Long tagId;
+}
@@ -0,0 +1,386 @@
+package com.chengzhang.image;
+
+import com.chengzhang.config.ImageConfig;
+import com.chengzhang.entity.Image;
+import com.chengzhang.util.ImageResizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.awt.image.BufferedImage;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 按需缩放图片的磁盘缓存
+ * <p>
+ * 每个尺寸组合渲染一次后写入缓存目录，按最近最少使用淘汰，总大小不超过配置上限；启动时从缓存目录恢复索引。
+ * 同一组合的并发请求只渲染一次，其他请求等待同一结果。
+ * <p>
+ * 返回的缓存文件在持有锁时打开：之后被淘汰删除的文件仍可通过已打开的流读完，不会在响应途中消失。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ImageRenderCache {
+
+    /**
+     * 缩放方式：完整显示在指定范围内
+     */
+    public static final String FIT_CONTAIN = "contain";
+
+    /**
+     * 缩放方式：覆盖指定范围后居中裁剪
+     */
+    public static final String FIT_COVER = "cover";
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final ImageConfig imageConfig;
+
+    @Value("${app.upload.path:uploads/images}")
+    private String uploadPath;
+
+    /**
+     * 缓存索引（按访问顺序），读写都需要持有 this 锁
+     */
+    private final LinkedHashMap<String, CachedFile> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    /**
+     * 正在渲染的组合
+     */
+    private final Map<String, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong renders = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    private Path cacheDir;
+
+    /**
+     * 从缓存目录恢复索引，按文件修改时间确定淘汰顺序
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        cacheDir = Paths.get(imageConfig.getRender().getFullCacheDir());
+        Files.createDirectories(cacheDir);
+        List<Path> files;
+        try (Stream<Path> stream = Files.walk(cacheDir, 2)) {
+            files = stream.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+        List<CachedFile> restored = new ArrayList<>();
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            try {
+                if (name.endsWith(TEMP_SUFFIX)) {
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+                int dot = name.lastIndexOf('.');
+                restored.add(new CachedFile(dot > 0 ? name.substring(0, dot) : name, file, Files.size(file),
+                        Files.getLastModifiedTime(file).toMillis()));
+            } catch (IOException e) {
+                log.warn("恢复缩放缓存文件失败 - file: {}", file, e);
+            }
+        }
+        restored.sort(Comparator.comparingLong(file -> file.modifiedAt));
+        synchronized (this) {
+            for (CachedFile file : restored) {
+                entries.put(file.key, file);
+                totalBytes += file.size;
+            }
+            evictOverflow();
+        }
+        log.info("缩放缓存已加载 - 文件数: {}, 大小: {} bytes", entries.size(), totalBytes);
+    }
+
+    /**
+     * 获取缩放后的图片，未缓存时渲染并写入缓存
+     *
+     * @param image   图片
+     * @param width   宽度，0表示不限制
+     * @param height  高度，0表示不限制
+     * @param fit     缩放方式：contain/cover（cover 需要同时指定宽高）
+     * @param quality 压缩质量（1-100）
+     * @return 已打开的缓存文件，调用方负责关闭
+     * @throws IOException 读取原图或写入缓存失败
+     */
+    public Rendered render(Image image, int width, int height, String fit, int quality) throws IOException {
+        String key = image.getId() + "_" + width + "x" + height + "_" + fit + "_q" + quality;
+        Rendered cached = open(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+
+        while (true) {
+            CompletableFuture<Path> flight = new CompletableFuture<>();
+            CompletableFuture<Path> existing = inFlight.putIfAbsent(key, flight);
+            if (existing != null) {
+                coalesced.incrementAndGet();
+                await(existing);
+                Rendered rendered = open(key);
+                if (rendered != null) {
+                    return rendered;
+                }
+                // 渲染结果在打开前已被淘汰，重新渲染
+                continue;
+            }
+            try {
+                // 等待期间其他请求可能已完成渲染
+                Rendered rendered = open(key);
+                if (rendered == null) {
+                    rendered = store(key, renderFile(image, key, width, height, fit, quality));
+                }
+                flight.complete(rendered.path);
+                return rendered;
+            } catch (IOException | RuntimeException | Error e) {
+                failures.incrementAndGet();
+                flight.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, flight);
+            }
+        }
+    }
+
+    /**
+     * 删除图片的全部缓存文件
+     *
+     * @param imageId 图片ID
+     */
+    public void evict(String imageId) {
+        String prefix = imageId + "_";
+        List<CachedFile> removed = new ArrayList<>();
+        synchronized (this) {
+            Iterator<CachedFile> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                CachedFile file = iterator.next();
+                if (file.key.startsWith(prefix)) {
+                    iterator.remove();
+                    totalBytes -= file.size;
+                    removed.add(file);
+                }
+            }
+        }
+        removed.forEach(file -> deleteQuietly(file.path));
+    }
+
+    /**
+     * 获取缓存统计
+     *
+     * @return 统计信息
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (this) {
+            stats.put("entries", entries.size());
+            stats.put("bytes", totalBytes);
+        }
+        stats.put("maxBytes", imageConfig.getRender().getMaxCacheBytes());
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", hitCount + missCount == 0 ? 0 : Math.round(hitCount * 10000.0 / (hitCount + missCount)) / 100.0);
+        stats.put("renders", renders.get());
+        stats.put("coalesced", coalesced.get());
+        stats.put("evictions", evictions.get());
+        stats.put("failures", failures.get());
+        stats.put("inFlight", inFlight.size());
+        return stats;
+    }
+
+    private Path renderFile(Image image, String key, int width, int height, String fit, int quality)
+            throws IOException {
+        Path original = Paths.get(uploadPath, image.getFilePath());
+        boolean cover = FIT_COVER.equals(fit) && width > 0 && height > 0;
+        BufferedImage decoded = ImageResizer.read(original, sampleSize(width, height, image.getWidth(), image.getHeight()),
+                sampleSize(height, width, image.getHeight(), image.getWidth()));
+        if (decoded == null) {
+            throw new IllegalArgumentException("不支持的图片格式: " + image.getMimeType());
+        }
+        BufferedImage result = cover
+                ? ImageResizer.cover(decoded, width, height)
+                : ImageResizer.fit(decoded, width > 0 ? width : Integer.MAX_VALUE, height > 0 ? height : Integer.MAX_VALUE);
+        Path file = ImageResizer.write(result, cacheDir.resolve(key.substring(0, Math.min(2, key.length()))).resolve(key),
+                quality / 100.0);
+        renders.incrementAndGet();
+        return file;
+    }
+
+    /**
+     * 解码目标尺寸：未指定的一边按原图宽高比推算
+     */
+    private static int sampleSize(int size, int otherSize, Integer originalSize, Integer originalOtherSize) {
+        if (size > 0) {
+            return size;
+        }
+        if (originalSize == null || originalOtherSize == null || originalOtherSize == 0) {
+            return otherSize;
+        }
+        return Math.max(1, (int) ((long) otherSize * originalSize / originalOtherSize));
+    }
+
+    /**
+     * 持有锁时打开缓存文件，淘汰只在持有锁时进行，打开后文件被删除也不影响读取
+     */
+    private synchronized Rendered open(String key) {
+        CachedFile file = entries.get(key);
+        if (file == null) {
+            return null;
+        }
+        try {
+            return new Rendered(file.path, file.size, Files.newInputStream(file.path));
+        } catch (IOException e) {
+            // 文件已被外部删除
+            entries.remove(key);
+            totalBytes -= file.size;
+            return null;
+        }
+    }
+
+    private Rendered store(String key, Path path) throws IOException {
+        CachedFile file = new CachedFile(key, path, Files.size(path), System.currentTimeMillis());
+        List<CachedFile> evicted;
+        Rendered rendered;
+        synchronized (this) {
+            CachedFile previous = entries.put(key, file);
+            if (previous != null) {
+                totalBytes -= previous.size;
+            }
+            totalBytes += file.size;
+            evicted = evictOverflow();
+            // 最新的文件不会被淘汰，在其他请求淘汰它之前打开
+            rendered = new Rendered(path, file.size, Files.newInputStream(path));
+        }
+        evicted.forEach(entry -> deleteQuietly(entry.path));
+        return rendered;
+    }
+
+    /**
+     * 淘汰最近最少使用的文件直到总大小不超过上限（至少保留最新的一个），需持有 this 锁
+     */
+    private List<CachedFile> evictOverflow() {
+        List<CachedFile> evicted = new ArrayList<>();
+        long maxBytes = imageConfig.getRender().getMaxCacheBytes();
+        Iterator<CachedFile> iterator = entries.values().iterator();
+        while (totalBytes > maxBytes && entries.size() > 1 && iterator.hasNext()) {
+            CachedFile eldest = iterator.next();
+            iterator.remove();
+            totalBytes -= eldest.size;
+            evicted.add(eldest);
+            evictions.incrementAndGet();
+        }
+        return evicted;
+    }
+
+    private static Path await(CompletableFuture<Path> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("等待图片渲染被中断");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new UncheckedIOException(new IOException(cause));
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("删除缩放缓存文件失败 - file: {}", path, e);
+        }
+    }
+
+    /**
+     * 已打开的缓存文件
+     */
+    public static final class Rendered implements Closeable {
+        private final Path path;
+        private final long size;
+        private final InputStream inputStream;
+
+        private Rendered(Path path, long size, InputStream inputStream) {
+            this.path = path;
+            this.size = size;
+            this.inputStream = inputStream;
+        }
+
+        /**
+         * @return 缓存文件名（同一组合不变，可用作ETag）
+         */
+        public String getFileName() {
+            return path.getFileName().toString();
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public InputStream getInputStream() {
+            return inputStream;
+        }
+
+        @Override
+        public void close() {
+            try {
+                inputStream.close();
+            } catch (IOException e) {
+                log.debug("关闭缩放缓存文件失败 - file: {}", path, e);
+            }
+        }
+    }
+
+    /**
+     * 缓存文件
+     */
+    private static final class CachedFile {
+        private final String key;
+        private final Path path;
+        private final long size;
+        private final long modifiedAt;
+
+        private CachedFile(String key, Path path, long size, long modifiedAt) {
+            this.key = key;
+            this.path = path;
+            this.size = size;
+            this.modifiedAt = modifiedAt;
+        }
+    }
+}
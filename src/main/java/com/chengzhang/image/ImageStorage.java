@@ -0,0 +1,302 @@
+package com.chengzhang.image;
+
+import com.chengzhang.entity.Image;
+import com.chengzhang.repository.ImageRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * 按内容寻址的图片文件存储
+ * <p>
+ * 文件按内容的 SHA-256 存放在 {@code sha256/前两位/次两位/哈希.扩展名}，内容相同的上传共用一个文件，
+ * 只新增图片记录；{@code images.content_hash} 相同的记录数即文件的引用数，最后一条记录删除后才删除文件和变体。
+ * <p>
+ * 同一哈希的写入和删除在同一把锁内判断；已写入或复用文件但记录尚未提交的上传计入待提交引用，
+ * 避免删除与并发上传交错时删掉刚被引用的文件。在事务中存储时，事务结束后自动结束待提交引用；
+ * 不在事务中存储时（如并行处理的批量上传），调用方须在插入记录的事务中调用 {@link #attach}，或调用 {@link #discard}。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ImageStorage {
+
+    private static final String ROOT = "sha256";
+    private static final int LOCK_STRIPES = 64;
+    private static final int BUFFER_SIZE = 8192;
+    private static final Pattern EXTENSION_PATTERN = Pattern.compile("\\.[A-Za-z0-9]{1,10}");
+
+    private final ImageRepository imageRepository;
+    private final ImageVariantPipeline variantPipeline;
+
+    @Value("${app.upload.path:uploads/images}")
+    private String uploadPath;
+
+    private final Object[] locks = newLocks();
+
+    /**
+     * 事务未结束的上传对各哈希的引用数，在对应哈希的锁内修改
+     */
+    private final Map<String, Integer> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 保存上传文件：先读取上传流计算哈希，内容已存在时不写文件
+     *
+     * @param file      上传文件
+     * @param extension 扩展名（含点，可为空）
+     * @return 存储结果
+     * @throws IOException 读写失败
+     */
+    public Stored store(MultipartFile file, String extension) throws IOException {
+        String hash;
+        try (InputStream input = file.getInputStream()) {
+            hash = sha256(input);
+        }
+        return store(hash, extension, file.getSize(), target -> {
+            try (InputStream input = file.getInputStream()) {
+                Files.copy(input, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        });
+    }
+
+    /**
+     * 保存图片数据，内容已存在时不写文件
+     *
+     * @param data      图片数据
+     * @param extension 扩展名（含点，可为空）
+     * @return 存储结果
+     * @throws IOException 写入失败
+     */
+    public Stored store(byte[] data, String extension) throws IOException {
+        MessageDigest digest = newSha256Digest();
+        digest.update(data);
+        return store(toHex(digest.digest()), extension, data.length, target -> Files.write(target, data));
+    }
+
+    private Stored store(String hash, String extension, long size, ContentWriter writer) throws IOException {
+        Image source;
+        String filePath;
+        boolean written = false;
+        synchronized (lockFor(hash)) {
+            source = imageRepository.findFirstByContentHashOrderByCreatedAtAsc(hash);
+            filePath = source != null ? source.getFilePath() : pathFor(hash, extension);
+            Path file = resolve(filePath);
+            if (!Files.exists(file)) {
+                // 已有记录但文件丢失时重新写入，变体也需要重新生成
+                source = null;
+                Files.createDirectories(file.getParent());
+                Path temp = file.resolveSibling(file.getFileName() + "." + UUID.randomUUID() + ".tmp");
+                try {
+                    writer.write(temp);
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+                written = true;
+            }
+            pending.merge(hash, 1, Integer::sum);
+        }
+        Stored stored = new Stored(hash, filePath, size, source, written);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            attach(stored);
+        }
+        return stored;
+    }
+
+    /**
+     * 在当前事务结束时结束待提交引用，事务回滚时按 {@link #discard} 处理；需在插入记录的事务中调用
+     *
+     * @param stored 存储结果
+     */
+    public void attach(Stored stored) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    endPending(stored.getContentHash());
+                } else {
+                    discard(stored);
+                }
+            }
+        });
+    }
+
+    /**
+     * 放弃未保存记录的存储结果：结束待提交引用，没有其他记录引用时删除文件
+     *
+     * @param stored 存储结果
+     */
+    public void discard(Stored stored) {
+        endPending(stored.getContentHash());
+        Image orphan = new Image();
+        orphan.setContentHash(stored.getContentHash());
+        orphan.setFilePath(stored.getFilePath());
+        release(orphan);
+    }
+
+    /**
+     * 释放图片记录对文件的引用，应在记录删除的事务提交后调用；没有其他记录引用时删除文件和变体
+     *
+     * @param image 已删除的图片记录
+     */
+    public void release(Image image) {
+        if (image.getContentHash() == null) {
+            // 按内容存储之前上传的图片独占文件
+            deleteFiles(image);
+            return;
+        }
+        synchronized (lockFor(image.getContentHash())) {
+            if (pending.containsKey(image.getContentHash())
+                    || imageRepository.countByContentHash(image.getContentHash()) > 0) {
+                return;
+            }
+            deleteFiles(image);
+        }
+        log.debug("图片文件已无引用，已删除 - hash: {}", image.getContentHash());
+    }
+
+    private void endPending(String hash) {
+        synchronized (lockFor(hash)) {
+            pending.computeIfPresent(hash, (key, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private void deleteFiles(Image image) {
+        try {
+            Files.deleteIfExists(resolve(image.getFilePath()));
+        } catch (IOException e) {
+            log.warn("删除图片文件失败 - path: {}", image.getFilePath(), e);
+        }
+        variantPipeline.deleteVariants(image);
+    }
+
+    private static String pathFor(String hash, String extension) {
+        String suffix = extension != null && EXTENSION_PATTERN.matcher(extension).matches()
+                ? extension.toLowerCase() : "";
+        return ROOT + "/" + hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + suffix;
+    }
+
+    private Path resolve(String relativePath) {
+        return Paths.get(uploadPath, relativePath);
+    }
+
+    private Object lockFor(String hash) {
+        return locks[(hash.hashCode() & Integer.MAX_VALUE) % LOCK_STRIPES];
+    }
+
+    private static Object[] newLocks() {
+        Object[] locks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        return locks;
+    }
+
+    private static String sha256(InputStream input) throws IOException {
+        MessageDigest digest = newSha256Digest();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int n;
+        while ((n = input.read(buffer)) != -1) {
+            digest.update(buffer, 0, n);
+        }
+        return toHex(digest.digest());
+    }
+
+    private static MessageDigest newSha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * 写入文件内容
+     */
+    @FunctionalInterface
+    private interface ContentWriter {
+        void write(Path target) throws IOException;
+    }
+
+    /**
+     * 存储结果
+     */
+    public static final class Stored {
+        private final String contentHash;
+        private final String filePath;
+        private final long size;
+        private final Image source;
+        private final boolean written;
+
+        private Stored(String contentHash, String filePath, long size, Image source, boolean written) {
+            this.contentHash = contentHash;
+            this.filePath = filePath;
+            this.size = size;
+            this.source = source;
+            this.written = written;
+        }
+
+        /**
+         * 内容的 SHA-256（十六进制）
+         */
+        public String getContentHash() {
+            return contentHash;
+        }
+
+        /**
+         * 文件路径（相对路径）
+         */
+        public String getFilePath() {
+            return filePath;
+        }
+
+        /**
+         * 文件大小（字节）
+         */
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * 内容相同的已有图片记录，本次写入了新文件时为null
+         */
+        public Image getSource() {
+            return source;
+        }
+
+        /**
+         * 本次是否写入了文件
+         */
+        public boolean isWritten() {
+            return written;
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package com.chengzhang.image;
+
+import com.chengzhang.config.ImageConfig;
+import com.chengzhang.entity.Image;
+import com.chengzhang.repository.ImageRepository;
+import com.chengzhang.util.ImageResizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 图片变体（缩略图、压缩图）后台生成
+ * <p>
+ * 上传提交后提交生成任务，由按CPU核数设置的有界线程池执行；队列满或重启时未完成的图片保持 pending 状态，
+ * 由定时扫描重新提交。原图只解码一次，先按压缩图尺寸缩放，再从结果生成缩略图。
+ * 原图不超过目标尺寸时不生成对应变体，读取时回退到原图。
+ * <p>
+ * 按内容去重的图片记录共用同一个文件，后台按配置生成的变体内容相同，也共用同一个变体文件；
+ * 接口按指定尺寸或质量生成的变体文件名带上参数（如 {@code <hash>_thumb_200x200.jpg}），
+ * 不会覆盖其他记录正在使用的变体。最后一条记录删除时删除该文件的全部变体。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ImageVariantPipeline {
+
+    /**
+     * 变体状态：待生成
+     */
+    public static final String PENDING = "pending";
+
+    /**
+     * 变体状态：已生成
+     */
+    public static final String READY = "ready";
+
+    /**
+     * 变体状态：生成失败
+     */
+    public static final String FAILED = "failed";
+
+    /**
+     * 变体状态：格式不支持（没有可用的解码器）
+     */
+    public static final String SKIPPED = "skipped";
+
+    private final ImageRepository imageRepository;
+    private final ImageConfig imageConfig;
+
+    @Value("${app.upload.path:uploads/images}")
+    private String uploadPath;
+
+    /**
+     * 已提交未完成的图片ID，避免重复提交
+     */
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+
+    private ThreadPoolExecutor workers;
+    private ScheduledExecutorService sweeper;
+
+    @PostConstruct
+    public void init() {
+        ImageConfig.Variant config = imageConfig.getVariant();
+        int threads = config.getWorkerThreads() > 0
+                ? config.getWorkerThreads() : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        workers = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(config.getQueueCapacity()), runnable -> {
+            Thread thread = new Thread(runnable, "image-variant-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        workers.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 应用启动完成后开始定时扫描待生成的图片
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!isEnabled()) {
+            return;
+        }
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "image-variant-sweep");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = imageConfig.getVariant().getSweepIntervalSeconds();
+        sweeper.scheduleWithFixedDelay(this::sweep, 0, interval, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+        workers.shutdownNow();
+    }
+
+    /**
+     * 是否启用了缩略图或压缩图
+     */
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(imageConfig.getThumbnail().getEnabled())
+                || Boolean.TRUE.equals(imageConfig.getCompression().getEnabled());
+    }
+
+    /**
+     * 提交生成任务；队列已满时不提交，图片保持 pending 状态等待定时扫描
+     *
+     * @param imageId 图片ID
+     */
+    public void submit(String imageId) {
+        if (!isEnabled() || !queued.add(imageId)) {
+            return;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    process(imageId);
+                } finally {
+                    queued.remove(imageId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queued.remove(imageId);
+            log.debug("变体生成队列已满，等待定时扫描 - imageId: {}", imageId);
+        }
+    }
+
+    private void sweep() {
+        try {
+            int room = workers.getQueue().remainingCapacity();
+            if (room == 0) {
+                return;
+            }
+            List<String> ids = imageRepository.findIdsByVariantStatus(PENDING, PageRequest.of(0, room));
+            ids.forEach(this::submit);
+        } catch (Exception e) {
+            log.error("扫描待生成变体的图片失败", e);
+        }
+    }
+
+    private void process(String imageId) {
+        Image image = imageRepository.findById(imageId).orElse(null);
+        if (image == null || !"active".equals(image.getStatus()) || !PENDING.equals(image.getVariantStatus())) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            Variants variants = generate(image);
+            imageRepository.updateVariants(imageId, variants.status, variants.thumbnailPath, variants.compressedPath);
+            log.debug("图片变体生成完成 - id: {}, status: {}, 耗时: {}ms",
+                    imageId, variants.status, System.currentTimeMillis() - start);
+        } catch (Exception | OutOfMemoryError e) {
+            log.error("图片变体生成失败 - id: {}", imageId, e);
+            imageRepository.updateVariants(imageId, FAILED, null, null);
+        }
+    }
+
+    /**
+     * 按配置生成缩略图和压缩图，原图只解码一次
+     */
+    private Variants generate(Image image) throws IOException {
+        ImageConfig.Thumbnail thumbnail = imageConfig.getThumbnail();
+        ImageConfig.Compression compression = imageConfig.getCompression();
+        boolean needThumbnail = Boolean.TRUE.equals(thumbnail.getEnabled())
+                && exceeds(image, thumbnail.getWidth(), thumbnail.getHeight());
+        boolean needCompressed = Boolean.TRUE.equals(compression.getEnabled()) && !isAnimated(image)
+                && (exceeds(image, compression.getMaxWidth(), compression.getMaxHeight()) || isUncompressed(image));
+        if (!needThumbnail && !needCompressed) {
+            return new Variants(READY, null, null);
+        }
+
+        Path original = resolve(image.getFilePath());
+        int decodeWidth = needCompressed ? compression.getMaxWidth() : thumbnail.getWidth();
+        int decodeHeight = needCompressed ? compression.getMaxHeight() : thumbnail.getHeight();
+        BufferedImage decoded = ImageResizer.readScaled(original, decodeWidth, decodeHeight);
+        if (decoded == null) {
+            return new Variants(SKIPPED, null, null);
+        }
+
+        String compressedPath = null;
+        if (needCompressed) {
+            compressedPath = write(decoded, image, imageConfig.getVariant().getCompressedSuffix(),
+                    compression.getQuality());
+        }
+        String thumbnailPath = null;
+        if (needThumbnail) {
+            BufferedImage scaled = ImageResizer.fit(decoded, thumbnail.getWidth(), thumbnail.getHeight());
+            thumbnailPath = write(scaled, image, thumbnail.getSuffix(), compression.getQuality());
+        }
+        return new Variants(READY, thumbnailPath, compressedPath);
+    }
+
+    /**
+     * 立即生成指定尺寸的缩略图，文件名带尺寸参数
+     *
+     * @param image  图片
+     * @param width  最大宽度
+     * @param height 最大高度
+     * @return 缩略图路径，格式不支持时返回null
+     * @throws IOException 读写失败
+     */
+    public String generateThumbnail(Image image, int width, int height) throws IOException {
+        BufferedImage scaled = ImageResizer.readScaled(resolve(image.getFilePath()), width, height);
+        if (scaled == null) {
+            return null;
+        }
+        String suffix = imageConfig.getThumbnail().getSuffix() + "_" + width + "x" + height;
+        return write(scaled, image, suffix, imageConfig.getCompression().getQuality());
+    }
+
+    /**
+     * 立即按配置的最大尺寸和指定质量生成压缩图，文件名带质量参数
+     *
+     * @param image   图片
+     * @param quality 压缩质量（0.0~1.0）
+     * @return 压缩图路径，格式不支持时返回null
+     * @throws IOException 读写失败
+     */
+    public String generateCompressed(Image image, double quality) throws IOException {
+        ImageConfig.Compression compression = imageConfig.getCompression();
+        BufferedImage scaled = ImageResizer.readScaled(resolve(image.getFilePath()),
+                compression.getMaxWidth(), compression.getMaxHeight());
+        if (scaled == null) {
+            return null;
+        }
+        String suffix = imageConfig.getVariant().getCompressedSuffix() + "_q" + Math.round(quality * 100);
+        return write(scaled, image, suffix, quality);
+    }
+
+    /**
+     * 删除图片文件的全部变体文件（包括其他记录按参数生成的变体），应在没有记录引用该文件时调用
+     *
+     * @param image 图片
+     */
+    public void deleteVariants(Image image) {
+        for (String path : new String[]{image.getThumbnailPath(), image.getCompressedPath()}) {
+            if (path != null && !path.equals(image.getFilePath())) {
+                deleteQuietly(resolve(path));
+            }
+        }
+        Path base = resolve(basePath(image.getFilePath()));
+        Path dir = base.getParent();
+        if (dir == null || !Files.isDirectory(dir)) {
+            return;
+        }
+        String name = base.getFileName().toString();
+        String[] prefixes = {name + imageConfig.getThumbnail().getSuffix(),
+                name + imageConfig.getVariant().getCompressedSuffix()};
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, file -> {
+            String fileName = file.getFileName().toString();
+            return fileName.startsWith(prefixes[0]) || fileName.startsWith(prefixes[1]);
+        })) {
+            files.forEach(this::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("删除图片变体失败 - path: {}", image.getFilePath(), e);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("删除图片变体失败 - path: {}", path, e);
+        }
+    }
+
+    private String write(BufferedImage image, Image source, String suffix, double quality) throws IOException {
+        String base = basePath(source.getFilePath());
+        String name = ImageResizer.write(image, resolve(base + suffix), quality).getFileName().toString();
+        return base + suffix + name.substring(name.lastIndexOf('.'));
+    }
+
+    private static String basePath(String filePath) {
+        int dot = filePath.lastIndexOf('.');
+        int slash = filePath.lastIndexOf('/');
+        return dot > slash ? filePath.substring(0, dot) : filePath;
+    }
+
+    private Path resolve(String relativePath) {
+        return Paths.get(uploadPath, relativePath);
+    }
+
+    private static boolean exceeds(Image image, int maxWidth, int maxHeight) {
+        // 尺寸未知时按需要生成处理
+        if (image.getWidth() == null || image.getHeight() == null || image.getWidth() == 0) {
+            return true;
+        }
+        return image.getWidth() > maxWidth || image.getHeight() > maxHeight;
+    }
+
+    private static boolean isAnimated(Image image) {
+        return "image/gif".equalsIgnoreCase(image.getMimeType());
+    }
+
+    private static boolean isUncompressed(Image image) {
+        return "image/bmp".equalsIgnoreCase(image.getMimeType());
+    }
+
+    /**
+     * 生成结果
+     */
+    private static final class Variants {
+        private final String status;
+        private final String thumbnailPath;
+        private final String compressedPath;
+
+        private Variants(String status, String thumbnailPath, String compressedPath) {
+            this.status = status;
+            this.thumbnailPath = thumbnailPath;
+            this.compressedPath = compressedPath;
+        }
+    }
+}
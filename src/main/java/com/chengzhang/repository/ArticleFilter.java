@@ -0,0 +1,72 @@
+package com.chengzhang.repository;
+
+import lombok.Data;
+import org.apache.commons.lang3.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 文章列表筛选条件
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Data
+public class ArticleFilter {
+
+    /**
+     * 文章状态（为空或all表示不限）
+     */
+    private String status;
+
+    /**
+     * 文章分类（为空表示不限）
+     */
+    private String category;
+
+    /**
+     * 合集ID（为空或all表示不限）
+     */
+    private String collectionId;
+
+    /**
+     * 关键词（标题、正文、摘要模糊匹配）
+     */
+    private String keyword;
+
+    /**
+     * 关键词匹配范围：title/content/all
+     */
+    private String searchIn;
+
+    /**
+     * 创建时间起始
+     */
+    private LocalDateTime startDate;
+
+    /**
+     * 创建时间截止
+     */
+    private LocalDateTime endDate;
+
+    /**
+     * 标签筛选
+     */
+    private List<String> tags;
+
+    /**
+     * 标签匹配模式：any-任一标签（默认），all-全部标签
+     */
+    private String tagMode;
+
+    /**
+     * 规范化的筛选条件键（用于缓存总数）
+     *
+     * @return 规范化键
+     */
+    public String normalizedKey() {
+        return FilterKeys.join(status, category, collectionId, keyword, StringUtils.isNotBlank(keyword) ? searchIn : null,
+                startDate, endDate, FilterKeys.tags(tags, tagMode));
+    }
+}
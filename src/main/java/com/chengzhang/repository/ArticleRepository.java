@@ -6,11 +6,15 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * 文章数据访问层
@@ -19,96 +23,7 @@ import java.util.List;
  * @since 1.0.0
  */
 @Repository
-public interface ArticleRepository extends JpaRepository<Article, String> {
-
-    /**
-     * 根据状态查询文章
-     *
-     * @param status   文章状态
-     * @param pageable 分页参数
-     * @return 文章分页列表
-     */
-    Page<Article> findByStatus(String status, Pageable pageable);
-
-    /**
-     * 根据分类查询文章
-     *
-     * @param category 文章分类
-     * @param pageable 分页参数
-     * @return 文章分页列表
-     */
-    Page<Article> findByCategory(String category, Pageable pageable);
-
-    /**
-     * 根据状态和分类查询文章
-     *
-     * @param status   文章状态
-     * @param category 文章分类
-     * @param pageable 分页参数
-     * @return 文章分页列表
-     */
-    Page<Article> findByStatusAndCategory(String status, String category, Pageable pageable);
-
-    /**
-     * 根据关键词搜索文章（标题和内容）
-     *
-     * @param keyword  搜索关键词
-     * @param pageable 分页参数
-     * @return 文章分页列表
-     */
-    @Query("SELECT a FROM Article a WHERE a.title LIKE %:keyword% OR a.content LIKE %:keyword% OR a.summary LIKE %:keyword%")
-    Page<Article> findByKeyword(@Param("keyword") String keyword, Pageable pageable);
-
-    /**
-     * 根据关键词和状态搜索文章
-     *
-     * @param keyword  搜索关键词
-     * @param status   文章状态
-     * @param pageable 分页参数
-     * @return 文章分页列表
-     */
-    @Query("SELECT a FROM Article a WHERE (a.title LIKE %:keyword% OR a.content LIKE %:keyword% OR a.summary LIKE %:keyword%) AND a.status = :status")
-    Page<Article> findByKeywordAndStatus(@Param("keyword") String keyword, @Param("status") String status, Pageable pageable);
-
-    /**
-     * 根据标题搜索文章
-     *
-     * @param keyword  搜索关键词
-     * @param pageable 分页参数
-     * @return 文章分页列表
-     */
-    @Query("SELECT a FROM Article a WHERE a.title LIKE %:keyword%")
-    Page<Article> findByTitleContaining(@Param("keyword") String keyword, Pageable pageable);
-
-    /**
-     * 根据内容搜索文章
-     *
-     * @param keyword  搜索关键词
-     * @param pageable 分页参数
-     * @return 文章分页列表
-     */
-    @Query("SELECT a FROM Article a WHERE a.content LIKE %:keyword%")
-    Page<Article> findByContentContaining(@Param("keyword") String keyword, Pageable pageable);
-
-    /**
-     * 根据标签搜索文章
-     *
-     * @param tag      标签
-     * @param pageable 分页参数
-     * @return 文章分页列表
-     */
-    @Query("SELECT a FROM Article a WHERE a.tags LIKE %:tag%")
-    Page<Article> findByTagsContaining(@Param("tag") String tag, Pageable pageable);
-
-    /**
-     * 根据日期范围查询文章
-     *
-     * @param startDate 开始日期
-     * @param endDate   结束日期
-     * @param pageable  分页参数
-     * @return 文章分页列表
-     */
-    Page<Article> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
+public interface ArticleRepository extends JpaRepository<Article, String>, ArticleRepositoryCustom {
 
     /**
      * 统计文章总数
@@ -142,55 +57,82 @@ public interface ArticleRepository extends JpaRepository<Article, String> {
     Long sumReadTime();
 
     /**
-     * 获取所有分类
+     * 按 (更新时间, ID) 倒序查询最近更新的文章（不加载正文）
      *
-     * @return 分类列表
+     * @param pageable 分页参数（取第一条）
+     * @return 每行依次为：ID、更新时间
      */
-    @Query("SELECT DISTINCT a.category FROM Article a WHERE a.category IS NOT NULL ORDER BY a.category")
-    List<String> findAllCategories();
+    @Query("SELECT a.id, a.updatedAt FROM Article a ORDER BY a.updatedAt DESC, a.id DESC")
+    List<Object[]> findLatestUpdated(Pageable pageable);
 
     /**
-     * 根据更新时间倒序查询最近的文章
+     * 获取最大正文版本号
      *
-     * @param pageable 分页参数
-     * @return 文章分页列表
+     * @return 最大版本号，没有文章时为null
      */
-    Page<Article> findAllByOrderByUpdatedAtDesc(Pageable pageable);
+    @Query("SELECT MAX(a.revision) FROM Article a")
+    Long findMaxRevision();
 
     /**
-     * 根据创建时间倒序查询最近的文章
+     * 按状态汇总文章数量、字数和阅读时间
      *
-     * @param pageable 分页参数
-     * @return 文章分页列表
+     * @return 每行依次为：状态、数量、总字数、总阅读时间
      */
-    Page<Article> findAllByOrderByCreatedAtDesc(Pageable pageable);
+    @Query("SELECT a.status, COUNT(a), COALESCE(SUM(a.wordCount), 0), COALESCE(SUM(a.readTime), 0) FROM Article a GROUP BY a.status")
+    List<Object[]> aggregateByStatus();
 
     /**
-     * 根据标题排序查询文章
+     * 流式读取所有文章的标签列（需在事务内消费并关闭）
      *
-     * @param pageable 分页参数
-     * @return 文章分页列表
+     * @return 标签JSON流
      */
-    Page<Article> findAllByOrderByTitleAsc(Pageable pageable);
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+    })
+    @Query("SELECT a.tags FROM Article a WHERE a.tags IS NOT NULL")
+    Stream<String> streamAllTags();
 
     /**
-     * 根据合集ID查询文章
+     * 按ID顺序分批读取文章（用于重建索引等全表遍历）
      *
-     * @param collectionId 合集ID
-     * @param pageable 分页参数
-     * @return 文章分页列表
+     * @param id       上一批最后一篇文章的ID
+     * @param pageable 分页参数（仅使用每批数量）
+     * @return 文章列表
      */
-    Page<Article> findByCollectionId(String collectionId, Pageable pageable);
+    List<Article> findByIdGreaterThanOrderByIdAsc(String id, Pageable pageable);
 
     /**
-     * 根据合集ID和状态查询文章
+     * 查询已存在的文章ID
      *
-     * @param collectionId 合集ID
-     * @param status 文章状态
-     * @param pageable 分页参数
-     * @return 文章分页列表
+     * @param ids 文章ID集合
+     * @return 已存在的ID列表
+     */
+    @Query("SELECT a.id FROM Article a WHERE a.id IN :ids")
+    List<String> findExistingIds(@Param("ids") Collection<String> ids);
+
+    /**
+     * 以只读游标按ID顺序流式读取全部文章（需在事务内消费并关闭）
+     * <p>
+     * MySQL驱动在 fetchSize 为 Integer.MIN_VALUE 时逐行流式返回结果，不会一次性缓存整个结果集。
+     *
+     * @return 文章流
+     */
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT a FROM Article a ORDER BY a.id")
+    Stream<Article> streamAllOrderById();
+
+    /**
+     * 获取所有分类
+     *
+     * @return 分类列表
      */
-    Page<Article> findByCollectionIdAndStatus(String collectionId, String status, Pageable pageable);
+    @Query("SELECT DISTINCT a.category FROM Article a WHERE a.category IS NOT NULL ORDER BY a.category")
+    List<String> findAllCategories();
 
     /**
      * 统计指定合集的文章数量
@@ -211,98 +153,107 @@ public interface ArticleRepository extends JpaRepository<Article, String> {
     int updateCollectionIdToNull(@Param("collectionId") String collectionId);
 
     /**
-     * 查询未分类的文章（collectionId为null或空）
+     * 按ID批量删除文章（单条DELETE语句）
      *
-     * @param pageable 分页参数
-     * @return 文章分页列表
+     * @param ids 文章ID集合
+     * @return 删除的记录数
      */
-    @Query("SELECT a FROM Article a WHERE a.collectionId IS NULL OR a.collectionId = ''")
-    Page<Article> findUncategorizedArticles(Pageable pageable);
+    @Modifying
+    @Query("DELETE FROM Article a WHERE a.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<String> ids);
 
     /**
-     * 统计未分类的文章数量
+     * 按ID批量修改文章状态
      *
-     * @return 文章数量
+     * @param ids       文章ID集合
+     * @param status    新状态
+     * @param updatedAt 更新时间
+     * @return 更新的记录数
      */
-    @Query("SELECT COUNT(a) FROM Article a WHERE a.collectionId IS NULL OR a.collectionId = ''")
-    long countUncategorizedArticles();
+    @Modifying
+    @Query("UPDATE Article a SET a.status = :status, a.updatedAt = :updatedAt WHERE a.id IN :ids")
+    int updateStatusByIds(@Param("ids") Collection<String> ids, @Param("status") String status,
+                          @Param("updatedAt") LocalDateTime updatedAt);
 
     /**
-     * 根据关键词和合集ID搜索文章
+     * 按ID批量修改文章分类
      *
-     * @param keyword      搜索关键词
-     * @param collectionId 合集ID
-     * @param pageable     分页参数
-     * @return 文章分页列表
+     * @param ids       文章ID集合
+     * @param category  新分类
+     * @param updatedAt 更新时间
+     * @return 更新的记录数
      */
-    @Query("SELECT a FROM Article a WHERE (a.title LIKE %:keyword% OR a.content LIKE %:keyword% OR a.summary LIKE %:keyword%) AND a.collectionId = :collectionId")
-    Page<Article> findByKeywordAndCollectionId(@Param("keyword") String keyword, @Param("collectionId") String collectionId, Pageable pageable);
+    @Modifying
+    @Query("UPDATE Article a SET a.category = :category, a.updatedAt = :updatedAt WHERE a.id IN :ids")
+    int updateCategoryByIds(@Param("ids") Collection<String> ids, @Param("category") String category,
+                            @Param("updatedAt") LocalDateTime updatedAt);
 
     /**
-     * 根据状态和合集ID查询文章
+     * 按ID批量移动文章到合集
      *
-     * @param status       文章状态
-     * @param collectionId 合集ID
-     * @param pageable     分页参数
-     * @return 文章分页列表
+     * @param ids          文章ID集合
+     * @param collectionId 目标合集ID，为null表示移出合集
+     * @param updatedAt    更新时间
+     * @return 更新的记录数
      */
-    Page<Article> findByStatusAndCollectionId(String status, String collectionId, Pageable pageable);
+    @Modifying
+    @Query("UPDATE Article a SET a.collectionId = :collectionId, a.updatedAt = :updatedAt WHERE a.id IN :ids")
+    int updateCollectionIdByIds(@Param("ids") Collection<String> ids, @Param("collectionId") String collectionId,
+                                @Param("updatedAt") LocalDateTime updatedAt);
 
     /**
-     * 根据分类和合集ID查询文章
+     * 按版本号条件更新正文及统计字段（只写入变化的列）
      *
-     * @param category     文章分类
-     * @param collectionId 合集ID
-     * @param pageable     分页参数
-     * @return 文章分页列表
+     * @param id        文章ID
+     * @param revision  基准版本号，与当前版本不一致时不更新
+     * @param content   新正文
+     * @param summary   摘要
+     * @param wordCount 字数
+     * @param readTime  阅读时间
+     * @param updatedAt 更新时间
+     * @return 更新的记录数，0表示版本冲突
      */
-    Page<Article> findByCategoryAndCollectionId(String category, String collectionId, Pageable pageable);
+    @Modifying
+    @Query("UPDATE Article a SET a.content = :content, a.summary = :summary, a.wordCount = :wordCount, "
+            + "a.readTime = :readTime, a.updatedAt = :updatedAt, a.revision = a.revision + 1 "
+            + "WHERE a.id = :id AND a.revision = :revision")
+    int updateContent(@Param("id") String id, @Param("revision") Long revision, @Param("content") String content,
+                      @Param("summary") String summary, @Param("wordCount") Integer wordCount,
+                      @Param("readTime") Integer readTime, @Param("updatedAt") LocalDateTime updatedAt);
 
     /**
-     * 根据关键词、状态和合集ID搜索文章
+     * 查询未分类的文章（collectionId为null或空）
      *
-     * @param keyword      搜索关键词
-     * @param status       文章状态
-     * @param collectionId 合集ID
-     * @param pageable     分页参数
+     * @param pageable 分页参数
      * @return 文章分页列表
      */
-    @Query("SELECT a FROM Article a WHERE (a.title LIKE %:keyword% OR a.content LIKE %:keyword% OR a.summary LIKE %:keyword%) AND a.status = :status AND a.collectionId = :collectionId")
-    Page<Article> findByKeywordAndStatusAndCollectionId(@Param("keyword") String keyword, @Param("status") String status, @Param("collectionId") String collectionId, Pageable pageable);
+    @Query("SELECT a FROM Article a WHERE a.collectionId IS NULL OR a.collectionId = ''")
+    Page<Article> findUncategorizedArticles(Pageable pageable);
 
     /**
-     * 根据关键词、分类和合集ID搜索文章
+     * 统计未分类的文章数量
      *
-     * @param keyword      搜索关键词
-     * @param category     文章分类
-     * @param collectionId 合集ID
-     * @param pageable     分页参数
-     * @return 文章分页列表
+     * @return 文章数量
      */
-    @Query("SELECT a FROM Article a WHERE (a.title LIKE %:keyword% OR a.content LIKE %:keyword% OR a.summary LIKE %:keyword%) AND a.category = :category AND a.collectionId = :collectionId")
-    Page<Article> findByKeywordAndCategoryAndCollectionId(@Param("keyword") String keyword, @Param("category") String category, @Param("collectionId") String collectionId, Pageable pageable);
+    @Query("SELECT COUNT(a) FROM Article a WHERE a.collectionId IS NULL OR a.collectionId = ''")
+    long countUncategorizedArticles();
 
     /**
-     * 根据状态、分类和合集ID查询文章
+     * 按ID顺序分批读取标签列（用于重建标签索引）
      *
-     * @param status       文章状态
-     * @param category     文章分类
-     * @param collectionId 合集ID
-     * @param pageable     分页参数
-     * @return 文章分页列表
+     * @param lastId   上一批最后一条记录的ID
+     * @param pageable 分页参数（仅使用每批数量）
+     * @return 每行依次为：ID、标签
      */
-    Page<Article> findByStatusAndCategoryAndCollectionId(String status, String category, String collectionId, Pageable pageable);
+    @Query("SELECT a.id, a.tags FROM Article a WHERE a.id > :lastId ORDER BY a.id")
+    List<Object[]> findIdAndTagsAfter(@Param("lastId") String lastId, Pageable pageable);
 
     /**
-     * 根据关键词、状态、分类和合集ID搜索文章
+     * 查询文章的版本信息（用于条件请求校验，不加载正文）
      *
-     * @param keyword      搜索关键词
-     * @param status       文章状态
-     * @param category     文章分类
-     * @param collectionId 合集ID
-     * @param pageable     分页参数
-     * @return 文章分页列表
+     * @param id 文章ID
+     * @return 每行依次为：更新时间、正文版本号；文章不存在时为空
      */
-    @Query("SELECT a FROM Article a WHERE (a.title LIKE %:keyword% OR a.content LIKE %:keyword% OR a.summary LIKE %:keyword%) AND a.status = :status AND a.category = :category AND a.collectionId = :collectionId")
-    Page<Article> findByKeywordAndStatusAndCategoryAndCollectionId(@Param("keyword") String keyword, @Param("status") String status, @Param("category") String category, @Param("collectionId") String collectionId, Pageable pageable);
-}
\ No newline at end of file
+    @Query("SELECT a.updatedAt, a.revision FROM Article a WHERE a.id = :id")
+    List<Object[]> findVersionById(@Param("id") String id);
+}
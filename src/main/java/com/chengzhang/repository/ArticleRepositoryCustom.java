@@ -0,0 +1,70 @@
+package com.chengzhang.repository;
+
+import com.chengzhang.common.FieldSet;
+import com.chengzhang.dto.ArticleListItem;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 文章自定义查询接口
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+public interface ArticleRepositoryCustom {
+
+    /**
+     * 按条件分页查询文章列表投影（不加载正文）
+     *
+     * @param filter   筛选条件
+     * @param pageable 分页及排序参数
+     * @return 文章列表投影分页
+     */
+    Page<ArticleListItem> findListItems(ArticleFilter filter, Pageable pageable);
+
+    /**
+     * 按条件分页查询文章列表投影，不统计总数（多取一条判断是否有下一页）
+     *
+     * @param filter   筛选条件
+     * @param pageable 分页及排序参数
+     * @param fields   查询的字段，未选择的属性为null
+     * @return 文章列表投影切片
+     */
+    Slice<ArticleListItem> findListItemSlice(ArticleFilter filter, Pageable pageable, FieldSet fields);
+
+    /**
+     * 按条件统计文章数量
+     *
+     * @param filter 筛选条件
+     * @return 文章数量
+     */
+    long countListItems(ArticleFilter filter);
+
+    /**
+     * 根据ID批量查询文章列表投影（不加载正文）
+     *
+     * @param ids 文章ID集合
+     * @return 文章列表投影（顺序不保证）
+     */
+    List<ArticleListItem> findListItemsByIds(Collection<String> ids);
+
+    /**
+     * 键集（游标）分页查询文章列表投影（不加载正文）
+     *
+     * @param filter     筛选条件
+     * @param sortField  排序字段：createdAt/updatedAt
+     * @param ascending  是否升序
+     * @param afterValue 上一页最后一条记录的排序值（第一页为null）
+     * @param afterId    上一页最后一条记录的ID（第一页为null）
+     * @param limit      最大返回数量
+     * @param fields     查询的字段，未选择的属性为null（需包含排序字段）
+     * @return 文章列表投影
+     */
+    List<ArticleListItem> findByKeyset(ArticleFilter filter, String sortField, boolean ascending,
+                                       LocalDateTime afterValue, String afterId, int limit, FieldSet fields);
+}
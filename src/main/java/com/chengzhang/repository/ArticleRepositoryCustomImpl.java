@@ -0,0 +1,173 @@
+package com.chengzhang.repository;
+
+import com.chengzhang.common.FieldSet;
+import com.chengzhang.dto.ArticleListItem;
+import com.chengzhang.entity.Article;
+import com.chengzhang.entity.TagLink;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CommonAbstractCriteria;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 文章自定义查询实现
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+public class ArticleRepositoryCustomImpl implements ArticleRepositoryCustom {
+
+    /**
+     * 列表投影可选择的列（与 ArticleListItem 属性一致，不含 content、images）
+     */
+    private static final List<String> LIST_COLUMNS = Arrays.asList("id", "title", "summary", "status", "category",
+            "collectionId", "tags", "wordCount", "readTime", "createdAt", "updatedAt");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<ArticleListItem> findListItems(ArticleFilter filter, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ArticleListItem> query = cb.createQuery(ArticleListItem.class);
+        Root<Article> root = query.from(Article.class);
+        selectListItem(cb, query, root);
+        query.where(buildPredicates(cb, query, root, filter).toArray(new Predicate[0]));
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        List<ArticleListItem> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        // 第一页且不足一页时无需再统计总数
+        if (pageable.getOffset() == 0 && content.size() < pageable.getPageSize()) {
+            return new PageImpl<>(content, pageable, content.size());
+        }
+        return new PageImpl<>(content, pageable, countListItems(filter));
+    }
+
+    @Override
+    public Slice<ArticleListItem> findListItemSlice(ArticleFilter filter, Pageable pageable, FieldSet fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Article> root = query.from(Article.class);
+        query.multiselect(Projections.select(root, LIST_COLUMNS, fields));
+        query.where(buildPredicates(cb, query, root, filter).toArray(new Predicate[0]));
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        // 多取一条用于判断是否还有下一页
+        List<ArticleListItem> content = Projections.map(entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList(), ArticleListItem::new);
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    @Override
+    public List<ArticleListItem> findListItemsByIds(Collection<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ArticleListItem> query = cb.createQuery(ArticleListItem.class);
+        Root<Article> root = query.from(Article.class);
+        selectListItem(cb, query, root);
+        query.where(root.get("id").in(ids));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public List<ArticleListItem> findByKeyset(ArticleFilter filter, String sortField, boolean ascending,
+                                              LocalDateTime afterValue, String afterId, int limit, FieldSet fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Article> root = query.from(Article.class);
+        query.multiselect(Projections.select(root, LIST_COLUMNS, fields));
+
+        List<Predicate> predicates = buildPredicates(cb, query, root, filter);
+        if (afterValue != null && afterId != null) {
+            predicates.add(KeysetSupport.after(cb, root, sortField, ascending, afterValue, afterId));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(KeysetSupport.orderBy(cb, root, sortField, ascending));
+
+        return Projections.map(entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList(), ArticleListItem::new);
+    }
+
+    @Override
+    public long countListItems(ArticleFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Article> root = query.from(Article.class);
+        query.select(cb.count(root));
+        query.where(buildPredicates(cb, query, root, filter).toArray(new Predicate[0]));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    /**
+     * 选择列表投影列（不含 content、images）
+     */
+    private void selectListItem(CriteriaBuilder cb, CriteriaQuery<ArticleListItem> query, Root<Article> root) {
+        query.select(cb.construct(ArticleListItem.class,
+                root.get("id"),
+                root.get("title"),
+                root.get("summary"),
+                root.get("status"),
+                root.get("category"),
+                root.get("collectionId"),
+                root.get("tags"),
+                root.get("wordCount"),
+                root.get("readTime"),
+                root.get("createdAt"),
+                root.get("updatedAt")));
+    }
+
+    /**
+     * 构建筛选条件
+     */
+    private List<Predicate> buildPredicates(CriteriaBuilder cb, CommonAbstractCriteria query, Root<Article> root,
+                                            ArticleFilter filter) {
+        PredicateBuilder<Article> builder = PredicateBuilder.of(cb, query, root);
+        if (filter == null) {
+            return builder.build();
+        }
+        if ("title".equals(filter.getSearchIn())) {
+            builder.like(filter.getKeyword(), "title");
+        } else if ("content".equals(filter.getSearchIn())) {
+            builder.like(filter.getKeyword(), "content");
+        } else {
+            builder.like(filter.getKeyword(), "title", "content", "summary");
+        }
+        return builder
+                .equal("status", filter.getStatus())
+                .equal("category", filter.getCategory())
+                .equal("collectionId", filter.getCollectionId())
+                .between("createdAt", filter.getStartDate(), filter.getEndDate())
+                .tags(TagLink.ARTICLE, filter.getTags(), filter.getTagMode())
+                .build();
+    }
+}
@@ -0,0 +1,66 @@
+package com.chengzhang.repository;
+
+import com.chengzhang.dto.ArticleRevisionDTO;
+import com.chengzhang.entity.ArticleRevision;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 文章历史版本数据访问层
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Repository
+public interface ArticleRevisionRepository extends JpaRepository<ArticleRevision, Long> {
+
+    /**
+     * 查询文章的历史版本信息（不加载数据列，按版本号倒序）
+     *
+     * @param articleId 文章ID
+     * @param pageable  分页参数
+     * @return 历史版本信息
+     */
+    @Query("SELECT new com.chengzhang.dto.ArticleRevisionDTO(r.revision, r.baseRevision, r.chainLength, r.title, "
+            + "r.contentLength, r.storedSize, r.createdAt) FROM ArticleRevision r "
+            + "WHERE r.articleId = :articleId ORDER BY r.revision DESC")
+    List<ArticleRevisionDTO> findInfoByArticleId(@Param("articleId") String articleId, Pageable pageable);
+
+    /**
+     * 查询不晚于指定版本的最近快照版本号
+     *
+     * @param articleId 文章ID
+     * @param revision  版本号
+     * @return 快照版本号，没有时返回null
+     */
+    @Query("SELECT MAX(r.revision) FROM ArticleRevision r "
+            + "WHERE r.articleId = :articleId AND r.revision <= :revision AND r.chainLength = 0")
+    Long findSnapshotRevision(@Param("articleId") String articleId, @Param("revision") long revision);
+
+    /**
+     * 查询版本区间内的历史版本（按版本号升序）
+     *
+     * @param articleId 文章ID
+     * @param from      起始版本号（含）
+     * @param to        截止版本号（含）
+     * @return 历史版本列表
+     */
+    List<ArticleRevision> findByArticleIdAndRevisionBetweenOrderByRevisionAsc(String articleId, Long from, Long to);
+
+    /**
+     * 删除文章的全部历史版本
+     *
+     * @param articleIds 文章ID集合
+     * @return 删除数量
+     */
+    @Modifying
+    @Query("DELETE FROM ArticleRevision r WHERE r.articleId IN :articleIds")
+    int deleteByArticleIds(@Param("articleIds") Collection<String> articleIds);
+}
@@ -0,0 +1,65 @@
+package com.chengzhang.repository;
+
+import com.chengzhang.dto.ArticleSectionDTO;
+import com.chengzhang.entity.ArticleSection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 文章章节数据访问层
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Repository
+public interface ArticleSectionRepository extends JpaRepository<ArticleSection, Long> {
+
+    /**
+     * 查询文章指定正文版本的章节目录（不加载内容列）
+     *
+     * @param articleId 文章ID
+     * @param revision  正文版本号
+     * @return 章节信息（按序号升序）
+     */
+    @Query("SELECT new com.chengzhang.dto.ArticleSectionDTO(s.position, s.level, s.heading, s.startOffset, "
+            + "s.contentLength) FROM ArticleSection s "
+            + "WHERE s.articleId = :articleId AND s.revision = :revision ORDER BY s.position")
+    List<ArticleSectionDTO> findInfoByArticleIdAndRevision(@Param("articleId") String articleId,
+                                                           @Param("revision") Long revision);
+
+    /**
+     * 查询文章指定正文版本的章节区间
+     *
+     * @param articleId 文章ID
+     * @param revision  正文版本号
+     * @param from      起始序号（含）
+     * @param to        截止序号（含）
+     * @return 章节列表（按序号升序）
+     */
+    List<ArticleSection> findByArticleIdAndRevisionAndPositionBetweenOrderByPositionAsc(
+            String articleId, Long revision, Integer from, Integer to);
+
+    /**
+     * 文章是否存储了章节
+     *
+     * @param articleId 文章ID
+     * @return 是否存在
+     */
+    boolean existsByArticleId(String articleId);
+
+    /**
+     * 删除文章的全部章节
+     *
+     * @param articleIds 文章ID集合
+     * @return 删除数量
+     */
+    @Modifying
+    @Query("DELETE FROM ArticleSection s WHERE s.articleId IN :articleIds")
+    int deleteByArticleIds(@Param("articleIds") Collection<String> articleIds);
+}
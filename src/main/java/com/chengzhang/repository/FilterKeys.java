@@ -0,0 +1,66 @@
+package com.chengzhang.repository;
+
+import com.chengzhang.util.TagUtil;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * 筛选条件规范化键工具类
+ * <p>
+ * 语义相同的筛选条件生成相同的键：空值、空白和 all 视为不限，标签按小写排序去重，
+ * 标签为空时忽略标签匹配模式。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+final class FilterKeys {
+
+    private static final char SEPARATOR = '\u0001';
+
+    private FilterKeys() {
+    }
+
+    /**
+     * 拼接规范化后的筛选条件
+     *
+     * @param parts 依次为各筛选字段的值
+     * @return 规范化键
+     */
+    static String join(Object... parts) {
+        StringBuilder key = new StringBuilder();
+        for (Object part : parts) {
+            key.append(normalize(part)).append(SEPARATOR);
+        }
+        return key.toString();
+    }
+
+    /**
+     * 规范化标签筛选
+     *
+     * @param tags    标签
+     * @param tagMode 标签匹配模式
+     * @return 规范化的标签条件
+     */
+    static String tags(List<String> tags, String tagMode) {
+        List<String> normalized = TagUtil.normalize(tags).stream()
+                .map(tag -> tag.toLowerCase(Locale.ROOT))
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+        if (normalized.isEmpty()) {
+            return "";
+        }
+        String mode = TagPredicates.MODE_ALL.equalsIgnoreCase(tagMode) && normalized.size() > 1 ? TagPredicates.MODE_ALL : "any";
+        return mode + ":" + String.join(",", normalized);
+    }
+
+    private static String normalize(Object part) {
+        if (part == null) {
+            return "";
+        }
+        String value = part.toString().trim();
+        return "all".equals(value) ? "" : value;
+    }
+}
@@ -0,0 +1,103 @@
+package com.chengzhang.repository;
+
+import lombok.Data;
+import org.apache.commons.lang3.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 图片列表筛选条件
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Data
+public class ImageFilter {
+
+    /**
+     * 关联文章ID（为空表示不限）
+     */
+    private String articleId;
+
+    /**
+     * MIME类型（为空表示不限）
+     */
+    private String mimeType;
+
+    /**
+     * 图片状态（为空或all表示不限）
+     */
+    private String status;
+
+    /**
+     * 关键词（原始文件名、描述、标签模糊匹配）
+     */
+    private String keyword;
+
+    /**
+     * 关键词匹配范围：name/description/tags/all
+     */
+    private String searchIn;
+
+    /**
+     * 最小文件大小（字节）
+     */
+    private Long minSize;
+
+    /**
+     * 最大文件大小（字节）
+     */
+    private Long maxSize;
+
+    /**
+     * 最小宽度
+     */
+    private Integer minWidth;
+
+    /**
+     * 最大宽度
+     */
+    private Integer maxWidth;
+
+    /**
+     * 最小高度
+     */
+    private Integer minHeight;
+
+    /**
+     * 最大高度
+     */
+    private Integer maxHeight;
+
+    /**
+     * 上传时间起始
+     */
+    private LocalDateTime startDate;
+
+    /**
+     * 上传时间截止
+     */
+    private LocalDateTime endDate;
+
+    /**
+     * 标签筛选
+     */
+    private List<String> tags;
+
+    /**
+     * 标签匹配模式：any-任一标签（默认），all-全部标签
+     */
+    private String tagMode;
+
+    /**
+     * 规范化的筛选条件键（用于缓存总数）
+     *
+     * @return 规范化键
+     */
+    public String normalizedKey() {
+        return FilterKeys.join(articleId, mimeType, status, keyword, StringUtils.isNotBlank(keyword) ? searchIn : null,
+                minSize, maxSize, minWidth, maxWidth, minHeight, maxHeight, startDate, endDate,
+                FilterKeys.tags(tags, tagMode));
+    }
+}
@@ -4,9 +4,11 @@ import com.chengzhang.entity.Image;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -18,35 +20,7 @@ import java.util.List;
  * @since 1.0.0
  */
 @Repository
-public interface ImageRepository extends JpaRepository<Image, String> {
-
-    /**
-     * 根据状态查询图片
-     *
-     * @param status   图片状态
-     * @param pageable 分页参数
-     * @return 图片分页列表
-     */
-    Page<Image> findByStatus(String status, Pageable pageable);
-
-    /**
-     * 根据文章ID查询图片
-     *
-     * @param articleId 文章ID
-     * @param pageable  分页参数
-     * @return 图片分页列表
-     */
-    Page<Image> findByArticleId(String articleId, Pageable pageable);
-
-    /**
-     * 根据文章ID和状态查询图片
-     *
-     * @param articleId 文章ID
-     * @param status    图片状态
-     * @param pageable  分页参数
-     * @return 图片分页列表
-     */
-    Page<Image> findByArticleIdAndStatus(String articleId, String status, Pageable pageable);
+public interface ImageRepository extends JpaRepository<Image, String>, ImageRepositoryCustom {
 
     /**
      * 根据文章ID查询图片列表（不分页）
@@ -66,141 +40,36 @@ public interface ImageRepository extends JpaRepository<Image, String> {
     List<Image> findByArticleIdAndStatus(String articleId, String status);
 
     /**
-     * 根据文件名查询图片
+     * 根据文件名查询最早上传的图片（内容相同的图片共用文件名）
      *
      * @param fileName 文件名
      * @return 图片对象
      */
-    Image findByFileName(String fileName);
+    Image findFirstByFileNameOrderByCreatedAtAsc(String fileName);
 
     /**
-     * 根据文件路径查询图片
+     * 根据文件路径查询最早上传的图片（内容相同的图片共用文件路径）
      *
      * @param filePath 文件路径
      * @return 图片对象
      */
-    Image findByFilePath(String filePath);
-
-    /**
-     * 根据MIME类型查询图片
-     *
-     * @param mimeType MIME类型
-     * @param pageable 分页参数
-     * @return 图片分页列表
-     */
-    Page<Image> findByMimeType(String mimeType, Pageable pageable);
-
-    /**
-     * 根据MIME类型模糊查询图片
-     *
-     * @param mimeTypePattern MIME类型模式（如 image/%）
-     * @param pageable        分页参数
-     * @return 图片分页列表
-     */
-    @Query("SELECT i FROM Image i WHERE i.mimeType LIKE :mimeTypePattern")
-    Page<Image> findByMimeTypeLike(@Param("mimeTypePattern") String mimeTypePattern, Pageable pageable);
+    Image findFirstByFilePathOrderByCreatedAtAsc(String filePath);
 
     /**
-     * 根据原始文件名搜索图片
+     * 根据内容哈希查询最早上传的图片
      *
-     * @param keyword  搜索关键词
-     * @param pageable 分页参数
-     * @return 图片分页列表
-     */
-    @Query("SELECT i FROM Image i WHERE i.originalName LIKE %:keyword%")
-    Page<Image> findByOriginalNameContaining(@Param("keyword") String keyword, Pageable pageable);
-
-    /**
-     * 根据描述搜索图片
-     *
-     * @param keyword  搜索关键词
-     * @param pageable 分页参数
-     * @return 图片分页列表
-     */
-    @Query("SELECT i FROM Image i WHERE i.description LIKE %:keyword%")
-    Page<Image> findByDescriptionContaining(@Param("keyword") String keyword, Pageable pageable);
-
-    /**
-     * 根据标签搜索图片
-     *
-     * @param tag      标签
-     * @param pageable 分页参数
-     * @return 图片分页列表
-     */
-    @Query("SELECT i FROM Image i WHERE i.tags LIKE %:tag%")
-    Page<Image> findByTagsContaining(@Param("tag") String tag, Pageable pageable);
-
-    /**
-     * 综合搜索图片（原始文件名、描述、标签）
-     *
-     * @param keyword  搜索关键词
-     * @param pageable 分页参数
-     * @return 图片分页列表
-     */
-    @Query("SELECT i FROM Image i WHERE i.originalName LIKE %:keyword% OR i.description LIKE %:keyword% OR i.tags LIKE %:keyword%")
-    Page<Image> findByKeyword(@Param("keyword") String keyword, Pageable pageable);
-
-    /**
-     * 根据关键词和状态搜索图片
-     *
-     * @param keyword  搜索关键词
-     * @param status   图片状态
-     * @param pageable 分页参数
-     * @return 图片分页列表
-     */
-    @Query("SELECT i FROM Image i WHERE (i.originalName LIKE %:keyword% OR i.description LIKE %:keyword% OR i.tags LIKE %:keyword%) AND i.status = :status")
-    Page<Image> findByKeywordAndStatus(@Param("keyword") String keyword, @Param("status") String status, Pageable pageable);
-
-    /**
-     * 根据MIME类型和状态查询图片
-     *
-     * @param mimeType MIME类型
-     * @param status   图片状态
-     * @param pageable 分页参数
-     * @return 图片分页列表
-     */
-    Page<Image> findByMimeTypeAndStatus(String mimeType, String status, Pageable pageable);
-
-    /**
-     * 根据文件大小范围查询图片
-     *
-     * @param minSize  最小文件大小
-     * @param maxSize  最大文件大小
-     * @param pageable 分页参数
-     * @return 图片分页列表
-     */
-    Page<Image> findByFileSizeBetween(Long minSize, Long maxSize, Pageable pageable);
-
-    /**
-     * 根据图片尺寸范围查询图片
-     *
-     * @param minWidth  最小宽度
-     * @param maxWidth  最大宽度
-     * @param minHeight 最小高度
-     * @param maxHeight 最大高度
-     * @param pageable  分页参数
-     * @return 图片分页列表
-     */
-    Page<Image> findByWidthBetweenAndHeightBetween(Integer minWidth, Integer maxWidth, Integer minHeight, Integer maxHeight, Pageable pageable);
-
-    /**
-     * 根据日期范围查询图片
-     *
-     * @param startDate 开始日期
-     * @param endDate   结束日期
-     * @param pageable  分页参数
-     * @return 图片分页列表
+     * @param contentHash 内容哈希
+     * @return 图片对象
      */
-    Page<Image> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
+    Image findFirstByContentHashOrderByCreatedAtAsc(String contentHash);
 
     /**
-     * 根据上传IP查询图片
+     * 统计引用同一文件内容的图片数量
      *
-     * @param uploadIp 上传IP
-     * @param pageable 分页参数
-     * @return 图片分页列表
+     * @param contentHash 内容哈希
+     * @return 图片数量
      */
-    Page<Image> findByUploadIp(String uploadIp, Pageable pageable);
+    long countByContentHash(String contentHash);
 
     /**
      * 统计图片总数
@@ -259,46 +128,6 @@ public interface ImageRepository extends JpaRepository<Image, String> {
     @Query("SELECT DISTINCT i.mimeType FROM Image i WHERE i.mimeType IS NOT NULL ORDER BY i.mimeType")
     List<String> findAllMimeTypes();
 
-    /**
-     * 获取所有标签
-     *
-     * @return 标签列表
-     */
-    @Query("SELECT DISTINCT i.tags FROM Image i WHERE i.tags IS NOT NULL AND i.tags != '' ORDER BY i.tags")
-    List<String> findAllTags();
-
-    /**
-     * 根据创建时间倒序查询最近的图片
-     *
-     * @param pageable 分页参数
-     * @return 图片分页列表
-     */
-    Page<Image> findAllByOrderByCreatedAtDesc(Pageable pageable);
-
-    /**
-     * 根据更新时间倒序查询最近的图片
-     *
-     * @param pageable 分页参数
-     * @return 图片分页列表
-     */
-    Page<Image> findAllByOrderByUpdatedAtDesc(Pageable pageable);
-
-    /**
-     * 根据文件大小倒序查询图片
-     *
-     * @param pageable 分页参数
-     * @return 图片分页列表
-     */
-    Page<Image> findAllByOrderByFileSizeDesc(Pageable pageable);
-
-    /**
-     * 根据原始文件名排序查询图片
-     *
-     * @param pageable 分页参数
-     * @return 图片分页列表
-     */
-    Page<Image> findAllByOrderByOriginalNameAsc(Pageable pageable);
-
     /**
      * 查找孤立的图片（没有关联文章的图片）
      *
@@ -330,4 +159,41 @@ public interface ImageRepository extends JpaRepository<Image, String> {
      * @param beforeDate 指定日期
      */
     void deleteByStatusAndCreatedAtBefore(String status, LocalDateTime beforeDate);
-}
\ No newline at end of file
+
+    /**
+     * 按ID顺序分批读取标签列（用于重建标签索引）
+     *
+     * @param lastId   上一批最后一条记录的ID
+     * @param pageable 分页参数（仅使用每批数量）
+     * @return 每行依次为：ID、标签
+     */
+    @Query("SELECT i.id, i.tags FROM Image i WHERE i.id > :lastId ORDER BY i.id")
+    List<Object[]> findIdAndTagsAfter(@Param("lastId") String lastId, Pageable pageable);
+
+    /**
+     * 查询指定变体生成状态的正常图片ID（按上传时间升序）
+     *
+     * @param variantStatus 变体生成状态
+     * @param pageable      分页参数
+     * @return 图片ID列表
+     */
+    @Query("SELECT i.id FROM Image i WHERE i.variantStatus = :variantStatus AND i.status = 'active' "
+            + "ORDER BY i.createdAt")
+    List<String> findIdsByVariantStatus(@Param("variantStatus") String variantStatus, Pageable pageable);
+
+    /**
+     * 更新变体生成状态和路径（不修改更新时间）
+     *
+     * @param id             图片ID
+     * @param variantStatus  变体生成状态
+     * @param thumbnailPath  缩略图路径
+     * @param compressedPath 压缩图路径
+     * @return 更新数量
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Image i SET i.variantStatus = :variantStatus, i.thumbnailPath = :thumbnailPath, "
+            + "i.compressedPath = :compressedPath WHERE i.id = :id")
+    int updateVariants(@Param("id") String id, @Param("variantStatus") String variantStatus,
+                       @Param("thumbnailPath") String thumbnailPath, @Param("compressedPath") String compressedPath);
+}
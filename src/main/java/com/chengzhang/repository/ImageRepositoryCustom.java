@@ -0,0 +1,61 @@
+package com.chengzhang.repository;
+
+import com.chengzhang.common.FieldSet;
+import com.chengzhang.entity.Image;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 图片自定义查询接口
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+public interface ImageRepositoryCustom {
+
+    /**
+     * 键集（游标）分页查询图片
+     *
+     * @param filter     筛选条件
+     * @param sortField  排序字段：createdAt/updatedAt
+     * @param ascending  是否升序
+     * @param afterValue 上一页最后一条记录的排序值（第一页为null）
+     * @param afterId    上一页最后一条记录的ID（第一页为null）
+     * @param limit      最大返回数量
+     * @param fields     查询的字段，未选择的属性为默认值（需包含排序字段）
+     * @return 图片列表（未加入持久化上下文）
+     */
+    List<Image> findByKeyset(ImageFilter filter, String sortField, boolean ascending,
+                             LocalDateTime afterValue, String afterId, int limit, FieldSet fields);
+
+    /**
+     * 按条件分页查询图片
+     *
+     * @param filter   筛选条件
+     * @param pageable 分页及排序参数
+     * @return 图片分页列表
+     */
+    Page<Image> findByFilter(ImageFilter filter, Pageable pageable);
+
+    /**
+     * 按条件分页查询图片，不统计总数（多取一条判断是否有下一页）
+     *
+     * @param filter   筛选条件
+     * @param pageable 分页及排序参数
+     * @param fields   查询的字段，未选择的属性为默认值
+     * @return 图片切片（未加入持久化上下文）
+     */
+    Slice<Image> findSliceByFilter(ImageFilter filter, Pageable pageable, FieldSet fields);
+
+    /**
+     * 按条件统计图片数量
+     *
+     * @param filter 筛选条件
+     * @return 图片数量
+     */
+    long countMatching(ImageFilter filter);
+}
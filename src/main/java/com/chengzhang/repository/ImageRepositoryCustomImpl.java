@@ -0,0 +1,144 @@
+package com.chengzhang.repository;
+
+import com.chengzhang.common.FieldSet;
+import com.chengzhang.entity.Image;
+import com.chengzhang.entity.TagLink;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CommonAbstractCriteria;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 图片自定义查询实现
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+public class ImageRepositoryCustomImpl implements ImageRepositoryCustom {
+
+    /**
+     * 列表可选择的列（与 ImageDTO 属性一致）
+     */
+    private static final List<String> COLUMNS = Arrays.asList("id", "originalName", "fileName", "filePath",
+            "thumbnailPath", "compressedPath", "variantStatus", "fileSize", "mimeType", "width", "height", "articleId", "tags", "description", "status",
+            "createdAt", "updatedAt");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Image> findByKeyset(ImageFilter filter, String sortField, boolean ascending,
+                                    LocalDateTime afterValue, String afterId, int limit, FieldSet fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Image> root = query.from(Image.class);
+        query.multiselect(Projections.select(root, COLUMNS, fields));
+
+        List<Predicate> predicates = buildPredicates(cb, query, root, filter);
+        if (afterValue != null && afterId != null) {
+            predicates.add(KeysetSupport.after(cb, root, sortField, ascending, afterValue, afterId));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(KeysetSupport.orderBy(cb, root, sortField, ascending));
+
+        return Projections.map(entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList(), Image::new);
+    }
+
+    @Override
+    public Page<Image> findByFilter(ImageFilter filter, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Image> query = cb.createQuery(Image.class);
+        Root<Image> root = query.from(Image.class);
+        query.where(buildPredicates(cb, query, root, filter).toArray(new Predicate[0]));
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        List<Image> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        // 第一页且不足一页时无需再统计总数
+        if (pageable.getOffset() == 0 && content.size() < pageable.getPageSize()) {
+            return new PageImpl<>(content, pageable, content.size());
+        }
+        return new PageImpl<>(content, pageable, countMatching(filter));
+    }
+
+    @Override
+    public Slice<Image> findSliceByFilter(ImageFilter filter, Pageable pageable, FieldSet fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Image> root = query.from(Image.class);
+        query.multiselect(Projections.select(root, COLUMNS, fields));
+        query.where(buildPredicates(cb, query, root, filter).toArray(new Predicate[0]));
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        // 多取一条用于判断是否还有下一页
+        List<Image> content = Projections.map(entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList(), Image::new);
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    @Override
+    public long countMatching(ImageFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Image> root = query.from(Image.class);
+        query.select(cb.count(root));
+        query.where(buildPredicates(cb, query, root, filter).toArray(new Predicate[0]));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    /**
+     * 构建筛选条件
+     */
+    private List<Predicate> buildPredicates(CriteriaBuilder cb, CommonAbstractCriteria query, Root<Image> root,
+                                            ImageFilter filter) {
+        PredicateBuilder<Image> builder = PredicateBuilder.of(cb, query, root);
+        if (filter == null) {
+            return builder.build();
+        }
+        if ("name".equals(filter.getSearchIn())) {
+            builder.like(filter.getKeyword(), "originalName");
+        } else if ("description".equals(filter.getSearchIn())) {
+            builder.like(filter.getKeyword(), "description");
+        } else if ("tags".equals(filter.getSearchIn())) {
+            builder.like(filter.getKeyword(), "tags");
+        } else {
+            builder.like(filter.getKeyword(), "originalName", "description", "tags");
+        }
+        return builder
+                .equal("articleId", filter.getArticleId())
+                .equal("mimeType", filter.getMimeType())
+                .equal("status", filter.getStatus())
+                .between("fileSize", filter.getMinSize(), filter.getMaxSize())
+                .between("width", filter.getMinWidth(), filter.getMaxWidth())
+                .between("height", filter.getMinHeight(), filter.getMaxHeight())
+                .between("createdAt", filter.getStartDate(), filter.getEndDate())
+                .tags(TagLink.IMAGE, filter.getTags(), filter.getTagMode())
+                .build();
+    }
+}
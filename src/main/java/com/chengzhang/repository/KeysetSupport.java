@@ -0,0 +1,64 @@
+package com.chengzhang.repository;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 键集（游标）分页的条件构建工具
+ * <p>
+ * 以 (排序字段, id) 作为复合键，按该键顺序读取上一页最后一条记录之后的数据，
+ * 配合 (排序字段) 二级索引（InnoDB二级索引隐含主键）可避免 OFFSET 扫描。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+public final class KeysetSupport {
+
+    private KeysetSupport() {
+    }
+
+    /**
+     * 构建“位于游标之后”的条件
+     *
+     * @param cb        条件构建器
+     * @param root      查询根
+     * @param sortField 排序字段
+     * @param ascending 是否升序
+     * @param value     游标排序值
+     * @param id        游标记录ID
+     * @return 条件
+     */
+    public static Predicate after(CriteriaBuilder cb, Root<?> root, String sortField, boolean ascending,
+                                  LocalDateTime value, String id) {
+        Path<LocalDateTime> sortPath = root.get(sortField);
+        Path<String> idPath = root.get("id");
+        if (ascending) {
+            return cb.or(cb.greaterThan(sortPath, value),
+                    cb.and(cb.equal(sortPath, value), cb.greaterThan(idPath, id)));
+        }
+        return cb.or(cb.lessThan(sortPath, value),
+                cb.and(cb.equal(sortPath, value), cb.lessThan(idPath, id)));
+    }
+
+    /**
+     * 构建与键集一致的排序
+     *
+     * @param cb        条件构建器
+     * @param root      查询根
+     * @param sortField 排序字段
+     * @param ascending 是否升序
+     * @return 排序列表
+     */
+    public static List<Order> orderBy(CriteriaBuilder cb, Root<?> root, String sortField, boolean ascending) {
+        if (ascending) {
+            return Arrays.asList(cb.asc(root.get(sortField)), cb.asc(root.get("id")));
+        }
+        return Arrays.asList(cb.desc(root.get(sortField)), cb.desc(root.get("id")));
+    }
+}
@@ -0,0 +1,116 @@
+package com.chengzhang.repository;
+
+import com.chengzhang.util.TagUtil;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.persistence.criteria.CommonAbstractCriteria;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 可组合的筛选条件构建器
+ * <p>
+ * 每个方法对应一种筛选条件，取值为空（或为"all"）时忽略该条件，
+ * 因此任意筛选组合都会生成同一条查询的不同 WHERE 子句，而不需要为每种组合编写查询方法。
+ *
+ * @param <T> 实体类型
+ * @author chengzhang
+ * @since 1.0.0
+ */
+public final class PredicateBuilder<T> {
+
+    private final CriteriaBuilder cb;
+    private final CommonAbstractCriteria query;
+    private final Root<T> root;
+    private final List<Predicate> predicates = new ArrayList<>();
+
+    private PredicateBuilder(CriteriaBuilder cb, CommonAbstractCriteria query, Root<T> root) {
+        this.cb = cb;
+        this.query = query;
+        this.root = root;
+    }
+
+    /**
+     * 创建构建器
+     *
+     * @param cb    条件构建器
+     * @param query 所属查询（用于创建子查询）
+     * @param root  查询根
+     * @param <T>   实体类型
+     * @return 构建器
+     */
+    public static <T> PredicateBuilder<T> of(CriteriaBuilder cb, CommonAbstractCriteria query, Root<T> root) {
+        return new PredicateBuilder<>(cb, query, root);
+    }
+
+    /**
+     * 等值条件，取值为空或"all"时忽略
+     */
+    public PredicateBuilder<T> equal(String field, String value) {
+        if (StringUtils.isNotBlank(value) && !"all".equals(value)) {
+            predicates.add(cb.equal(root.get(field), value));
+        }
+        return this;
+    }
+
+    /**
+     * 模糊匹配条件，多个字段之间为 OR 关系，关键词为空时忽略
+     */
+    public PredicateBuilder<T> like(String keyword, String... fields) {
+        if (StringUtils.isBlank(keyword) || fields.length == 0) {
+            return this;
+        }
+        String pattern = "%" + keyword + "%";
+        Predicate[] matches = new Predicate[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            matches[i] = cb.like(root.get(fields[i]), pattern);
+        }
+        predicates.add(matches.length == 1 ? matches[0] : cb.or(matches));
+        return this;
+    }
+
+    /**
+     * 范围条件（闭区间），上下限为空时分别忽略
+     */
+    public <Y extends Comparable<? super Y>> PredicateBuilder<T> between(String field, Y min, Y max) {
+        if (min != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get(field), min));
+        }
+        if (max != null) {
+            predicates.add(cb.lessThanOrEqualTo(root.get(field), max));
+        }
+        return this;
+    }
+
+    /**
+     * 标签条件（通过 entity_tags 关联表子查询），标签为空时忽略
+     */
+    public PredicateBuilder<T> tags(String entityType, Collection<String> tags, String tagMode) {
+        List<String> normalized = TagUtil.normalize(tags);
+        if (!normalized.isEmpty()) {
+            predicates.add(TagPredicates.hasTags(cb, query, root.get("id"), entityType, normalized, tagMode));
+        }
+        return this;
+    }
+
+    /**
+     * 追加自定义条件
+     */
+    public PredicateBuilder<T> and(Predicate predicate) {
+        if (predicate != null) {
+            predicates.add(predicate);
+        }
+        return this;
+    }
+
+    /**
+     * 获取全部条件（可继续追加，如键集分页条件）
+     */
+    public List<Predicate> build() {
+        return predicates;
+    }
+}
@@ -0,0 +1,66 @@
+package com.chengzhang.repository;
+
+import com.chengzhang.common.FieldSet;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+
+import javax.persistence.Tuple;
+import javax.persistence.TupleElement;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 按字段集选择查询列的工具类
+ * <p>
+ * 以属性名作为列别名查询元组，再按别名填充到目标对象，未选择的属性保持为null。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+final class Projections {
+
+    private Projections() {
+    }
+
+    /**
+     * 选择字段集包含的列
+     *
+     * @param root    查询根
+     * @param columns 可选择的属性名（按查询顺序）
+     * @param fields  字段集
+     * @return 查询列
+     */
+    static List<Selection<?>> select(Root<?> root, List<String> columns, FieldSet fields) {
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String column : columns) {
+            if (fields.includes(column)) {
+                selections.add(root.get(column).alias(column));
+            }
+        }
+        return selections;
+    }
+
+    /**
+     * 将查询元组填充为目标对象
+     *
+     * @param rows    查询结果
+     * @param factory 目标对象构造
+     * @param <T>     目标类型
+     * @return 对象列表
+     */
+    static <T> List<T> map(List<Tuple> rows, Supplier<T> factory) {
+        List<T> result = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            T target = factory.get();
+            BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(target);
+            for (TupleElement<?> element : row.getElements()) {
+                wrapper.setPropertyValue(element.getAlias(), row.get(element));
+            }
+            result.add(target);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,74 @@
+package com.chengzhang.repository;
+
+import com.chengzhang.entity.TagLink;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 实体标签关联数据访问层
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Repository
+public interface TagLinkRepository extends JpaRepository<TagLink, Long> {
+
+    /**
+     * 查询实体的标签关联
+     *
+     * @param entityType 实体类型
+     * @param entityId   实体ID
+     * @return 关联列表
+     */
+    List<TagLink> findByEntityTypeAndEntityId(String entityType, String entityId);
+
+    /**
+     * 删除实体的全部标签关联
+     *
+     * @param entityType 实体类型
+     * @param entityIds  实体ID集合
+     * @return 删除数量
+     */
+    @Modifying
+    @Query("DELETE FROM TagLink l WHERE l.entityType = :entityType AND l.entityId IN :entityIds")
+    int deleteByEntityIds(@Param("entityType") String entityType, @Param("entityIds") Collection<String> entityIds);
+
+    /**
+     * 删除某类实体的全部标签关联
+     *
+     * @param entityType 实体类型
+     * @return 删除数量
+     */
+    @Modifying
+    @Query("DELETE FROM TagLink l WHERE l.entityType = :entityType")
+    int deleteByEntityType(@Param("entityType") String entityType);
+
+    /**
+     * 删除实体的指定标签关联
+     *
+     * @param entityType 实体类型
+     * @param entityId   实体ID
+     * @param tagIds     标签ID集合
+     * @return 删除数量
+     */
+    @Modifying
+    @Query("DELETE FROM TagLink l WHERE l.entityType = :entityType AND l.entityId = :entityId AND l.tagId IN :tagIds")
+    int deleteByTagIds(@Param("entityType") String entityType, @Param("entityId") String entityId,
+                       @Param("tagIds") Collection<Long> tagIds);
+
+    /**
+     * 统计某类实体的各标签使用次数
+     *
+     * @param entityType 实体类型
+     * @return 每行依次为：标签名称、使用次数
+     */
+    @Query("SELECT t.name, COUNT(l) FROM TagLink l, Tag t WHERE l.tagId = t.id AND l.entityType = :entityType "
+            + "GROUP BY t.name ORDER BY COUNT(l) DESC, t.name ASC")
+    List<Object[]> countByTag(@Param("entityType") String entityType);
+}
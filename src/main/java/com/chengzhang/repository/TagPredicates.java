@@ -0,0 +1,58 @@
+package com.chengzhang.repository;
+
+import com.chengzhang.entity.Tag;
+import com.chengzhang.entity.TagLink;
+
+import javax.persistence.criteria.CommonAbstractCriteria;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
+import java.util.List;
+
+/**
+ * 标签筛选条件构建工具
+ * <p>
+ * 通过 entity_tags 关联表子查询筛选实体，由 (tag_id, entity_type, entity_id) 索引驱动。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+public final class TagPredicates {
+
+    /**
+     * 标签匹配模式：匹配全部标签
+     */
+    public static final String MODE_ALL = "all";
+
+    private TagPredicates() {
+    }
+
+    /**
+     * 构建标签筛选条件
+     *
+     * @param cb         条件构建器
+     * @param query      所属查询
+     * @param idPath     实体ID路径
+     * @param entityType 实体类型
+     * @param tags       规范化后的标签（不能为空）
+     * @param tagMode    匹配模式：any-任一标签（默认），all-全部标签
+     * @return 条件
+     */
+    public static Predicate hasTags(CriteriaBuilder cb, CommonAbstractCriteria query, Path<String> idPath,
+                                    String entityType, List<String> tags, String tagMode) {
+        Subquery<String> subquery = query.subquery(String.class);
+        Root<TagLink> link = subquery.from(TagLink.class);
+        Root<Tag> tag = subquery.from(Tag.class);
+        subquery.select(link.get("entityId"))
+                .where(cb.equal(link.get("tagId"), tag.get("id")),
+                        cb.equal(link.get("entityType"), entityType),
+                        tag.get("name").in(tags));
+        if (MODE_ALL.equalsIgnoreCase(tagMode) && tags.size() > 1) {
+            subquery.groupBy(link.get("entityId"))
+                    .having(cb.equal(cb.countDistinct(link.get("tagId")), (long) tags.size()));
+        }
+        return idPath.in(subquery);
+    }
+}
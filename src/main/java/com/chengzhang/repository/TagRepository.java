@@ -0,0 +1,26 @@
+package com.chengzhang.repository;
+
+import com.chengzhang.entity.Tag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 标签字典数据访问层
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Repository
+public interface TagRepository extends JpaRepository<Tag, Long> {
+
+    /**
+     * 根据名称批量查询标签
+     *
+     * @param names 标签名称集合
+     * @return 标签列表
+     */
+    List<Tag> findByNameIn(Collection<String> names);
+}
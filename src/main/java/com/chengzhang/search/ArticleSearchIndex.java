@@ -0,0 +1,723 @@
+package com.chengzhang.search;
+
+import com.chengzhang.config.SearchConfig;
+import com.chengzhang.dto.ArticleListItem;
+import com.chengzhang.entity.Article;
+import com.chengzhang.repository.ArticleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 文章全文检索的内存倒排索引
+ * <p>
+ * 标题、摘要、正文分字段建立倒排表，按BM25F打分排序。文章增删改在事务提交后增量更新索引，
+ * 索引定期以快照形式写入本地磁盘，启动时优先加载快照，快照与数据库不一致时从数据库重建。
+ * 索引未就绪期间 {@link #isReady()} 返回false，调用方应回退到数据库查询。
+ * <p>
+ * 匹配不区分大小写；多个查询词之间为AND关系。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticleSearchIndex {
+
+    private static final int TITLE = 0;
+    private static final int SUMMARY = 1;
+    private static final int CONTENT = 2;
+    private static final int FIELD_COUNT = 3;
+
+    private static final double[] FIELD_WEIGHTS = {3.0, 2.0, 1.0};
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final int SNAPSHOT_MAGIC = 0x435a4958;
+    private static final int SNAPSHOT_VERSION = 2;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final ArticleRepository articleRepository;
+    private final SearchConfig searchConfig;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Consumer<IndexData>> pendingDuringRebuild = new ArrayList<>();
+    private IndexData data = new IndexData();
+    private ScheduledExecutorService executor;
+
+    private volatile boolean ready = false;
+    private volatile boolean rebuilding = false;
+    private volatile boolean dirty = false;
+
+    /**
+     * 应用启动完成后在后台加载或重建索引
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!isEnabled()) {
+            log.info("文章检索索引已禁用");
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "article-search-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(this::initialize);
+        long interval = Math.max(5, searchConfig.getFlushIntervalSeconds());
+        executor.scheduleWithFixedDelay(this::flushIfDirty, interval, interval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 关闭时保存索引快照
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            try {
+                // 等待进行中的保存或重建结束，避免与最后一次保存同时写入临时文件
+                if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    log.warn("文章检索索引后台任务未能及时结束，跳过关闭时的快照保存");
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        flushIfDirty();
+    }
+
+    /**
+     * 索引是否可用
+     *
+     * @return 是否可用
+     */
+    public boolean isReady() {
+        return ready && isEnabled();
+    }
+
+    /**
+     * 新增或更新文章索引
+     *
+     * @param article 文章实体
+     */
+    public void index(Article article) {
+        if (!isEnabled() || article == null || article.getId() == null) {
+            return;
+        }
+        final DocEntry doc = DocEntry.of(article);
+        apply(indexData -> indexData.put(doc));
+    }
+
+    /**
+     * 更新文章的筛选属性（状态、分类、合集、更新时间），不重新分词
+     *
+     * @param item 更新后的文章列表投影
+     */
+    public void updateAttributes(ArticleListItem item) {
+        if (!isEnabled() || item == null || item.getId() == null) {
+            return;
+        }
+        final String id = item.getId();
+        final String status = item.getStatus();
+        final String category = item.getCategory();
+        final String collectionId = item.getCollectionId();
+        final long updatedAt = toMillis(item.getUpdatedAt());
+        apply(indexData -> {
+            DocEntry doc = indexData.docs.get(id);
+            if (doc != null) {
+                doc.status = status;
+                doc.category = category;
+                doc.collectionId = collectionId;
+                doc.updatedAt = updatedAt;
+            }
+        });
+    }
+
+    /**
+     * 删除文章索引
+     *
+     * @param id 文章ID
+     */
+    public void remove(final String id) {
+        if (!isEnabled() || id == null) {
+            return;
+        }
+        apply(indexData -> indexData.remove(id));
+    }
+
+    /**
+     * 清空索引
+     */
+    public void clear() {
+        if (!isEnabled()) {
+            return;
+        }
+        apply(IndexData::clear);
+    }
+
+    /**
+     * 检索文章
+     * <p>
+     * 分页参数未指定排序时按相关度排序，否则按指定字段（createdAt/updatedAt/title）排序。
+     *
+     * @param query    检索条件
+     * @param pageable 分页参数
+     * @return 当前页文章ID及命中总数
+     */
+    public SearchResult search(ArticleSearchQuery query, Pageable pageable) {
+        List<String> latinTokens = new ArrayList<>();
+        List<String> tokens = CjkTokenizer.tokenizeForQuery(query.getKeyword(), latinTokens);
+        Set<String> terms = new LinkedHashSet<>(tokens);
+        if (terms.isEmpty()) {
+            return SearchResult.empty();
+        }
+        Set<String> prefixTerms = query.isWholeWord() ? Collections.<String>emptySet() : new HashSet<>(latinTokens);
+        int[] fields = resolveFields(query.getSearchIn());
+
+        lock.readLock().lock();
+        try {
+            List<Map<String, int[]>> termPostings = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Map<String, int[]> postings = prefixTerms.contains(term)
+                        ? data.prefixPostings(term) : data.postings.get(term);
+                if (postings == null || postings.isEmpty()) {
+                    return SearchResult.empty();
+                }
+                termPostings.add(postings);
+            }
+            termPostings.sort(Comparator.comparingInt(Map::size));
+
+            int docCount = data.docs.size();
+            double[] averageLengths = new double[FIELD_COUNT];
+            for (int f = 0; f < FIELD_COUNT; f++) {
+                averageLengths[f] = docCount == 0 ? 1.0 : Math.max(1.0, (double) data.totalLengths[f] / docCount);
+            }
+
+            List<Hit> hits = new ArrayList<>();
+            for (String docId : termPostings.get(0).keySet()) {
+                DocEntry doc = data.docs.get(docId);
+                if (doc == null || !matchesFilter(doc, query)) {
+                    continue;
+                }
+                double score = 0;
+                boolean matched = true;
+                for (Map<String, int[]> postings : termPostings) {
+                    int[] tf = postings.get(docId);
+                    if (tf == null) {
+                        matched = false;
+                        break;
+                    }
+                    double weightedTf = 0;
+                    for (int f : fields) {
+                        if (tf[f] > 0) {
+                            double norm = 1 - B + B * doc.lengths[f] / averageLengths[f];
+                            weightedTf += FIELD_WEIGHTS[f] * tf[f] / norm;
+                        }
+                    }
+                    if (weightedTf == 0) {
+                        matched = false;
+                        break;
+                    }
+                    int df = postings.size();
+                    double idf = Math.log(1 + (docCount - df + 0.5) / (df + 0.5));
+                    score += idf * weightedTf * (K1 + 1) / (weightedTf + K1);
+                }
+                if (matched) {
+                    hits.add(new Hit(doc, score));
+                }
+            }
+
+            hits.sort(buildComparator(pageable.getSort()));
+            int from = (int) Math.min(pageable.getOffset(), hits.size());
+            int to = Math.min(from + pageable.getPageSize(), hits.size());
+            List<String> ids = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                ids.add(hits.get(i).doc.id);
+            }
+            return new SearchResult(ids, hits.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 从数据库全量重建索引
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            rebuilding = true;
+            pendingDuringRebuild.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long startTime = System.currentTimeMillis();
+        IndexData fresh = new IndexData();
+        try {
+            int batchSize = Math.max(1, searchConfig.getRebuildBatchSize());
+            String lastId = "";
+            while (true) {
+                List<Article> articles = articleRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, batchSize));
+                for (Article article : articles) {
+                    fresh.put(DocEntry.of(article));
+                }
+                if (articles.size() < batchSize) {
+                    break;
+                }
+                lastId = articles.get(articles.size() - 1).getId();
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                rebuilding = false;
+                pendingDuringRebuild.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Consumer<IndexData> op : pendingDuringRebuild) {
+                op.accept(fresh);
+            }
+            pendingDuringRebuild.clear();
+            data = fresh;
+            rebuilding = false;
+            ready = true;
+            dirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("文章检索索引重建完成 - 文章数: {}, 词项数: {}, 耗时: {}ms",
+                fresh.docs.size(), fresh.postings.size(), System.currentTimeMillis() - startTime);
+        flushIfDirty();
+    }
+
+    private boolean isEnabled() {
+        return Boolean.TRUE.equals(searchConfig.getEnabled());
+    }
+
+    private void initialize() {
+        try {
+            if (loadSnapshot() && snapshotMatchesDatabase()) {
+                ready = true;
+                log.info("文章检索索引已从快照加载 - 文章数: {}", data.docs.size());
+                return;
+            }
+        } catch (Exception e) {
+            log.warn("加载文章检索索引快照失败，将从数据库重建: {}", e.getMessage());
+        }
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("重建文章检索索引失败，检索将回退到数据库查询", e);
+        }
+    }
+
+    private void apply(Consumer<IndexData> op) {
+        lock.writeLock().lock();
+        try {
+            op.accept(data);
+            if (rebuilding) {
+                pendingDuringRebuild.add(op);
+            }
+            dirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 快照与数据库的文章数、最近更新的文章（按毫秒精度的更新时间和ID）及最大正文版本号均一致时可直接使用
+     */
+    private boolean snapshotMatchesDatabase() {
+        long count = articleRepository.count();
+        List<Object[]> latest = articleRepository.findLatestUpdated(PageRequest.of(0, 1));
+        Long maxRevision = articleRepository.findMaxRevision();
+
+        DocEntry snapshotLatest = null;
+        long snapshotMaxRevision = 0;
+        int snapshotCount;
+        lock.readLock().lock();
+        try {
+            snapshotCount = data.docs.size();
+            for (DocEntry doc : data.docs.values()) {
+                if (snapshotLatest == null || doc.updatedAt > snapshotLatest.updatedAt
+                        || doc.updatedAt == snapshotLatest.updatedAt && doc.id.compareTo(snapshotLatest.id) > 0) {
+                    snapshotLatest = doc;
+                }
+                snapshotMaxRevision = Math.max(snapshotMaxRevision, doc.revision);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (count != snapshotCount) {
+            return false;
+        }
+        if (latest.isEmpty() || snapshotLatest == null) {
+            return latest.isEmpty() && snapshotLatest == null;
+        }
+        // 更新时间以毫秒精度存储（datetime(3)），须完全一致
+        Object[] row = latest.get(0);
+        return snapshotLatest.id.equals(row[0])
+                && snapshotLatest.updatedAt == toMillis((LocalDateTime) row[1])
+                && snapshotMaxRevision == (maxRevision != null ? maxRevision : 0L);
+    }
+
+    private void flushIfDirty() {
+        if (!dirty || !ready) {
+            return;
+        }
+        try {
+            saveSnapshot();
+        } catch (Exception e) {
+            log.warn("保存文章检索索引快照失败: {}", e.getMessage());
+        }
+    }
+
+    private void saveSnapshot() throws IOException {
+        Path target = Paths.get(searchConfig.getFullIndexPath());
+        if (target.getParent() != null) {
+            Files.createDirectories(target.getParent());
+        }
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        lock.readLock().lock();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(temp), 64 * 1024)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(data.docs.size());
+            for (DocEntry doc : data.docs.values()) {
+                doc.writeTo(out);
+            }
+            dirty = false;
+        } finally {
+            lock.readLock().unlock();
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.debug("文章检索索引快照已保存 - path: {}", target);
+    }
+
+    private boolean loadSnapshot() throws IOException {
+        Path source = Paths.get(searchConfig.getFullIndexPath());
+        if (!Files.isRegularFile(source)) {
+            return false;
+        }
+        IndexData loaded = new IndexData();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(source), 64 * 1024)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                return false;
+            }
+            int docCount = in.readInt();
+            for (int i = 0; i < docCount; i++) {
+                loaded.put(DocEntry.readFrom(in));
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            data = loaded;
+            dirty = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return true;
+    }
+
+    private static int[] resolveFields(String searchIn) {
+        if ("title".equals(searchIn)) {
+            return new int[]{TITLE};
+        }
+        if ("content".equals(searchIn)) {
+            return new int[]{CONTENT};
+        }
+        return new int[]{TITLE, SUMMARY, CONTENT};
+    }
+
+    private static boolean matchesFilter(DocEntry doc, ArticleSearchQuery query) {
+        if (isActiveFilter(query.getStatus()) && !query.getStatus().equals(doc.status)) {
+            return false;
+        }
+        if (isActiveFilter(query.getCategory()) && !query.getCategory().equals(doc.category)) {
+            return false;
+        }
+        if (isActiveFilter(query.getCollectionId()) && !query.getCollectionId().equals(doc.collectionId)) {
+            return false;
+        }
+        if (query.getTags() != null && !query.getTags().isEmpty()) {
+            boolean matchAll = "all".equalsIgnoreCase(query.getTagMode());
+            int matched = 0;
+            for (String tag : query.getTags()) {
+                if (doc.tags.contains(tag)) {
+                    matched++;
+                } else if (matchAll) {
+                    return false;
+                }
+            }
+            if (matched == 0) {
+                return false;
+            }
+        }
+        if (query.getStartDate() != null && doc.createdAt < toMillis(query.getStartDate())) {
+            return false;
+        }
+        return query.getEndDate() == null || doc.createdAt <= toMillis(query.getEndDate());
+    }
+
+    private static boolean isActiveFilter(String value) {
+        return StringUtils.isNotBlank(value) && !"all".equals(value);
+    }
+
+    private static Comparator<Hit> buildComparator(Sort sort) {
+        Comparator<Hit> byRelevance = Comparator.comparingDouble((Hit hit) -> hit.score).reversed()
+                .thenComparing(Comparator.comparingLong((Hit hit) -> hit.doc.updatedAt).reversed());
+        if (sort == null || sort.isUnsorted()) {
+            return byRelevance;
+        }
+        Comparator<Hit> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<Hit> next;
+            switch (order.getProperty()) {
+                case "createdAt":
+                    next = Comparator.comparingLong(hit -> hit.doc.createdAt);
+                    break;
+                case "title":
+                    next = Comparator.comparing(hit -> StringUtils.defaultString(hit.doc.title));
+                    break;
+                case "updatedAt":
+                default:
+                    next = Comparator.comparingLong(hit -> hit.doc.updatedAt);
+                    break;
+            }
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator.thenComparing(byRelevance);
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time == null ? 0L : time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * 命中文档及得分
+     */
+    private static class Hit {
+        private final DocEntry doc;
+        private final double score;
+
+        private Hit(DocEntry doc, double score) {
+            this.doc = doc;
+            this.score = score;
+        }
+    }
+
+    /**
+     * 索引数据：正排表、倒排表及各字段总长度
+     */
+    private static class IndexData {
+        private final Map<String, DocEntry> docs = new HashMap<>();
+        private final TreeMap<String, Map<String, int[]>> postings = new TreeMap<>();
+        private final long[] totalLengths = new long[FIELD_COUNT];
+
+        private void put(DocEntry doc) {
+            remove(doc.id);
+            docs.put(doc.id, doc);
+            for (Map.Entry<String, int[]> entry : doc.terms.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), key -> new HashMap<>()).put(doc.id, entry.getValue());
+            }
+            for (int f = 0; f < FIELD_COUNT; f++) {
+                totalLengths[f] += doc.lengths[f];
+            }
+        }
+
+        private void remove(String id) {
+            DocEntry doc = docs.remove(id);
+            if (doc == null) {
+                return;
+            }
+            for (String term : doc.terms.keySet()) {
+                Map<String, int[]> termPostings = postings.get(term);
+                if (termPostings != null) {
+                    termPostings.remove(id);
+                    if (termPostings.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+            for (int f = 0; f < FIELD_COUNT; f++) {
+                totalLengths[f] -= doc.lengths[f];
+            }
+        }
+
+        private void clear() {
+            docs.clear();
+            postings.clear();
+            Arrays.fill(totalLengths, 0L);
+        }
+
+        /**
+         * 合并以指定前缀开头的所有词项的倒排表
+         */
+        private Map<String, int[]> prefixPostings(String prefix) {
+            SortedMap<String, Map<String, int[]>> range = postings.subMap(prefix, prefix + Character.MAX_VALUE);
+            if (range.size() == 1) {
+                return range.values().iterator().next();
+            }
+            Map<String, int[]> merged = new HashMap<>();
+            for (Map<String, int[]> termPostings : range.values()) {
+                for (Map.Entry<String, int[]> entry : termPostings.entrySet()) {
+                    int[] sum = merged.computeIfAbsent(entry.getKey(), key -> new int[FIELD_COUNT]);
+                    for (int f = 0; f < FIELD_COUNT; f++) {
+                        sum[f] += entry.getValue()[f];
+                    }
+                }
+            }
+            return merged;
+        }
+    }
+
+    /**
+     * 单篇文章的正排信息
+     */
+    private static class DocEntry {
+        private String id;
+        private String title;
+        private String status;
+        private String category;
+        private String collectionId;
+        private List<String> tags;
+        private long createdAt;
+        private long updatedAt;
+        private long revision;
+        private final int[] lengths = new int[FIELD_COUNT];
+        private final Map<String, int[]> terms = new HashMap<>();
+
+        private static DocEntry of(Article article) {
+            DocEntry doc = new DocEntry();
+            doc.id = article.getId();
+            doc.title = article.getTitle();
+            doc.status = article.getStatus();
+            doc.category = article.getCategory();
+            doc.collectionId = article.getCollectionId();
+            doc.tags = article.getTagList();
+            doc.createdAt = toMillis(article.getCreatedAt());
+            doc.updatedAt = toMillis(article.getUpdatedAt());
+            doc.revision = article.getRevision() != null ? article.getRevision() : 0L;
+            doc.addField(TITLE, article.getTitle());
+            doc.addField(SUMMARY, article.getSummary());
+            doc.addField(CONTENT, article.getContent());
+            return doc;
+        }
+
+        private void addField(int field, String text) {
+            if (StringUtils.isEmpty(text)) {
+                return;
+            }
+            List<String> tokens = CjkTokenizer.tokenizeForIndex(text);
+            lengths[field] = tokens.size();
+            for (String token : tokens) {
+                terms.computeIfAbsent(token, key -> new int[FIELD_COUNT])[field]++;
+            }
+        }
+
+        private void writeTo(DataOutputStream out) throws IOException {
+            out.writeUTF(id);
+            writeNullable(out, title);
+            writeNullable(out, status);
+            writeNullable(out, category);
+            writeNullable(out, collectionId);
+            out.writeInt(tags.size());
+            for (String tag : tags) {
+                out.writeUTF(tag);
+            }
+            out.writeLong(createdAt);
+            out.writeLong(updatedAt);
+            out.writeLong(revision);
+            for (int f = 0; f < FIELD_COUNT; f++) {
+                out.writeInt(lengths[f]);
+            }
+            out.writeInt(terms.size());
+            for (Map.Entry<String, int[]> entry : terms.entrySet()) {
+                out.writeUTF(entry.getKey());
+                for (int f = 0; f < FIELD_COUNT; f++) {
+                    out.writeInt(entry.getValue()[f]);
+                }
+            }
+        }
+
+        private static DocEntry readFrom(DataInputStream in) throws IOException {
+            DocEntry doc = new DocEntry();
+            doc.id = in.readUTF();
+            doc.title = readNullable(in);
+            doc.status = readNullable(in);
+            doc.category = readNullable(in);
+            doc.collectionId = readNullable(in);
+            int tagCount = in.readInt();
+            doc.tags = new ArrayList<>(tagCount);
+            for (int i = 0; i < tagCount; i++) {
+                doc.tags.add(in.readUTF());
+            }
+            doc.createdAt = in.readLong();
+            doc.updatedAt = in.readLong();
+            doc.revision = in.readLong();
+            for (int f = 0; f < FIELD_COUNT; f++) {
+                doc.lengths[f] = in.readInt();
+            }
+            int termCount = in.readInt();
+            for (int i = 0; i < termCount; i++) {
+                String term = in.readUTF();
+                int[] tf = new int[FIELD_COUNT];
+                for (int f = 0; f < FIELD_COUNT; f++) {
+                    tf[f] = in.readInt();
+                }
+                doc.terms.put(term, tf);
+            }
+            return doc;
+        }
+
+        private static void writeNullable(DataOutputStream out, String value) throws IOException {
+            out.writeBoolean(value != null);
+            if (value != null) {
+                out.writeUTF(value);
+            }
+        }
+
+        private static String readNullable(DataInputStream in) throws IOException {
+            return in.readBoolean() ? in.readUTF() : null;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.chengzhang.search;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 文章检索条件
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Data
+public class ArticleSearchQuery {
+
+    /**
+     * 搜索关键词
+     */
+    private String keyword;
+
+    /**
+     * 搜索范围：title/content/all
+     */
+    private String searchIn = "all";
+
+    /**
+     * 是否全词匹配（关闭时拉丁词按前缀匹配）
+     */
+    private boolean wholeWord;
+
+    /**
+     * 文章状态筛选
+     */
+    private String status;
+
+    /**
+     * 文章分类筛选
+     */
+    private String category;
+
+    /**
+     * 合集ID筛选
+     */
+    private String collectionId;
+
+    /**
+     * 标签筛选
+     */
+    private List<String> tags;
+
+    /**
+     * 标签匹配模式：any-命中任意一个（默认），all-需全部命中
+     */
+    private String tagMode;
+
+    /**
+     * 创建时间起始
+     */
+    private LocalDateTime startDate;
+
+    /**
+     * 创建时间截止
+     */
+    private LocalDateTime endDate;
+}
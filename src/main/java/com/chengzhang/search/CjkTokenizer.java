@@ -0,0 +1,120 @@
+package com.chengzhang.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 中日韩文字感知的分词器
+ * <p>
+ * 拉丁字母和数字按单词切分并转为小写；连续的中日韩字符切分为二元组（bigram），
+ * 建索引时额外输出单字，保证单字查询也能命中。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+public class CjkTokenizer {
+
+    /**
+     * 单个拉丁词的最大长度，超出部分截断
+     */
+    private static final int MAX_WORD_LENGTH = 64;
+
+    private CjkTokenizer() {
+    }
+
+    /**
+     * 为建索引分词（中日韩字符输出单字和二元组）
+     *
+     * @param text 文本
+     * @return 词项列表（可能重复）
+     */
+    public static List<String> tokenizeForIndex(CharSequence text) {
+        List<String> tokens = new ArrayList<>();
+        tokenize(text, true, tokens, null);
+        return tokens;
+    }
+
+    /**
+     * 为查询分词（长度大于1的中日韩片段只输出二元组）
+     *
+     * @param text        查询文本
+     * @param latinTokens 接收其中拉丁词项的列表，可为null
+     * @return 词项列表（可能重复）
+     */
+    public static List<String> tokenizeForQuery(CharSequence text, List<String> latinTokens) {
+        List<String> tokens = new ArrayList<>();
+        tokenize(text, false, tokens, latinTokens);
+        return tokens;
+    }
+
+    /**
+     * 判断字符是否属于中日韩文字
+     *
+     * @param codePoint 码点
+     * @return 是否为中日韩文字
+     */
+    public static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+
+    private static void tokenize(CharSequence text, boolean indexMode, List<String> tokens, List<String> latinTokens) {
+        if (text == null) {
+            return;
+        }
+        StringBuilder word = new StringBuilder();
+        int prevCjk = -1;
+        int cjkRun = 0;
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            int cp = Character.codePointAt(text, i);
+            i += Character.charCount(cp);
+
+            if (isCjk(cp)) {
+                flushWord(word, tokens, latinTokens);
+                if (indexMode) {
+                    tokens.add(new String(Character.toChars(cp)));
+                }
+                if (prevCjk >= 0) {
+                    tokens.add(new StringBuilder(4).appendCodePoint(prevCjk).appendCodePoint(cp).toString());
+                }
+                prevCjk = cp;
+                cjkRun++;
+            } else {
+                if (!indexMode && cjkRun == 1) {
+                    tokens.add(new String(Character.toChars(prevCjk)));
+                }
+                prevCjk = -1;
+                cjkRun = 0;
+                if (Character.isLetterOrDigit(cp)) {
+                    if (word.length() < MAX_WORD_LENGTH) {
+                        word.appendCodePoint(Character.toLowerCase(cp));
+                    }
+                } else {
+                    flushWord(word, tokens, latinTokens);
+                }
+            }
+        }
+        if (!indexMode && cjkRun == 1) {
+            tokens.add(new String(Character.toChars(prevCjk)));
+        }
+        flushWord(word, tokens, latinTokens);
+    }
+
+    private static void flushWord(StringBuilder word, List<String> tokens, List<String> latinTokens) {
+        if (word.length() == 0) {
+            return;
+        }
+        String token = word.toString().toLowerCase(Locale.ROOT);
+        tokens.add(token);
+        if (latinTokens != null) {
+            latinTokens.add(token);
+        }
+        word.setLength(0);
+    }
+}
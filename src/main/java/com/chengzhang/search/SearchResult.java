@@ -0,0 +1,37 @@
+package com.chengzhang.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 检索结果（当前页的文章ID及命中总数）
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Data
+@AllArgsConstructor
+public class SearchResult {
+
+    /**
+     * 当前页文章ID（按排名顺序）
+     */
+    private List<String> ids;
+
+    /**
+     * 命中总数
+     */
+    private long total;
+
+    /**
+     * 创建空结果
+     *
+     * @return 空结果
+     */
+    public static SearchResult empty() {
+        return new SearchResult(Collections.<String>emptyList(), 0L);
+    }
+}
@@ -0,0 +1,38 @@
+package com.chengzhang.service;
+
+import com.chengzhang.dto.ImportProgress;
+
+import java.io.InputStream;
+
+/**
+ * 文章流式导入服务接口
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+public interface ArticleImportService {
+
+    /**
+     * 从NDJSON输入流导入文章（支持gzip压缩）
+     * <p>
+     * 逐条解析记录，按批次写入并提交，内存占用与导入数量无关。
+     * 兼容流式导出的头/尾记录格式，也接受每行一个文章对象的普通NDJSON。
+     * <p>
+     * 非合并模式不是原子操作：输入先写入临时文件并完整解析，JSON格式错误、读取失败或记录数与尾记录不一致时
+     * 不清空现有数据直接失败；解析通过后先清空再分批提交，导入阶段出错时已提交的批次保留，原有数据不会恢复。
+     *
+     * @param inputStream 输入流
+     * @param merge       是否合并模式（false时先清空现有数据）
+     * @param taskId      任务ID（可选，用于查询进度）
+     * @return 导入结果
+     */
+    ImportProgress importStream(InputStream inputStream, boolean merge, String taskId);
+
+    /**
+     * 获取导入进度
+     *
+     * @param taskId 任务ID
+     * @return 导入进度，不存在时返回null
+     */
+    ImportProgress getProgress(String taskId);
+}
@@ -0,0 +1,71 @@
+package com.chengzhang.service;
+
+import com.chengzhang.dto.ArticleRevisionDTO;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 文章历史版本服务接口
+ * <p>
+ * 写入方法需在文章所在事务内调用。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+public interface ArticleRevisionService {
+
+    /**
+     * 记录文章正文的新版本
+     *
+     * @param articleId        文章ID
+     * @param revision         新版本号
+     * @param title            文章标题
+     * @param content          新版本正文
+     * @param previousRevision 修改前的版本号（新建文章为null）
+     * @param previousContent  修改前的正文（新建文章为null）
+     */
+    void recordRevision(String articleId, long revision, String title, String content,
+                        Long previousRevision, String previousContent);
+
+    /**
+     * 获取文章的历史版本列表（按版本号倒序）
+     *
+     * @param articleId 文章ID
+     * @param limit     最大返回数量
+     * @return 历史版本信息
+     */
+    List<ArticleRevisionDTO> getRevisions(String articleId, int limit);
+
+    /**
+     * 获取文章指定版本的内容
+     *
+     * @param articleId 文章ID
+     * @param revision  版本号
+     * @return 版本信息及正文
+     */
+    Map<String, Object> getRevision(String articleId, long revision);
+
+    /**
+     * 按行比较两个版本的正文
+     *
+     * @param articleId 文章ID
+     * @param from      原版本号
+     * @param to        新版本号，为null时取最新版本
+     * @return 差异信息
+     */
+    Map<String, Object> diffRevisions(String articleId, long from, Long to);
+
+    /**
+     * 删除文章的全部历史版本
+     *
+     * @param articleIds 文章ID集合
+     */
+    void removeRevisions(Collection<String> articleIds);
+
+    /**
+     * 删除全部历史版本
+     */
+    void removeAll();
+}
@@ -0,0 +1,67 @@
+package com.chengzhang.service;
+
+import com.chengzhang.dto.ArticleSectionDTO;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 文章章节服务接口
+ * <p>
+ * 负责按Markdown标题拆分正文以及长文章章节的存储；文章正文始终是完整内容，存储的章节按正文版本号校验是否有效。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+public interface ArticleSectionService {
+
+    /**
+     * 拆分正文
+     *
+     * @param content     正文
+     * @param withContent 是否包含章节内容
+     * @return 章节列表
+     */
+    List<ArticleSectionDTO> split(String content, boolean withContent);
+
+    /**
+     * 获取已存储的章节目录
+     *
+     * @param articleId 文章ID
+     * @param revision  当前正文版本号
+     * @return 章节目录，未存储或已过期时返回空列表
+     */
+    List<ArticleSectionDTO> getStoredSections(String articleId, long revision);
+
+    /**
+     * 获取已存储的章节内容
+     *
+     * @param articleId 文章ID
+     * @param revision  当前正文版本号
+     * @param from      起始序号（含）
+     * @param to        截止序号（含）
+     * @return 章节列表（含内容），未存储或已过期时返回空列表
+     */
+    List<ArticleSectionDTO> getStoredSectionContent(String articleId, long revision, int from, int to);
+
+    /**
+     * 存储文章的章节（替换已有章节）；未启用或正文长度不足时只清理已有章节
+     *
+     * @param articleId 文章ID
+     * @param revision  正文版本号
+     * @param content   正文
+     */
+    void storeSections(String articleId, long revision, String content);
+
+    /**
+     * 删除文章的章节（需在文章所在事务内调用）
+     *
+     * @param articleIds 文章ID集合
+     */
+    void removeSections(Collection<String> articleIds);
+
+    /**
+     * 删除全部章节（需在文章所在事务内调用）
+     */
+    void removeAll();
+}
@@ -1,9 +1,15 @@
 package com.chengzhang.service;
 
+import com.chengzhang.common.FieldSet;
+import com.chengzhang.common.PageResponse;
+import com.chengzhang.common.ResourceVersion;
 import com.chengzhang.dto.ArticleDTO;
-import org.springframework.data.domain.Page;
+import com.chengzhang.dto.ContentPatchRequest;
+import com.chengzhang.dto.SectionUpdateRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -24,11 +30,36 @@ public interface ArticleService {
      * @param category   文章分类
      * @param status     文章状态
      * @param collection 合集ID
+     * @param tags       标签筛选
+     * @param tagMode    标签匹配模式：any/all
      * @param sortBy     排序字段
      * @param sortOrder  排序方向
+     * @param withTotal  是否返回总数（false时不统计总数，只判断是否有下一页）
+     * @param fields     查询的字段
      * @return 文章分页列表
      */
-    Page<ArticleDTO> getArticles(Pageable pageable, String keyword, String category, String status, String collection, String sortBy, String sortOrder);
+    PageResponse<ArticleDTO> getArticles(Pageable pageable, String keyword, String category, String status,
+                                         String collection, List<String> tags, String tagMode, String sortBy,
+                                         String sortOrder, boolean withTotal, FieldSet fields);
+
+    /**
+     * 获取文章列表（游标分页，不统计总数）
+     *
+     * @param cursor     上一页返回的游标，为空表示第一页
+     * @param size       每页数量
+     * @param category   文章分类
+     * @param status     文章状态
+     * @param collection 合集ID
+     * @param tags       标签筛选
+     * @param tagMode    标签匹配模式：any/all
+     * @param sortBy     排序字段：createdAt/updatedAt
+     * @param sortOrder  排序方向
+     * @param fields     查询的字段
+     * @return 文章游标分页结果
+     */
+    PageResponse<ArticleDTO> getArticlesByCursor(String cursor, Integer size, String category, String status, String collection,
+                                                 List<String> tags, String tagMode, String sortBy, String sortOrder,
+                                                 FieldSet fields);
 
     /**
      * 根据ID获取文章详情
@@ -38,6 +69,39 @@ public interface ArticleService {
      */
     ArticleDTO getArticleById(String id);
 
+    /**
+     * 根据ID获取文章详情的部分字段
+     * <p>
+     * 不需要正文（content、images、revision）时只查询列表投影列，不加载正文。
+     *
+     * @param id     文章ID
+     * @param fields 查询的字段
+     * @return 文章详情，未选择的字段可能为空
+     */
+    ArticleDTO getArticleById(String id, FieldSet fields);
+
+    /**
+     * 获取文章的版本信息（用于 ETag / Last-Modified 条件请求，不加载正文）
+     *
+     * @param id 文章ID
+     * @return 版本信息，文章不存在时返回null
+     */
+    ResourceVersion getArticleVersion(String id);
+
+    /**
+     * 将文章正文分块写出，不构造完整的正文字符串和文章对象
+     * <p>
+     * 正文从JDBC字符流读取后直接写入输出流，每个请求只占用固定大小的缓冲区
+     * （MySQL驱动仍会在结果集中保留该行的原始字节）。
+     *
+     * @param id           文章ID
+     * @param outputStream 输出流
+     * @param json         是否以JSON格式写出（结构与 ApiResponse 一致，data 包含 id、revision、updatedAt、content），
+     *                     否则写出原始Markdown
+     * @throws IOException 写出失败
+     */
+    void writeArticleContent(String id, OutputStream outputStream, boolean json) throws IOException;
+
     /**
      * 创建文章
      *
@@ -55,6 +119,15 @@ public interface ArticleService {
      */
     ArticleDTO updateArticle(String id, ArticleDTO articleDTO);
 
+    /**
+     * 增量修改文章正文（用于自动保存）
+     *
+     * @param id      文章ID
+     * @param request 基准版本号及编辑操作
+     * @return 新版本号、字数、阅读时间等信息
+     */
+    Map<String, Object> patchArticleContent(String id, ContentPatchRequest request);
+
     /**
      * 删除文章
      *
@@ -70,6 +143,36 @@ public interface ArticleService {
      */
     Map<String, Object> batchDeleteArticles(List<String> ids);
 
+    /**
+     * 批量删除：{@value}
+     */
+    String BULK_DELETE = "delete";
+
+    /**
+     * 批量移动到合集（value为合集ID，为空表示移出合集）：{@value}
+     */
+    String BULK_MOVE = "move";
+
+    /**
+     * 批量修改状态（value为draft/published）：{@value}
+     */
+    String BULK_STATUS = "status";
+
+    /**
+     * 批量修改分类（value为分类，为空表示清除分类）：{@value}
+     */
+    String BULK_CATEGORY = "category";
+
+    /**
+     * 批量操作文章，按批次执行单条 UPDATE/DELETE ... WHERE id IN (...) 语句
+     *
+     * @param action 操作：delete/move/status/category
+     * @param ids    文章ID列表
+     * @param value  操作参数（合集ID、状态或分类）
+     * @return 操作结果，包含每个ID的结果：deleted/updated/unchanged/not_found
+     */
+    Map<String, Object> bulkUpdateArticles(String action, List<String> ids, String value);
+
     /**
      * 搜索文章
      *
@@ -79,21 +182,39 @@ public interface ArticleService {
      * @param wholeWord     是否全词匹配
      * @param status        文章状态筛选
      * @param tags          标签筛选
+     * @param tagMode       标签匹配模式：any/all
      * @param startDate     开始日期
      * @param endDate       结束日期
      * @param pageable      分页参数
      * @return 搜索结果
      */
     Map<String, Object> searchArticles(String keyword, String searchIn, Boolean caseSensitive, 
-                                      Boolean wholeWord, String status, List<String> tags, 
+                                      Boolean wholeWord, String status, List<String> tags, String tagMode,
                                       LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
 
     /**
-     * 导出所有文章数据
+     * 以JSON格式流式导出所有文章数据
+     * <p>
+     * 输出与 ApiResponse 相同的结构，{@code data} 包含 {@code articles}、{@code exportTime} 和 {@code version}；
+     * 文章逐篇从数据库读取并写出，内存占用与文章数量无关。
+     *
+     * @param outputStream 输出流
+     * @return 导出文章数量
+     * @throws IOException 写出失败
+     */
+    long exportAllArticles(OutputStream outputStream) throws IOException;
+
+    /**
+     * 以NDJSON格式流式导出所有文章数据
+     * <p>
+     * 第一行为头记录，随后每行一篇文章，最后一行为包含数量和SHA-256校验和的尾记录。
      *
-     * @return 导出数据
+     * @param outputStream 输出流
+     * @param gzip         是否gzip压缩
+     * @return 导出文章数量
+     * @throws IOException 写出失败
      */
-    Map<String, Object> exportAllArticles();
+    long exportArticlesAsNdjson(OutputStream outputStream, boolean gzip) throws IOException;
 
     /**
      * 导入文章数据
@@ -116,6 +237,72 @@ public interface ArticleService {
      */
     Map<String, Object> getArticleStatistics();
 
+    /**
+     * 从数据库重建文章统计信息
+     *
+     * @return 重建后的统计信息
+     */
+    Map<String, Object> rebuildArticleStatistics();
+
+    /**
+     * 获取文章详情缓存统计信息（命中率、占用空间等）
+     *
+     * @return 缓存统计信息
+     */
+    Map<String, Object> getCacheStatistics();
+
+    /**
+     * 将文章正文和标题恢复为指定历史版本（作为新版本保存）
+     *
+     * @param id       文章ID
+     * @param revision 历史版本号
+     * @return 恢复后的文章
+     */
+    ArticleDTO restoreArticleRevision(String id, long revision);
+
+    /**
+     * 获取文章的章节目录（按Markdown标题拆分，不含章节内容）
+     *
+     * @param id 文章ID
+     * @return 正文版本号、正文长度和章节目录
+     */
+    Map<String, Object> getArticleSections(String id);
+
+    /**
+     * 获取文章指定区间的章节内容
+     *
+     * @param id   文章ID
+     * @param from 起始章节序号（含）
+     * @param to   截止章节序号（含）
+     * @return 正文版本号和章节列表（含内容）
+     */
+    Map<String, Object> getArticleSectionContent(String id, int from, int to);
+
+    /**
+     * 替换文章指定区间的章节，其余正文保持不变
+     *
+     * @param id      文章ID
+     * @param from    起始章节序号（含）
+     * @param request 修改请求
+     * @return 新的正文版本号、正文长度和章节目录
+     */
+    Map<String, Object> updateArticleSections(String id, int from, SectionUpdateRequest request);
+
+    /**
+     * 将到期的自动保存缓冲修改写入数据库
+     *
+     * @param all 是否忽略写入间隔，写入全部缓冲修改
+     * @return 写入的文章数量
+     */
+    int flushBufferedUpdates(boolean all);
+
+    /**
+     * 获取自动保存写缓冲统计信息（待写入文章数、合并次数等）
+     *
+     * @return 写缓冲统计信息
+     */
+    Map<String, Object> getAutosaveStatistics();
+
     /**
      * 获取所有分类
      *
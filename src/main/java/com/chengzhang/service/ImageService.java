@@ -1,7 +1,9 @@
 package com.chengzhang.service;
 
+import com.chengzhang.common.FieldSet;
+import com.chengzhang.common.PageResponse;
 import com.chengzhang.dto.ImageDTO;
-import org.springframework.data.domain.Page;
+import com.chengzhang.image.ImageRenderCache;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -56,11 +58,41 @@ public interface ImageService {
      * @param articleId 文章ID筛选
      * @param mimeType  文件类型筛选
      * @param status    图片状态筛选
+     * @param tags      标签筛选
+     * @param tagMode   标签匹配模式：any/all
+     * @param startDate 上传时间起始
+     * @param endDate   上传时间截止
      * @param sortBy    排序字段
      * @param sortOrder 排序方向
+     * @param withTotal 是否返回总数（false时不统计总数，只判断是否有下一页）
+     * @param fields    查询的字段
      * @return 图片分页列表
      */
-    Page<ImageDTO> getImages(Pageable pageable, String keyword, String articleId, String mimeType, String status, String sortBy, String sortOrder);
+    PageResponse<ImageDTO> getImages(Pageable pageable, String keyword, String articleId, String mimeType,
+                                     String status, List<String> tags, String tagMode, LocalDateTime startDate,
+                                     LocalDateTime endDate, String sortBy, String sortOrder, boolean withTotal,
+                                     FieldSet fields);
+
+    /**
+     * 获取图片列表（游标分页，不统计总数）
+     *
+     * @param cursor    上一页返回的游标，为空表示第一页
+     * @param size      每页数量
+     * @param articleId 文章ID筛选
+     * @param mimeType  文件类型筛选
+     * @param status    图片状态筛选
+     * @param tags      标签筛选
+     * @param tagMode   标签匹配模式：any/all
+     * @param startDate 上传时间起始
+     * @param endDate   上传时间截止
+     * @param sortBy    排序字段：createdAt/updatedAt
+     * @param sortOrder 排序方向
+     * @param fields    查询的字段
+     * @return 图片游标分页结果
+     */
+    PageResponse<ImageDTO> getImagesByCursor(String cursor, Integer size, String articleId, String mimeType, String status,
+                                             List<String> tags, String tagMode, LocalDateTime startDate, LocalDateTime endDate,
+                                             String sortBy, String sortOrder, FieldSet fields);
 
     /**
      * 根据ID获取图片详情
@@ -198,6 +230,41 @@ public interface ImageService {
      */
     String compressImage(String imageId, Integer quality);
 
+    /**
+     * 获取图片变体（缩略图、压缩图）生成状态，变体未生成时路径回退到原图
+     *
+     * @param id 图片ID
+     * @return 生成状态和路径
+     */
+    Map<String, Object> getImageVariants(String id);
+
+    /**
+     * 重新生成图片变体（后台执行）
+     *
+     * @param id 图片ID
+     * @return 生成状态和路径
+     */
+    Map<String, Object> regenerateImageVariants(String id);
+
+    /**
+     * 按需缩放图片，宽高和质量必须在配置的允许列表内，结果写入磁盘缓存
+     *
+     * @param id      图片ID
+     * @param width   宽度（可为空，至少指定宽高之一）
+     * @param height  高度（可为空）
+     * @param fit     缩放方式：contain（默认）/cover（需要同时指定宽高）
+     * @param quality 压缩质量（可为空，使用默认质量）
+     * @return 已打开的缩放后图片，调用方负责关闭
+     */
+    ImageRenderCache.Rendered renderImage(String id, Integer width, Integer height, String fit, Integer quality);
+
+    /**
+     * 获取按需缩放缓存统计
+     *
+     * @return 统计信息
+     */
+    Map<String, Object> getRenderCacheStats();
+
     /**
      * 清理孤立的图片（没有关联文章的图片）
      *
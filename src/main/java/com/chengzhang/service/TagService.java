@@ -0,0 +1,71 @@
+package com.chengzhang.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 标签服务接口
+ * <p>
+ * 维护标签字典和实体标签关联，写入方法需在实体所在事务内调用。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+public interface TagService {
+
+    /**
+     * 同步实体的标签关联（增删差异部分）
+     *
+     * @param entityType 实体类型：article/image
+     * @param entityId   实体ID
+     * @param tags       实体当前的标签
+     */
+    void syncTags(String entityType, String entityId, List<String> tags);
+
+    /**
+     * 为新建实体批量建立标签关联
+     *
+     * @param entityType 实体类型：article/image
+     * @param entityTags 实体ID到标签列表的映射
+     */
+    void linkTags(String entityType, Map<String, List<String>> entityTags);
+
+    /**
+     * 删除实体的标签关联
+     *
+     * @param entityType 实体类型：article/image
+     * @param entityIds  实体ID集合
+     */
+    void removeTags(String entityType, Collection<String> entityIds);
+
+    /**
+     * 删除某类实体的全部标签关联
+     *
+     * @param entityType 实体类型：article/image
+     */
+    void removeAll(String entityType);
+
+    /**
+     * 获取标签使用次数（按次数倒序）
+     *
+     * @param entityType 实体类型：article/image
+     * @return 标签及使用次数列表
+     */
+    List<Map<String, Object>> getTagCounts(String entityType);
+
+    /**
+     * 获取已使用的标签名称
+     *
+     * @param entityType 实体类型：article/image
+     * @return 标签名称列表
+     */
+    List<String> getTagNames(String entityType);
+
+    /**
+     * 根据文章和图片的标签列重建全部标签关联
+     *
+     * @return 重建结果
+     */
+    Map<String, Object> rebuild();
+}
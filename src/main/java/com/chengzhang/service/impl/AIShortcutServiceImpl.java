@@ -1,9 +1,11 @@
 package com.chengzhang.service.impl;
 
+import com.chengzhang.cache.ResourceVersions;
 import com.chengzhang.dto.AIShortcutDTO;
 import com.chengzhang.entity.AIShortcut;
 import com.chengzhang.repository.AIShortcutRepository;
 import com.chengzhang.service.AIShortcutService;
+import com.chengzhang.util.TransactionHooks;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,6 +28,9 @@ public class AIShortcutServiceImpl implements AIShortcutService {
     
     @Autowired
     private AIShortcutRepository shortcutRepository;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
     
     /**
      * 应用启动后初始化默认快捷操作
@@ -101,6 +106,7 @@ public class AIShortcutServiceImpl implements AIShortcutService {
             // 保存
             AIShortcut saved = shortcutRepository.save(entity);
             logger.info("创建快捷操作成功: {}", saved.getName());
+            markChanged();
             
             return new AIShortcutDTO(saved);
         } catch (Exception e) {
@@ -136,6 +142,7 @@ public class AIShortcutServiceImpl implements AIShortcutService {
             // 保存
             AIShortcut updated = shortcutRepository.save(existing);
             logger.info("更新快捷操作成功: {}", updated.getName());
+            markChanged();
             
             return new AIShortcutDTO(updated);
         } catch (Exception e) {
@@ -154,6 +161,7 @@ public class AIShortcutServiceImpl implements AIShortcutService {
             
             shortcutRepository.deleteById(id);
             logger.info("删除快捷操作成功: {}", existing.get().getName());
+            markChanged();
         } catch (Exception e) {
             logger.error("删除快捷操作失败: " + id, e);
             throw new RuntimeException("删除快捷操作失败: " + e.getMessage(), e);
@@ -171,6 +179,7 @@ public class AIShortcutServiceImpl implements AIShortcutService {
             shortcutRepository.deleteAll(toDelete);
             
             logger.info("批量删除快捷操作成功，数量: {}", toDelete.size());
+            markChanged();
         } catch (Exception e) {
             logger.error("批量删除快捷操作失败", e);
             throw new RuntimeException("批量删除快捷操作失败: " + e.getMessage(), e);
@@ -204,6 +213,7 @@ public class AIShortcutServiceImpl implements AIShortcutService {
             shortcutRepository.save(shortcut);
             
             logger.info("更新快捷操作排序成功: {} -> {}", shortcut.getName(), sortOrder);
+            markChanged();
         } catch (Exception e) {
             logger.error("更新快捷操作排序失败: " + id, e);
             throw new RuntimeException("更新排序失败: " + e.getMessage(), e);
@@ -223,6 +233,7 @@ public class AIShortcutServiceImpl implements AIShortcutService {
             shortcutRepository.save(shortcut);
             
             logger.info("切换快捷操作状态成功: {} -> {}", shortcut.getName(), shortcut.getIsActive());
+            markChanged();
         } catch (Exception e) {
             logger.error("切换快捷操作状态失败: " + id, e);
             throw new RuntimeException("切换状态失败: " + e.getMessage(), e);
@@ -267,12 +278,20 @@ public class AIShortcutServiceImpl implements AIShortcutService {
             }
             
             logger.info("初始化默认快捷操作完成，数量: {}", defaultShortcuts.length);
+            markChanged();
         } catch (Exception e) {
             logger.error("初始化默认快捷操作失败", e);
             throw new RuntimeException("初始化默认快捷操作失败: " + e.getMessage(), e);
         }
     }
     
+    /**
+     * 事务提交后递增快捷操作版本，使客户端缓存的列表失效
+     */
+    private void markChanged() {
+        TransactionHooks.afterCommit(() -> resourceVersions.bump(ResourceVersions.AI_SHORTCUTS));
+    }
+
     /**
      * 验证快捷操作数据
      */
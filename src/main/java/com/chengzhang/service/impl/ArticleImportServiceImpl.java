@@ -0,0 +1,366 @@
+package com.chengzhang.service.impl;
+
+import com.chengzhang.autosave.ArticleWriteBehindBuffer;
+import com.chengzhang.cache.ArticleContentCache;
+import com.chengzhang.cache.CountCache;
+import com.chengzhang.dto.ArticleDTO;
+import com.chengzhang.dto.ImportProgress;
+import com.chengzhang.entity.Article;
+import com.chengzhang.entity.TagLink;
+import com.chengzhang.repository.ArticleRepository;
+import com.chengzhang.search.ArticleSearchIndex;
+import com.chengzhang.service.ArticleImportService;
+import com.chengzhang.service.ArticleRevisionService;
+import com.chengzhang.service.ArticleSectionService;
+import com.chengzhang.service.TagService;
+import com.chengzhang.stats.ArticleStatisticsAggregate;
+import com.chengzhang.util.TextAnalyzer;
+import com.chengzhang.util.TransactionHooks;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 文章流式导入服务实现类
+ * <p>
+ * 每批次用一次IN查询解决ID冲突，使用JDBC批量插入并单独提交，
+ * 配合连接参数 rewriteBatchedStatements=true 由驱动合并为多值INSERT。
+ * <p>
+ * 替换模式下输入先写入临时文件并完整解析一遍，解析通过后才清空现有数据再导入；
+ * 清空与导入不在同一事务中，导入阶段数据库出错时已提交的批次保留，现有数据不会恢复。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ArticleImportServiceImpl implements ArticleImportService {
+
+    // 每批次文章数量
+    private static final int CHUNK_SIZE = 500;
+    // 最多保留的导入任务进度数量
+    private static final int MAX_TRACKED_TASKS = 100;
+    // 输入缓冲区大小
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // 自动生成摘要的长度
+    private static final int SUMMARY_LENGTH = 200;
+
+    private static final String INSERT_SQL = "INSERT INTO articles (id, title, content, summary, status, category, "
+            + "collection_id, tags, word_count, read_time, images, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final ArticleRepository articleRepository;
+    private final TextAnalyzer textAnalyzer;
+    private final ArticleSearchIndex articleSearchIndex;
+    private final ArticleStatisticsAggregate articleStatistics;
+    private final TagService tagService;
+    private final ArticleRevisionService articleRevisionService;
+    private final ArticleSectionService articleSectionService;
+    private final ArticleContentCache articleContentCache;
+    private final CountCache countCache;
+    private final ArticleWriteBehindBuffer writeBehindBuffer;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, ImportProgress> tasks = new ConcurrentHashMap<>();
+
+    @Override
+    public ImportProgress importStream(InputStream inputStream, boolean merge, String taskId) {
+        ImportProgress progress = new ImportProgress();
+        progress.setTaskId(StringUtils.isNotBlank(taskId) ? taskId : UUID.randomUUID().toString());
+        progress.setStatus("running");
+        progress.setStartTime(LocalDateTime.now());
+        registerTask(progress);
+
+        log.info("开始流式导入文章 - taskId: {}, 合并模式: {}", progress.getTaskId(), merge);
+        long startTime = System.currentTimeMillis();
+
+        Path spooled = null;
+        try {
+            InputStream source = inputStream;
+            if (!merge) {
+                // 替换模式：先落盘并完整解析一遍，确认数据完整后才清空现有数据，避免解析失败时数据库被清空
+                spooled = Files.createTempFile("article-import-", ".ndjson");
+                try (InputStream in = inputStream) {
+                    Files.copy(in, spooled, StandardCopyOption.REPLACE_EXISTING);
+                }
+                validateStream(spooled);
+                transactionTemplate.execute(status -> {
+                    articleRepository.deleteAllInBatch();
+                    tagService.removeAll(TagLink.ARTICLE);
+                    articleRevisionService.removeAll();
+                    articleSectionService.removeAll();
+                    TransactionHooks.afterCommit(() -> {
+                        writeBehindBuffer.discardAll();
+                        articleContentCache.clear();
+                        articleSearchIndex.clear();
+                        articleStatistics.clear();
+                        countCache.markStale(CountCache.ARTICLES);
+                    });
+                    return null;
+                });
+                source = Files.newInputStream(spooled);
+            }
+
+            List<Article> chunk = new ArrayList<>(CHUNK_SIZE);
+            try (MappingIterator<JsonNode> iterator = objectMapper.readerFor(JsonNode.class)
+                    .readValues(decompressIfNeeded(source))) {
+                while (iterator.hasNext()) {
+                    Article article = toArticle(iterator.next(), progress);
+                    if (article == null) {
+                        continue;
+                    }
+                    chunk.add(article);
+                    if (chunk.size() >= CHUNK_SIZE) {
+                        writeChunk(chunk, progress);
+                        chunk.clear();
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(chunk, progress);
+            }
+
+            progress.setStatus("completed");
+            if (progress.getExpected() != null && progress.getExpected() != progress.getProcessed()) {
+                progress.setMessage("记录数与尾记录不一致 - 尾记录: " + progress.getExpected()
+                        + ", 实际: " + progress.getProcessed());
+            }
+        } catch (Exception e) {
+            log.error("流式导入文章失败 - taskId: {}", progress.getTaskId(), e);
+            progress.setStatus("failed");
+            progress.setMessage(e.getMessage() + "（已提交 " + progress.getChunks() + " 个批次）");
+        } finally {
+            progress.setEndTime(LocalDateTime.now());
+            progress.setElapsedMs(System.currentTimeMillis() - startTime);
+            deleteQuietly(spooled);
+        }
+
+        log.info("流式导入文章结束 - taskId: {}, 状态: {}, 导入: {}, 跳过: {}, 失败: {}, 耗时: {}ms",
+                progress.getTaskId(), progress.getStatus(), progress.getImported(), progress.getSkipped(),
+                progress.getFailed(), progress.getElapsedMs());
+        return progress;
+    }
+
+    @Override
+    public ImportProgress getProgress(String taskId) {
+        return tasks.get(taskId);
+    }
+
+    /**
+     * 登记导入任务，超出数量上限时淘汰最早结束的任务
+     */
+    private void registerTask(ImportProgress progress) {
+        ImportProgress existing = tasks.get(progress.getTaskId());
+        if (existing != null && "running".equals(existing.getStatus())) {
+            throw new IllegalArgumentException("导入任务正在进行中: " + progress.getTaskId());
+        }
+        while (tasks.size() >= MAX_TRACKED_TASKS) {
+            Optional<ImportProgress> oldest = tasks.values().stream()
+                    .filter(task -> !"running".equals(task.getStatus()))
+                    .min(Comparator.comparing(ImportProgress::getStartTime));
+            if (!oldest.isPresent()) {
+                break;
+            }
+            tasks.remove(oldest.get().getTaskId());
+        }
+        tasks.put(progress.getTaskId(), progress);
+    }
+
+    /**
+     * 完整解析一遍落盘的输入：JSON格式错误、读取失败或记录数与尾记录不一致时抛出异常
+     */
+    private void validateStream(Path file) throws IOException {
+        long records = 0;
+        Long expected = null;
+        try (MappingIterator<JsonNode> iterator = objectMapper.readerFor(JsonNode.class)
+                .readValues(decompressIfNeeded(Files.newInputStream(file)))) {
+            while (iterator.hasNext()) {
+                JsonNode node = iterator.next();
+                String type = node.path("type").asText("");
+                if ("trailer".equals(type)) {
+                    expected = node.path("count").asLong();
+                } else if (!"header".equals(type)) {
+                    records++;
+                }
+            }
+        }
+        if (expected != null && expected != records) {
+            throw new IllegalArgumentException("记录数与尾记录不一致 - 尾记录: " + expected + ", 实际: " + records
+                    + "，未清空现有数据");
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("删除导入临时文件失败 - file: {}", file, e);
+        }
+    }
+
+    /**
+     * 根据前两个字节识别gzip压缩
+     */
+    private InputStream decompressIfNeeded(InputStream inputStream) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(inputStream, BUFFER_SIZE);
+        buffered.mark(2);
+        int b1 = buffered.read();
+        int b2 = buffered.read();
+        buffered.reset();
+        if (b1 == 0x1f && b2 == 0x8b) {
+            return new GZIPInputStream(buffered, BUFFER_SIZE);
+        }
+        return buffered;
+    }
+
+    /**
+     * 解析一条记录，头/尾记录及非法记录返回null
+     */
+    private Article toArticle(JsonNode node, ImportProgress progress) {
+        String type = node.path("type").asText("");
+        if ("header".equals(type)) {
+            return null;
+        }
+        if ("trailer".equals(type)) {
+            progress.setExpected(node.path("count").asLong());
+            return null;
+        }
+        if ("article".equals(type)) {
+            node = node.path("data");
+        }
+        progress.setProcessed(progress.getProcessed() + 1);
+
+        ArticleDTO articleDTO;
+        try {
+            articleDTO = objectMapper.treeToValue(node, ArticleDTO.class);
+        } catch (Exception e) {
+            log.warn("导入记录解析失败 - 第{}条: {}", progress.getProcessed(), e.getMessage());
+            progress.setFailed(progress.getFailed() + 1);
+            return null;
+        }
+        if (articleDTO == null || StringUtils.isBlank(articleDTO.getTitle())) {
+            progress.setFailed(progress.getFailed() + 1);
+            return null;
+        }
+
+        Article article = articleDTO.toEntity();
+        if (StringUtils.isBlank(article.getId())) {
+            article.setId(UUID.randomUUID().toString());
+        }
+
+        // 一次遍历正文生成摘要和统计信息
+        if (StringUtils.isNotBlank(article.getContent())) {
+            TextAnalyzer.Result analysis = textAnalyzer.analyze(article.getContent(), SUMMARY_LENGTH);
+            if (StringUtils.isBlank(article.getSummary())) {
+                article.setSummary(analysis.getSummary());
+            }
+            article.setWordCount(analysis.getWordCount());
+            article.setReadTime(analysis.getReadTime());
+        }
+
+        LocalDateTime now = Article.currentTime();
+        article.setCreatedAt(articleDTO.getCreatedAt() != null ? articleDTO.getCreatedAt() : now);
+        article.setUpdatedAt(articleDTO.getUpdatedAt() != null ? articleDTO.getUpdatedAt() : now);
+        return article;
+    }
+
+    /**
+     * 写入一个批次：一次查询排除已存在的ID，批量插入并提交
+     */
+    private void writeChunk(List<Article> chunk, ImportProgress progress) {
+        Set<String> ids = chunk.stream().map(Article::getId).collect(Collectors.toSet());
+        Set<String> existing = new HashSet<>(articleRepository.findExistingIds(ids));
+
+        List<Article> toInsert = new ArrayList<>(chunk.size());
+        Set<String> seen = new HashSet<>();
+        for (Article article : chunk) {
+            if (existing.contains(article.getId()) || !seen.add(article.getId())) {
+                progress.setSkipped(progress.getSkipped() + 1);
+                continue;
+            }
+            toInsert.add(article);
+        }
+
+        if (!toInsert.isEmpty()) {
+            try {
+                insertInTransaction(toInsert);
+                progress.setImported(progress.getImported() + toInsert.size());
+            } catch (DataAccessException e) {
+                // 批量写入失败时逐条重试，隔离非法数据
+                log.warn("批量写入失败，逐条重试 - taskId: {}, error: {}", progress.getTaskId(), e.getMessage());
+                for (Article article : toInsert) {
+                    try {
+                        insertInTransaction(Collections.singletonList(article));
+                        progress.setImported(progress.getImported() + 1);
+                    } catch (DataAccessException ex) {
+                        log.error("导入文章失败 - title: {}, error: {}", article.getTitle(), ex.getMessage());
+                        progress.setFailed(progress.getFailed() + 1);
+                    }
+                }
+            }
+        }
+        progress.setChunks(progress.getChunks() + 1);
+    }
+
+    /**
+     * 在独立事务中批量插入文章及标签关联，提交后更新检索索引
+     */
+    private void insertInTransaction(List<Article> articles) {
+        transactionTemplate.execute(status -> {
+            jdbcTemplate.batchUpdate(INSERT_SQL, articles, articles.size(), this::setInsertParameters);
+            Map<String, List<String>> entityTags = new LinkedHashMap<>();
+            articles.forEach(article -> entityTags.put(article.getId(), article.getTagList()));
+            tagService.linkTags(TagLink.ARTICLE, entityTags);
+            TransactionHooks.afterCommit(() -> articles.forEach(article -> {
+                articleSearchIndex.index(article);
+                articleStatistics.apply(null, ArticleStatisticsAggregate.Contribution.of(article));
+            }));
+            TransactionHooks.afterCommit(() -> countCache.markStale(CountCache.ARTICLES));
+            return null;
+        });
+    }
+
+    private void setInsertParameters(PreparedStatement ps, Article article) throws SQLException {
+        ps.setString(1, article.getId());
+        ps.setString(2, article.getTitle());
+        ps.setString(3, article.getContent());
+        ps.setString(4, article.getSummary());
+        ps.setString(5, article.getStatus());
+        ps.setString(6, article.getCategory());
+        ps.setString(7, article.getCollectionId());
+        ps.setString(8, article.getTags());
+        ps.setInt(9, article.getWordCount() != null ? article.getWordCount() : 0);
+        ps.setInt(10, article.getReadTime() != null ? article.getReadTime() : 0);
+        ps.setString(11, article.getImages());
+        ps.setTimestamp(12, Timestamp.valueOf(article.getCreatedAt()));
+        ps.setTimestamp(13, Timestamp.valueOf(article.getUpdatedAt()));
+    }
+}
@@ -0,0 +1,253 @@
+package com.chengzhang.service.impl;
+
+import com.chengzhang.config.ArticleRevisionConfig;
+import com.chengzhang.dto.ArticleRevisionDTO;
+import com.chengzhang.entity.ArticleRevision;
+import com.chengzhang.repository.ArticleRepository;
+import com.chengzhang.repository.ArticleRevisionRepository;
+import com.chengzhang.service.ArticleRevisionService;
+import com.chengzhang.util.DeltaCodec;
+import com.chengzhang.util.TextDiff;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 文章历史版本服务实现类
+ * <p>
+ * 新版本存储为相对上一个已记录版本的二进制差量，每隔 snapshotInterval 个版本存储一次完整快照，
+ * 还原任一版本只需读取最近快照及其后的差量链。差量不比完整内容小时直接存储快照。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ArticleRevisionServiceImpl implements ArticleRevisionService {
+
+    private final ArticleRevisionRepository revisionRepository;
+    private final ArticleRepository articleRepository;
+    private final ArticleRevisionConfig config;
+
+    @Override
+    @Transactional
+    public void recordRevision(String articleId, long revision, String title, String content,
+                               Long previousRevision, String previousContent) {
+        if (!Boolean.TRUE.equals(config.getEnabled())) {
+            return;
+        }
+        ArticleRevisionDTO latest = findLatest(articleId);
+        if (latest != null && latest.getRevision() >= revision) {
+            return;
+        }
+
+        if (previousRevision != null && previousContent != null
+                && (latest == null || latest.getRevision() < previousRevision)) {
+            // 功能启用前或导入的文章没有历史，先补记修改前的正文快照
+            latest = save(newRevision(articleId, previousRevision, null, previousContent, null, 0,
+                    previousContent.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        String text = content != null ? content : "";
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        byte[] payload = bytes;
+        Long baseRevision = null;
+        int chainLength = 0;
+        if (latest != null && previousContent != null && latest.getRevision().equals(previousRevision)
+                && latest.getChainLength() + 1 < config.getSnapshotInterval()) {
+            byte[] delta = DeltaCodec.encode(previousContent.getBytes(StandardCharsets.UTF_8), bytes);
+            if (delta.length < bytes.length) {
+                payload = delta;
+                baseRevision = previousRevision;
+                chainLength = latest.getChainLength() + 1;
+            }
+        }
+        save(newRevision(articleId, revision, title, text, baseRevision, chainLength, payload));
+    }
+
+    @Override
+    public List<ArticleRevisionDTO> getRevisions(String articleId, int limit) {
+        requireArticle(articleId);
+        return revisionRepository.findInfoByArticleId(articleId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public Map<String, Object> getRevision(String articleId, long revision) {
+        requireArticle(articleId);
+        List<ArticleRevision> chain = loadChain(articleId, revision);
+        ArticleRevision target = chain.get(chain.size() - 1);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("revision", target.getRevision());
+        result.put("title", target.getTitle());
+        result.put("content", reconstruct(chain));
+        result.put("contentLength", target.getContentLength());
+        result.put("createdAt", target.getCreatedAt());
+        return result;
+    }
+
+    @Override
+    public Map<String, Object> diffRevisions(String articleId, long from, Long to) {
+        requireArticle(articleId);
+        long toRevision;
+        if (to != null) {
+            toRevision = to;
+        } else {
+            ArticleRevisionDTO latest = findLatest(articleId);
+            if (latest == null) {
+                throw new RuntimeException("文章版本不存在: " + from);
+            }
+            toRevision = latest.getRevision();
+        }
+        String fromContent = reconstruct(loadChain(articleId, from));
+        String toContent = reconstruct(loadChain(articleId, toRevision));
+
+        List<Map<String, Object>> hunks = TextDiff.diffLines(fromContent, toContent);
+        int added = 0;
+        int removed = 0;
+        for (Map<String, Object> hunk : hunks) {
+            Object lines = hunk.get("lines");
+            int count = lines instanceof List ? ((List<?>) lines).size() : 0;
+            if ("insert".equals(hunk.get("type"))) {
+                added += count;
+            } else if ("delete".equals(hunk.get("type"))) {
+                removed += count;
+            }
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("from", from);
+        result.put("to", toRevision);
+        result.put("added", added);
+        result.put("removed", removed);
+        result.put("hunks", hunks);
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public void removeRevisions(Collection<String> articleIds) {
+        if (articleIds == null || articleIds.isEmpty()) {
+            return;
+        }
+        revisionRepository.deleteByArticleIds(articleIds);
+    }
+
+    @Override
+    @Transactional
+    public void removeAll() {
+        revisionRepository.deleteAllInBatch();
+    }
+
+    private ArticleRevisionDTO findLatest(String articleId) {
+        List<ArticleRevisionDTO> latest = revisionRepository.findInfoByArticleId(articleId, PageRequest.of(0, 1));
+        return latest.isEmpty() ? null : latest.get(0);
+    }
+
+    private void requireArticle(String articleId) {
+        if (!articleRepository.existsById(articleId)) {
+            throw new RuntimeException("文章不存在: " + articleId);
+        }
+    }
+
+    /**
+     * 读取从最近快照到目标版本的记录
+     */
+    private List<ArticleRevision> loadChain(String articleId, long revision) {
+        Long snapshotRevision = revisionRepository.findSnapshotRevision(articleId, revision);
+        if (snapshotRevision == null) {
+            throw new RuntimeException("文章版本不存在: " + revision);
+        }
+        List<ArticleRevision> chain = revisionRepository
+                .findByArticleIdAndRevisionBetweenOrderByRevisionAsc(articleId, snapshotRevision, revision);
+        if (chain.isEmpty() || chain.get(chain.size() - 1).getRevision() != revision) {
+            throw new RuntimeException("文章版本不存在: " + revision);
+        }
+        return chain;
+    }
+
+    private String reconstruct(List<ArticleRevision> chain) {
+        byte[] content = null;
+        Long previous = null;
+        for (ArticleRevision revision : chain) {
+            byte[] payload = inflate(revision.getData());
+            if (revision.getChainLength() == 0) {
+                content = payload;
+            } else if (content == null || !revision.getBaseRevision().equals(previous)) {
+                throw new IllegalStateException("文章版本历史不完整: " + revision.getRevision());
+            } else {
+                content = DeltaCodec.decode(content, payload);
+            }
+            previous = revision.getRevision();
+        }
+        return new String(content, StandardCharsets.UTF_8);
+    }
+
+    private ArticleRevision newRevision(String articleId, long revision, String title, String content,
+                                        Long baseRevision, int chainLength, byte[] payload) {
+        ArticleRevision entity = new ArticleRevision();
+        entity.setArticleId(articleId);
+        entity.setRevision(revision);
+        entity.setBaseRevision(baseRevision);
+        entity.setChainLength(chainLength);
+        entity.setTitle(title);
+        entity.setContentLength(content.length());
+        entity.setData(deflate(payload));
+        entity.setStoredSize(entity.getData().length);
+        return entity;
+    }
+
+    private ArticleRevisionDTO save(ArticleRevision revision) {
+        ArticleRevision saved = revisionRepository.save(revision);
+        log.debug("记录文章版本 - articleId: {}, revision: {}, chainLength: {}, storedSize: {}",
+                saved.getArticleId(), saved.getRevision(), saved.getChainLength(), saved.getStoredSize());
+        return new ArticleRevisionDTO(saved.getRevision(), saved.getBaseRevision(), saved.getChainLength(),
+                saved.getTitle(), saved.getContentLength(), saved.getStoredSize(), saved.getCreatedAt());
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(64, data.length / 3));
+            try (DeflaterOutputStream out = new DeflaterOutputStream(bytes, deflater)) {
+                out.write(data);
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data) {
+        try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(data))) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 3);
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("文章版本数据已损坏", e);
+        }
+    }
+}
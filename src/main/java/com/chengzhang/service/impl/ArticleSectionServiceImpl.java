@@ -0,0 +1,130 @@
+package com.chengzhang.service.impl;
+
+import com.chengzhang.config.ArticleSectionConfig;
+import com.chengzhang.dto.ArticleSectionDTO;
+import com.chengzhang.entity.ArticleSection;
+import com.chengzhang.repository.ArticleSectionRepository;
+import com.chengzhang.service.ArticleSectionService;
+import com.chengzhang.util.MarkdownSections;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 文章章节服务实现类
+ * <p>
+ * 章节在首次读取时按需存储（长度达到 minContentLength 的文章），之后的目录和章节读取不再加载完整正文；
+ * 正文修改后版本号变化，旧章节在下次读取时整体替换。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ArticleSectionServiceImpl implements ArticleSectionService {
+
+    private static final int MAX_HEADING_LENGTH = 500;
+
+    private final ArticleSectionRepository sectionRepository;
+    private final ArticleSectionConfig config;
+
+    @Override
+    public List<ArticleSectionDTO> split(String content, boolean withContent) {
+        List<MarkdownSections.Section> sections = MarkdownSections.split(content, maxHeadingLevel());
+        List<ArticleSectionDTO> result = new ArrayList<>(sections.size());
+        for (int i = 0; i < sections.size(); i++) {
+            MarkdownSections.Section section = sections.get(i);
+            ArticleSectionDTO dto = new ArticleSectionDTO(i, section.getLevel(), section.getHeading(),
+                    section.getStart(), section.getEnd() - section.getStart());
+            if (withContent) {
+                dto.setContent(content.substring(section.getStart(), section.getEnd()));
+            }
+            result.add(dto);
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ArticleSectionDTO> getStoredSections(String articleId, long revision) {
+        if (!Boolean.TRUE.equals(config.getEnabled())) {
+            return Collections.emptyList();
+        }
+        return sectionRepository.findInfoByArticleIdAndRevision(articleId, revision);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ArticleSectionDTO> getStoredSectionContent(String articleId, long revision, int from, int to) {
+        if (!Boolean.TRUE.equals(config.getEnabled())) {
+            return Collections.emptyList();
+        }
+        List<ArticleSectionDTO> result = new ArrayList<>();
+        for (ArticleSection section : sectionRepository
+                .findByArticleIdAndRevisionAndPositionBetweenOrderByPositionAsc(articleId, revision, from, to)) {
+            ArticleSectionDTO dto = new ArticleSectionDTO(section.getPosition(), section.getLevel(),
+                    section.getHeading(), section.getStartOffset(), section.getContentLength());
+            dto.setContent(section.getContent());
+            result.add(dto);
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void storeSections(String articleId, long revision, String content) {
+        if (!Boolean.TRUE.equals(config.getEnabled())
+                || content == null || content.length() < config.getMinContentLength()) {
+            // 正文缩短到阈值以下时清理之前存储的章节
+            if (sectionRepository.existsByArticleId(articleId)) {
+                sectionRepository.deleteByArticleIds(Collections.singletonList(articleId));
+            }
+            return;
+        }
+        sectionRepository.deleteByArticleIds(Collections.singletonList(articleId));
+
+        List<ArticleSection> entities = new ArrayList<>();
+        for (ArticleSectionDTO dto : split(content, true)) {
+            ArticleSection section = new ArticleSection();
+            section.setArticleId(articleId);
+            section.setPosition(dto.getPosition());
+            section.setRevision(revision);
+            section.setLevel(dto.getLevel());
+            section.setHeading(StringUtils.abbreviate(dto.getHeading(), MAX_HEADING_LENGTH));
+            section.setStartOffset(dto.getOffset());
+            section.setContentLength(dto.getLength());
+            section.setContent(dto.getContent());
+            entities.add(section);
+        }
+        sectionRepository.saveAll(entities);
+        log.debug("存储文章章节 - id: {}, revision: {}, sections: {}", articleId, revision, entities.size());
+    }
+
+    @Override
+    @Transactional
+    public void removeSections(Collection<String> articleIds) {
+        if (articleIds == null || articleIds.isEmpty()) {
+            return;
+        }
+        sectionRepository.deleteByArticleIds(articleIds);
+    }
+
+    @Override
+    @Transactional
+    public void removeAll() {
+        sectionRepository.deleteAllInBatch();
+    }
+
+    private int maxHeadingLevel() {
+        return Math.max(1, Math.min(6, config.getMaxHeadingLevel()));
+    }
+}
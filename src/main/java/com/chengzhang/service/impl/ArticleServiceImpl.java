@@ -1,24 +1,72 @@
 package com.chengzhang.service.impl;
 
+import com.chengzhang.autosave.ArticleWriteBehindBuffer;
+import com.chengzhang.cache.ArticleContentCache;
+import com.chengzhang.cache.CountCache;
+import com.chengzhang.common.FieldSet;
+import com.chengzhang.common.PageResponse;
+import com.chengzhang.common.ResourceVersion;
 import com.chengzhang.dto.ArticleDTO;
+import com.chengzhang.dto.ArticleListItem;
+import com.chengzhang.dto.ArticleSectionDTO;
+import com.chengzhang.dto.ContentPatchRequest;
+import com.chengzhang.dto.SectionUpdateRequest;
 import com.chengzhang.entity.Article;
+import com.chengzhang.entity.TagLink;
+import com.chengzhang.repository.ArticleFilter;
 import com.chengzhang.repository.ArticleRepository;
+import com.chengzhang.repository.CollectionRepository;
+import com.chengzhang.search.ArticleSearchIndex;
+import com.chengzhang.search.ArticleSearchQuery;
+import com.chengzhang.search.SearchResult;
+import com.chengzhang.service.ArticleRevisionService;
+import com.chengzhang.service.ArticleSectionService;
 import com.chengzhang.service.ArticleService;
+import com.chengzhang.service.TagService;
+import com.chengzhang.stats.ArticleStatisticsAggregate;
+import com.chengzhang.util.CursorUtil;
+import com.chengzhang.util.TextAnalyzer;
+import com.chengzhang.util.TransactionHooks;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * 文章服务实现类
@@ -32,77 +80,220 @@ import java.util.stream.Collectors;
 public class ArticleServiceImpl implements ArticleService {
 
     private final ArticleRepository articleRepository;
+    private final CollectionRepository collectionRepository;
+    private final ArticleSearchIndex articleSearchIndex;
+    private final ArticleStatisticsAggregate articleStatistics;
+    private final TagService tagService;
+    private final ArticleRevisionService articleRevisionService;
+    private final ArticleSectionService articleSectionService;
+    private final ArticleContentCache articleContentCache;
+    private final CountCache countCache;
+    private final ArticleWriteBehindBuffer writeBehindBuffer;
+    private final PlatformTransactionManager transactionManager;
+    private final TextAnalyzer textAnalyzer;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
 
-    // 中文字符正则表达式
-    private static final Pattern CHINESE_PATTERN = Pattern.compile("[\u4e00-\u9fa5]");
-    // Markdown语法正则表达式
-    private static final Pattern MARKDOWN_PATTERN = Pattern.compile("[#*`_~\\[\\]()!-]");
-    // 平均阅读速度（字/分钟）
-    private static final int READING_SPEED = 200;
+    // 自动生成摘要的长度
+    private static final int SUMMARY_LENGTH = 200;
+
+    // 批量操作每条语句的最大ID数量
+    private static final int BULK_CHUNK_SIZE = 1000;
+    // 流式导出缓冲区大小
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+    private static final int CONTENT_CHUNK_SIZE = 8 * 1024;
+    private static final String CONTENT_STREAM_SQL = "SELECT revision, updated_at, content FROM articles WHERE id = ?";
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    // 缓冲修改按文章加锁的分段数
+    private static final int UPDATE_LOCK_STRIPES = 64;
+
+    /**
+     * 同一文章的修改（缓冲合并、章节修改、正文增量修改）在同一把锁内完成读取、校验和写入，
+     * 避免并发修改分配相同的版本号或丢失修改
+     */
+    private final Object[] updateLocks = newUpdateLocks();
 
     @Override
-    public Page<ArticleDTO> getArticles(Pageable pageable, String keyword, String category, String status, String collection, String sortBy, String sortOrder) {
-        log.debug("获取文章列表 - keyword: {}, category: {}, status: {}, collection: {}, sortBy: {}, sortOrder: {}", 
-                keyword, category, status, collection, sortBy, sortOrder);
+    public PageResponse<ArticleDTO> getArticles(Pageable pageable, String keyword, String category, String status,
+                                                String collection, List<String> tags, String tagMode, String sortBy,
+                                                String sortOrder, boolean withTotal, FieldSet fields) {
+        log.debug("获取文章列表 - keyword: {}, category: {}, status: {}, collection: {}, tags: {}, sortBy: {}, sortOrder: {}", 
+                keyword, category, status, collection, tags, sortBy, sortOrder);
 
         // 构建排序
         Sort sort = buildSort(sortBy, sortOrder);
         Pageable sortedPageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
 
-        Page<Article> articlePage;
+        // 关键词查询优先走检索索引
+        if (StringUtils.isNotBlank(keyword) && articleSearchIndex.isReady()) {
+            ArticleSearchQuery query = new ArticleSearchQuery();
+            query.setKeyword(keyword);
+            query.setStatus(status);
+            query.setCategory(category);
+            query.setCollectionId(collection);
+            query.setTags(tags);
+            query.setTagMode(tagMode);
+            // 检索索引在内存中计算总数，无需额外查询
+            return PageResponse.of(searchByIndex(query, sortedPageable));
+        }
 
-        // 根据条件查询
-        if (StringUtils.isNotBlank(keyword)) {
-            if (StringUtils.isNotBlank(status) && !"all".equals(status)) {
-                if (StringUtils.isNotBlank(collection) && !"all".equals(collection)) {
-                    articlePage = articleRepository.findByKeywordAndStatusAndCollectionId(keyword, status, collection, sortedPageable);
-                } else {
-                    articlePage = articleRepository.findByKeywordAndStatus(keyword, status, sortedPageable);
-                }
-            } else {
-                if (StringUtils.isNotBlank(collection) && !"all".equals(collection)) {
-                    articlePage = articleRepository.findByKeywordAndCollectionId(keyword, collection, sortedPageable);
-                } else {
-                    articlePage = articleRepository.findByKeyword(keyword, sortedPageable);
-                }
-            }
-        } else if (StringUtils.isNotBlank(status) && !"all".equals(status)) {
-            if (StringUtils.isNotBlank(category)) {
-                if (StringUtils.isNotBlank(collection) && !"all".equals(collection)) {
-                    articlePage = articleRepository.findByStatusAndCategoryAndCollectionId(status, category, collection, sortedPageable);
-                } else {
-                    articlePage = articleRepository.findByStatusAndCategory(status, category, sortedPageable);
-                }
-            } else {
-                if (StringUtils.isNotBlank(collection) && !"all".equals(collection)) {
-                    articlePage = articleRepository.findByStatusAndCollectionId(status, collection, sortedPageable);
-                } else {
-                    articlePage = articleRepository.findByStatus(status, sortedPageable);
-                }
-            }
-        } else if (StringUtils.isNotBlank(category)) {
-            if (StringUtils.isNotBlank(collection) && !"all".equals(collection)) {
-                articlePage = articleRepository.findByCategoryAndCollectionId(category, collection, sortedPageable);
-            } else {
-                articlePage = articleRepository.findByCategory(category, sortedPageable);
-            }
-        } else if (StringUtils.isNotBlank(collection) && !"all".equals(collection)) {
-            articlePage = articleRepository.findByCollectionId(collection, sortedPageable);
-        } else {
-            articlePage = articleRepository.findAll(sortedPageable);
+        ArticleFilter filter = new ArticleFilter();
+        filter.setKeyword(keyword);
+        filter.setStatus(status);
+        filter.setCategory(category);
+        filter.setCollectionId(collection);
+        filter.setTags(tags);
+        filter.setTagMode(tagMode);
+
+        // 列表只查询投影列，不加载正文；总数不与列表一起查询
+        Slice<ArticleDTO> slice = articleRepository.findListItemSlice(filter, sortedPageable, fields)
+                .map(ArticleListItem::toDTO);
+        if (!withTotal) {
+            return PageResponse.of(slice);
         }
+        CountCache.Count total = countCache.get(CountCache.ARTICLES, filter.normalizedKey(),
+                () -> articleRepository.countListItems(filter));
+        return PageResponse.of(slice, total.getValue(), total.isApproximate());
+    }
+
+    @Override
+    public PageResponse<ArticleDTO> getArticlesByCursor(String cursor, Integer size, String category, String status, String collection,
+                                                        List<String> tags, String tagMode, String sortBy, String sortOrder,
+                                                        FieldSet fields) {
+        log.debug("游标获取文章列表 - cursor: {}, size: {}, category: {}, status: {}, collection: {}, tags: {}, sortBy: {}, sortOrder: {}",
+                cursor, size, category, status, collection, tags, sortBy, sortOrder);
+
+        if ("title".equals(sortBy)) {
+            throw new IllegalArgumentException("游标分页仅支持按createdAt或updatedAt排序");
+        }
+        String sortField = "createdAt".equals(sortBy) ? "createdAt" : "updatedAt";
+        boolean ascending = "asc".equalsIgnoreCase(sortOrder);
+        CursorUtil.Cursor after = CursorUtil.decode(cursor, sortField, ascending);
+
+        ArticleFilter filter = new ArticleFilter();
+        filter.setStatus(status);
+        filter.setCategory(category);
+        filter.setCollectionId(collection);
+        filter.setTags(tags);
+        filter.setTagMode(tagMode);
 
-        return articlePage.map(ArticleDTO::fromEntity);
+        // 多取一条用于判断是否还有下一页
+        // 游标需要排序字段的值
+        List<ArticleListItem> articles = articleRepository.findByKeyset(filter, sortField, ascending,
+                after != null ? after.getValue() : null, after != null ? after.getId() : null, size + 1,
+                fields.with(sortField));
+
+        String nextCursor = null;
+        if (articles.size() > size) {
+            articles = articles.subList(0, size);
+            ArticleListItem last = articles.get(articles.size() - 1);
+            LocalDateTime lastValue = "createdAt".equals(sortField) ? last.getCreatedAt() : last.getUpdatedAt();
+            nextCursor = CursorUtil.encode(sortField, ascending, lastValue, last.getId());
+        }
+
+        List<ArticleDTO> content = articles.stream()
+                .map(ArticleListItem::toDTO)
+                .collect(Collectors.toList());
+        return PageResponse.ofCursor(content, size, nextCursor);
     }
 
     @Override
     public ArticleDTO getArticleById(String id) {
         log.debug("获取文章详情 - id: {}", id);
-        
+
+        if (writeBehindBuffer.isPending(id)) {
+            ArticleDTO buffered = writeBehindBuffer.getSnapshot(id);
+            if (buffered != null) {
+                return buffered;
+            }
+            // 从日志恢复的修改还没有文章视图，先写入数据库
+            flushBuffered(id);
+        }
+
+        ArticleDTO cached = articleContentCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = articleContentCache.currentGeneration();
         Article article = articleRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("文章不存在: " + id));
         
-        return ArticleDTO.fromEntity(article);
+        ArticleDTO articleDTO = ArticleDTO.fromEntity(article);
+        articleContentCache.put(articleDTO, generation);
+        return articleDTO;
+    }
+
+    @Override
+    public ArticleDTO getArticleById(String id, FieldSet fields) {
+        // 需要正文或已有完整视图时走详情读取
+        if (fields.includesAny("content", "images", "revision") || writeBehindBuffer.isPending(id)) {
+            return getArticleById(id);
+        }
+        ArticleDTO cached = articleContentCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        List<ArticleListItem> items = articleRepository.findListItemsByIds(Collections.singletonList(id));
+        if (items.isEmpty()) {
+            throw new RuntimeException("文章不存在: " + id);
+        }
+        return items.get(0).toDTO();
+    }
+
+    @Override
+    public ResourceVersion getArticleVersion(String id) {
+        if (writeBehindBuffer.isPending(id)) {
+            ArticleDTO buffered = writeBehindBuffer.getSnapshot(id);
+            if (buffered != null) {
+                return ResourceVersion.of(buffered.getRevision(), buffered.getUpdatedAt());
+            }
+            // 从日志恢复的修改还没有文章视图，先写入数据库
+            flushBuffered(id);
+        }
+
+        ResourceVersion cached = articleContentCache.getVersion(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        List<Object[]> rows = articleRepository.findVersionById(id);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Object[] row = rows.get(0);
+        return ResourceVersion.of((Long) row[1], (LocalDateTime) row[0]);
+    }
+
+    @Override
+    public void writeArticleContent(String id, OutputStream outputStream, boolean json) throws IOException {
+        ArticleDTO buffered = writeBehindBuffer.isPending(id) ? writeBehindBuffer.getSnapshot(id) : null;
+        if (buffered != null) {
+            // 尚未写入数据库的修改已在内存中，直接写出
+            try (Reader reader = new StringReader(buffered.getContent() != null ? buffered.getContent() : "")) {
+                writeContent(outputStream, json, id, buffered.getRevision(), buffered.getUpdatedAt(), reader);
+            }
+            return;
+        }
+
+        Boolean found = jdbcTemplate.query(CONTENT_STREAM_SQL, ps -> ps.setString(1, id), rs -> {
+            if (!rs.next()) {
+                return false;
+            }
+            long revision = rs.getLong(1);
+            Timestamp updatedAt = rs.getTimestamp(2);
+            try (Reader reader = rs.getCharacterStream(3)) {
+                writeContent(outputStream, json, id, revision, updatedAt != null ? updatedAt.toLocalDateTime() : null,
+                        reader != null ? reader : new StringReader(""));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return true;
+        });
+        if (!Boolean.TRUE.equals(found)) {
+            throw new RuntimeException("文章不存在: " + id);
+        }
     }
 
     @Override
@@ -113,57 +304,333 @@ public class ArticleServiceImpl implements ArticleService {
         Article article = articleDTO.toEntity();
         
         // 自动生成摘要和统计信息
-        if (StringUtils.isBlank(article.getSummary()) && StringUtils.isNotBlank(article.getContent())) {
-            article.setSummary(generateSummary(article.getContent(), 200));
-        }
-        
-        if (StringUtils.isNotBlank(article.getContent())) {
-            article.setWordCount(countWords(article.getContent()));
-            article.setReadTime(calculateReadTime(article.getContent()));
-        }
+        applyTextAnalysis(article);
         
         Article savedArticle = articleRepository.save(article);
+        tagService.syncTags(TagLink.ARTICLE, savedArticle.getId(), savedArticle.getTagList());
+        articleRevisionService.recordRevision(savedArticle.getId(), revisionOf(savedArticle), savedArticle.getTitle(),
+                savedArticle.getContent(), null, null);
+        ArticleStatisticsAggregate.Contribution created = ArticleStatisticsAggregate.Contribution.of(savedArticle);
+        TransactionHooks.afterCommit(() -> {
+            articleSearchIndex.index(savedArticle);
+            articleStatistics.apply(null, created);
+            countCache.markStale(CountCache.ARTICLES);
+        });
         log.info("文章创建成功 - id: {}, title: {}", savedArticle.getId(), savedArticle.getTitle());
         
         return ArticleDTO.fromEntity(savedArticle);
     }
 
     @Override
-    @Transactional
     public ArticleDTO updateArticle(String id, ArticleDTO articleDTO) {
         log.debug("更新文章 - id: {}, title: {}", id, articleDTO.getTitle());
-        
+
+        // 版本号由服务端维护
+        articleDTO.setRevision(null);
+        if (!writeBehindBuffer.isEnabled()) {
+            synchronized (updateLockFor(id)) {
+                return newTransaction().execute(status -> writeArticle(id, articleDTO));
+            }
+        }
+
+        ArticleDTO snapshot;
+        boolean statusChanged;
+        synchronized (updateLockFor(id)) {
+            // 合并到当前视图（包含尚未写入的缓冲修改）
+            snapshot = getArticleById(id);
+            statusChanged = articleDTO.getStatus() != null && !articleDTO.getStatus().equals(snapshot.getStatus());
+            long revision = snapshot.getRevision() != null ? snapshot.getRevision() : 0L;
+            snapshot.merge(articleDTO);
+            if (articleDTO.getContent() != null) {
+                revision++;
+                articleDTO.setRevision(revision);
+            }
+            snapshot.setRevision(revision);
+            if (StringUtils.isNotBlank(snapshot.getContent())) {
+                TextAnalyzer.Result analysis = textAnalyzer.analyze(snapshot.getContent(), SUMMARY_LENGTH);
+                if (StringUtils.isBlank(snapshot.getSummary())) {
+                    snapshot.setSummary(analysis.getSummary());
+                }
+                snapshot.setWordCount(analysis.getWordCount());
+                snapshot.setReadTime(analysis.getReadTime());
+            }
+            snapshot.setUpdatedAt(Article.currentTime());
+            writeBehindBuffer.buffer(id, articleDTO, snapshot);
+        }
+
+        // 状态变更（如发布）立即写入数据库
+        if (statusChanged) {
+            flushBuffered(id);
+            return getArticleById(id);
+        }
+        return snapshot;
+    }
+
+    @Override
+    public ArticleDTO restoreArticleRevision(String id, long revision) {
+        log.debug("恢复文章历史版本 - id: {}, revision: {}", id, revision);
+
+        Map<String, Object> stored = articleRevisionService.getRevision(id, revision);
+        ArticleDTO changes = new ArticleDTO();
+        changes.setContent((String) stored.get("content"));
+        if (stored.get("title") != null) {
+            changes.setTitle((String) stored.get("title"));
+        }
+        ArticleDTO restored = updateArticle(id, changes);
+        log.info("文章历史版本恢复成功 - id: {}, revision: {}, newRevision: {}", id, revision, restored.getRevision());
+        return restored;
+    }
+
+    @Override
+    public Map<String, Object> getArticleSections(String id) {
+        if (!writeBehindBuffer.isPending(id)) {
+            long revision = storedRevisionOf(id);
+            List<ArticleSectionDTO> stored = articleSectionService.getStoredSections(id, revision);
+            if (!stored.isEmpty()) {
+                return sectionResult(id, revision, stored);
+            }
+        }
+        ArticleDTO article = getArticleById(id);
+        return sectionResult(id, revisionOf(article), splitSections(article, false));
+    }
+
+    @Override
+    public Map<String, Object> getArticleSectionContent(String id, int from, int to) {
+        if (from < 0 || to < from) {
+            throw new IllegalArgumentException("章节范围无效: " + from + "-" + to);
+        }
+        if (!writeBehindBuffer.isPending(id)) {
+            long revision = storedRevisionOf(id);
+            List<ArticleSectionDTO> stored = articleSectionService.getStoredSectionContent(id, revision, from, to);
+            if (!stored.isEmpty()) {
+                if (stored.size() != to - from + 1) {
+                    throw new IllegalArgumentException("章节不存在: " + to);
+                }
+                return sectionResult(id, revision, stored);
+            }
+        }
+        ArticleDTO article = getArticleById(id);
+        List<ArticleSectionDTO> sections = splitSections(article, true);
+        checkSectionRange(from, to, sections.size());
+        return sectionResult(id, revisionOf(article), sections.subList(from, to + 1));
+    }
+
+    @Override
+    public Map<String, Object> updateArticleSections(String id, int from, SectionUpdateRequest request) {
+        int to = request.getTo() != null ? request.getTo() : from;
+        log.debug("修改文章章节 - id: {}, from: {}, to: {}, baseRevision: {}", id, from, to, request.getBaseRevision());
+
+        ArticleDTO updated;
+        // 版本号检查和写入在同一把锁内，避免基于同一版本的并发修改互相覆盖
+        synchronized (updateLockFor(id)) {
+            ArticleDTO article = getArticleById(id);
+            long revision = revisionOf(article);
+            if (request.getBaseRevision() != revision) {
+                throw new IllegalStateException("文章已被修改，当前版本: " + revision);
+            }
+            String content = article.getContent() != null ? article.getContent() : "";
+            List<ArticleSectionDTO> sections = articleSectionService.split(content, false);
+            checkSectionRange(from, to, sections.size());
+
+            int start = sections.get(from).getOffset();
+            int end = sections.get(to).getOffset() + sections.get(to).getLength();
+            String replacement = request.getContent();
+            // 保证后续章节的标题仍位于行首
+            if (end < content.length() && !replacement.isEmpty() && !replacement.endsWith("\n")) {
+                replacement = replacement + "\n";
+            }
+            ArticleDTO changes = new ArticleDTO();
+            changes.setContent(content.substring(0, start) + replacement + content.substring(end));
+            updated = updateArticle(id, changes);
+        }
+        log.info("文章章节修改成功 - id: {}, sections: {}-{}, revision: {}", id, from, to, updated.getRevision());
+
+        return sectionResult(id, revisionOf(updated), articleSectionService.split(updated.getContent(), false));
+    }
+
+    @Override
+    public int flushBufferedUpdates(boolean all) {
+        int flushed = 0;
+        for (String id : writeBehindBuffer.dueIds(all)) {
+            try {
+                if (flushBuffered(id)) {
+                    flushed++;
+                }
+            } catch (RuntimeException e) {
+                log.error("写缓冲写入文章失败 - id: {}", id, e);
+            }
+        }
+        return flushed;
+    }
+
+    @Override
+    public Map<String, Object> getAutosaveStatistics() {
+        return writeBehindBuffer.getStatistics();
+    }
+
+    /**
+     * 将文章的缓冲修改在独立事务中写入数据库
+     *
+     * @return 是否有修改被写入
+     */
+    private boolean flushBuffered(String id) {
+        ArticleWriteBehindBuffer.Batch batch = writeBehindBuffer.takeAfterInFlight(id);
+        if (batch == null) {
+            return false;
+        }
+        try {
+            newTransaction().execute(status -> writeArticle(id, batch.getChanges()));
+        } catch (RuntimeException e) {
+            if (!articleRepository.existsById(id)) {
+                log.warn("文章已不存在，丢弃缓冲修改 - id: {}", id);
+                writeBehindBuffer.discard(id);
+                return false;
+            }
+            writeBehindBuffer.restore(batch);
+            throw e;
+        }
+        writeBehindBuffer.complete(batch);
+        return true;
+    }
+
+    /**
+     * 将修改写入数据库（需在事务中调用）
+     */
+    private ArticleDTO writeArticle(String id, ArticleDTO articleDTO) {
         Article existingArticle = articleRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("文章不存在: " + id));
         
+        // 记录更新前的统计贡献
+        ArticleStatisticsAggregate.Contribution before = ArticleStatisticsAggregate.Contribution.of(existingArticle);
+        long previousRevision = revisionOf(existingArticle);
+        String previousContent = existingArticle.getContent();
+
         // 更新字段
         articleDTO.updateEntity(existingArticle);
+        if (articleDTO.getContent() != null) {
+            long nextRevision = revisionOf(existingArticle) + 1;
+            existingArticle.setRevision(articleDTO.getRevision() != null
+                    ? Math.max(articleDTO.getRevision(), nextRevision) : nextRevision);
+        }
         
         // 重新计算摘要和统计信息
-        if (StringUtils.isNotBlank(existingArticle.getContent())) {
-            if (StringUtils.isBlank(existingArticle.getSummary())) {
-                existingArticle.setSummary(generateSummary(existingArticle.getContent(), 200));
-            }
-            existingArticle.setWordCount(countWords(existingArticle.getContent()));
-            existingArticle.setReadTime(calculateReadTime(existingArticle.getContent()));
-        }
+        applyTextAnalysis(existingArticle);
         
         Article updatedArticle = articleRepository.save(existingArticle);
+        if (articleDTO.getTags() != null) {
+            tagService.syncTags(TagLink.ARTICLE, id, updatedArticle.getTagList());
+        }
+        if (articleDTO.getContent() != null) {
+            articleRevisionService.recordRevision(id, revisionOf(updatedArticle), updatedArticle.getTitle(),
+                    updatedArticle.getContent(), previousRevision, previousContent);
+        }
+        ArticleStatisticsAggregate.Contribution after = ArticleStatisticsAggregate.Contribution.of(updatedArticle);
+        TransactionHooks.afterCommit(() -> {
+            articleContentCache.invalidate(id);
+            articleSearchIndex.index(updatedArticle);
+            articleStatistics.apply(before, after);
+            countCache.markStale(CountCache.ARTICLES);
+        });
         log.info("文章更新成功 - id: {}, title: {}", updatedArticle.getId(), updatedArticle.getTitle());
         
         return ArticleDTO.fromEntity(updatedArticle);
     }
 
+    @Override
+    public Map<String, Object> patchArticleContent(String id, ContentPatchRequest request) {
+        log.debug("增量修改文章正文 - id: {}, baseRevision: {}, operations: {}",
+                id, request.getBaseRevision(), request.getOperations().size());
+
+        // 持有文章锁直到事务提交，期间的缓冲修改不会基于修改前的正文合并
+        synchronized (updateLockFor(id)) {
+            // 先写入缓冲中的修改（包括正在后台写入的批次），增量操作基于数据库中的最新正文
+            flushBuffered(id);
+            return newTransaction().execute(status -> applyContentPatch(id, request));
+        }
+    }
+
+    /**
+     * 在事务中应用正文增量修改
+     */
+    private Map<String, Object> applyContentPatch(String id, ContentPatchRequest request) {
+        Article article = articleRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("文章不存在: " + id));
+        // 脱离持久化上下文，避免提交时整行回写
+        entityManager.detach(article);
+
+        long revision = revisionOf(article);
+        if (request.getBaseRevision() != revision) {
+            throw new IllegalStateException("文章已被修改，当前版本: " + revision);
+        }
+        ArticleStatisticsAggregate.Contribution before = ArticleStatisticsAggregate.Contribution.of(article);
+
+        StringBuilder content = new StringBuilder(article.getContent() != null ? article.getContent() : "");
+        int wordCount = article.getWordCount() != null ? article.getWordCount() : 0;
+        for (ContentPatchRequest.Operation operation : request.getOperations()) {
+            wordCount += applyOperation(content, operation);
+        }
+
+        String summary = article.getSummary();
+        if (StringUtils.isBlank(summary)) {
+            summary = textAnalyzer.analyze(content, SUMMARY_LENGTH).getSummary();
+        }
+        int readTime = TextAnalyzer.readTimeOf(wordCount);
+        LocalDateTime now = Article.currentTime();
+
+        int updated = articleRepository.updateContent(id, revision, content.toString(), summary,
+                wordCount, readTime, now);
+        if (updated == 0) {
+            throw new IllegalStateException("文章已被修改，请刷新后重试");
+        }
+        articleRevisionService.recordRevision(id, revision + 1, article.getTitle(), content.toString(),
+                revision, article.getContent());
+
+        article.setContent(content.toString());
+        article.setSummary(summary);
+        article.setWordCount(wordCount);
+        article.setReadTime(readTime);
+        article.setRevision(revision + 1);
+        article.setUpdatedAt(now);
+        ArticleStatisticsAggregate.Contribution after = ArticleStatisticsAggregate.Contribution.of(article);
+        TransactionHooks.afterCommit(() -> {
+            articleContentCache.invalidate(id);
+            articleSearchIndex.index(article);
+            articleStatistics.apply(before, after);
+            countCache.markStale(CountCache.ARTICLES);
+        });
+        log.info("文章正文增量修改成功 - id: {}, revision: {}", id, revision + 1);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("id", id);
+        result.put("revision", revision + 1);
+        result.put("length", content.length());
+        result.put("wordCount", wordCount);
+        result.put("readTime", readTime);
+        result.put("summary", summary);
+        result.put("updatedAt", now);
+        return result;
+    }
+
     @Override
     @Transactional
     public void deleteArticle(String id) {
         log.debug("删除文章 - id: {}", id);
         
-        if (!articleRepository.existsById(id)) {
-            throw new RuntimeException("文章不存在: " + id);
-        }
+        Article article = articleRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("文章不存在: " + id));
+        ArticleStatisticsAggregate.Contribution removed = ArticleStatisticsAggregate.Contribution.of(article);
         
-        articleRepository.deleteById(id);
+        articleRepository.delete(article);
+        tagService.removeTags(TagLink.ARTICLE, Collections.singletonList(id));
+        articleRevisionService.removeRevisions(Collections.singletonList(id));
+        articleSectionService.removeSections(Collections.singletonList(id));
+        TransactionHooks.afterCommit(() -> {
+            writeBehindBuffer.discard(id);
+            articleContentCache.invalidate(id);
+            articleSearchIndex.remove(id);
+            articleStatistics.apply(removed, null);
+            countCache.markStale(CountCache.ARTICLES);
+        });
         log.info("文章删除成功 - id: {}", id);
     }
 
@@ -171,76 +638,176 @@ public class ArticleServiceImpl implements ArticleService {
     @Transactional
     public Map<String, Object> batchDeleteArticles(List<String> ids) {
         log.debug("批量删除文章 - ids: {}", ids);
-        
-        List<String> existingIds = new ArrayList<>();
-        List<String> failedIds = new ArrayList<>();
-        
-        for (String id : ids) {
-            if (articleRepository.existsById(id)) {
-                existingIds.add(id);
+
+        Map<String, Object> bulk = bulkUpdateArticles(BULK_DELETE, ids, null);
+        Map<String, Object> result = new HashMap<>();
+        result.put("deletedCount", bulk.get("affected"));
+        result.put("failedIds", bulk.get("notFoundIds"));
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public Map<String, Object> bulkUpdateArticles(String action, List<String> ids, String value) {
+        log.debug("批量操作文章 - action: {}, 数量: {}, value: {}", action, ids.size(), value);
+
+        String target = StringUtils.trimToNull(value);
+        if (BULK_STATUS.equals(action)) {
+            if (!"draft".equals(target) && !"published".equals(target)) {
+                throw new IllegalArgumentException("文章状态只能为draft或published");
+            }
+        } else if (BULK_MOVE.equals(action)) {
+            if (target != null && !collectionRepository.existsById(target)) {
+                throw new IllegalArgumentException("合集不存在: " + target);
+            }
+        } else if (!BULK_DELETE.equals(action) && !BULK_CATEGORY.equals(action)) {
+            throw new IllegalArgumentException("不支持的批量操作: " + action);
+        }
+        List<String> requestedIds = ids.stream()
+                .filter(StringUtils::isNotBlank)
+                .distinct()
+                .collect(Collectors.toList());
+
+        if (!BULK_DELETE.equals(action)) {
+            // 先写入缓冲中的修改，避免之后写入时用旧的视图覆盖
+            requestedIds.stream().filter(writeBehindBuffer::isPending).forEach(this::flushBuffered);
+        }
+
+        // 每批一次查询获取存在的文章及其当前状态
+        Map<String, ArticleListItem> existing = new HashMap<>();
+        for (List<String> chunk : chunks(requestedIds)) {
+            for (ArticleListItem item : articleRepository.findListItemsByIds(chunk)) {
+                existing.put(item.getId(), item);
+            }
+        }
+
+        LocalDateTime now = Article.currentTime();
+        Map<String, String> outcomes = new LinkedHashMap<>();
+        List<ArticleListItem> changed = new ArrayList<>();
+        for (String id : requestedIds) {
+            ArticleListItem item = existing.get(id);
+            if (item == null) {
+                outcomes.put(id, "not_found");
+            } else if (!BULK_DELETE.equals(action) && Objects.equals(bulkValueOf(action, item), target)) {
+                outcomes.put(id, "unchanged");
             } else {
-                failedIds.add(id);
+                outcomes.put(id, BULK_DELETE.equals(action) ? "deleted" : "updated");
+                changed.add(item);
             }
         }
-        
-        if (!existingIds.isEmpty()) {
-            articleRepository.deleteAllById(existingIds);
+
+        int affected = 0;
+        for (List<String> chunk : chunks(changed.stream().map(ArticleListItem::getId).collect(Collectors.toList()))) {
+            switch (action) {
+                case BULK_DELETE:
+                    affected += articleRepository.deleteByIds(chunk);
+                    tagService.removeTags(TagLink.ARTICLE, chunk);
+                    articleRevisionService.removeRevisions(chunk);
+                    articleSectionService.removeSections(chunk);
+                    break;
+                case BULK_STATUS:
+                    affected += articleRepository.updateStatusByIds(chunk, target, now);
+                    break;
+                case BULK_CATEGORY:
+                    affected += articleRepository.updateCategoryByIds(chunk, target, now);
+                    break;
+                default:
+                    affected += articleRepository.updateCollectionIdByIds(chunk, target, now);
+                    break;
+            }
         }
-        
+
+        if (!changed.isEmpty()) {
+            TransactionHooks.afterCommit(() -> countCache.markStale(CountCache.ARTICLES));
+            if (BULK_DELETE.equals(action)) {
+                TransactionHooks.afterCommit(() -> changed.forEach(item -> {
+                    writeBehindBuffer.discard(item.getId());
+                    articleContentCache.invalidate(item.getId());
+                    articleSearchIndex.remove(item.getId());
+                    articleStatistics.apply(ArticleStatisticsAggregate.Contribution.of(item), null);
+                }));
+            } else {
+                TransactionHooks.afterCommit(() -> changed.forEach(item -> {
+                    ArticleStatisticsAggregate.Contribution before = ArticleStatisticsAggregate.Contribution.of(item);
+                    String previousStatus = item.getStatus();
+                    applyBulkValue(action, item, target);
+                    item.setUpdatedAt(now);
+                    articleContentCache.invalidate(item.getId());
+                    articleSearchIndex.updateAttributes(item);
+                    if (!Objects.equals(previousStatus, item.getStatus())) {
+                        articleStatistics.apply(before, before.withStatus(item.getStatus()));
+                    }
+                }));
+            }
+        }
+
+        List<String> notFoundIds = outcomes.entrySet().stream()
+                .filter(entry -> "not_found".equals(entry.getValue()))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        List<Map<String, Object>> results = new ArrayList<>(outcomes.size());
+        outcomes.forEach((id, outcome) -> {
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("id", id);
+            entry.put("outcome", outcome);
+            results.add(entry);
+        });
+
         Map<String, Object> result = new HashMap<>();
-        result.put("deletedCount", existingIds.size());
-        result.put("failedIds", failedIds);
-        
-        log.info("批量删除文章完成 - 成功: {}, 失败: {}", existingIds.size(), failedIds.size());
-        
+        result.put("action", action);
+        result.put("requested", requestedIds.size());
+        result.put("affected", affected);
+        result.put("notFoundIds", notFoundIds);
+        result.put("results", results);
+
+        log.info("批量操作文章完成 - action: {}, 影响: {}, 不存在: {}", action, affected, notFoundIds.size());
+
         return result;
     }
 
     @Override
     public Map<String, Object> searchArticles(String keyword, String searchIn, Boolean caseSensitive, 
-                                            Boolean wholeWord, String status, List<String> tags, 
+                                            Boolean wholeWord, String status, List<String> tags, String tagMode,
                                             LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
         log.debug("搜索文章 - keyword: {}, searchIn: {}, status: {}", keyword, searchIn, status);
         
         long startTime = System.currentTimeMillis();
-        
-        Page<Article> articlePage;
-        
-        // 根据搜索范围和条件查询
-        if (StringUtils.isNotBlank(keyword)) {
-            if ("title".equals(searchIn)) {
-                articlePage = articleRepository.findByTitleContaining(keyword, pageable);
-            } else if ("content".equals(searchIn)) {
-                articlePage = articleRepository.findByContentContaining(keyword, pageable);
-            } else {
-                if (StringUtils.isNotBlank(status) && !"all".equals(status)) {
-                    articlePage = articleRepository.findByKeywordAndStatus(keyword, status, pageable);
-                } else {
-                    articlePage = articleRepository.findByKeyword(keyword, pageable);
-                }
-            }
-        } else if (startDate != null && endDate != null) {
-            articlePage = articleRepository.findByCreatedAtBetween(startDate, endDate, pageable);
-        } else {
-            articlePage = articleRepository.findAll(pageable);
-        }
-        
-        // 标签过滤（后处理）
-        if (tags != null && !tags.isEmpty()) {
-            List<Article> filteredArticles = articlePage.getContent().stream()
-                    .filter(article -> {
-                        List<String> articleTags = article.getTagList();
-                        return tags.stream().anyMatch(articleTags::contains);
-                    })
-                    .collect(Collectors.toList());
-            // 这里简化处理，实际应该重新构建Page对象
+
+        // 关键词搜索优先走检索索引，按相关度排序
+        if (StringUtils.isNotBlank(keyword) && articleSearchIndex.isReady()) {
+            ArticleSearchQuery query = new ArticleSearchQuery();
+            query.setKeyword(keyword);
+            query.setSearchIn(searchIn);
+            query.setWholeWord(Boolean.TRUE.equals(wholeWord));
+            query.setStatus(status);
+            query.setTags(tags);
+            query.setTagMode(tagMode);
+            query.setStartDate(startDate);
+            query.setEndDate(endDate);
+            Page<ArticleDTO> page = searchByIndex(query, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("articles", page.getContent());
+            result.put("total", page.getTotalElements());
+            result.put("searchTime", System.currentTimeMillis() - startTime);
+            return result;
         }
+
+        ArticleFilter filter = new ArticleFilter();
+        filter.setKeyword(keyword);
+        filter.setSearchIn(searchIn);
+        filter.setStatus(status);
+        filter.setTags(tags);
+        filter.setTagMode(tagMode);
+        filter.setStartDate(startDate);
+        filter.setEndDate(endDate);
+        Page<ArticleListItem> articlePage = articleRepository.findListItems(filter, pageable);
         
         long searchTime = System.currentTimeMillis() - startTime;
         
         Map<String, Object> result = new HashMap<>();
         result.put("articles", articlePage.getContent().stream()
-                .map(ArticleDTO::fromEntity)
+                .map(ArticleListItem::toDTO)
                 .collect(Collectors.toList()));
         result.put("total", articlePage.getTotalElements());
         result.put("searchTime", searchTime);
@@ -249,22 +816,86 @@ public class ArticleServiceImpl implements ArticleService {
     }
 
     @Override
-    public Map<String, Object> exportAllArticles() {
+    @Transactional(readOnly = true)
+    public long exportAllArticles(OutputStream outputStream) throws IOException {
         log.debug("导出所有文章数据");
-        
-        List<Article> articles = articleRepository.findAll();
-        List<ArticleDTO> articleDTOs = articles.stream()
-                .map(ArticleDTO::fromEntity)
-                .collect(Collectors.toList());
-        
-        Map<String, Object> exportData = new HashMap<>();
-        exportData.put("articles", articleDTOs);
-        exportData.put("exportTime", LocalDateTime.now());
-        exportData.put("version", "1.0.0");
-        
-        log.info("导出文章数据完成 - 数量: {}", articles.size());
-        
-        return exportData;
+
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(
+                new BufferedOutputStream(outputStream, EXPORT_BUFFER_SIZE), JsonEncoding.UTF8);
+        generator.writeStartObject();
+        generator.writeNumberField("code", 200);
+        generator.writeStringField("message", "success");
+        generator.writeObjectFieldStart("data");
+        generator.writeArrayFieldStart("articles");
+
+        long count = 0;
+        try (Stream<Article> stream = articleRepository.streamAllOrderById()) {
+            Iterator<Article> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                Article article = iterator.next();
+                generator.writeObject(ArticleDTO.fromEntity(article));
+                // 写出后立即从持久化上下文移除，保持内存占用恒定
+                entityManager.detach(article);
+                count++;
+            }
+        }
+
+        generator.writeEndArray();
+        generator.writeObjectField("exportTime", LocalDateTime.now());
+        generator.writeStringField("version", "1.0.0");
+        generator.writeEndObject();
+        generator.writeStringField("timestamp", LocalDateTime.now().format(DATE_TIME_FORMATTER));
+        generator.writeEndObject();
+        generator.flush();
+
+        log.info("导出文章数据完成 - 数量: {}", count);
+        return count;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportArticlesAsNdjson(OutputStream outputStream, boolean gzip) throws IOException {
+        log.debug("流式导出文章数据 - gzip: {}", gzip);
+
+        GZIPOutputStream gzipStream = gzip ? new GZIPOutputStream(outputStream, EXPORT_BUFFER_SIZE) : null;
+        OutputStream out = new BufferedOutputStream(gzipStream != null ? gzipStream : outputStream, EXPORT_BUFFER_SIZE);
+        MessageDigest digest = newSha256Digest();
+
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put("type", "header");
+        header.put("version", "1.0.0");
+        header.put("exportTime", LocalDateTime.now().toString());
+        writeNdjsonLine(out, header, null);
+
+        long count = 0;
+        try (Stream<Article> stream = articleRepository.streamAllOrderById()) {
+            Iterator<Article> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                Article article = iterator.next();
+                Map<String, Object> record = new LinkedHashMap<>();
+                record.put("type", "article");
+                record.put("data", ArticleDTO.fromEntity(article));
+                writeNdjsonLine(out, record, digest);
+                // 写出后立即从持久化上下文移除，保持内存占用恒定
+                entityManager.detach(article);
+                count++;
+            }
+        }
+
+        Map<String, Object> trailer = new LinkedHashMap<>();
+        trailer.put("type", "trailer");
+        trailer.put("count", count);
+        trailer.put("checksum", "sha256:" + toHex(digest.digest()));
+        writeNdjsonLine(out, trailer, null);
+
+        out.flush();
+        if (gzipStream != null) {
+            gzipStream.finish();
+        }
+        outputStream.flush();
+
+        log.info("流式导出文章数据完成 - 数量: {}", count);
+        return count;
     }
 
     @Override
@@ -275,6 +906,16 @@ public class ArticleServiceImpl implements ArticleService {
         if (!merge) {
             // 非合并模式，先清空现有数据
             articleRepository.deleteAll();
+            tagService.removeAll(TagLink.ARTICLE);
+            articleRevisionService.removeAll();
+            articleSectionService.removeAll();
+            TransactionHooks.afterCommit(() -> {
+                writeBehindBuffer.discardAll();
+                articleContentCache.clear();
+                articleSearchIndex.clear();
+                articleStatistics.clear();
+                countCache.markStale(CountCache.ARTICLES);
+            });
         }
         
         int imported = 0;
@@ -296,16 +937,16 @@ public class ArticleServiceImpl implements ArticleService {
                 }
                 
                 // 自动生成摘要和统计信息
-                if (StringUtils.isBlank(article.getSummary()) && StringUtils.isNotBlank(article.getContent())) {
-                    article.setSummary(generateSummary(article.getContent(), 200));
-                }
-                
-                if (StringUtils.isNotBlank(article.getContent())) {
-                    article.setWordCount(countWords(article.getContent()));
-                    article.setReadTime(calculateReadTime(article.getContent()));
-                }
+                applyTextAnalysis(article);
                 
-                articleRepository.save(article);
+                Article savedArticle = articleRepository.save(article);
+                tagService.syncTags(TagLink.ARTICLE, savedArticle.getId(), savedArticle.getTagList());
+                ArticleStatisticsAggregate.Contribution created = ArticleStatisticsAggregate.Contribution.of(savedArticle);
+                TransactionHooks.afterCommit(() -> {
+                    articleSearchIndex.index(savedArticle);
+                    articleStatistics.apply(null, created);
+                    countCache.markStale(CountCache.ARTICLES);
+                });
                 imported++;
             } catch (Exception e) {
                 log.error("导入文章失败 - title: {}, error: {}", articleDTO.getTitle(), e.getMessage());
@@ -330,6 +971,16 @@ public class ArticleServiceImpl implements ArticleService {
         
         long count = articleRepository.count();
         articleRepository.deleteAll();
+        tagService.removeAll(TagLink.ARTICLE);
+        articleRevisionService.removeAll();
+        articleSectionService.removeAll();
+        TransactionHooks.afterCommit(() -> {
+            writeBehindBuffer.discardAll();
+            articleContentCache.clear();
+            articleSearchIndex.clear();
+            articleStatistics.clear();
+            countCache.markStale(CountCache.ARTICLES);
+        });
         
         log.info("清空文章数据完成 - 删除数量: {}", count);
     }
@@ -338,39 +989,20 @@ public class ArticleServiceImpl implements ArticleService {
     public Map<String, Object> getArticleStatistics() {
         log.debug("获取文章统计信息");
         
-        long totalArticles = articleRepository.count();
-        long publishedArticles = articleRepository.countByStatus("published");
-        long draftArticles = articleRepository.countByStatus("draft");
-        Long totalWords = articleRepository.sumWordCount();
-        Long totalReadTime = articleRepository.sumReadTime();
-        
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalArticles", totalArticles);
-        stats.put("publishedArticles", publishedArticles);
-        stats.put("draftArticles", draftArticles);
-        stats.put("totalWords", totalWords != null ? totalWords : 0L);
-        stats.put("totalReadTime", totalReadTime != null ? totalReadTime : 0L);
-        stats.put("lastUpdated", LocalDateTime.now());
-        
-        // 标签统计（简化实现）
-        List<Article> articles = articleRepository.findAll();
-        Map<String, Long> tagsStats = articles.stream()
-                .flatMap(article -> article.getTagList().stream())
-                .collect(Collectors.groupingBy(tag -> tag, Collectors.counting()));
-        
-        List<Map<String, Object>> tagsStatsList = tagsStats.entrySet().stream()
-                .map(entry -> {
-                    Map<String, Object> tagStat = new HashMap<>();
-                    tagStat.put("tag", entry.getKey());
-                    tagStat.put("count", entry.getValue());
-                    return tagStat;
-                })
-                .sorted((a, b) -> Long.compare((Long) b.get("count"), (Long) a.get("count")))
-                .collect(Collectors.toList());
-        
-        stats.put("tagsStats", tagsStatsList);
-        
-        return stats;
+        return articleStatistics.getStatistics();
+    }
+
+    @Override
+    public Map<String, Object> rebuildArticleStatistics() {
+        log.debug("重建文章统计信息");
+
+        articleStatistics.rebuild();
+        return articleStatistics.getStatistics();
+    }
+
+    @Override
+    public Map<String, Object> getCacheStatistics() {
+        return articleContentCache.getStatistics();
     }
 
     @Override
@@ -380,51 +1012,241 @@ public class ArticleServiceImpl implements ArticleService {
 
     @Override
     public String generateSummary(String content, Integer maxLength) {
-        if (StringUtils.isBlank(content)) {
-            return "";
-        }
-        
-        // 移除Markdown语法
-        String cleanContent = MARKDOWN_PATTERN.matcher(content).replaceAll("");
-        cleanContent = cleanContent.replaceAll("\n+", " ").trim();
-        
-        if (cleanContent.length() <= maxLength) {
-            return cleanContent;
-        }
-        
-        return cleanContent.substring(0, maxLength) + "...";
+        return textAnalyzer.analyze(content, maxLength).getSummary();
     }
 
     @Override
     public Integer countWords(String content) {
-        if (StringUtils.isBlank(content)) {
-            return 0;
-        }
-        
-        // 移除Markdown语法
-        String cleanContent = MARKDOWN_PATTERN.matcher(content).replaceAll("");
-        
-        // 统计中文字符
-        Matcher chineseMatcher = CHINESE_PATTERN.matcher(cleanContent);
-        long chineseCount = 0;
-        while (chineseMatcher.find()) {
-            chineseCount++;
-        }
-        
-        // 统计英文单词
-        String[] words = cleanContent.replaceAll("[\u4e00-\u9fa5]", " ")
-                .split("\\s+");
-        long englishWords = Arrays.stream(words)
-                .filter(word -> !word.trim().isEmpty())
-                .count();
-        
-        return (int) (chineseCount + englishWords);
+        return textAnalyzer.countWords(content);
     }
 
     @Override
     public Integer calculateReadTime(String content) {
-        Integer wordCount = countWords(content);
-        return Math.max(1, (int) Math.ceil((double) wordCount / READING_SPEED));
+        return TextAnalyzer.readTimeOf(textAnalyzer.countWords(content));
+    }
+
+    /**
+     * 应用单个编辑操作，返回字数变化量
+     */
+    private int applyOperation(StringBuilder content, ContentPatchRequest.Operation operation) {
+        int offset = operation.getOffset();
+        int length = operation.getLength() != null ? operation.getLength() : 0;
+        String text = operation.getText() != null ? operation.getText() : "";
+        switch (operation.getType()) {
+            case "insert":
+                length = 0;
+                break;
+            case "delete":
+                text = "";
+                break;
+            case "replace":
+                break;
+            default:
+                throw new IllegalArgumentException("不支持的操作类型: " + operation.getType());
+        }
+        if (offset > content.length() || length > content.length() - offset) {
+            throw new IllegalArgumentException("操作位置超出正文范围: offset=" + offset + ", length=" + length
+                    + ", 正文长度=" + content.length());
+        }
+        return textAnalyzer.replace(content, offset, offset + length, text);
+    }
+
+    /**
+     * 将ID列表按批量操作的批次大小切分
+     */
+    private static List<List<String>> chunks(List<String> ids) {
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(ids.size(), from + BULK_CHUNK_SIZE)));
+        }
+        return chunks;
+    }
+
+    private static String bulkValueOf(String action, ArticleListItem item) {
+        switch (action) {
+            case BULK_STATUS:
+                return item.getStatus();
+            case BULK_CATEGORY:
+                return StringUtils.trimToNull(item.getCategory());
+            default:
+                return StringUtils.trimToNull(item.getCollectionId());
+        }
+    }
+
+    private static void applyBulkValue(String action, ArticleListItem item, String value) {
+        switch (action) {
+            case BULK_STATUS:
+                item.setStatus(value);
+                break;
+            case BULK_CATEGORY:
+                item.setCategory(value);
+                break;
+            default:
+                item.setCollectionId(value);
+                break;
+        }
+    }
+
+    /**
+     * 创建独立事务（缓冲写入不加入调用方事务）
+     */
+    private TransactionTemplate newTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+
+    /**
+     * 按块写出正文：原始模式直接写出Markdown，JSON模式写出与 ApiResponse 相同结构的响应
+     */
+    private void writeContent(OutputStream outputStream, boolean json, String id, Long revision,
+                              LocalDateTime updatedAt, Reader content) throws IOException {
+        if (!json) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8),
+                    CONTENT_CHUNK_SIZE);
+            char[] chunk = new char[CONTENT_CHUNK_SIZE];
+            int read;
+            while ((read = content.read(chunk)) != -1) {
+                writer.write(chunk, 0, read);
+            }
+            writer.flush();
+            return;
+        }
+
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8);
+        generator.writeStartObject();
+        generator.writeNumberField("code", 200);
+        generator.writeStringField("message", "success");
+        generator.writeObjectFieldStart("data");
+        generator.writeStringField("id", id);
+        generator.writeNumberField("revision", revision != null ? revision : 0L);
+        if (updatedAt != null) {
+            generator.writeStringField("updatedAt", updatedAt.format(DATE_TIME_FORMATTER));
+        }
+        generator.writeFieldName("content");
+        // 从 Reader 分块转义写出，不构造完整字符串
+        generator.writeString(content, -1);
+        generator.writeEndObject();
+        generator.writeStringField("timestamp", LocalDateTime.now().format(DATE_TIME_FORMATTER));
+        generator.writeEndObject();
+        generator.flush();
+    }
+
+    private static long revisionOf(Article article) {
+        return article.getRevision() != null ? article.getRevision() : 0L;
+    }
+
+    private static long revisionOf(ArticleDTO article) {
+        return article.getRevision() != null ? article.getRevision() : 0L;
+    }
+
+    /**
+     * 查询数据库中文章的正文版本号
+     */
+    private long storedRevisionOf(String id) {
+        List<Object[]> rows = articleRepository.findVersionById(id);
+        if (rows.isEmpty()) {
+            throw new RuntimeException("文章不存在: " + id);
+        }
+        Long revision = (Long) rows.get(0)[1];
+        return revision != null ? revision : 0L;
+    }
+
+    /**
+     * 从完整正文拆分章节；正文已写入数据库时顺带存储章节，供后续读取使用
+     */
+    private List<ArticleSectionDTO> splitSections(ArticleDTO article, boolean withContent) {
+        if (!writeBehindBuffer.isPending(article.getId())) {
+            try {
+                articleSectionService.storeSections(article.getId(), revisionOf(article), article.getContent());
+            } catch (DataAccessException e) {
+                // 并发读取时可能同时存储，由另一请求完成即可
+                log.debug("存储文章章节失败 - id: {}: {}", article.getId(), e.getMessage());
+            }
+        }
+        return articleSectionService.split(article.getContent(), withContent);
+    }
+
+    private static void checkSectionRange(int from, int to, int size) {
+        if (from < 0 || to < from) {
+            throw new IllegalArgumentException("章节范围无效: " + from + "-" + to);
+        }
+        if (to >= size) {
+            throw new IllegalArgumentException("章节不存在: " + to);
+        }
+    }
+
+    private static Map<String, Object> sectionResult(String id, long revision, List<ArticleSectionDTO> sections) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("id", id);
+        result.put("revision", revision);
+        result.put("sections", sections);
+        return result;
+    }
+
+    /**
+     * 一次遍历正文，更新字数、阅读时间，摘要为空时自动生成
+     */
+    private void applyTextAnalysis(Article article) {
+        if (StringUtils.isBlank(article.getContent())) {
+            return;
+        }
+        TextAnalyzer.Result analysis = textAnalyzer.analyze(article.getContent(), SUMMARY_LENGTH);
+        if (StringUtils.isBlank(article.getSummary())) {
+            article.setSummary(analysis.getSummary());
+        }
+        article.setWordCount(analysis.getWordCount());
+        article.setReadTime(analysis.getReadTime());
+    }
+
+    /**
+     * 通过检索索引查询文章，并按命中顺序加载当前页
+     */
+    private Page<ArticleDTO> searchByIndex(ArticleSearchQuery query, Pageable pageable) {
+        SearchResult searchResult = articleSearchIndex.search(query, pageable);
+        List<String> ids = searchResult.getIds();
+        if (ids.isEmpty()) {
+            return new PageImpl<>(new ArrayList<>(), pageable, searchResult.getTotal());
+        }
+
+        Map<String, ArticleListItem> articleMap = articleRepository.findListItemsByIds(ids).stream()
+                .collect(Collectors.toMap(ArticleListItem::getId, article -> article));
+        List<ArticleDTO> articles = ids.stream()
+                .map(articleMap::get)
+                .filter(Objects::nonNull)
+                .map(ArticleListItem::toDTO)
+                .collect(Collectors.toList());
+        return new PageImpl<>(articles, pageable, searchResult.getTotal());
+    }
+
+    /**
+     * 写出一行NDJSON记录，digest不为空时同时计入校验和
+     */
+    private void writeNdjsonLine(OutputStream out, Object record, MessageDigest digest) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(record);
+        out.write(bytes);
+        out.write('\n');
+        if (digest != null) {
+            digest.update(bytes);
+            digest.update((byte) '\n');
+        }
+    }
+
+    private static MessageDigest newSha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("不支持SHA-256算法", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+            sb.append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
     }
 
     /**
@@ -450,4 +1272,16 @@ public class ArticleServiceImpl implements ArticleService {
         
         return Sort.by(direction, sortField);
     }
+
+    private Object updateLockFor(String id) {
+        return updateLocks[(id.hashCode() & Integer.MAX_VALUE) % UPDATE_LOCK_STRIPES];
+    }
+
+    private static Object[] newUpdateLocks() {
+        Object[] locks = new Object[UPDATE_LOCK_STRIPES];
+        for (int i = 0; i < UPDATE_LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        return locks;
+    }
 }
\ No newline at end of file
@@ -1,10 +1,12 @@
 package com.chengzhang.service.impl;
 
+import com.chengzhang.cache.ResourceVersions;
 import com.chengzhang.dto.CollectionDTO;
 import com.chengzhang.entity.Collection;
 import com.chengzhang.repository.CollectionRepository;
 import com.chengzhang.repository.ArticleRepository;
 import com.chengzhang.service.CollectionService;
+import com.chengzhang.util.TransactionHooks;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,12 +31,15 @@ public class CollectionServiceImpl implements CollectionService {
 
     private final CollectionRepository collectionRepository;
     private final ArticleRepository articleRepository;
+    private final ResourceVersions resourceVersions;
 
     @Autowired
     public CollectionServiceImpl(CollectionRepository collectionRepository,
-                               ArticleRepository articleRepository) {
+                               ArticleRepository articleRepository,
+                               ResourceVersions resourceVersions) {
         this.collectionRepository = collectionRepository;
         this.articleRepository = articleRepository;
+        this.resourceVersions = resourceVersions;
     }
 
     @Override
@@ -59,6 +64,7 @@ public class CollectionServiceImpl implements CollectionService {
         }
 
         Collection savedCollection = collectionRepository.save(collection);
+        markChanged();
         return convertToDTO(savedCollection);
     }
 
@@ -98,6 +104,7 @@ public class CollectionServiceImpl implements CollectionService {
         collection.setIsEnabled(collectionDTO.getIsEnabled());
 
         Collection updatedCollection = collectionRepository.save(collection);
+        markChanged();
         return convertToDTO(updatedCollection);
     }
 
@@ -141,6 +148,7 @@ public class CollectionServiceImpl implements CollectionService {
         }
 
         collectionRepository.deleteById(id);
+        markChanged();
     }
 
     @Override
@@ -150,6 +158,7 @@ public class CollectionServiceImpl implements CollectionService {
 
         collection.setIsEnabled(enabled);
         Collection updatedCollection = collectionRepository.save(collection);
+        markChanged();
         return convertToDTO(updatedCollection);
     }
 
@@ -195,9 +204,17 @@ public class CollectionServiceImpl implements CollectionService {
 
         collection.setSortOrder(newSortOrder);
         Collection updatedCollection = collectionRepository.save(collection);
+        markChanged();
         return convertToDTO(updatedCollection);
     }
 
+    /**
+     * 事务提交后递增合集版本，使客户端缓存的合集数据失效
+     */
+    private void markChanged() {
+        TransactionHooks.afterCommit(() -> resourceVersions.bump(ResourceVersions.COLLECTIONS));
+    }
+
     /**
      * 实体转DTO
      */
@@ -1,9 +1,23 @@
 package com.chengzhang.service.impl;
 
+import com.chengzhang.cache.CountCache;
+import com.chengzhang.common.FieldSet;
+import com.chengzhang.common.PageResponse;
+import com.chengzhang.config.ImageConfig;
 import com.chengzhang.dto.ImageDTO;
 import com.chengzhang.entity.Image;
+import com.chengzhang.entity.TagLink;
+import com.chengzhang.image.ImageRenderCache;
+import com.chengzhang.image.ImageStorage;
+import com.chengzhang.image.ImageVariantPipeline;
+import com.chengzhang.repository.ImageFilter;
 import com.chengzhang.repository.ImageRepository;
+import com.chengzhang.util.CursorUtil;
+import com.chengzhang.util.ImageProbe;
 import com.chengzhang.service.ImageService;
+import com.chengzhang.service.TagService;
+import com.chengzhang.util.TagUtil;
+import com.chengzhang.util.TransactionHooks;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -11,22 +25,32 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
-import javax.imageio.ImageIO;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.awt.*;
-import java.awt.image.BufferedImage;
 import java.io.*;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.HashSet;
@@ -43,6 +67,14 @@ import java.util.HashSet;
 public class ImageServiceImpl implements ImageService {
 
     private final ImageRepository imageRepository;
+    private final TagService tagService;
+    private final CountCache countCache;
+    private final ImageVariantPipeline variantPipeline;
+    private final ImageRenderCache renderCache;
+    private final ImageStorage imageStorage;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ImageConfig imageConfig;
 
     @Value("${app.upload.path:uploads/images}")
     private String uploadPath;
@@ -69,11 +101,38 @@ public class ImageServiceImpl implements ImageService {
         add("image/bmp");
     }};
 
+    private static final String INSERT_SQL = "INSERT INTO images (id, original_name, file_name, file_path, file_size, "
+            + "content_hash, mime_type, width, height, variant_status, thumbnail_path, compressed_path, article_id, "
+            + "upload_ip, status, create_time, update_time) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
     // Base64图片数据正则
     private static final Pattern BASE64_PATTERN = Pattern.compile(
             "^data:image/(jpeg|jpg|png|gif|webp|bmp);base64,(.+)$"
     );
 
+    /**
+     * 批量上传时并行处理文件的线程池
+     */
+    private ThreadPoolExecutor uploadExecutor;
+
+    @PostConstruct
+    public void init() {
+        ImageConfig.BatchUpload config = imageConfig.getBatchUpload();
+        AtomicInteger counter = new AtomicInteger();
+        uploadExecutor = new ThreadPoolExecutor(config.getWorkerThreads(), config.getWorkerThreads(), 60L,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<>(config.getQueueCapacity()), runnable -> {
+            Thread thread = new Thread(runnable, "image-upload-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+        uploadExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        uploadExecutor.shutdown();
+    }
+
     @Override
     @Transactional
     public ImageDTO uploadImage(MultipartFile file, String articleId, String uploadIp) {
@@ -87,31 +146,26 @@ public class ImageServiceImpl implements ImageService {
         }
 
         try {
-            // 生成文件名和路径
+            // 按内容哈希存储，内容已存在时不写文件
             String originalName = file.getOriginalFilename();
-            String fileName = generateFileName(originalName);
-            String filePath = saveFile(file, fileName);
-
-            // 获取图片尺寸
-            BufferedImage bufferedImage = ImageIO.read(file.getInputStream());
-            int width = bufferedImage != null ? bufferedImage.getWidth() : 0;
-            int height = bufferedImage != null ? bufferedImage.getHeight() : 0;
+            ImageStorage.Stored stored = imageStorage.store(file, getFileExtension(originalName));
 
             // 创建图片实体
             Image image = new Image();
             image.setOriginalName(originalName);
-            image.setFileName(fileName);
-            image.setFilePath(filePath);
-            image.setFileSize(file.getSize());
             image.setMimeType(file.getContentType());
-            image.setWidth(width);
-            image.setHeight(height);
+            applyStoredFile(image, stored);
             image.setArticleId(articleId);
             image.setUploadIp(uploadIp);
             image.setStatus("active");
 
             Image savedImage = imageRepository.save(image);
-            log.info("图片上传成功 - id: {}, fileName: {}", savedImage.getId(), fileName);
+            TransactionHooks.afterCommit(() -> {
+                countCache.markStale(CountCache.IMAGES);
+                variantPipeline.submit(savedImage.getId());
+            });
+            log.info("图片上传成功 - id: {}, filePath: {}, 复用已有文件: {}",
+                    savedImage.getId(), stored.getFilePath(), !stored.isWritten());
 
             return ImageDTO.fromEntity(savedImage);
         } catch (Exception e) {
@@ -121,26 +175,48 @@ public class ImageServiceImpl implements ImageService {
     }
 
     @Override
-    @Transactional
     public Map<String, Object> batchUploadImages(List<MultipartFile> files, String articleId, String uploadIp) {
         log.debug("批量上传图片 - count: {}, articleId: {}", files.size(), articleId);
 
-        List<ImageDTO> successList = new ArrayList<>();
+        int maxFiles = imageConfig.getBatchUpload().getMaxFiles();
+        if (files.size() > maxFiles) {
+            throw new IllegalArgumentException("单次最多上传" + maxFiles + "个文件");
+        }
+
+        // 每个文件独立校验和存储，失败不影响其他文件
+        List<Future<PreparedUpload>> futures = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            int index = i;
+            MultipartFile file = files.get(i);
+            futures.add(uploadExecutor.submit(() -> prepareUpload(index, file, articleId, uploadIp)));
+        }
+
+        List<PreparedUpload> prepared = new ArrayList<>(files.size());
         List<Map<String, Object>> failedList = new ArrayList<>();
+        for (int i = 0; i < files.size(); i++) {
+            try {
+                prepared.add(awaitUpload(futures.get(i)));
+            } catch (ExecutionException e) {
+                log.warn("批量上传图片失败 - fileName: {}: {}", files.get(i).getOriginalFilename(), e.getCause().getMessage());
+                failedList.add(uploadFailure(i, files.get(i).getOriginalFilename(), e.getCause()));
+            }
+        }
 
-        for (MultipartFile file : files) {
+        // 所有成功文件的记录在一个事务中批量插入
+        List<ImageDTO> successList = new ArrayList<>(prepared.size());
+        if (!prepared.isEmpty()) {
             try {
-                ImageDTO imageDTO = uploadImage(file, articleId, uploadIp);
-                successList.add(imageDTO);
-            } catch (Exception e) {
-                Map<String, Object> failed = new HashMap<>();
-                failed.put("fileName", file.getOriginalFilename());
-                failed.put("error", e.getMessage());
-                failedList.add(failed);
+                insertUploads(prepared);
+                prepared.forEach(upload -> successList.add(ImageDTO.fromEntity(upload.image)));
+            } catch (RuntimeException e) {
+                log.error("批量上传图片保存记录失败", e);
+                prepared.forEach(upload -> failedList.add(
+                        uploadFailure(upload.index, upload.image.getOriginalName(), e)));
+                failedList.sort(Comparator.comparingInt(failed -> (Integer) failed.get("index")));
             }
         }
 
-        Map<String, Object> result = new HashMap<>();
+        Map<String, Object> result = new LinkedHashMap<>();
         result.put("successCount", successList.size());
         result.put("failedCount", failedList.size());
         result.put("successList", successList);
@@ -150,6 +226,110 @@ public class ImageServiceImpl implements ImageService {
         return result;
     }
 
+    /**
+     * 校验并存储单个文件，构造待插入的图片记录（在上传线程池中执行）
+     */
+    private PreparedUpload prepareUpload(int index, MultipartFile file, String articleId, String uploadIp)
+            throws IOException {
+        Map<String, Object> validation = validateImageFile(file);
+        if (!(Boolean) validation.get("valid")) {
+            throw new IllegalArgumentException((String) validation.get("message"));
+        }
+
+        String originalName = file.getOriginalFilename();
+        ImageStorage.Stored stored = imageStorage.store(file, getFileExtension(originalName));
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Image image = new Image();
+            image.setId(UUID.randomUUID().toString());
+            image.setOriginalName(StringUtils.isNotBlank(originalName) ? originalName : stored.getContentHash());
+            image.setMimeType(file.getContentType());
+            applyStoredFile(image, stored);
+            image.setArticleId(articleId);
+            image.setUploadIp(uploadIp);
+            image.setStatus("active");
+            image.setCreatedAt(now);
+            image.setUpdatedAt(now);
+            return new PreparedUpload(index, image, stored);
+        } catch (IOException | RuntimeException e) {
+            imageStorage.discard(stored);
+            throw e;
+        }
+    }
+
+    /**
+     * 在一个事务中批量插入图片记录；事务回滚时释放本次存储的文件
+     */
+    private void insertUploads(List<PreparedUpload> uploads) {
+        boolean[] attached = {false};
+        try {
+            transactionTemplate.execute(status -> {
+                uploads.forEach(upload -> imageStorage.attach(upload.stored));
+                attached[0] = true;
+                jdbcTemplate.batchUpdate(INSERT_SQL, uploads, uploads.size(),
+                        (ps, upload) -> setInsertParameters(ps, upload.image));
+                TransactionHooks.afterCommit(() -> {
+                    countCache.markStale(CountCache.IMAGES);
+                    uploads.forEach(upload -> variantPipeline.submit(upload.image.getId()));
+                });
+                return null;
+            });
+        } catch (RuntimeException e) {
+            if (!attached[0]) {
+                uploads.forEach(upload -> imageStorage.discard(upload.stored));
+            }
+            throw e;
+        }
+    }
+
+    private void setInsertParameters(PreparedStatement ps, Image image) throws SQLException {
+        ps.setString(1, image.getId());
+        ps.setString(2, image.getOriginalName());
+        ps.setString(3, image.getFileName());
+        ps.setString(4, image.getFilePath());
+        ps.setLong(5, image.getFileSize());
+        ps.setString(6, image.getContentHash());
+        ps.setString(7, image.getMimeType());
+        ps.setObject(8, image.getWidth());
+        ps.setObject(9, image.getHeight());
+        ps.setString(10, image.getVariantStatus());
+        ps.setString(11, image.getThumbnailPath());
+        ps.setString(12, image.getCompressedPath());
+        ps.setString(13, image.getArticleId());
+        ps.setString(14, image.getUploadIp());
+        ps.setString(15, image.getStatus());
+        ps.setTimestamp(16, Timestamp.valueOf(image.getCreatedAt()));
+        ps.setTimestamp(17, Timestamp.valueOf(image.getUpdatedAt()));
+    }
+
+    /**
+     * 等待文件处理完成；文件处理时间有限，等待期间忽略中断，避免已存储的文件失去记录
+     */
+    private static PreparedUpload awaitUpload(Future<PreparedUpload> future) throws ExecutionException {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return future.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static Map<String, Object> uploadFailure(int index, String fileName, Throwable error) {
+        Map<String, Object> failed = new LinkedHashMap<>();
+        failed.put("index", index);
+        failed.put("fileName", fileName);
+        failed.put("error", error.getMessage());
+        return failed;
+    }
+
     @Override
     @Transactional
     public ImageDTO uploadImageFromBase64(String base64Data, String fileName, String articleId, String uploadIp) {
@@ -177,30 +357,26 @@ public class ImageServiceImpl implements ImageService {
                 throw new RuntimeException("文件大小超过限制: " + maxFileSize + " bytes");
             }
 
-            // 生成文件名和保存文件
-            String generatedFileName = generateFileName(fileName != null ? fileName : "image." + format);
-            String filePath = saveBase64File(imageBytes, generatedFileName);
-
-            // 获取图片尺寸
-            BufferedImage bufferedImage = ImageIO.read(new ByteArrayInputStream(imageBytes));
-            int width = bufferedImage != null ? bufferedImage.getWidth() : 0;
-            int height = bufferedImage != null ? bufferedImage.getHeight() : 0;
+            // 按内容哈希存储，内容已存在时不写文件
+            String originalName = fileName != null ? fileName : "image." + format;
+            ImageStorage.Stored stored = imageStorage.store(imageBytes, getFileExtension(originalName));
 
             // 创建图片实体
             Image image = new Image();
-            image.setOriginalName(fileName != null ? fileName : "image." + format);
-            image.setFileName(generatedFileName);
-            image.setFilePath(filePath);
-            image.setFileSize((long) imageBytes.length);
+            image.setOriginalName(originalName);
             image.setMimeType(mimeType);
-            image.setWidth(width);
-            image.setHeight(height);
+            applyStoredFile(image, stored);
             image.setArticleId(articleId);
             image.setUploadIp(uploadIp);
             image.setStatus("active");
 
             Image savedImage = imageRepository.save(image);
-            log.info("Base64图片上传成功 - id: {}, fileName: {}", savedImage.getId(), generatedFileName);
+            TransactionHooks.afterCommit(() -> {
+                countCache.markStale(CountCache.IMAGES);
+                variantPipeline.submit(savedImage.getId());
+            });
+            log.info("Base64图片上传成功 - id: {}, filePath: {}, 复用已有文件: {}",
+                    savedImage.getId(), stored.getFilePath(), !stored.isWritten());
 
             return ImageDTO.fromEntity(savedImage);
         } catch (Exception e) {
@@ -210,42 +386,84 @@ public class ImageServiceImpl implements ImageService {
     }
 
     @Override
-    public Page<ImageDTO> getImages(Pageable pageable, String keyword, String articleId, String mimeType, String status, String sortBy, String sortOrder) {
-        log.debug("获取图片列表 - keyword: {}, articleId: {}, mimeType: {}, status: {}", 
-                keyword, articleId, mimeType, status);
+    public PageResponse<ImageDTO> getImages(Pageable pageable, String keyword, String articleId, String mimeType,
+                                            String status, List<String> tags, String tagMode, LocalDateTime startDate,
+                                            LocalDateTime endDate, String sortBy, String sortOrder, boolean withTotal,
+                                            FieldSet fields) {
+        log.debug("获取图片列表 - keyword: {}, articleId: {}, mimeType: {}, status: {}, tags: {}",
+                keyword, articleId, mimeType, status, tags);
 
         // 构建排序
         Sort sort = buildSort(sortBy, sortOrder);
         Pageable sortedPageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
 
-        Page<Image> imagePage;
+        ImageFilter filter = new ImageFilter();
+        filter.setKeyword(keyword);
+        filter.setArticleId(articleId);
+        filter.setMimeType(mimeType);
+        filter.setStatus(status);
+        filter.setTags(tags);
+        filter.setTagMode(tagMode);
+        filter.setStartDate(startDate);
+        filter.setEndDate(endDate);
+
+        // 总数不与列表一起查询
+        Slice<ImageDTO> slice = imageRepository.findSliceByFilter(filter, sortedPageable, fields)
+                .map(ImageDTO::fromEntity);
+        if (!withTotal) {
+            return PageResponse.of(slice);
+        }
+        CountCache.Count total = countCache.get(CountCache.IMAGES, filter.normalizedKey(),
+                () -> imageRepository.countMatching(filter));
+        return PageResponse.of(slice, total.getValue(), total.isApproximate());
+    }
 
-        // 根据条件查询
-        if (StringUtils.isNotBlank(keyword)) {
-            if (StringUtils.isNotBlank(status) && !"all".equals(status)) {
-                imagePage = imageRepository.findByKeywordAndStatus(keyword, status, sortedPageable);
-            } else {
-                imagePage = imageRepository.findByKeyword(keyword, sortedPageable);
-            }
-        } else if (StringUtils.isNotBlank(articleId)) {
-            if (StringUtils.isNotBlank(status) && !"all".equals(status)) {
-                imagePage = imageRepository.findByArticleIdAndStatus(articleId, status, sortedPageable);
-            } else {
-                imagePage = imageRepository.findByArticleId(articleId, sortedPageable);
-            }
-        } else if (StringUtils.isNotBlank(mimeType)) {
-            if (StringUtils.isNotBlank(status) && !"all".equals(status)) {
-                imagePage = imageRepository.findByMimeTypeAndStatus(mimeType, status, sortedPageable);
-            } else {
-                imagePage = imageRepository.findByMimeType(mimeType, sortedPageable);
-            }
-        } else if (StringUtils.isNotBlank(status) && !"all".equals(status)) {
-            imagePage = imageRepository.findByStatus(status, sortedPageable);
+    @Override
+    public PageResponse<ImageDTO> getImagesByCursor(String cursor, Integer size, String articleId, String mimeType, String status,
+                                                    List<String> tags, String tagMode, LocalDateTime startDate,
+                                                    LocalDateTime endDate, String sortBy, String sortOrder,
+                                                    FieldSet fields) {
+        log.debug("游标获取图片列表 - cursor: {}, size: {}, articleId: {}, mimeType: {}, status: {}, tags: {}",
+                cursor, size, articleId, mimeType, status, tags);
+
+        String sortField;
+        if (StringUtils.isBlank(sortBy) || "createdAt".equals(sortBy) || "uploadTime".equals(sortBy)) {
+            sortField = "createdAt";
+        } else if ("updatedAt".equals(sortBy)) {
+            sortField = "updatedAt";
         } else {
-            imagePage = imageRepository.findAll(sortedPageable);
+            throw new IllegalArgumentException("游标分页仅支持按createdAt或updatedAt排序");
+        }
+        boolean ascending = "asc".equalsIgnoreCase(sortOrder);
+        CursorUtil.Cursor after = CursorUtil.decode(cursor, sortField, ascending);
+
+        ImageFilter filter = new ImageFilter();
+        filter.setArticleId(articleId);
+        filter.setMimeType(mimeType);
+        filter.setStatus(status);
+        filter.setTags(tags);
+        filter.setTagMode(tagMode);
+        filter.setStartDate(startDate);
+        filter.setEndDate(endDate);
+
+        // 多取一条用于判断是否还有下一页
+        // 游标需要排序字段的值
+        List<Image> images = imageRepository.findByKeyset(filter, sortField, ascending,
+                after != null ? after.getValue() : null, after != null ? after.getId() : null, size + 1,
+                fields.with(sortField));
+
+        String nextCursor = null;
+        if (images.size() > size) {
+            images = images.subList(0, size);
+            Image last = images.get(images.size() - 1);
+            LocalDateTime lastValue = "createdAt".equals(sortField) ? last.getCreatedAt() : last.getUpdatedAt();
+            nextCursor = CursorUtil.encode(sortField, ascending, lastValue, last.getId());
         }
 
-        return imagePage.map(ImageDTO::fromEntity);
+        List<ImageDTO> content = images.stream()
+                .map(ImageDTO::fromEntity)
+                .collect(Collectors.toList());
+        return PageResponse.ofCursor(content, size, nextCursor);
     }
 
     @Override
@@ -262,7 +480,7 @@ public class ImageServiceImpl implements ImageService {
     public ImageDTO getImageByFileName(String fileName) {
         log.debug("根据文件名获取图片 - fileName: {}", fileName);
         
-        Image image = imageRepository.findByFileName(fileName);
+        Image image = imageRepository.findFirstByFileNameOrderByCreatedAtAsc(fileName);
         if (image == null) {
             throw new RuntimeException("图片不存在: " + fileName);
         }
@@ -274,7 +492,7 @@ public class ImageServiceImpl implements ImageService {
     public ImageDTO getImageByFilePath(String filePath) {
         log.debug("根据文件路径获取图片 - filePath: {}", filePath);
         
-        Image image = imageRepository.findByFilePath(filePath);
+        Image image = imageRepository.findFirstByFilePathOrderByCreatedAtAsc(filePath);
         if (image == null) {
             throw new RuntimeException("图片不存在: " + filePath);
         }
@@ -299,11 +517,33 @@ public class ImageServiceImpl implements ImageService {
     }
 
     // 私有辅助方法
-    private String generateFileName(String originalName) {
-        String extension = getFileExtension(originalName);
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS"));
-        String uuid = UUID.randomUUID().toString().replace("-", "").substring(0, 8);
-        return timestamp + "_" + uuid + extension;
+
+    /**
+     * 设置存储的文件信息：复用已有文件时沿用已有记录的尺寸和已生成的变体，否则读取文件头获取尺寸（不解码像素）
+     */
+    private void applyStoredFile(Image image, ImageStorage.Stored stored) throws IOException {
+        image.setContentHash(stored.getContentHash());
+        image.setFilePath(stored.getFilePath());
+        image.setFileName(stored.getFilePath().substring(stored.getFilePath().lastIndexOf('/') + 1));
+        image.setFileSize(stored.getSize());
+
+        Image source = stored.getSource();
+        if (source != null) {
+            image.setWidth(source.getWidth());
+            image.setHeight(source.getHeight());
+            String variantStatus = source.getVariantStatus();
+            if (ImageVariantPipeline.READY.equals(variantStatus) || ImageVariantPipeline.SKIPPED.equals(variantStatus)) {
+                image.setVariantStatus(variantStatus);
+                image.setThumbnailPath(source.getThumbnailPath());
+                image.setCompressedPath(source.getCompressedPath());
+                return;
+            }
+        } else {
+            ImageProbe.Info info = ImageProbe.probe(Paths.get(uploadPath, stored.getFilePath()));
+            image.setWidth(info != null ? info.getDisplayWidth() : 0);
+            image.setHeight(info != null ? info.getDisplayHeight() : 0);
+        }
+        image.setVariantStatus(variantPipeline.isEnabled() ? ImageVariantPipeline.PENDING : null);
     }
 
     private String getFileExtension(String fileName) {
@@ -314,34 +554,9 @@ public class ImageServiceImpl implements ImageService {
         return lastDotIndex > 0 ? fileName.substring(lastDotIndex) : "";
     }
 
-    private String saveFile(MultipartFile file, String fileName) throws IOException {
-        // 创建按日期分组的目录
-        String dateDir = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
-        Path uploadDir = Paths.get(uploadPath, dateDir);
-        Files.createDirectories(uploadDir);
-
-        // 保存文件
-        Path filePath = uploadDir.resolve(fileName);
-        Files.copy(file.getInputStream(), filePath);
-
-        return dateDir + "/" + fileName;
-    }
-
-    private String saveBase64File(byte[] data, String fileName) throws IOException {
-        // 创建按日期分组的目录
-        String dateDir = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
-        Path uploadDir = Paths.get(uploadPath, dateDir);
-        Files.createDirectories(uploadDir);
-
-        // 保存文件
-        Path filePath = uploadDir.resolve(fileName);
-        Files.write(filePath, data);
-
-        return dateDir + "/" + fileName;
-    }
-
     private Sort buildSort(String sortBy, String sortOrder) {
-        if (StringUtils.isBlank(sortBy)) {
+        // uploadTime 为接口层字段名，对应实体的 createdAt
+        if (StringUtils.isBlank(sortBy) || "uploadTime".equals(sortBy)) {
             sortBy = "createdAt";
         }
         
@@ -393,29 +608,87 @@ public class ImageServiceImpl implements ImageService {
     @Override
     @Transactional
     public ImageDTO updateImage(String id, ImageDTO imageDTO) {
-        // TODO: 实现图片信息更新
-        throw new RuntimeException("功能待实现");
+        log.debug("更新图片信息 - id: {}", id);
+
+        Image image = imageRepository.findById(id).orElse(null);
+        if (image == null) {
+            return null;
+        }
+
+        if (imageDTO.getDescription() != null) {
+            image.setDescription(imageDTO.getDescription());
+        }
+        if (imageDTO.getTags() != null) {
+            List<String> tags = TagUtil.normalize(imageDTO.getTags());
+            image.setTags(TagUtil.toJson(tags));
+            tagService.syncTags(TagLink.IMAGE, id, tags);
+        }
+
+        Image savedImage = imageRepository.save(image);
+        TransactionHooks.afterCommit(() -> countCache.markStale(CountCache.IMAGES));
+        log.info("图片信息更新成功 - id: {}", id);
+        return ImageDTO.fromEntity(savedImage);
     }
 
     @Override
     @Transactional
     public void deleteImage(String id) {
-        // TODO: 实现逻辑删除
-        throw new RuntimeException("功能待实现");
+        log.debug("删除图片 - id: {}", id);
+
+        Image image = imageRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("图片不存在: " + id));
+        // 逻辑删除的图片仍然引用文件
+        image.setStatus("deleted");
+        imageRepository.save(image);
+        TransactionHooks.afterCommit(() -> {
+            renderCache.evict(id);
+            countCache.markStale(CountCache.IMAGES);
+        });
+        log.info("图片删除成功 - id: {}", id);
     }
 
     @Override
     @Transactional
     public void physicalDeleteImage(String id) {
-        // TODO: 实现物理删除
-        throw new RuntimeException("功能待实现");
+        log.debug("物理删除图片 - id: {}", id);
+
+        Image image = imageRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("图片不存在: " + id));
+        imageRepository.delete(image);
+        tagService.removeTags(TagLink.IMAGE, Collections.singletonList(id));
+        // 提交后释放文件引用，最后一条记录删除时才删除文件
+        TransactionHooks.afterCommit(() -> {
+            imageStorage.release(image);
+            renderCache.evict(id);
+            countCache.markStale(CountCache.IMAGES);
+        });
+        log.info("图片物理删除成功 - id: {}", id);
     }
 
     @Override
     @Transactional
     public Map<String, Object> batchDeleteImages(List<String> ids, Boolean physical) {
-        // TODO: 实现批量删除
-        throw new RuntimeException("功能待实现");
+        log.debug("批量删除图片 - ids: {}, physical: {}", ids, physical);
+
+        int deletedCount = 0;
+        List<String> failedIds = new ArrayList<>();
+        for (String id : new LinkedHashSet<>(ids)) {
+            if (!imageRepository.existsById(id)) {
+                failedIds.add(id);
+                continue;
+            }
+            if (Boolean.TRUE.equals(physical)) {
+                physicalDeleteImage(id);
+            } else {
+                deleteImage(id);
+            }
+            deletedCount++;
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("deletedCount", deletedCount);
+        result.put("failedIds", failedIds);
+        return result;
     }
 
     @Override
@@ -423,8 +696,32 @@ public class ImageServiceImpl implements ImageService {
                                           String mimeType, Long minSize, Long maxSize,
                                           Integer minWidth, Integer maxWidth, Integer minHeight, Integer maxHeight,
                                           LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
-        // TODO: 实现高级搜索
-        throw new RuntimeException("功能待实现");
+        log.debug("搜索图片 - keyword: {}, searchIn: {}, mimeType: {}", keyword, searchIn, mimeType);
+
+        long startTime = System.currentTimeMillis();
+
+        ImageFilter filter = new ImageFilter();
+        filter.setKeyword(keyword);
+        filter.setSearchIn(searchIn);
+        filter.setMimeType(mimeType);
+        filter.setMinSize(minSize);
+        filter.setMaxSize(maxSize);
+        filter.setMinWidth(minWidth);
+        filter.setMaxWidth(maxWidth);
+        filter.setMinHeight(minHeight);
+        filter.setMaxHeight(maxHeight);
+        filter.setStartDate(startDate);
+        filter.setEndDate(endDate);
+        filter.setStatus("active");
+        Page<Image> imagePage = imageRepository.findByFilter(filter, pageable);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("images", imagePage.getContent().stream()
+                .map(ImageDTO::fromEntity)
+                .collect(Collectors.toList()));
+        result.put("total", imagePage.getTotalElements());
+        result.put("searchTime", System.currentTimeMillis() - startTime);
+        return result;
     }
 
     @Override
@@ -440,19 +737,125 @@ public class ImageServiceImpl implements ImageService {
 
     @Override
     public List<String> getAllTags() {
-        return imageRepository.findAllTags();
+        return tagService.getTagNames(TagLink.IMAGE);
     }
 
     @Override
     public String generateThumbnail(String imageId, Integer width, Integer height) {
-        // TODO: 实现缩略图生成
-        throw new RuntimeException("功能待实现");
+        Image image = imageRepository.findById(imageId)
+                .orElseThrow(() -> new RuntimeException("图片不存在: " + imageId));
+        int targetWidth = width != null ? width : imageConfig.getThumbnail().getWidth();
+        int targetHeight = height != null ? height : imageConfig.getThumbnail().getHeight();
+        if (targetWidth <= 0 || targetHeight <= 0) {
+            throw new IllegalArgumentException("缩略图尺寸必须大于0");
+        }
+        try {
+            String thumbnailPath = variantPipeline.generateThumbnail(image, targetWidth, targetHeight);
+            if (thumbnailPath == null) {
+                throw new IllegalArgumentException("不支持的图片格式: " + image.getMimeType());
+            }
+            imageRepository.updateVariants(imageId, ImageVariantPipeline.READY, thumbnailPath, image.getCompressedPath());
+            return thumbnailPath;
+        } catch (IOException e) {
+            throw new RuntimeException("缩略图生成失败: " + e.getMessage());
+        }
     }
 
     @Override
     public String compressImage(String imageId, Integer quality) {
-        // TODO: 实现图片压缩
-        throw new RuntimeException("功能待实现");
+        Image image = imageRepository.findById(imageId)
+                .orElseThrow(() -> new RuntimeException("图片不存在: " + imageId));
+        if (quality != null && (quality <= 0 || quality > 100)) {
+            throw new IllegalArgumentException("压缩质量必须在1-100之间");
+        }
+        double targetQuality = quality != null ? quality / 100.0 : imageConfig.getCompression().getQuality();
+        try {
+            String compressedPath = variantPipeline.generateCompressed(image, targetQuality);
+            if (compressedPath == null) {
+                throw new IllegalArgumentException("不支持的图片格式: " + image.getMimeType());
+            }
+            imageRepository.updateVariants(imageId, ImageVariantPipeline.READY, image.getThumbnailPath(), compressedPath);
+            return compressedPath;
+        } catch (IOException e) {
+            throw new RuntimeException("图片压缩失败: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Map<String, Object> getImageVariants(String id) {
+        Image image = imageRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("图片不存在: " + id));
+        return variantInfo(image);
+    }
+
+    @Override
+    public Map<String, Object> regenerateImageVariants(String id) {
+        Image image = imageRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("图片不存在: " + id));
+        if (!variantPipeline.isEnabled()) {
+            throw new IllegalStateException("缩略图和压缩均未启用");
+        }
+        imageRepository.updateVariants(id, ImageVariantPipeline.PENDING, image.getThumbnailPath(), image.getCompressedPath());
+        image.setVariantStatus(ImageVariantPipeline.PENDING);
+        variantPipeline.submit(id);
+        return variantInfo(image);
+    }
+
+    @Override
+    public ImageRenderCache.Rendered renderImage(String id, Integer width, Integer height, String fit, Integer quality) {
+        ImageConfig.Render render = imageConfig.getRender();
+        if (width == null && height == null) {
+            throw new IllegalArgumentException("宽度和高度至少指定一个");
+        }
+        if (width != null && !render.getWidths().contains(width)) {
+            throw new IllegalArgumentException("不支持的宽度: " + width + "，允许: " + render.getWidths());
+        }
+        if (height != null && !render.getHeights().contains(height)) {
+            throw new IllegalArgumentException("不支持的高度: " + height + "，允许: " + render.getHeights());
+        }
+        int targetQuality = quality != null ? quality : render.getDefaultQuality();
+        if (!render.getQualities().contains(targetQuality)) {
+            throw new IllegalArgumentException("不支持的压缩质量: " + targetQuality + "，允许: " + render.getQualities());
+        }
+        String targetFit = StringUtils.isBlank(fit) ? ImageRenderCache.FIT_CONTAIN : fit.toLowerCase();
+        if (!ImageRenderCache.FIT_CONTAIN.equals(targetFit) && !ImageRenderCache.FIT_COVER.equals(targetFit)) {
+            throw new IllegalArgumentException("不支持的缩放方式: " + fit);
+        }
+        if (ImageRenderCache.FIT_COVER.equals(targetFit) && (width == null || height == null)) {
+            throw new IllegalArgumentException("cover 缩放需要同时指定宽度和高度");
+        }
+
+        Image image = imageRepository.findById(id)
+                .filter(found -> "active".equals(found.getStatus()))
+                .orElseThrow(() -> new RuntimeException("图片不存在: " + id));
+        try {
+            return renderCache.render(image, width != null ? width : 0, height != null ? height : 0,
+                    targetFit, targetQuality);
+        } catch (IOException e) {
+            throw new UncheckedIOException("图片缩放失败: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Map<String, Object> getRenderCacheStats() {
+        return renderCache.getStats();
+    }
+
+    /**
+     * 变体状态信息，未生成的变体回退到原图
+     */
+    private Map<String, Object> variantInfo(Image image) {
+        String thumbnailPath = image.getThumbnailPath() != null ? image.getThumbnailPath() : image.getFilePath();
+        String compressedPath = image.getCompressedPath() != null ? image.getCompressedPath() : image.getFilePath();
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("id", image.getId());
+        info.put("status", image.getVariantStatus());
+        info.put("ready", ImageVariantPipeline.READY.equals(image.getVariantStatus()));
+        info.put("thumbnailPath", thumbnailPath);
+        info.put("thumbnailUrl", generatePreviewUrl(thumbnailPath));
+        info.put("compressedPath", compressedPath);
+        info.put("compressedUrl", generatePreviewUrl(compressedPath));
+        return info;
     }
 
     @Override
@@ -494,4 +897,19 @@ public class ImageServiceImpl implements ImageService {
         // TODO: 实现文件同步
         throw new RuntimeException("功能待实现");
     }
-}
\ No newline at end of file
+
+    /**
+     * 已存储文件、待插入记录的上传
+     */
+    private static final class PreparedUpload {
+        private final int index;
+        private final Image image;
+        private final ImageStorage.Stored stored;
+
+        private PreparedUpload(int index, Image image, ImageStorage.Stored stored) {
+            this.index = index;
+            this.image = image;
+            this.stored = stored;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.chengzhang.service.impl;
+
+import com.chengzhang.entity.Tag;
+import com.chengzhang.entity.TagLink;
+import com.chengzhang.repository.ArticleRepository;
+import com.chengzhang.repository.ImageRepository;
+import com.chengzhang.repository.TagLinkRepository;
+import com.chengzhang.repository.TagRepository;
+import com.chengzhang.service.TagService;
+import com.chengzhang.util.TagUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 标签服务实现类
+ * <p>
+ * 标签字典和关联均使用 INSERT IGNORE 写入，并发写入相同标签时依赖唯一索引去重。
+ * 标签名称比较遵循数据库排序规则（不区分大小写）。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TagServiceImpl implements TagService {
+
+    // 重建时每批处理的实体数量
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private static final String INSERT_TAG_SQL = "INSERT IGNORE INTO tags (name, created_at) VALUES (?, NOW())";
+    private static final String INSERT_LINK_SQL = "INSERT IGNORE INTO entity_tags (entity_type, entity_id, tag_id) VALUES (?, ?, ?)";
+
+    private final TagRepository tagRepository;
+    private final TagLinkRepository tagLinkRepository;
+    private final ArticleRepository articleRepository;
+    private final ImageRepository imageRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void syncTags(String entityType, String entityId, List<String> tags) {
+        Map<String, Long> tagIds = resolveTagIds(TagUtil.normalize(tags));
+        Set<Long> desired = new HashSet<>(tagIds.values());
+
+        Set<Long> current = tagLinkRepository.findByEntityTypeAndEntityId(entityType, entityId).stream()
+                .map(TagLink::getTagId)
+                .collect(Collectors.toSet());
+
+        Set<Long> removed = new HashSet<>(current);
+        removed.removeAll(desired);
+        if (!removed.isEmpty()) {
+            tagLinkRepository.deleteByTagIds(entityType, entityId, removed);
+        }
+
+        List<Object[]> added = desired.stream()
+                .filter(tagId -> !current.contains(tagId))
+                .map(tagId -> new Object[]{entityType, entityId, tagId})
+                .collect(Collectors.toList());
+        if (!added.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_LINK_SQL, added);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void linkTags(String entityType, Map<String, List<String>> entityTags) {
+        Map<String, List<String>> normalized = new LinkedHashMap<>();
+        Set<String> names = new LinkedHashSet<>();
+        entityTags.forEach((entityId, tags) -> {
+            List<String> list = TagUtil.normalize(tags);
+            if (!list.isEmpty()) {
+                normalized.put(entityId, list);
+                names.addAll(list);
+            }
+        });
+        if (names.isEmpty()) {
+            return;
+        }
+
+        Map<String, Long> tagIds = resolveTagIds(names);
+        List<Object[]> links = new ArrayList<>();
+        normalized.forEach((entityId, tags) -> tags.stream()
+                .map(tagIds::get)
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(tagId -> links.add(new Object[]{entityType, entityId, tagId})));
+        jdbcTemplate.batchUpdate(INSERT_LINK_SQL, links);
+    }
+
+    @Override
+    @Transactional
+    public void removeTags(String entityType, Collection<String> entityIds) {
+        if (entityIds == null || entityIds.isEmpty()) {
+            return;
+        }
+        tagLinkRepository.deleteByEntityIds(entityType, entityIds);
+    }
+
+    @Override
+    @Transactional
+    public void removeAll(String entityType) {
+        tagLinkRepository.deleteByEntityType(entityType);
+    }
+
+    @Override
+    public List<Map<String, Object>> getTagCounts(String entityType) {
+        return tagLinkRepository.countByTag(entityType).stream()
+                .map(row -> {
+                    Map<String, Object> tagStat = new HashMap<>();
+                    tagStat.put("tag", row[0]);
+                    tagStat.put("count", row[1]);
+                    return tagStat;
+                })
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<String> getTagNames(String entityType) {
+        return tagLinkRepository.countByTag(entityType).stream()
+                .map(row -> (String) row[0])
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public Map<String, Object> rebuild() {
+        log.info("开始重建标签索引");
+        long startTime = System.currentTimeMillis();
+
+        tagLinkRepository.deleteByEntityType(TagLink.ARTICLE);
+        tagLinkRepository.deleteByEntityType(TagLink.IMAGE);
+
+        // 按ID分批读取标签列（写入关联与读取共用连接，不能使用流式结果集）
+        long articles = 0;
+        String lastId = "";
+        List<Object[]> rows;
+        do {
+            rows = articleRepository.findIdAndTagsAfter(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            linkTags(TagLink.ARTICLE, toEntityTags(rows));
+            articles += rows.size();
+            if (!rows.isEmpty()) {
+                lastId = (String) rows.get(rows.size() - 1)[0];
+            }
+        } while (rows.size() == REBUILD_BATCH_SIZE);
+
+        long images = 0;
+        lastId = "";
+        do {
+            rows = imageRepository.findIdAndTagsAfter(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            linkTags(TagLink.IMAGE, toEntityTags(rows));
+            images += rows.size();
+            if (!rows.isEmpty()) {
+                lastId = (String) rows.get(rows.size() - 1)[0];
+            }
+        } while (rows.size() == REBUILD_BATCH_SIZE);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("articles", articles);
+        result.put("images", images);
+        result.put("tags", tagRepository.count());
+        result.put("elapsedMs", System.currentTimeMillis() - startTime);
+        log.info("标签索引重建完成 - 文章: {}, 图片: {}", articles, images);
+        return result;
+    }
+
+    private static Map<String, List<String>> toEntityTags(List<Object[]> rows) {
+        Map<String, List<String>> entityTags = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            entityTags.put((String) row[0], TagUtil.parse((String) row[1]));
+        }
+        return entityTags;
+    }
+
+    /**
+     * 获取标签ID，不存在的标签自动创建
+     *
+     * @return 标签名称（不区分大小写）到ID的映射
+     */
+    private Map<String, Long> resolveTagIds(Collection<String> names) {
+        Map<String, Long> tagIds = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        if (names.isEmpty()) {
+            return tagIds;
+        }
+        for (Tag tag : tagRepository.findByNameIn(names)) {
+            tagIds.put(tag.getName(), tag.getId());
+        }
+
+        List<Object[]> missing = names.stream()
+                .filter(name -> !tagIds.containsKey(name))
+                .map(name -> new Object[]{name})
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_TAG_SQL, missing);
+            List<String> missingNames = missing.stream()
+                    .map(row -> (String) row[0])
+                    .collect(Collectors.toList());
+            for (Tag tag : tagRepository.findByNameIn(missingNames)) {
+                tagIds.put(tag.getName(), tag.getId());
+            }
+        }
+        return tagIds;
+    }
+}
@@ -0,0 +1,219 @@
+package com.chengzhang.stats;
+
+import com.chengzhang.dto.ArticleListItem;
+import com.chengzhang.entity.Article;
+import com.chengzhang.repository.ArticleRepository;
+import com.chengzhang.util.TagUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 文章统计聚合
+ * <p>
+ * 在内存中维护各状态文章数、总字数、总阅读时间和标签频次。文章增删改在事务提交后
+ * 按新旧数据的差值增量更新，读取统计信息无需扫描文章表。首次读取时从数据库构建，
+ * 数据出现偏差时可通过 {@link #rebuild()} 重新构建。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticleStatisticsAggregate {
+
+    private final ArticleRepository articleRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<String, Long> statusCounts = new HashMap<>();
+    private final Map<String, Long> tagCounts = new HashMap<>();
+    private long totalArticles;
+    private long totalWords;
+    private long totalReadTime;
+    private LocalDateTime lastUpdated;
+    private Map<String, Object> cachedView;
+    private boolean ready = false;
+
+    /**
+     * 获取统计信息，尚未构建时先从数据库构建
+     *
+     * @return 统计信息
+     */
+    public synchronized Map<String, Object> getStatistics() {
+        if (!ready) {
+            rebuild();
+        }
+        if (cachedView == null) {
+            cachedView = buildView();
+        }
+        return cachedView;
+    }
+
+    /**
+     * 从数据库重新构建统计信息
+     */
+    public synchronized void rebuild() {
+        long startTime = System.currentTimeMillis();
+        statusCounts.clear();
+        tagCounts.clear();
+        totalArticles = 0;
+        totalWords = 0;
+        totalReadTime = 0;
+
+        for (Object[] row : articleRepository.aggregateByStatus()) {
+            long count = ((Number) row[1]).longValue();
+            statusCounts.put((String) row[0], count);
+            totalArticles += count;
+            totalWords += ((Number) row[2]).longValue();
+            totalReadTime += ((Number) row[3]).longValue();
+        }
+
+        // 只流式读取标签列，不加载文章正文
+        transactionTemplate.execute(status -> {
+            try (Stream<String> tags = articleRepository.streamAllTags()) {
+                tags.forEach(json -> TagUtil.parse(json).forEach(tag -> tagCounts.merge(tag, 1L, Long::sum)));
+            }
+            return null;
+        });
+
+        lastUpdated = LocalDateTime.now();
+        cachedView = null;
+        ready = true;
+        log.info("文章统计构建完成 - 文章数: {}, 标签数: {}, 耗时: {}ms",
+                totalArticles, tagCounts.size(), System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * 按新旧数据的差值更新统计，应在事务提交后调用
+     *
+     * @param before 变更前的数据（新增时为null）
+     * @param after  变更后的数据（删除时为null）
+     */
+    public synchronized void apply(Contribution before, Contribution after) {
+        if (!ready) {
+            // 尚未构建，首次读取时会从数据库完整构建
+            return;
+        }
+        if (before != null) {
+            add(before, -1);
+        }
+        if (after != null) {
+            add(after, 1);
+        }
+        lastUpdated = LocalDateTime.now();
+        cachedView = null;
+    }
+
+    /**
+     * 清空统计（文章数据被全部清空时调用）
+     */
+    public synchronized void clear() {
+        statusCounts.clear();
+        tagCounts.clear();
+        totalArticles = 0;
+        totalWords = 0;
+        totalReadTime = 0;
+        lastUpdated = LocalDateTime.now();
+        cachedView = null;
+        ready = true;
+    }
+
+    private void add(Contribution contribution, int sign) {
+        totalArticles += sign;
+        totalWords += sign * (long) contribution.wordCount;
+        totalReadTime += sign * (long) contribution.readTime;
+        decrementOrIncrement(statusCounts, contribution.status, sign);
+        for (String tag : contribution.tags) {
+            decrementOrIncrement(tagCounts, tag, sign);
+        }
+    }
+
+    private static void decrementOrIncrement(Map<String, Long> counts, String key, int sign) {
+        long value = counts.getOrDefault(key, 0L) + sign;
+        if (value <= 0) {
+            counts.remove(key);
+        } else {
+            counts.put(key, value);
+        }
+    }
+
+    private Map<String, Object> buildView() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalArticles", totalArticles);
+        stats.put("publishedArticles", statusCounts.getOrDefault("published", 0L));
+        stats.put("draftArticles", statusCounts.getOrDefault("draft", 0L));
+        stats.put("totalWords", totalWords);
+        stats.put("totalReadTime", totalReadTime);
+        stats.put("lastUpdated", lastUpdated);
+        stats.put("statusStats", new HashMap<>(statusCounts));
+
+        List<Map<String, Object>> tagsStatsList = tagCounts.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue(), a.getValue()))
+                .map(entry -> {
+                    Map<String, Object> tagStat = new HashMap<>();
+                    tagStat.put("tag", entry.getKey());
+                    tagStat.put("count", entry.getValue());
+                    return tagStat;
+                })
+                .collect(Collectors.toList());
+        stats.put("tagsStats", tagsStatsList);
+        return Collections.unmodifiableMap(stats);
+    }
+
+    /**
+     * 单篇文章对统计的贡献
+     */
+    public static class Contribution {
+        private final String status;
+        private final int wordCount;
+        private final int readTime;
+        private final List<String> tags;
+
+        private Contribution(String status, Integer wordCount, Integer readTime, List<String> tags) {
+            this.status = status;
+            this.wordCount = wordCount != null ? wordCount : 0;
+            this.readTime = readTime != null ? readTime : 0;
+            // 与数据库构建保持一致：同一篇文章的重复标签分别计数
+            this.tags = tags != null ? new ArrayList<>(tags) : Collections.<String>emptyList();
+        }
+
+        /**
+         * 从文章实体获取贡献（需在实体被修改前调用）
+         *
+         * @param article 文章实体
+         * @return 贡献
+         */
+        public static Contribution of(Article article) {
+            return new Contribution(article.getStatus(), article.getWordCount(), article.getReadTime(),
+                    article.getTagList());
+        }
+
+        /**
+         * 从文章列表投影获取贡献
+         *
+         * @param item 文章列表投影
+         * @return 贡献
+         */
+        public static Contribution of(ArticleListItem item) {
+            return new Contribution(item.getStatus(), item.getWordCount(), item.getReadTime(),
+                    item.getTagList());
+        }
+
+        /**
+         * 获取修改状态后的贡献
+         *
+         * @param status 新状态
+         * @return 贡献
+         */
+        public Contribution withStatus(String status) {
+            return new Contribution(status, wordCount, readTime, tags);
+        }
+    }
+}
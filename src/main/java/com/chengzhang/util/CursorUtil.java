@@ -0,0 +1,89 @@
+package com.chengzhang.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 游标分页工具类
+ * <p>
+ * 游标对客户端不透明，内容为排序字段、排序方向、上一页最后一条记录的排序值和ID。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+public class CursorUtil {
+
+    private static final String SEPARATOR = "|";
+
+    private CursorUtil() {
+    }
+
+    /**
+     * 生成游标
+     *
+     * @param sortField 排序字段
+     * @param ascending 是否升序
+     * @param value     最后一条记录的排序值
+     * @param id        最后一条记录的ID
+     * @return 游标字符串
+     */
+    public static String encode(String sortField, boolean ascending, LocalDateTime value, String id) {
+        String raw = sortField + SEPARATOR + (ascending ? "asc" : "desc") + SEPARATOR + value + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标，并校验游标与当前排序条件一致
+     *
+     * @param cursor    游标字符串，为空表示第一页
+     * @param sortField 当前排序字段
+     * @param ascending 当前是否升序
+     * @return 游标内容，第一页返回null
+     */
+    public static Cursor decode(String cursor, String sortField, boolean ascending) {
+        if (cursor == null || cursor.trim().isEmpty()) {
+            return null;
+        }
+        String[] parts;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            parts = raw.split("\\|", 4);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("无效的游标");
+        }
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("无效的游标");
+        }
+        if (!parts[0].equals(sortField) || !parts[1].equals(ascending ? "asc" : "desc")) {
+            throw new IllegalArgumentException("游标与排序条件不匹配");
+        }
+        try {
+            return new Cursor(LocalDateTime.parse(parts[2]), parts[3]);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("无效的游标");
+        }
+    }
+
+    /**
+     * 游标内容
+     */
+    public static class Cursor {
+        private final LocalDateTime value;
+        private final String id;
+
+        public Cursor(LocalDateTime value, String id) {
+            this.value = value;
+            this.id = id;
+        }
+
+        public LocalDateTime getValue() {
+            return value;
+        }
+
+        public String getId() {
+            return id;
+        }
+    }
+}
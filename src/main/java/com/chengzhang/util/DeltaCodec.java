@@ -0,0 +1,175 @@
+package com.chengzhang.util;
+
+import java.io.ByteArrayOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 二进制差量编解码工具类
+ * <p>
+ * 以基准内容中按固定块长对齐的块建立哈希索引，在目标内容上滚动计算哈希查找匹配块，并向两侧延伸，
+ * 输出 COPY（基准偏移、长度）与 ADD（字面字节）指令序列。长度和偏移使用变长整数编码。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+public class DeltaCodec {
+
+    private static final int BLOCK_SIZE = 16;
+    private static final int HASH_BASE = 31;
+    private static final byte OP_COPY = 0;
+    private static final byte OP_ADD = 1;
+
+    private DeltaCodec() {
+    }
+
+    /**
+     * 生成差量
+     *
+     * @param base   基准内容
+     * @param target 目标内容
+     * @return 差量数据
+     */
+    public static byte[] encode(byte[] base, byte[] target) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(32, target.length / 8));
+        writeVarint(out, target.length);
+
+        Map<Integer, Integer> index = new HashMap<>();
+        for (int i = 0; i + BLOCK_SIZE <= base.length; i += BLOCK_SIZE) {
+            index.putIfAbsent(hash(base, i), i);
+        }
+
+        int highPower = 1;
+        for (int i = 1; i < BLOCK_SIZE; i++) {
+            highPower *= HASH_BASE;
+        }
+
+        int literalStart = 0;
+        int i = 0;
+        int h = target.length >= BLOCK_SIZE ? hash(target, 0) : 0;
+        while (i + BLOCK_SIZE <= target.length) {
+            Integer candidate = index.isEmpty() ? null : index.get(h);
+            if (candidate != null && regionMatches(base, candidate, target, i)) {
+                // 向前延伸到未输出的字面内容，向后尽量延长匹配
+                int baseStart = candidate;
+                int targetStart = i;
+                while (baseStart > 0 && targetStart > literalStart && base[baseStart - 1] == target[targetStart - 1]) {
+                    baseStart--;
+                    targetStart--;
+                }
+                int baseEnd = candidate + BLOCK_SIZE;
+                int targetEnd = i + BLOCK_SIZE;
+                while (baseEnd < base.length && targetEnd < target.length && base[baseEnd] == target[targetEnd]) {
+                    baseEnd++;
+                    targetEnd++;
+                }
+                writeAdd(out, target, literalStart, targetStart);
+                out.write(OP_COPY);
+                writeVarint(out, baseStart);
+                writeVarint(out, baseEnd - baseStart);
+                i = targetEnd;
+                literalStart = targetEnd;
+                if (i + BLOCK_SIZE <= target.length) {
+                    h = hash(target, i);
+                }
+                continue;
+            }
+            if (i + BLOCK_SIZE < target.length) {
+                h = (h - (target[i] & 0xff) * highPower) * HASH_BASE + (target[i + BLOCK_SIZE] & 0xff);
+            }
+            i++;
+        }
+        writeAdd(out, target, literalStart, target.length);
+        return out.toByteArray();
+    }
+
+    /**
+     * 应用差量还原目标内容
+     *
+     * @param base  基准内容
+     * @param delta 差量数据
+     * @return 目标内容
+     */
+    public static byte[] decode(byte[] base, byte[] delta) {
+        int[] position = {0};
+        int length = readVarint(delta, position);
+        byte[] target = new byte[length];
+        int written = 0;
+        while (position[0] < delta.length) {
+            byte op = delta[position[0]++];
+            if (op == OP_COPY) {
+                int offset = readVarint(delta, position);
+                int count = readVarint(delta, position);
+                if (offset < 0 || offset + count > base.length || written + count > length) {
+                    throw new IllegalArgumentException("差量数据与基准内容不匹配");
+                }
+                System.arraycopy(base, offset, target, written, count);
+                written += count;
+            } else if (op == OP_ADD) {
+                int count = readVarint(delta, position);
+                if (position[0] + count > delta.length || written + count > length) {
+                    throw new IllegalArgumentException("差量数据已损坏");
+                }
+                System.arraycopy(delta, position[0], target, written, count);
+                position[0] += count;
+                written += count;
+            } else {
+                throw new IllegalArgumentException("差量数据已损坏");
+            }
+        }
+        if (written != length) {
+            throw new IllegalArgumentException("差量数据已损坏");
+        }
+        return target;
+    }
+
+    private static int hash(byte[] data, int offset) {
+        int h = 0;
+        for (int i = offset; i < offset + BLOCK_SIZE; i++) {
+            h = h * HASH_BASE + (data[i] & 0xff);
+        }
+        return h;
+    }
+
+    private static boolean regionMatches(byte[] base, int baseOffset, byte[] target, int targetOffset) {
+        for (int i = 0; i < BLOCK_SIZE; i++) {
+            if (base[baseOffset + i] != target[targetOffset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeAdd(ByteArrayOutputStream out, byte[] data, int start, int end) {
+        if (end <= start) {
+            return;
+        }
+        out.write(OP_ADD);
+        writeVarint(out, end - start);
+        out.write(data, start, end - start);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7f) != 0) {
+            out.write((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(byte[] data, int[] position) {
+        int value = 0;
+        int shift = 0;
+        while (true) {
+            if (position[0] >= data.length || shift > 28) {
+                throw new IllegalArgumentException("差量数据已损坏");
+            }
+            byte b = data[position[0]++];
+            value |= (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+        }
+    }
+}
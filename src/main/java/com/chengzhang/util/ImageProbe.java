@@ -0,0 +1,414 @@
+package com.chengzhang.util;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * 读取图片文件头获取尺寸的工具类
+ * <p>
+ * 支持 JPEG（SOF 段，含 EXIF 方向）、PNG（IHDR）、GIF、WebP（VP8/VP8L/VP8X）和 BMP，只读取文件开头的少量字节，
+ * 不解码像素。其他格式回退到 ImageIO 读取器的文件头信息，同样不解码像素。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+public class ImageProbe {
+
+    /**
+     * 查找 JPEG SOF 段时最多读取的字节数（EXIF、ICC 等 APP 段会被跳过而不读入内存）
+     */
+    private static final long MAX_SCAN_BYTES = 1024 * 1024;
+
+    /**
+     * EXIF 段最多读入的字节数（方向标签位于 IFD0，无需读取缩略图）
+     */
+    private static final int MAX_EXIF_BYTES = 4096;
+
+    private ImageProbe() {
+    }
+
+    /**
+     * 读取图片文件的尺寸
+     *
+     * @param file 图片文件
+     * @return 图片信息，无法识别时返回null
+     * @throws IOException 读取失败
+     */
+    public static Info probe(Path file) throws IOException {
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(file), 8192)) {
+            Info info = probe(input);
+            if (info != null) {
+                return info;
+            }
+        }
+        return probeWithImageIO(file.toFile());
+    }
+
+    /**
+     * 读取图片数据的尺寸
+     *
+     * @param data 图片数据
+     * @return 图片信息，无法识别时返回null
+     * @throws IOException 读取失败
+     */
+    public static Info probe(byte[] data) throws IOException {
+        Info info = probe(new ByteArrayInputStream(data));
+        return info != null ? info : probeWithImageIO(new ByteArrayInputStream(data));
+    }
+
+    /**
+     * 从输入流读取图片尺寸，只识别支持的格式，不关闭输入流
+     *
+     * @param input 输入流
+     * @return 图片信息，无法识别时返回null
+     * @throws IOException 读取失败
+     */
+    public static Info probe(InputStream input) throws IOException {
+        Bytes bytes = new Bytes(input);
+        try {
+            int b0 = bytes.u8();
+            int b1 = bytes.u8();
+            if (b0 == 0xFF && b1 == 0xD8) {
+                return probeJpeg(bytes);
+            }
+            if (b0 == 0x89 && b1 == 'P') {
+                return probePng(bytes);
+            }
+            if (b0 == 'G' && b1 == 'I') {
+                return probeGif(bytes);
+            }
+            if (b0 == 'R' && b1 == 'I') {
+                return probeWebp(bytes);
+            }
+            if (b0 == 'B' && b1 == 'M') {
+                return probeBmp(bytes);
+            }
+            return null;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    private static Info probeJpeg(Bytes bytes) throws IOException {
+        int orientation = 1;
+        while (bytes.count < MAX_SCAN_BYTES) {
+            int marker = bytes.u8();
+            if (marker != 0xFF) {
+                continue;
+            }
+            while (marker == 0xFF) {
+                marker = bytes.u8();
+            }
+            // 独立标记（RST、TEM）没有长度字段
+            if ((marker >= 0xD0 && marker <= 0xD7) || marker == 0x01 || marker == 0x00) {
+                continue;
+            }
+            if (marker == 0xD9 || marker == 0xDA) {
+                return null;
+            }
+            int length = bytes.u16be() - 2;
+            if (length < 0) {
+                return null;
+            }
+            if (isStartOfFrame(marker)) {
+                bytes.u8();
+                int height = bytes.u16be();
+                int width = bytes.u16be();
+                return new Info("jpeg", width, height, orientation);
+            }
+            if (marker == 0xE1 && length > 14) {
+                byte[] segment = bytes.read(Math.min(length, MAX_EXIF_BYTES));
+                bytes.skip(length - segment.length);
+                orientation = exifOrientation(segment);
+            } else {
+                bytes.skip(length);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * SOF0~SOF15，排除 DHT(C4)、JPG(C8)、DAC(CC)
+     */
+    private static boolean isStartOfFrame(int marker) {
+        return marker >= 0xC0 && marker <= 0xCF && marker != 0xC4 && marker != 0xC8 && marker != 0xCC;
+    }
+
+    /**
+     * 读取 EXIF IFD0 中的方向标签（0x0112）
+     */
+    private static int exifOrientation(byte[] segment) {
+        if (segment.length < 14 || segment[0] != 'E' || segment[1] != 'x' || segment[2] != 'i' || segment[3] != 'f') {
+            return 1;
+        }
+        int tiff = 6;
+        boolean little = segment[tiff] == 'I';
+        int ifd = tiff + (int) uint32(segment, tiff + 4, little);
+        if (ifd < tiff || ifd + 2 > segment.length) {
+            return 1;
+        }
+        int entries = uint16(segment, ifd, little);
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > segment.length) {
+                break;
+            }
+            if (uint16(segment, entry, little) == 0x0112) {
+                int value = uint16(segment, entry + 8, little);
+                return value >= 1 && value <= 8 ? value : 1;
+            }
+        }
+        return 1;
+    }
+
+    private static Info probePng(Bytes bytes) throws IOException {
+        // 签名剩余6字节 + IHDR 长度4字节 + 类型4字节
+        bytes.skip(6);
+        bytes.skip(4);
+        if (bytes.u8() != 'I' || bytes.u8() != 'H' || bytes.u8() != 'D' || bytes.u8() != 'R') {
+            return null;
+        }
+        int width = (int) bytes.u32be();
+        int height = (int) bytes.u32be();
+        return new Info("png", width, height, 1);
+    }
+
+    private static Info probeGif(Bytes bytes) throws IOException {
+        if (bytes.u8() != 'F') {
+            return null;
+        }
+        bytes.skip(3);
+        int width = bytes.u16le();
+        int height = bytes.u16le();
+        return new Info("gif", width, height, 1);
+    }
+
+    private static Info probeWebp(Bytes bytes) throws IOException {
+        if (bytes.u8() != 'F' || bytes.u8() != 'F') {
+            return null;
+        }
+        bytes.skip(4);
+        if (bytes.u8() != 'W' || bytes.u8() != 'E' || bytes.u8() != 'B' || bytes.u8() != 'P') {
+            return null;
+        }
+        byte[] chunk = bytes.read(4);
+        String type = new String(chunk, StandardCharsets.US_ASCII);
+        bytes.skip(4);
+        switch (type) {
+            case "VP8 ": {
+                // 帧标记3字节 + 起始码 9D 01 2A
+                bytes.skip(3);
+                if (bytes.u8() != 0x9D || bytes.u8() != 0x01 || bytes.u8() != 0x2A) {
+                    return null;
+                }
+                int width = bytes.u16le() & 0x3FFF;
+                int height = bytes.u16le() & 0x3FFF;
+                return new Info("webp", width, height, 1);
+            }
+            case "VP8L": {
+                if (bytes.u8() != 0x2F) {
+                    return null;
+                }
+                long bits = bytes.u32le();
+                int width = (int) (bits & 0x3FFF) + 1;
+                int height = (int) ((bits >> 14) & 0x3FFF) + 1;
+                return new Info("webp", width, height, 1);
+            }
+            case "VP8X": {
+                bytes.skip(4);
+                int width = bytes.u24le() + 1;
+                int height = bytes.u24le() + 1;
+                return new Info("webp", width, height, 1);
+            }
+            default:
+                return null;
+        }
+    }
+
+    private static Info probeBmp(Bytes bytes) throws IOException {
+        // 文件头剩余12字节
+        bytes.skip(12);
+        long headerSize = bytes.u32le();
+        if (headerSize == 12) {
+            int width = bytes.u16le();
+            int height = bytes.u16le();
+            return new Info("bmp", width, height, 1);
+        }
+        int width = (int) bytes.u32le();
+        // 高度为负表示自上而下存储
+        int height = Math.abs((int) bytes.u32le());
+        return new Info("bmp", width, height, 1);
+    }
+
+    private static Info probeWithImageIO(Object source) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source)) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                return new Info(reader.getFormatName().toLowerCase(), reader.getWidth(0), reader.getHeight(0), 1);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static int uint16(byte[] data, int offset, boolean little) {
+        int a = data[offset] & 0xFF;
+        int b = data[offset + 1] & 0xFF;
+        return little ? (b << 8) | a : (a << 8) | b;
+    }
+
+    private static long uint32(byte[] data, int offset, boolean little) {
+        if (offset + 4 > data.length) {
+            return -1;
+        }
+        long high = uint16(data, little ? offset + 2 : offset, little);
+        long low = uint16(data, little ? offset : offset + 2, little);
+        return (high << 16) | low;
+    }
+
+    /**
+     * 图片信息
+     */
+    public static final class Info {
+        private final String format;
+        private final int width;
+        private final int height;
+        private final int orientation;
+
+        private Info(String format, int width, int height, int orientation) {
+            this.format = format;
+            this.width = width;
+            this.height = height;
+            this.orientation = orientation;
+        }
+
+        /**
+         * 图片格式：jpeg/png/gif/webp/bmp 等
+         */
+        public String getFormat() {
+            return format;
+        }
+
+        /**
+         * 存储的像素宽度
+         */
+        public int getWidth() {
+            return width;
+        }
+
+        /**
+         * 存储的像素高度
+         */
+        public int getHeight() {
+            return height;
+        }
+
+        /**
+         * EXIF 方向（1~8），没有方向信息时为1
+         */
+        public int getOrientation() {
+            return orientation;
+        }
+
+        /**
+         * 按 EXIF 方向旋转后的显示宽度
+         */
+        public int getDisplayWidth() {
+            return orientation >= 5 ? height : width;
+        }
+
+        /**
+         * 按 EXIF 方向旋转后的显示高度
+         */
+        public int getDisplayHeight() {
+            return orientation >= 5 ? width : height;
+        }
+    }
+
+    /**
+     * 记录已读字节数的输入流读取器
+     */
+    private static final class Bytes {
+        private final InputStream input;
+        private long count;
+
+        private Bytes(InputStream input) {
+            this.input = input;
+        }
+
+        private int u8() throws IOException {
+            int value = input.read();
+            if (value < 0) {
+                throw new EOFException();
+            }
+            count++;
+            return value;
+        }
+
+        private int u16be() throws IOException {
+            return (u8() << 8) | u8();
+        }
+
+        private int u16le() throws IOException {
+            return u8() | (u8() << 8);
+        }
+
+        private int u24le() throws IOException {
+            return u8() | (u8() << 8) | (u8() << 16);
+        }
+
+        private long u32be() throws IOException {
+            return ((long) u16be() << 16) | u16be();
+        }
+
+        private long u32le() throws IOException {
+            return u16le() | ((long) u16le() << 16);
+        }
+
+        private byte[] read(int length) throws IOException {
+            byte[] data = new byte[length];
+            int offset = 0;
+            while (offset < length) {
+                int n = input.read(data, offset, length - offset);
+                if (n < 0) {
+                    throw new EOFException();
+                }
+                offset += n;
+            }
+            count += length;
+            return data;
+        }
+
+        private void skip(long length) throws IOException {
+            long remaining = length;
+            while (remaining > 0) {
+                long skipped = input.skip(remaining);
+                if (skipped <= 0) {
+                    u8();
+                    remaining--;
+                } else {
+                    remaining -= skipped;
+                    count += skipped;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.chengzhang.util;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+
+/**
+ * 图片缩放工具类
+ * <p>
+ * 读取时按目标尺寸设置解码采样间隔，大图只解码接近目标尺寸的像素；读取后按 EXIF 方向旋转，
+ * 缩放时保持宽高比，写入时先写临时文件再替换目标文件。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+public class ImageResizer {
+
+    private ImageResizer() {
+    }
+
+    /**
+     * 读取图片并缩放到指定范围内
+     *
+     * @param file      图片文件
+     * @param maxWidth  最大宽度（显示方向）
+     * @param maxHeight 最大高度（显示方向）
+     * @return 缩放后的图片，没有可用的读取器时返回null
+     * @throws IOException 读取失败
+     */
+    public static BufferedImage readScaled(Path file, int maxWidth, int maxHeight) throws IOException {
+        BufferedImage image = read(file, maxWidth, maxHeight);
+        return image != null ? fit(image, maxWidth, maxHeight) : null;
+    }
+
+    /**
+     * 读取图片，按目标尺寸降采样解码并按 EXIF 方向旋转，解码结果的宽高都不小于目标尺寸（原图足够大时）
+     *
+     * @param file         图片文件
+     * @param targetWidth  目标宽度（显示方向）
+     * @param targetHeight 目标高度（显示方向）
+     * @return 图片，没有可用的读取器时返回null
+     * @throws IOException 读取失败
+     */
+    public static BufferedImage read(Path file, int targetWidth, int targetHeight) throws IOException {
+        ImageProbe.Info info = ImageProbe.probe(file);
+        int orientation = info != null ? info.getOrientation() : 1;
+        BufferedImage image;
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                boolean swapped = orientation >= 5;
+                int sampling = samplingFactor(swapped ? height : width, swapped ? width : height,
+                        targetWidth, targetHeight);
+                ImageReadParam param = reader.getDefaultReadParam();
+                if (sampling > 1) {
+                    param.setSourceSubsampling(sampling, sampling, 0, 0);
+                }
+                image = reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+        return orient(image, orientation);
+    }
+
+    /**
+     * 计算解码采样间隔：解码结果不小于目标尺寸的2倍，缩放时仍有足够的像素
+     */
+    private static int samplingFactor(int width, int height, int maxWidth, int maxHeight) {
+        int factor = Math.min(width / Math.max(1, maxWidth), height / Math.max(1, maxHeight)) / 2;
+        return Math.max(1, factor);
+    }
+
+    /**
+     * 按 EXIF 方向旋转或翻转图片
+     *
+     * @param image       图片
+     * @param orientation EXIF 方向（1~8）
+     * @return 显示方向的图片
+     */
+    public static BufferedImage orient(BufferedImage image, int orientation) {
+        if (orientation <= 1 || orientation > 8) {
+            return image;
+        }
+        int width = image.getWidth();
+        int height = image.getHeight();
+        AffineTransform transform = new AffineTransform();
+        switch (orientation) {
+            case 2:
+                transform.scale(-1, 1);
+                transform.translate(-width, 0);
+                break;
+            case 3:
+                transform.translate(width, height);
+                transform.rotate(Math.PI);
+                break;
+            case 4:
+                transform.scale(1, -1);
+                transform.translate(0, -height);
+                break;
+            case 5:
+                transform.rotate(-Math.PI / 2);
+                transform.scale(-1, 1);
+                break;
+            case 6:
+                transform.translate(height, 0);
+                transform.rotate(Math.PI / 2);
+                break;
+            case 7:
+                transform.scale(-1, 1);
+                transform.translate(-height, 0);
+                transform.translate(0, width);
+                transform.rotate(3 * Math.PI / 2);
+                break;
+            default:
+                transform.translate(0, width);
+                transform.rotate(3 * Math.PI / 2);
+                break;
+        }
+        boolean swapped = orientation >= 5;
+        BufferedImage target = new BufferedImage(swapped ? height : width, swapped ? width : height, imageType(image));
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.drawImage(image, transform, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * 保持宽高比缩放到指定范围内，本身不超过范围时原样返回
+     *
+     * @param image     图片
+     * @param maxWidth  最大宽度
+     * @param maxHeight 最大高度
+     * @return 缩放后的图片
+     */
+    public static BufferedImage fit(BufferedImage image, int maxWidth, int maxHeight) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double scale = Math.min((double) maxWidth / width, (double) maxHeight / height);
+        if (scale >= 1) {
+            return image;
+        }
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+        BufferedImage target = new BufferedImage(targetWidth, targetHeight, imageType(image));
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * 保持宽高比缩放到刚好覆盖指定尺寸，再居中裁剪；不放大，原图较小时裁剪为原图范围内的相同宽高比
+     *
+     * @param image  图片
+     * @param width  目标宽度
+     * @param height 目标高度
+     * @return 裁剪后的图片
+     */
+    public static BufferedImage cover(BufferedImage image, int width, int height) {
+        double scale = Math.min(1.0, Math.max((double) width / image.getWidth(), (double) height / image.getHeight()));
+        int scaledWidth = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int scaledHeight = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        double shrink = Math.min(1.0, Math.min((double) scaledWidth / width, (double) scaledHeight / height));
+        int targetWidth = Math.max(1, Math.min(scaledWidth, (int) Math.round(width * shrink)));
+        int targetHeight = Math.max(1, Math.min(scaledHeight, (int) Math.round(height * shrink)));
+
+        BufferedImage target = new BufferedImage(targetWidth, targetHeight, imageType(image));
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            int offsetX = (targetWidth - scaledWidth) / 2;
+            int offsetY = (targetHeight - scaledHeight) / 2;
+            graphics.drawImage(image, offsetX, offsetY, scaledWidth, scaledHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * 写入图片：不透明图片写为 JPEG，带透明通道的写为 PNG
+     *
+     * @param image   图片
+     * @param target  目标文件（不含扩展名）
+     * @param quality JPEG 质量（0.0~1.0）
+     * @return 实际写入的文件
+     * @throws IOException 写入失败
+     */
+    public static Path write(BufferedImage image, Path target, double quality) throws IOException {
+        boolean alpha = image.getColorModel().hasAlpha();
+        Path file = target.resolveSibling(target.getFileName() + (alpha ? ".png" : ".jpg"));
+        Files.createDirectories(file.getParent());
+        // 同一变体可能被并发生成，各自写入独立的临时文件后原子替换
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            if (alpha) {
+                if (!ImageIO.write(image, "png", temp.toFile())) {
+                    throw new IOException("没有可用的PNG编码器");
+                }
+            } else {
+                writeJpeg(toRgb(image), temp, quality);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        return file;
+    }
+
+    private static void writeJpeg(BufferedImage image, Path file, double quality) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        if (!writers.hasNext()) {
+            throw new IOException("没有可用的JPEG编码器");
+        }
+        ImageWriter writer = writers.next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(file.toFile())) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality((float) Math.max(0.05, Math.min(1.0, quality)));
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static BufferedImage toRgb(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_RGB || image.getType() == BufferedImage.TYPE_3BYTE_BGR) {
+            return image;
+        }
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        try {
+            graphics.drawImage(image, 0, 0, null);
+        } finally {
+            graphics.dispose();
+        }
+        return rgb;
+    }
+
+    private static int imageType(BufferedImage image) {
+        return image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+    }
+}
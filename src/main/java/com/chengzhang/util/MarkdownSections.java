@@ -0,0 +1,157 @@
+package com.chengzhang.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 按Markdown标题拆分正文章节的工具类
+ * <p>
+ * 只识别ATX标题（行首最多3个空格后接1~6个#），围栏代码块（``` 或 ~~~）内的行不视为标题。
+ * 第一个标题之前的内容作为前言章节（level 为0，heading 为null）。位置按UTF-16字符计算。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+public class MarkdownSections {
+
+    private MarkdownSections() {
+    }
+
+    /**
+     * 拆分正文
+     *
+     * @param content  正文
+     * @param maxLevel 参与拆分的最大标题级别，更深的标题归入上一章节
+     * @return 章节列表，各章节首尾相接覆盖整个正文；正文为空时返回空列表
+     */
+    public static List<Section> split(CharSequence content, int maxLevel) {
+        List<Section> sections = new ArrayList<>();
+        if (content == null || content.length() == 0) {
+            return sections;
+        }
+
+        int length = content.length();
+        int sectionStart = 0;
+        int sectionLevel = 0;
+        String sectionHeading = null;
+        char fenceChar = 0;
+        int fenceLength = 0;
+
+        int lineStart = 0;
+        while (lineStart < length) {
+            int lineEnd = lineStart;
+            while (lineEnd < length && content.charAt(lineEnd) != '\n') {
+                lineEnd++;
+            }
+
+            int indent = 0;
+            while (indent < 4 && lineStart + indent < lineEnd && content.charAt(lineStart + indent) == ' ') {
+                indent++;
+            }
+            int pos = lineStart + indent;
+            if (indent < 4 && pos < lineEnd) {
+                char first = content.charAt(pos);
+                int run = countRun(content, pos, lineEnd, first);
+                if ((first == '`' || first == '~') && run >= 3) {
+                    if (fenceChar == 0) {
+                        fenceChar = first;
+                        fenceLength = run;
+                    } else if (first == fenceChar && run >= fenceLength) {
+                        fenceChar = 0;
+                    }
+                } else if (fenceChar == 0 && first == '#' && run <= 6 && run <= maxLevel
+                        && (pos + run == lineEnd || isBlank(content.charAt(pos + run)))) {
+                    if (lineStart > sectionStart) {
+                        sections.add(new Section(sectionLevel, sectionHeading, sectionStart, lineStart));
+                    }
+                    sectionStart = lineStart;
+                    sectionLevel = run;
+                    sectionHeading = headingText(content, pos + run, lineEnd);
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        sections.add(new Section(sectionLevel, sectionHeading, sectionStart, length));
+        return sections;
+    }
+
+    private static int countRun(CharSequence content, int from, int end, char c) {
+        int i = from;
+        while (i < end && content.charAt(i) == c) {
+            i++;
+        }
+        return i - from;
+    }
+
+    private static boolean isBlank(char c) {
+        return c == ' ' || c == '\t' || c == '\r';
+    }
+
+    private static String headingText(CharSequence content, int from, int end) {
+        int start = from;
+        int stop = end;
+        while (start < stop && isBlank(content.charAt(start))) {
+            start++;
+        }
+        while (stop > start && isBlank(content.charAt(stop - 1))) {
+            stop--;
+        }
+        // 去掉可选的结尾 # 序列（需与标题文字以空白分隔）
+        int hashes = stop;
+        while (hashes > start && content.charAt(hashes - 1) == '#') {
+            hashes--;
+        }
+        if (hashes == start || isBlank(content.charAt(hashes - 1))) {
+            stop = hashes;
+            while (stop > start && isBlank(content.charAt(stop - 1))) {
+                stop--;
+            }
+        }
+        return content.subSequence(start, stop).toString();
+    }
+
+    /**
+     * 章节
+     */
+    public static final class Section {
+        private final int level;
+        private final String heading;
+        private final int start;
+        private final int end;
+
+        private Section(int level, String heading, int start, int end) {
+            this.level = level;
+            this.heading = heading;
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * 标题级别，前言为0
+         */
+        public int getLevel() {
+            return level;
+        }
+
+        /**
+         * 标题文字，前言为null
+         */
+        public String getHeading() {
+            return heading;
+        }
+
+        /**
+         * 起始位置（含，章节从标题行开始）
+         */
+        public int getStart() {
+            return start;
+        }
+
+        /**
+         * 结束位置（不含）
+         */
+        public int getEnd() {
+            return end;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.chengzhang.util;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 标签工具类
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+public class TagUtil {
+
+    /**
+     * 标签最大长度
+     */
+    public static final int MAX_LENGTH = 50;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<List<String>> TAG_LIST_TYPE = new TypeReference<List<String>>() {
+    };
+
+    private TagUtil() {
+    }
+
+    /**
+     * 规范化标签：去除首尾空白、忽略空值、超长截断并去重（保持原顺序）
+     *
+     * @param tags 原始标签
+     * @return 规范化后的标签
+     */
+    public static List<String> normalize(Collection<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Set<String> result = new LinkedHashSet<>();
+        for (String tag : tags) {
+            if (tag == null) {
+                continue;
+            }
+            String name = tag.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            result.add(name.length() > MAX_LENGTH ? name.substring(0, MAX_LENGTH) : name);
+        }
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * 解析存储的标签，兼容JSON数组和逗号分隔两种格式
+     *
+     * @param raw 存储的标签字符串
+     * @return 标签列表
+     */
+    public static List<String> parse(String raw) {
+        if (raw == null || raw.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        String value = raw.trim();
+        if (value.startsWith("[")) {
+            try {
+                return OBJECT_MAPPER.readValue(value, TAG_LIST_TYPE);
+            } catch (Exception e) {
+                return new ArrayList<>();
+            }
+        }
+        List<String> tags = new ArrayList<>();
+        for (String tag : value.split(",")) {
+            if (!tag.trim().isEmpty()) {
+                tags.add(tag.trim());
+            }
+        }
+        return tags;
+    }
+
+    /**
+     * 将标签序列化为JSON数组
+     *
+     * @param tags 标签列表
+     * @return JSON字符串，标签为空时返回null
+     */
+    public static String toJson(List<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return null;
+        }
+        try {
+            return OBJECT_MAPPER.writeValueAsString(tags);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
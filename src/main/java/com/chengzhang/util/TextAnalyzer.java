@@ -0,0 +1,219 @@
+package com.chengzhang.util;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * 文章文本分析器
+ * <p>
+ * 一次遍历正文即可得到字数、中文字符数、阅读时间和摘要，不生成中间字符串。
+ * 统计规则：先忽略Markdown符号（#*`_~[]()!-），中文字符每字计1，其余按空白和中文字符切分后每个单词计1；
+ * 摘要为忽略Markdown符号、连续换行合并为空格并去除首尾空白后的前N个字符。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Component
+public class TextAnalyzer {
+
+    // 平均阅读速度（字/分钟）
+    private static final int READING_SPEED = 200;
+
+    /**
+     * 分析文本
+     *
+     * @param content          文本内容
+     * @param summaryMaxLength 摘要最大长度
+     * @return 分析结果
+     */
+    public Result analyze(CharSequence content, int summaryMaxLength) {
+        if (content == null || StringUtils.isBlank(content)) {
+            return new Result(0, 0, "");
+        }
+
+        int cjkCount = 0;
+        int wordCount = 0;
+        boolean wordCounted = false;
+
+        StringBuilder summary = new StringBuilder(Math.min(summaryMaxLength, content.length()));
+        boolean summaryStarted = false;
+        boolean summaryTruncated = false;
+        boolean lastWasNewline = false;
+
+        int length = content.length();
+        for (int i = 0; i < length; i++) {
+            char c = content.charAt(i);
+            if (isMarkdownSymbol(c)) {
+                continue;
+            }
+
+            // 字数统计
+            if (isCjk(c)) {
+                cjkCount++;
+                wordCounted = false;
+            } else if (isWhitespace(c)) {
+                wordCounted = false;
+            } else if (!wordCounted && c > ' ') {
+                wordCount++;
+                wordCounted = true;
+            }
+
+            // 摘要：连续换行合并为一个空格
+            if (summaryTruncated) {
+                continue;
+            }
+            char out = c;
+            if (c == '\n') {
+                if (lastWasNewline) {
+                    continue;
+                }
+                lastWasNewline = true;
+                out = ' ';
+            } else {
+                lastWasNewline = false;
+            }
+            if (!summaryStarted) {
+                if (out <= ' ') {
+                    continue;
+                }
+                summaryStarted = true;
+            }
+            if (summary.length() < summaryMaxLength) {
+                summary.append(out);
+            } else if (out > ' ') {
+                // 超出长度后还有可见字符，需要截断
+                summaryTruncated = true;
+            }
+        }
+
+        String summaryText;
+        if (summaryTruncated) {
+            summaryText = summary.append("...").toString();
+        } else {
+            int end = summary.length();
+            while (end > 0 && summary.charAt(end - 1) <= ' ') {
+                end--;
+            }
+            summary.setLength(end);
+            summaryText = summary.toString();
+        }
+        return new Result(cjkCount + wordCount, cjkCount, summaryText);
+    }
+
+    /**
+     * 统计字数
+     *
+     * @param content 文本内容
+     * @return 字数
+     */
+    public int countWords(CharSequence content) {
+        return analyze(content, 0).getWordCount();
+    }
+
+    /**
+     * 替换文本片段并返回字数变化量
+     * <p>
+     * 只重新统计编辑位置向两侧延伸到最近的分隔字符（空白或中文字符）为止的区域，
+     * 分隔字符两侧的统计互不影响，因此区域外的字数保持不变。
+     *
+     * @param content     文本内容（原地修改）
+     * @param start       替换起始位置（含）
+     * @param end         替换结束位置（不含）
+     * @param replacement 替换文本
+     * @return 替换后的字数减去替换前的字数
+     */
+    public int replace(StringBuilder content, int start, int end, String replacement) {
+        int from = start;
+        while (from > 0 && !isSeparator(content.charAt(from - 1))) {
+            from--;
+        }
+        int to = end;
+        while (to < content.length() && !isSeparator(content.charAt(to))) {
+            to++;
+        }
+        int before = countWords(content.subSequence(from, to));
+        content.replace(start, end, replacement);
+        int after = countWords(content.subSequence(from, to + replacement.length() - (end - start)));
+        return after - before;
+    }
+
+    /**
+     * 根据字数计算阅读时间（分钟），最少1分钟
+     *
+     * @param wordCount 字数
+     * @return 阅读时间
+     */
+    public static int readTimeOf(int wordCount) {
+        return Math.max(1, (wordCount + READING_SPEED - 1) / READING_SPEED);
+    }
+
+    private static boolean isMarkdownSymbol(char c) {
+        switch (c) {
+            case '#':
+            case '*':
+            case '`':
+            case '_':
+            case '~':
+            case '[':
+            case ']':
+            case '(':
+            case ')':
+            case '!':
+            case '-':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * 分隔字符：统计状态在该字符处重置
+     */
+    private static boolean isSeparator(char c) {
+        return isCjk(c) || isWhitespace(c);
+    }
+
+    private static boolean isCjk(char c) {
+        return c >= '\u4e00' && c <= '\u9fa5';
+    }
+
+    /**
+     * 与正则 \s 一致的空白字符
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /**
+     * 文本分析结果
+     */
+    public static class Result {
+        private final int wordCount;
+        private final int cjkCount;
+        private final int readTime;
+        private final String summary;
+
+        private Result(int wordCount, int cjkCount, String summary) {
+            this.wordCount = wordCount;
+            this.cjkCount = cjkCount;
+            this.readTime = readTimeOf(wordCount);
+            this.summary = summary;
+        }
+
+        public int getWordCount() {
+            return wordCount;
+        }
+
+        public int getCjkCount() {
+            return cjkCount;
+        }
+
+        public int getReadTime() {
+            return readTime;
+        }
+
+        public String getSummary() {
+            return summary;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.chengzhang.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按行比较文本差异的工具类
+ * <p>
+ * 先去掉首尾相同的行，再对中间部分求最长公共子序列；中间部分过大时整体视为删除后插入。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+public class TextDiff {
+
+    /**
+     * 最长公共子序列计算的最大单元数
+     */
+    private static final long MAX_CELLS = 4_000_000L;
+
+    private TextDiff() {
+    }
+
+    /**
+     * 比较两段文本
+     *
+     * @param from 原文本
+     * @param to   新文本
+     * @return 变更块列表：type 为 equal/delete/insert，fromLine、toLine 为起始行号（从1开始），
+     * equal 块给出行数 count，delete/insert 块给出内容 lines
+     */
+    public static List<Map<String, Object>> diffLines(String from, String to) {
+        String[] a = splitLines(from);
+        String[] b = splitLines(to);
+
+        int prefix = 0;
+        while (prefix < a.length && prefix < b.length && a[prefix].equals(b[prefix])) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < a.length - prefix && suffix < b.length - prefix
+                && a[a.length - 1 - suffix].equals(b[b.length - 1 - suffix])) {
+            suffix++;
+        }
+
+        List<Map<String, Object>> hunks = new ArrayList<>();
+        HunkWriter writer = new HunkWriter(hunks);
+        writer.equal(prefix);
+
+        int n = a.length - prefix - suffix;
+        int m = b.length - prefix - suffix;
+        if ((long) (n + 1) * (m + 1) > MAX_CELLS) {
+            for (int i = 0; i < n; i++) {
+                writer.delete(a[prefix + i]);
+            }
+            for (int j = 0; j < m; j++) {
+                writer.insert(b[prefix + j]);
+            }
+        } else {
+            int[][] lcs = new int[n + 1][m + 1];
+            for (int i = n - 1; i >= 0; i--) {
+                for (int j = m - 1; j >= 0; j--) {
+                    lcs[i][j] = a[prefix + i].equals(b[prefix + j])
+                            ? lcs[i + 1][j + 1] + 1 : Math.max(lcs[i + 1][j], lcs[i][j + 1]);
+                }
+            }
+            int i = 0;
+            int j = 0;
+            while (i < n || j < m) {
+                if (i < n && j < m && a[prefix + i].equals(b[prefix + j])) {
+                    writer.equal(1);
+                    i++;
+                    j++;
+                } else if (i < n && (j == m || lcs[i + 1][j] >= lcs[i][j + 1])) {
+                    writer.delete(a[prefix + i++]);
+                } else {
+                    writer.insert(b[prefix + j++]);
+                }
+            }
+        }
+
+        writer.equal(suffix);
+        return hunks;
+    }
+
+    private static String[] splitLines(String text) {
+        if (text == null || text.isEmpty()) {
+            return new String[0];
+        }
+        String[] lines = text.split("\n", -1);
+        // 末尾换行不产生空行
+        return text.endsWith("\n") ? Arrays.copyOf(lines, lines.length - 1) : lines;
+    }
+
+    /**
+     * 合并相邻同类变更的输出器
+     */
+    private static final class HunkWriter {
+        private final List<Map<String, Object>> hunks;
+        private Map<String, Object> current;
+        private int fromLine = 1;
+        private int toLine = 1;
+
+        private HunkWriter(List<Map<String, Object>> hunks) {
+            this.hunks = hunks;
+        }
+
+        private void equal(int count) {
+            if (count == 0) {
+                return;
+            }
+            Map<String, Object> hunk = open("equal");
+            hunk.put("count", (Integer) hunk.getOrDefault("count", 0) + count);
+            fromLine += count;
+            toLine += count;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void delete(String line) {
+            ((List<String>) open("delete").computeIfAbsent("lines", key -> new ArrayList<String>())).add(line);
+            fromLine++;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void insert(String line) {
+            ((List<String>) open("insert").computeIfAbsent("lines", key -> new ArrayList<String>())).add(line);
+            toLine++;
+        }
+
+        private Map<String, Object> open(String type) {
+            if (current == null || !type.equals(current.get("type"))) {
+                current = new LinkedHashMap<>();
+                current.put("type", type);
+                current.put("fromLine", fromLine);
+                current.put("toLine", toLine);
+                hunks.add(current);
+            }
+            return current;
+        }
+    }
+}
@@ -53,20 +53,24 @@ CREATE TABLE `articles` (
   `read_time` int(11) DEFAULT '0' COMMENT '预计阅读时间（分钟）',
   `images` text COLLATE utf8mb4_unicode_ci COMMENT '文章图片（JSON格式存储）',
   `created_at` datetime NOT NULL COMMENT '创建时间',
-  `updated_at` datetime NOT NULL COMMENT '更新时间',
+  `updated_at` datetime(3) NOT NULL COMMENT '更新时间（毫秒精度，用于ETag）',
   `collection_id` varchar(36) COLLATE utf8mb4_unicode_ci DEFAULT NULL COMMENT '所属合集ID',
+  `revision` bigint(20) NOT NULL DEFAULT '0' COMMENT '正文版本号',
   PRIMARY KEY (`id`),
   KEY `idx_title` (`title`),
   KEY `idx_status` (`status`),
   KEY `idx_category` (`category`),
   KEY `idx_created_at` (`created_at`),
   KEY `idx_updated_at` (`updated_at`),
-  KEY `idx_status_category` (`status`,`category`),
   KEY `idx_status_created_at` (`status`,`created_at`),
+  KEY `idx_status_updated_at` (`status`,`updated_at`),
   KEY `idx_category_created_at` (`category`,`created_at`),
-  KEY `idx_collection_id` (`collection_id`),
+  KEY `idx_category_updated_at` (`category`,`updated_at`),
+  KEY `idx_collection_updated_at` (`collection_id`,`updated_at`),
+  KEY `idx_status_category_updated_at` (`status`,`category`,`updated_at`),
+  KEY `idx_status_collection_updated_at` (`status`,`collection_id`,`updated_at`),
   FULLTEXT KEY `idx_content` (`content`),
-  FULLTEXT KEY `idx_title_content` (`title`,`content`),
+  FULLTEXT KEY `idx_title_content` (`title`,`content`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='文章表';
 
 /*Table structure for table `images` */
@@ -79,9 +83,13 @@ CREATE TABLE `images` (
   `file_name` varchar(255) COLLATE utf8mb4_unicode_ci NOT NULL COMMENT '存储文件名（重命名后）',
   `file_path` varchar(500) COLLATE utf8mb4_unicode_ci NOT NULL COMMENT '文件存储路径',
   `file_size` bigint(20) NOT NULL DEFAULT '0' COMMENT '文件大小（字节）',
+  `content_hash` char(64) COLLATE utf8mb4_unicode_ci DEFAULT NULL COMMENT '文件内容SHA-256，内容相同的图片共用文件',
   `mime_type` varchar(100) COLLATE utf8mb4_unicode_ci NOT NULL COMMENT 'MIME类型',
   `width` int(11) DEFAULT NULL COMMENT '图片宽度（像素）',
   `height` int(11) DEFAULT NULL COMMENT '图片高度（像素）',
+  `variant_status` varchar(20) COLLATE utf8mb4_unicode_ci DEFAULT NULL COMMENT '变体生成状态：pending-待生成，ready-已生成，failed-生成失败，skipped-格式不支持',
+  `thumbnail_path` varchar(500) COLLATE utf8mb4_unicode_ci DEFAULT NULL COMMENT '缩略图路径',
+  `compressed_path` varchar(500) COLLATE utf8mb4_unicode_ci DEFAULT NULL COMMENT '压缩图路径',
   `article_id` varchar(64) COLLATE utf8mb4_unicode_ci DEFAULT NULL COMMENT '关联文章ID',
   `upload_ip` varchar(45) COLLATE utf8mb4_unicode_ci DEFAULT NULL COMMENT '上传IP地址',
   `status` varchar(20) COLLATE utf8mb4_unicode_ci NOT NULL DEFAULT 'active' COMMENT '状态：active-正常，deleted-已删除',
@@ -100,8 +108,74 @@ CREATE TABLE `images` (
   KEY `idx_update_time` (`update_time`),
   KEY `idx_file_size` (`file_size`),
   KEY `idx_dimensions` (`width`,`height`),
-  KEY `idx_status_article` (`status`,`article_id`),
   KEY `idx_status_create_time` (`status`,`create_time`),
+  KEY `idx_status_article_create_time` (`status`,`article_id`,`create_time`),
+  KEY `idx_status_mime_type_create_time` (`status`,`mime_type`,`create_time`),
   KEY `idx_article_create_time` (`article_id`,`create_time`),
+  KEY `idx_variant_status` (`variant_status`),
+  KEY `idx_content_hash` (`content_hash`),
   FULLTEXT KEY `idx_fulltext_search` (`original_name`,`description`)
-) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='图片管理表';
\ No newline at end of file
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='图片管理表';
+
+/*Table structure for table `tags` */
+
+DROP TABLE IF EXISTS `tags`;
+
+CREATE TABLE `tags` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT COMMENT '标签ID',
+  `name` varchar(50) COLLATE utf8mb4_unicode_ci NOT NULL COMMENT '标签名称',
+  `created_at` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_tags_name` (`name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='标签字典表';
+
+/*Table structure for table `entity_tags` */
+
+DROP TABLE IF EXISTS `entity_tags`;
+
+CREATE TABLE `entity_tags` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT COMMENT '关联ID',
+  `entity_type` varchar(20) COLLATE utf8mb4_unicode_ci NOT NULL COMMENT '实体类型：article-文章，image-图片',
+  `entity_id` varchar(64) COLLATE utf8mb4_unicode_ci NOT NULL COMMENT '实体ID',
+  `tag_id` bigint(20) NOT NULL COMMENT '标签ID',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_entity_tags` (`entity_type`,`entity_id`,`tag_id`),
+  KEY `idx_entity_tags_tag` (`tag_id`,`entity_type`,`entity_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='实体标签关联表';
+
+/*Table structure for table `article_revisions` */
+
+DROP TABLE IF EXISTS `article_revisions`;
+
+CREATE TABLE `article_revisions` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT COMMENT '版本记录ID',
+  `article_id` varchar(64) COLLATE utf8mb4_unicode_ci NOT NULL COMMENT '文章ID',
+  `revision` bigint(20) NOT NULL COMMENT '正文版本号',
+  `base_revision` bigint(20) DEFAULT NULL COMMENT '差量的基准版本号，快照为空',
+  `chain_length` int(11) NOT NULL COMMENT '距最近快照的差量层数，快照为0',
+  `title` varchar(200) COLLATE utf8mb4_unicode_ci DEFAULT NULL COMMENT '保存时的文章标题',
+  `content_length` int(11) NOT NULL COMMENT '正文长度（字符数）',
+  `stored_size` int(11) NOT NULL COMMENT '存储大小（字节，压缩后）',
+  `data` longblob NOT NULL COMMENT '压缩后的快照或差量数据',
+  `created_at` datetime NOT NULL COMMENT '创建时间',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_article_revision` (`article_id`,`revision`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='文章历史版本表';
+
+/*Table structure for table `article_sections` */
+
+DROP TABLE IF EXISTS `article_sections`;
+
+CREATE TABLE `article_sections` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT COMMENT '章节记录ID',
+  `article_id` varchar(64) COLLATE utf8mb4_unicode_ci NOT NULL COMMENT '文章ID',
+  `position` int(11) NOT NULL COMMENT '章节序号（从0开始）',
+  `revision` bigint(20) NOT NULL COMMENT '拆分时的正文版本号',
+  `level` int(11) NOT NULL COMMENT '标题级别，前言为0',
+  `heading` varchar(500) COLLATE utf8mb4_unicode_ci DEFAULT NULL COMMENT '标题文字',
+  `start_offset` int(11) NOT NULL COMMENT '在正文中的起始位置（字符）',
+  `content_length` int(11) NOT NULL COMMENT '章节长度（字符）',
+  `content` longtext COLLATE utf8mb4_unicode_ci COMMENT '章节内容（含标题行）',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_article_section` (`article_id`,`position`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='文章章节表';
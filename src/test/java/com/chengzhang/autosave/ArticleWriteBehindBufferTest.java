@@ -0,0 +1,162 @@
+package com.chengzhang.autosave;
+
+import com.chengzhang.config.AutosaveConfig;
+import com.chengzhang.dto.ArticleDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 文章写缓冲日志重放与压缩测试
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+class ArticleWriteBehindBufferTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .filters(new SimpleFilterProvider().setFailOnUnknownId(false))
+            .build();
+
+    private AutosaveConfig config;
+    private Path journal;
+
+    @BeforeEach
+    void setUp() {
+        config = new AutosaveConfig();
+        config.setJournalPath("target/autosave-test/" + UUID.randomUUID() + ".journal");
+        config.setFsync(false);
+        journal = Paths.get(config.getFullJournalPath());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(journal);
+        Files.deleteIfExists(journal.resolveSibling(journal.getFileName() + ".compact"));
+    }
+
+    @Test
+    void replayKeepsOnlyUpdatesAfterLastFlush() throws IOException {
+        writeJournal(
+                "{\"op\":\"update\",\"seq\":1,\"id\":\"a\",\"changes\":{\"title\":\"a1\",\"content\":\"c1\"}}",
+                "{\"op\":\"update\",\"seq\":2,\"id\":\"b\",\"changes\":{\"content\":\"b2\"}}",
+                "{\"op\":\"flushed\",\"seq\":1,\"id\":\"a\"}",
+                "{\"op\":\"update\",\"seq\":3,\"id\":\"a\",\"changes\":{\"title\":\"a3\"}}",
+                "{\"op\":\"update\",\"seq\":4,\"id\":\"c\",\"changes\":{\"title\":\"c4\"}}",
+                "{\"op\":\"update\",\"seq\":5,\"id\":\"b\",\"changes\":{\"title\":\"b5\"}}",
+                "{\"op\":\"discard\",\"seq\":5,\"id\":\"c\"}",
+                "{\"op\":\"flushed\",\"seq\":2,\"id\":\"b\"}",
+                "{\"op\":\"update\",\"seq\":6,\"id\":\"a\",\"changes\":{\"summary\":\"a6\"}}",
+                "{\"op\":\"upda");
+
+        ArticleWriteBehindBuffer buffer = open();
+
+        assertThat(buffer.isPending("c")).isFalse();
+        ArticleDTO a = buffer.takeAfterInFlight("a").getChanges();
+        assertThat(a.getTitle()).isEqualTo("a3");
+        assertThat(a.getSummary()).isEqualTo("a6");
+        assertThat(a.getContent()).isNull();
+        ArticleDTO b = buffer.takeAfterInFlight("b").getChanges();
+        assertThat(b.getTitle()).isEqualTo("b5");
+        assertThat(b.getContent()).isNull();
+        buffer.close();
+    }
+
+    @Test
+    void replayCompactsJournalToLiveEntries() throws IOException {
+        writeJournal(
+                "{\"op\":\"update\",\"seq\":1,\"id\":\"a\",\"changes\":{\"title\":\"a1\"}}",
+                "{\"op\":\"flushed\",\"seq\":1,\"id\":\"a\"}",
+                "{\"op\":\"update\",\"seq\":2,\"id\":\"a\",\"changes\":{\"title\":\"a2\"}}",
+                "{\"op\":\"update\",\"seq\":3,\"id\":\"a\",\"changes\":{\"content\":\"a3\"}}");
+
+        open().close();
+
+        List<String> lines = Files.readAllLines(journal, StandardCharsets.UTF_8);
+        assertThat(lines).hasSize(1);
+        ArticleWriteBehindBuffer replayed = open();
+        ArticleDTO a = replayed.takeAfterInFlight("a").getChanges();
+        assertThat(a.getTitle()).isEqualTo("a2");
+        assertThat(a.getContent()).isEqualTo("a3");
+        replayed.close();
+    }
+
+    @Test
+    void completeCompactsJournalWhileOtherEntriesArePending() throws IOException {
+        config.setCompactThresholdKb(0);
+        ArticleWriteBehindBuffer buffer = open();
+        for (int i = 0; i < 20; i++) {
+            buffer.buffer("a", changes("a" + i, null), null);
+            buffer.buffer("b", changes("b" + i, null), null);
+        }
+        buffer.buffer("b", changes(null, "b-content"), null);
+
+        buffer.complete(buffer.takeAfterInFlight("a"));
+
+        List<String> lines = Files.readAllLines(journal, StandardCharsets.UTF_8);
+        assertThat(lines).hasSize(1);
+        assertThat(lines.get(0)).contains("\"id\":\"b\"");
+        buffer.close();
+
+        ArticleWriteBehindBuffer replayed = open();
+        assertThat(replayed.isPending("a")).isFalse();
+        ArticleDTO b = replayed.takeAfterInFlight("b").getChanges();
+        assertThat(b.getTitle()).isEqualTo("b19");
+        assertThat(b.getContent()).isEqualTo("b-content");
+        replayed.close();
+    }
+
+    @Test
+    void compactionKeepsInFlightBatch() throws IOException {
+        config.setCompactThresholdKb(0);
+        ArticleWriteBehindBuffer buffer = open();
+        buffer.buffer("a", changes("a1", "a-content"), null);
+        buffer.buffer("b", changes("b1", null), null);
+        buffer.takeAfterInFlight("a");
+        buffer.buffer("a", changes("a2", null), null);
+
+        // 写入b触发压缩时a的批次仍在写入，进程在a写入完成前退出
+        buffer.complete(buffer.takeAfterInFlight("b"));
+        assertThat(Files.readAllLines(journal, StandardCharsets.UTF_8)).hasSize(2);
+        buffer.close();
+
+        ArticleWriteBehindBuffer replayed = open();
+        assertThat(replayed.isPending("b")).isFalse();
+        ArticleDTO a = replayed.takeAfterInFlight("a").getChanges();
+        assertThat(a.getTitle()).isEqualTo("a2");
+        assertThat(a.getContent()).isEqualTo("a-content");
+        replayed.close();
+    }
+
+    private ArticleWriteBehindBuffer open() {
+        ArticleWriteBehindBuffer buffer = new ArticleWriteBehindBuffer(config, objectMapper);
+        buffer.initialize();
+        return buffer;
+    }
+
+    private void writeJournal(String... lines) throws IOException {
+        Files.createDirectories(journal.getParent());
+        Files.write(journal, Arrays.asList(lines), StandardCharsets.UTF_8);
+    }
+
+    private static ArticleDTO changes(String title, String content) {
+        ArticleDTO changes = new ArticleDTO();
+        changes.setTitle(title);
+        changes.setContent(content);
+        return changes;
+    }
+}
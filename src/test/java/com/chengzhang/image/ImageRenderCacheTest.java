@@ -0,0 +1,95 @@
+package com.chengzhang.image;
+
+import com.chengzhang.config.ImageConfig;
+import com.chengzhang.entity.Image;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.StreamUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 按需缩放缓存测试
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+class ImageRenderCacheTest {
+
+    private Path root;
+    private ImageRenderCache cache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        String dir = "target/render-test/" + UUID.randomUUID();
+        root = Paths.get(System.getProperty("user.dir"), dir);
+        Files.createDirectories(root.resolve("uploads"));
+        ImageConfig config = new ImageConfig();
+        config.getRender().setCacheDir(dir + "/cache");
+        // 只能容纳一个缓存文件，每次渲染都会淘汰之前的文件
+        config.getRender().setMaxCacheBytes(1L);
+        cache = new ImageRenderCache(config);
+        ReflectionTestUtils.setField(cache, "uploadPath", root.resolve("uploads").toString());
+        cache.init();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(root);
+    }
+
+    @Test
+    void evictedFileStaysReadableWhileOpen() throws IOException {
+        Image first = source("first");
+        Image second = source("second");
+
+        try (ImageRenderCache.Rendered rendered = cache.render(first, 64, 0, ImageRenderCache.FIT_CONTAIN, 80)) {
+            // 另一个请求渲染新组合，淘汰并删除正在读取的文件
+            cache.render(second, 64, 0, ImageRenderCache.FIT_CONTAIN, 80).close();
+            assertThat(cache.getStats().get("evictions")).isEqualTo(1L);
+
+            byte[] bytes = StreamUtils.copyToByteArray(rendered.getInputStream());
+            assertThat(bytes).hasSize((int) rendered.getSize());
+            BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(bytes));
+            assertThat(decoded.getWidth()).isEqualTo(64);
+        }
+    }
+
+    @Test
+    void renderAgainAfterEviction() throws IOException {
+        Image first = source("first");
+        Image second = source("second");
+
+        cache.render(first, 64, 0, ImageRenderCache.FIT_CONTAIN, 80).close();
+        cache.render(second, 64, 0, ImageRenderCache.FIT_CONTAIN, 80).close();
+        try (ImageRenderCache.Rendered rendered = cache.render(first, 64, 0, ImageRenderCache.FIT_CONTAIN, 80)) {
+            assertThat(rendered.getFileName()).startsWith(first.getId() + "_64x0_contain_q80");
+            assertThat(StreamUtils.copyToByteArray(rendered.getInputStream())).isNotEmpty();
+        }
+        assertThat(cache.getStats().get("renders")).isEqualTo(3L);
+    }
+
+    private Image source(String id) throws IOException {
+        BufferedImage image = new BufferedImage(200, 100, BufferedImage.TYPE_INT_RGB);
+        ImageIO.write(image, "jpg", root.resolve("uploads").resolve(id + ".jpg").toFile());
+        Image source = new Image();
+        source.setId(id);
+        source.setFilePath(id + ".jpg");
+        source.setMimeType("image/jpeg");
+        source.setWidth(200);
+        source.setHeight(100);
+        return source;
+    }
+}
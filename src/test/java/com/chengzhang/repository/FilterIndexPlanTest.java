@@ -0,0 +1,167 @@
+package com.chengzhang.repository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 文章、图片列表筛选条件组合的执行计划测试
+ * <p>
+ * 在 MySQL 容器中执行 init.sql 并写入测试数据，对每种筛选组合按列表查询的形式（等值条件 + 按时间和ID倒序 + LIMIT）
+ * 执行 EXPLAIN，确认使用对应的组合索引且不需要 filesort。没有Docker时跳过。
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class FilterIndexPlanTest {
+
+    private static final String PASSWORD = "test";
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>(DockerImageName.parse("mysql:8.0"))
+            .withUsername("root")
+            .withPassword(PASSWORD)
+            // mysql-connector-java 5.1 不支持 caching_sha2_password
+            .withCommand("--default-authentication-plugin=mysql_native_password")
+            .withInitScript("sql/init.sql");
+
+    private static final String ARTICLE_COLUMNS = "id, title, summary, status, category, collection_id, tags, "
+            + "word_count, read_time, created_at, updated_at";
+
+    private static final String IMAGE_COLUMNS = "id, original_name, file_name, file_path, file_size, mime_type, "
+            + "width, height, article_id, status, create_time";
+
+    @BeforeAll
+    static void seed() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("SET SESSION cte_max_recursion_depth = 100000");
+            statement.execute("INSERT INTO articles (id, title, status, category, collection_id, created_at, updated_at) "
+                    + "WITH RECURSIVE seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 20000) "
+                    + "SELECT CONCAT('article-', n), CONCAT('标题', n), IF(n % 3 = 0, 'draft', 'published'), "
+                    + "CONCAT('category-', n % 20), CONCAT('collection-', n % 50), "
+                    + "NOW() - INTERVAL n MINUTE, NOW(3) - INTERVAL n SECOND FROM seq");
+            statement.execute("INSERT INTO images (id, original_name, file_name, file_path, file_size, mime_type, "
+                    + "width, height, article_id, status, create_time, update_time) "
+                    + "WITH RECURSIVE seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 20000) "
+                    + "SELECT CONCAT('image-', n), CONCAT('图片', n, '.png'), CONCAT(n, '.png'), CONCAT('2024/', n, '.png'), "
+                    + "n * 100, ELT(1 + n % 4, 'image/png', 'image/jpeg', 'image/gif', 'image/webp'), "
+                    + "100 + n % 1000, 100 + n % 800, CONCAT('article-', n % 200), IF(n % 10 = 0, 'deleted', 'active'), "
+                    + "NOW() - INTERVAL n SECOND, NOW() FROM seq");
+            statement.execute("ANALYZE TABLE articles, images");
+        }
+    }
+
+    static Stream<Arguments> articleFilters() {
+        return Stream.of(
+                Arguments.of(filters(), keys("idx_updated_at")),
+                Arguments.of(filters("status", "published"), keys("idx_status_updated_at")),
+                Arguments.of(filters("category", "category-3"), keys("idx_category_updated_at")),
+                Arguments.of(filters("collection_id", "collection-7"), keys("idx_collection_updated_at")),
+                Arguments.of(filters("status", "published", "category", "category-3"),
+                        keys("idx_status_category_updated_at")),
+                Arguments.of(filters("status", "published", "collection_id", "collection-7"),
+                        keys("idx_status_collection_updated_at")),
+                Arguments.of(filters("category", "category-3", "collection_id", "collection-7"),
+                        keys("idx_category_updated_at", "idx_collection_updated_at")),
+                Arguments.of(filters("status", "published", "category", "category-3", "collection_id", "collection-7"),
+                        keys("idx_status_category_updated_at", "idx_status_collection_updated_at")));
+    }
+
+    static Stream<Arguments> imageFilters() {
+        // 图片列表的状态默认为 active，总是带状态条件
+        return Stream.of(
+                Arguments.of(filters("status", "active"), keys("idx_status_create_time")),
+                Arguments.of(filters("status", "active", "article_id", "article-7"),
+                        keys("idx_status_article_create_time")),
+                Arguments.of(filters("status", "active", "mime_type", "image/png"),
+                        keys("idx_status_mime_type_create_time")),
+                Arguments.of(filters("status", "active", "article_id", "article-7", "mime_type", "image/png"),
+                        keys("idx_status_article_create_time", "idx_status_mime_type_create_time")));
+    }
+
+    @ParameterizedTest
+    @MethodSource("articleFilters")
+    void articleListUsesCompositeIndex(Map<String, String> filters, List<String> expectedKeys) throws SQLException {
+        // 文章列表默认按更新时间倒序
+        Map<String, String> plan = explain("articles", ARTICLE_COLUMNS, filters, "updated_at");
+        assertThat(plan.get("key")).as("%s", filters).isIn(expectedKeys.toArray());
+        assertThat(plan.get("Extra")).as("%s", filters).doesNotContain("filesort");
+    }
+
+    @ParameterizedTest
+    @MethodSource("imageFilters")
+    void imageListUsesCompositeIndex(Map<String, String> filters, List<String> expectedKeys) throws SQLException {
+        Map<String, String> plan = explain("images", IMAGE_COLUMNS, filters, "create_time");
+        assertThat(plan.get("key")).as("%s", filters).isIn(expectedKeys.toArray());
+        assertThat(plan.get("Extra")).as("%s", filters).doesNotContain("filesort");
+    }
+
+    /**
+     * 按列表查询的形式执行 EXPLAIN，返回第一行计划
+     */
+    private static Map<String, String> explain(String table, String columns, Map<String, String> filters,
+                                               String sortColumn) throws SQLException {
+        StringBuilder sql = new StringBuilder("EXPLAIN SELECT ").append(columns).append(" FROM ").append(table);
+        List<String> values = new ArrayList<>();
+        String separator = " WHERE ";
+        for (Map.Entry<String, String> filter : filters.entrySet()) {
+            sql.append(separator).append(filter.getKey()).append(" = ?");
+            values.add(filter.getValue());
+            separator = " AND ";
+        }
+        sql.append(" ORDER BY ").append(sortColumn).append(" DESC, id DESC LIMIT 20");
+
+        try (Connection connection = connect(); PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+            for (int i = 0; i < values.size(); i++) {
+                statement.setString(i + 1, values.get(i));
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                assertThat(resultSet.next()).isTrue();
+                Map<String, String> plan = new LinkedHashMap<>();
+                for (String column : Arrays.asList("type", "possible_keys", "key", "rows", "Extra")) {
+                    plan.put(column, resultSet.getString(column));
+                }
+                return plan;
+            }
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        Connection connection = DriverManager.getConnection(MYSQL.getJdbcUrl(), MYSQL.getUsername(), PASSWORD);
+        connection.setCatalog("chengzhang");
+        return connection;
+    }
+
+    private static Map<String, String> filters(String... pairs) {
+        Map<String, String> filters = new LinkedHashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            filters.put(pairs[i], pairs[i + 1]);
+        }
+        return filters;
+    }
+
+    private static List<String> keys(String... keys) {
+        return Arrays.asList(keys);
+    }
+}
@@ -0,0 +1,78 @@
+package com.chengzhang.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 中日韩文字感知分词器测试
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+class CjkTokenizerTest {
+
+    @Test
+    void indexesUnigramsAndBigrams() {
+        assertThat(CjkTokenizer.tokenizeForIndex("成章写作"))
+                .containsExactly("成", "章", "成章", "写", "章写", "作", "写作");
+        assertThat(CjkTokenizer.tokenizeForIndex("Java编程")).containsExactly("java", "编", "程", "编程");
+    }
+
+    @Test
+    void queriesUseBigramsAndKeepSingleCharacters() {
+        assertThat(CjkTokenizer.tokenizeForQuery("成章写作", null)).containsExactly("成章", "章写", "写作");
+        assertThat(CjkTokenizer.tokenizeForQuery("文", null)).containsExactly("文");
+        assertThat(CjkTokenizer.tokenizeForQuery("文 abc", null)).containsExactly("文", "abc");
+        assertThat(CjkTokenizer.tokenizeForQuery("写作a文", null)).containsExactly("写作", "a", "文");
+    }
+
+    @Test
+    void splitsLatinWordsAndCollectsThem() {
+        List<String> latin = new ArrayList<>();
+
+        List<String> tokens = CjkTokenizer.tokenizeForQuery("Hello, World2024! 你好", latin);
+
+        assertThat(tokens).containsExactly("hello", "world2024", "你好");
+        assertThat(latin).containsExactly("hello", "world2024");
+    }
+
+    @Test
+    void handlesOtherScriptsAndEdgeCases() {
+        assertThat(CjkTokenizer.tokenizeForQuery("ひらがな", null)).containsExactly("ひら", "らが", "がな");
+        assertThat(CjkTokenizer.tokenizeForQuery("한국어", null)).containsExactly("한국", "국어");
+        // 扩展B区汉字为代理对
+        assertThat(CjkTokenizer.tokenizeForIndex("𠀀𠀁"))
+                .containsExactly("𠀀", "𠀁", "𠀀𠀁");
+        assertThat(CjkTokenizer.tokenizeForIndex(null)).isEmpty();
+        assertThat(CjkTokenizer.tokenizeForIndex(" ,.!? ")).isEmpty();
+
+        StringBuilder longWord = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            longWord.append('A');
+        }
+        List<String> tokens = CjkTokenizer.tokenizeForIndex(longWord);
+        assertThat(tokens).hasSize(1);
+        assertThat(tokens.get(0)).hasSize(64).matches("a+");
+    }
+
+    @Test
+    void queryTokensOfTextAreAlwaysIndexed() {
+        String alphabet = "成章写作文abcAB12 ,。\n";
+        Random random = new Random(3);
+        for (int round = 0; round < 1000; round++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(20);
+            for (int i = 0; i < length; i++) {
+                text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            assertThat(CjkTokenizer.tokenizeForIndex(text))
+                    .as("\"%s\"", text)
+                    .containsAll(CjkTokenizer.tokenizeForQuery(text, null));
+        }
+    }
+}
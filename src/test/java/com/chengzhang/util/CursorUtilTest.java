@@ -0,0 +1,77 @@
+package com.chengzhang.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 游标分页工具类测试
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+class CursorUtilTest {
+
+    @Test
+    void roundTripsValueAndId() {
+        for (LocalDateTime value : Arrays.asList(
+                LocalDateTime.of(2024, 1, 1, 10, 0),
+                LocalDateTime.of(2024, 1, 1, 10, 0, 5),
+                LocalDateTime.of(2024, 12, 31, 23, 59, 59, 123_000_000),
+                LocalDateTime.of(2024, 2, 29, 0, 0, 0, 1))) {
+            String cursor = CursorUtil.encode("updatedAt", false, value, "id-1");
+
+            CursorUtil.Cursor decoded = CursorUtil.decode(cursor, "updatedAt", false);
+
+            assertThat(decoded.getValue()).isEqualTo(value);
+            assertThat(decoded.getId()).isEqualTo("id-1");
+        }
+    }
+
+    @Test
+    void keepsSeparatorsInIdAndIsUrlSafe() {
+        String cursor = CursorUtil.encode("createdAt", true, LocalDateTime.of(2024, 5, 6, 7, 8, 9), "a|b/c+d?");
+
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+        assertThat(CursorUtil.decode(" " + cursor + " ", "createdAt", true).getId()).isEqualTo("a|b/c+d?");
+    }
+
+    @Test
+    void blankCursorMeansFirstPage() {
+        assertThat(CursorUtil.decode(null, "updatedAt", false)).isNull();
+        assertThat(CursorUtil.decode("  ", "updatedAt", false)).isNull();
+    }
+
+    @Test
+    void rejectsCursorForDifferentSort() {
+        String cursor = CursorUtil.encode("updatedAt", false, LocalDateTime.now(), "id");
+
+        assertThatThrownBy(() -> CursorUtil.decode(cursor, "createdAt", false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("游标与排序条件不匹配");
+        assertThatThrownBy(() -> CursorUtil.decode(cursor, "updatedAt", true))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("游标与排序条件不匹配");
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        for (String cursor : Arrays.asList("!!!", encodeRaw("updatedAt|desc|2024-01-01T00:00"),
+                encodeRaw("updatedAt|desc|yesterday|id"), CursorUtil.encode("updatedAt", false, null, "id"))) {
+            assertThatThrownBy(() -> CursorUtil.decode(cursor, "updatedAt", false))
+                    .as(cursor)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("无效的游标");
+        }
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
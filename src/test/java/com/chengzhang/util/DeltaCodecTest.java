@@ -0,0 +1,116 @@
+package com.chengzhang.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 二进制差量编解码测试
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+class DeltaCodecTest {
+
+    @Test
+    void roundTripsEdgeCases() {
+        assertRoundTrip("", "");
+        assertRoundTrip("", "只有目标内容");
+        assertRoundTrip("只有基准内容", "");
+        assertRoundTrip("短", "短文");
+        assertRoundTrip("abcdefghijklmnop", "abcdefghijklmnop");
+        assertRoundTrip("abcdefghijklmnopq", "0abcdefghijklmnopq1");
+    }
+
+    @Test
+    void roundTripsEditsOfLongText() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            text.append("第").append(i).append("段：成章写作工作台的正文内容。\n");
+        }
+        String base = text.toString();
+        assertRoundTrip(base, base);
+        assertRoundTrip(base, "新的开头\n" + base);
+        assertRoundTrip(base, base + "新的结尾");
+        assertRoundTrip(base, base.substring(0, 1000) + "中间插入的内容" + base.substring(1000));
+        assertRoundTrip(base, base.substring(0, 1000) + base.substring(2000));
+        assertRoundTrip(base, base.substring(3000) + base.substring(0, 3000));
+    }
+
+    @Test
+    void roundTripsRandomBytes() {
+        Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            byte[] base = new byte[random.nextInt(2000)];
+            random.nextBytes(base);
+            byte[] target = mutate(base, random);
+            assertThat(DeltaCodec.decode(base, DeltaCodec.encode(base, target))).isEqualTo(target);
+        }
+    }
+
+    @Test
+    void smallEditProducesSmallDelta() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            text.append("line ").append(i).append('\n');
+        }
+        byte[] base = bytes(text.toString());
+        byte[] target = bytes(text.toString().replace("line 500\n", "line five hundred\n"));
+
+        byte[] delta = DeltaCodec.encode(base, target);
+
+        assertThat(delta.length).isLessThan(64);
+        assertThat(DeltaCodec.decode(base, delta)).isEqualTo(target);
+    }
+
+    @Test
+    void rejectsCorruptedDelta() {
+        byte[] base = bytes("abcdefghijklmnopqrstuvwxyz0123456789");
+        byte[] target = bytes("abcdefghijklmnopqrstuvwxyz-0123456789");
+        byte[] delta = DeltaCodec.encode(base, target);
+
+        assertThatThrownBy(() -> DeltaCodec.decode(base, Arrays.copyOf(delta, delta.length - 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> DeltaCodec.decode(bytes("abc"), delta))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> DeltaCodec.decode(base, new byte[]{1, 7}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> DeltaCodec.decode(base, new byte[]{5}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> DeltaCodec.decode(base, new byte[]{(byte) 0x80, (byte) 0x80}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void assertRoundTrip(String base, String target) {
+        byte[] baseBytes = bytes(base);
+        byte[] targetBytes = bytes(target);
+        assertThat(DeltaCodec.decode(baseBytes, DeltaCodec.encode(baseBytes, targetBytes))).isEqualTo(targetBytes);
+    }
+
+    private static byte[] mutate(byte[] base, Random random) {
+        byte[] target = Arrays.copyOf(base, base.length);
+        int edits = random.nextInt(5);
+        for (int i = 0; i < edits && target.length > 0; i++) {
+            int position = random.nextInt(target.length);
+            int length = Math.min(target.length - position, random.nextInt(40));
+            byte[] insert = new byte[random.nextInt(40)];
+            random.nextBytes(insert);
+            byte[] next = new byte[target.length - length + insert.length];
+            System.arraycopy(target, 0, next, 0, position);
+            System.arraycopy(insert, 0, next, position, insert.length);
+            System.arraycopy(target, position + length, next, position + insert.length,
+                    target.length - position - length);
+            target = next;
+        }
+        return target;
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
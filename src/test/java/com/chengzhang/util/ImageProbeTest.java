@@ -0,0 +1,105 @@
+package com.chengzhang.util;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 图片文件头尺寸读取测试
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+class ImageProbeTest {
+
+    @Test
+    void probesFormatsWrittenByImageIO() throws IOException {
+        for (String format : Arrays.asList("jpeg", "png", "gif", "bmp")) {
+            byte[] data = encode(format, 321, 123);
+
+            ImageProbe.Info info = ImageProbe.probe(new ByteArrayInputStream(data));
+
+            assertThat(info).as(format).isNotNull();
+            assertThat(info.getFormat()).isEqualTo(format);
+            assertThat(info.getWidth()).isEqualTo(321);
+            assertThat(info.getHeight()).isEqualTo(123);
+            assertThat(info.getOrientation()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void appliesExifOrientationToDisplaySize() throws IOException {
+        byte[] jpeg = encode("jpeg", 400, 300);
+        byte[] exif = concat(bytes("Exif\0\0MM"), new byte[]{0, 0x2A, 0, 0, 0, 8},
+                new byte[]{0, 1, 0x01, 0x12, 0, 3, 0, 0, 0, 1, 0, 6, 0, 0}, new byte[4]);
+        byte[] segment = concat(new byte[]{(byte) 0xFF, (byte) 0xE1, 0, (byte) (exif.length + 2)}, exif);
+        byte[] rotated = concat(Arrays.copyOf(jpeg, 2), segment, Arrays.copyOfRange(jpeg, 2, jpeg.length));
+
+        ImageProbe.Info info = ImageProbe.probe(rotated);
+
+        assertThat(info.getOrientation()).isEqualTo(6);
+        assertThat(info.getWidth()).isEqualTo(400);
+        assertThat(info.getDisplayWidth()).isEqualTo(300);
+        assertThat(info.getDisplayHeight()).isEqualTo(400);
+    }
+
+    @Test
+    void probesWebpHeaders() throws IOException {
+        byte[] lossy = webp("VP8 ", new byte[]{0, 0, 0, (byte) 0x9D, 0x01, 0x2A, 0x2C, 0x01, (byte) 0xC8, 0x00});
+        int bits = 299 | (199 << 14);
+        byte[] lossless = webp("VP8L", new byte[]{0x2F, (byte) bits, (byte) (bits >> 8), (byte) (bits >> 16),
+                (byte) (bits >> 24)});
+        byte[] extended = webp("VP8X", new byte[]{0x10, 0, 0, 0, 0x2B, 0x01, 0, (byte) 0xC7, 0, 0});
+
+        for (byte[] data : Arrays.asList(lossy, lossless, extended)) {
+            ImageProbe.Info info = ImageProbe.probe(new ByteArrayInputStream(data));
+            assertThat(info.getFormat()).isEqualTo("webp");
+            assertThat(info.getWidth()).isEqualTo(300);
+            assertThat(info.getHeight()).isEqualTo(200);
+        }
+    }
+
+    @Test
+    void returnsNullForUnknownOrTruncatedData() throws IOException {
+        assertThat(ImageProbe.probe(new ByteArrayInputStream(new byte[0]))).isNull();
+        assertThat(ImageProbe.probe(new ByteArrayInputStream(bytes("not an image")))).isNull();
+        for (String format : Arrays.asList("jpeg", "png", "gif", "bmp")) {
+            byte[] data = encode(format, 10, 10);
+            assertThat(ImageProbe.probe(new ByteArrayInputStream(Arrays.copyOf(data, 8)))).as(format).isNull();
+        }
+        byte[] webp = webp("VP8X", new byte[]{0x10, 0, 0, 0, 0x2B, 0x01, 0, (byte) 0xC7, 0, 0});
+        assertThat(ImageProbe.probe(new ByteArrayInputStream(Arrays.copyOf(webp, webp.length - 2)))).isNull();
+        assertThat(ImageProbe.probe(bytes("RIFF\0\0\0\0WAVEfmt "))).isNull();
+    }
+
+    private static byte[] encode(String format, int width, int height) throws IOException {
+        int type = "png".equals(format) ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThat(ImageIO.write(new BufferedImage(width, height, type), format, out)).isTrue();
+        return out.toByteArray();
+    }
+
+    private static byte[] webp(String chunk, byte[] payload) {
+        return concat(bytes("RIFF"), new byte[4], bytes("WEBP" + chunk), new byte[4], payload);
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.write(part, 0, part.length);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,96 @@
+package com.chengzhang.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Markdown章节拆分测试
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+class MarkdownSectionsTest {
+
+    @Test
+    void splitsPrefaceAndHeadings() {
+        String content = "前言\n# 第一章\n正文\n## 1.1 小节 ##\n内容\n# 第二章";
+
+        List<MarkdownSections.Section> sections = MarkdownSections.split(content, 6);
+
+        assertThat(sections).extracting("level", "heading", "start", "end").containsExactly(
+                tuple(0, null, 0, content.indexOf("# 第一章")),
+                tuple(1, "第一章", content.indexOf("# 第一章"), content.indexOf("## 1.1")),
+                tuple(2, "1.1 小节", content.indexOf("## 1.1"), content.indexOf("# 第二章")),
+                tuple(1, "第二章", content.indexOf("# 第二章"), content.length()));
+        assertCovers(content, sections);
+    }
+
+    @Test
+    void deeperHeadingsStayInParentSection() {
+        String content = "# A\n### A.1\n## B\n#### B.1";
+
+        assertThat(MarkdownSections.split(content, 2)).extracting("heading").containsExactly("A", "B");
+    }
+
+    @Test
+    void ignoresHeadingsInsideFencedCode() {
+        String content = "# A\n```java\n# not a heading\n~~~\n# still code\n````\n# B\n~~~~\n# code\n~~~\n# code\n~~~~\n# C";
+
+        assertThat(MarkdownSections.split(content, 6)).extracting("heading").containsExactly("A", "B", "C");
+    }
+
+    @Test
+    void recognisesOnlyAtxHeadings() {
+        String content = "#hashtag\n####### seven\n    # indented code\n   ### indented\n#\n## C# ##\n# Title #not\n# CRLF\r\n";
+
+        assertThat(MarkdownSections.split(content, 6)).extracting("level", "heading").containsExactly(
+                tuple(0, null),
+                tuple(3, "indented"),
+                tuple(1, ""),
+                tuple(2, "C#"),
+                tuple(1, "Title #not"),
+                tuple(1, "CRLF"));
+    }
+
+    @Test
+    void handlesEmptyAndHeadingOnlyContent() {
+        assertThat(MarkdownSections.split("", 6)).isEmpty();
+        assertThat(MarkdownSections.split(null, 6)).isEmpty();
+        assertThat(MarkdownSections.split("# Only", 6)).extracting("level", "heading", "start", "end")
+                .containsExactly(tuple(1, "Only", 0, 6));
+        assertThat(MarkdownSections.split("plain text", 6)).extracting("level", "heading")
+                .containsExactly(tuple(0, null));
+    }
+
+    @Test
+    void sectionsAlwaysCoverContent() {
+        String[] lines = {"# h1", "## h2", "### h3", "text", "", "```", "~~~", "#no", "  # h1 ", "中文"};
+        Random random = new Random(11);
+        for (int round = 0; round < 500; round++) {
+            StringBuilder content = new StringBuilder();
+            int count = 1 + random.nextInt(12);
+            for (int i = 0; i < count; i++) {
+                if (i > 0) {
+                    content.append('\n');
+                }
+                content.append(lines[random.nextInt(lines.length)]);
+            }
+            assertCovers(content.toString(), MarkdownSections.split(content, 1 + random.nextInt(6)));
+        }
+    }
+
+    private static void assertCovers(String content, List<MarkdownSections.Section> sections) {
+        int position = 0;
+        for (MarkdownSections.Section section : sections) {
+            assertThat(section.getStart()).as("\"%s\"", content).isEqualTo(position);
+            assertThat(section.getEnd()).isGreaterThan(section.getStart());
+            position = section.getEnd();
+        }
+        assertThat(position).isEqualTo(content.length());
+    }
+}
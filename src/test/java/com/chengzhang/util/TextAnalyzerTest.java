@@ -0,0 +1,82 @@
+package com.chengzhang.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 文章文本分析器测试
+ *
+ * @author chengzhang
+ * @since 1.0.0
+ */
+class TextAnalyzerTest {
+
+    private static final String ALPHABET = "ab 中文\n#*-_`[]()!\t，。xyz";
+
+    private final TextAnalyzer analyzer = new TextAnalyzer();
+
+    @Test
+    void analyzeCountsWordsAndBuildsSummary() {
+        TextAnalyzer.Result result = analyzer.analyze("# 标题\n\n\nHello **world** 你好-test\n", 100);
+
+        assertThat(result.getWordCount()).isEqualTo(7);
+        assertThat(result.getCjkCount()).isEqualTo(4);
+        assertThat(result.getReadTime()).isEqualTo(1);
+        assertThat(result.getSummary()).isEqualTo("标题 Hello world 你好test");
+    }
+
+    @Test
+    void analyzeTruncatesSummary() {
+        assertThat(analyzer.analyze("一二三四五六", 4).getSummary()).isEqualTo("一二三四...");
+        assertThat(analyzer.analyze("一二三四  \n", 4).getSummary()).isEqualTo("一二三四");
+        assertThat(analyzer.analyze("   ", 4).getSummary()).isEmpty();
+        assertThat(analyzer.analyze(null, 4).getWordCount()).isZero();
+    }
+
+    @Test
+    void replaceReturnsWordCountDelta() {
+        assertReplace("hello world", 5, 6, "");
+        assertReplace("hello world", 5, 5, " there");
+        assertReplace("hello world", 0, 11, "");
+        assertReplace("", 0, 0, "新的 content");
+        assertReplace("中文abc", 2, 2, " ");
+        assertReplace("中文abc", 2, 2, "def");
+        assertReplace("abc def", 3, 4, "**");
+        assertReplace("ab-cd", 2, 3, " ");
+        assertReplace("一段 text 文字", 3, 7, "文本");
+    }
+
+    @Test
+    void replaceMatchesFullRecountForRandomEdits() {
+        Random random = new Random(7);
+        for (int round = 0; round < 2000; round++) {
+            String text = randomText(random, random.nextInt(30));
+            int start = random.nextInt(text.length() + 1);
+            int end = start + random.nextInt(text.length() - start + 1);
+            assertReplace(text, start, end, randomText(random, random.nextInt(6)));
+        }
+    }
+
+    private void assertReplace(String text, int start, int end, String replacement) {
+        StringBuilder content = new StringBuilder(text);
+        int before = analyzer.countWords(text);
+
+        int delta = analyzer.replace(content, start, end, replacement);
+
+        String expected = text.substring(0, start) + replacement + text.substring(end);
+        assertThat(content.toString()).isEqualTo(expected);
+        assertThat(delta).as("replace [%d,%d) of \"%s\" with \"%s\"", start, end, text, replacement)
+                .isEqualTo(analyzer.countWords(expected) - before);
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return text.toString();
+    }
+}